@@ -21,7 +21,9 @@ import org.openehealth.ipf.commons.audit.handler.AuditExceptionHandler;
 import org.openehealth.ipf.commons.audit.handler.LoggingAuditExceptionHandler;
 import org.openehealth.ipf.commons.audit.protocol.AuditTransmissionChannel;
 import org.openehealth.ipf.commons.audit.protocol.AuditTransmissionProtocol;
+import org.openehealth.ipf.commons.audit.protocol.PooledTLSSyslogSenderImpl;
 import org.openehealth.ipf.commons.audit.queue.AuditMessageQueue;
+import org.openehealth.ipf.commons.audit.queue.BatchingAuditMessageQueue;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.security.AbstractAuthenticationAuditListener;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -68,6 +70,11 @@ public class IpfAtnaAutoConfiguration {
         auditContext.setAuditExceptionHandler(auditExceptionHandler);
         auditContext.setAuditMessagePostProcessor(auditMessagePostProcessor);
 
+        // retransmit records journaled by an earlier run without waiting for new audit records
+        if (auditContext.isAuditEnabled() && auditMessageQueue instanceof BatchingAuditMessageQueue) {
+            ((BatchingAuditMessageQueue) auditMessageQueue).start(auditContext);
+        }
+
         return auditContext;
     }
 
@@ -93,12 +100,16 @@ public class IpfAtnaAutoConfiguration {
     @ConditionalOnMissingBean
     public AuditTransmissionProtocol auditTransmissionProtocol(IpfAtnaConfigurationProperties config,
                                                                TlsParameters tlsParameters) throws Exception {
-        if (config.getAuditSenderClass() != null) {
-            return config.getAuditSenderClass().getConstructor(TlsParameters.class)
-                    .newInstance(tlsParameters);
+        var auditTransmissionProtocol = config.getAuditSenderClass() != null ?
+                config.getAuditSenderClass().getConstructor(TlsParameters.class).newInstance(tlsParameters) :
+                AuditTransmissionChannel.fromProtocolName(config.getAuditRepositoryTransport()).makeInstance(tlsParameters);
+        if (auditTransmissionProtocol instanceof PooledTLSSyslogSenderImpl) {
+            var pooledSender = (PooledTLSSyslogSenderImpl) auditTransmissionProtocol;
+            pooledSender.setEndpoints(config.getAuditRepositoryEndpoints());
+            pooledSender.setConnectionsPerEndpoint(config.getAuditRepositoryConnections());
+            pooledSender.setSelectionStrategy(config.getAuditRepositorySelectionStrategy());
         }
-        return AuditTransmissionChannel.fromProtocolName(config.getAuditRepositoryTransport())
-                .makeInstance(tlsParameters);
+        return auditTransmissionProtocol;
     }
 
     @Bean
@@ -23,11 +23,15 @@ import org.openehealth.ipf.commons.audit.codes.AuditSourceType;
 import org.openehealth.ipf.commons.audit.handler.AuditExceptionHandler;
 import org.openehealth.ipf.commons.audit.handler.LoggingAuditExceptionHandler;
 import org.openehealth.ipf.commons.audit.protocol.AuditTransmissionProtocol;
+import org.openehealth.ipf.commons.audit.protocol.PooledTLSSyslogSenderImpl;
 import org.openehealth.ipf.commons.audit.queue.AuditMessageQueue;
 import org.openehealth.ipf.commons.audit.queue.SynchronousAuditMessageQueue;
 import org.openehealth.ipf.commons.audit.types.AuditSource;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  *
  */
@@ -64,6 +68,26 @@ public class IpfAtnaConfigurationProperties {
     @Getter @Setter
     private int auditRepositoryPort = 514;
 
+    /**
+     * Audit repository endpoints (host:port) used by the POOLED-TLS transport. If empty,
+     * audit-repository-host and audit-repository-port are used.
+     */
+    @Getter @Setter
+    private List<String> auditRepositoryEndpoints = new ArrayList<>();
+
+    /**
+     * Number of TLS connections per audit repository endpoint used by the POOLED-TLS transport
+     */
+    @Getter @Setter
+    private int auditRepositoryConnections = 2;
+
+    /**
+     * Connection selection strategy used by the POOLED-TLS transport (ROUND_ROBIN, LEAST_BUSY)
+     */
+    @Getter @Setter
+    private PooledTLSSyslogSenderImpl.SelectionStrategy auditRepositorySelectionStrategy =
+            PooledTLSSyslogSenderImpl.SelectionStrategy.ROUND_ROBIN;
+
     /**
      * Enterprise Site Id
      */
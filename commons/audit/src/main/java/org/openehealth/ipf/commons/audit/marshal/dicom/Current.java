@@ -24,14 +24,15 @@ import java.io.Writer;
 
 /**
  * Uses a singleton instance of the most recent DICOM version that has relevant changes to
- * the audit message format.
+ * the audit message format. Compact output is written by {@link StreamingDICOM2017c}, which
+ * produces the same output as {@link DICOM2017c} without building a JDOM tree.
  *
  * @author Christian Ohr
  * @since 3.5
  */
 public class Current implements SerializationStrategy {
 
-    public static final DICOM2017c INSTANCE = new DICOM2017c();
+    public static final DICOM2017c INSTANCE = new StreamingDICOM2017c();
 
     public static String toString(AuditMessage auditMessage, boolean pretty) {
         return INSTANCE.marshal(auditMessage, pretty);
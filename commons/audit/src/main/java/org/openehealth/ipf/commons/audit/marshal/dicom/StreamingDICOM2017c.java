@@ -0,0 +1,411 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openehealth.ipf.commons.audit.marshal.dicom;
+
+import org.openehealth.ipf.commons.audit.model.*;
+import org.openehealth.ipf.commons.audit.types.CodedValueType;
+import org.openehealth.ipf.commons.audit.types.EnumeratedValueSet;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+import static org.openehealth.ipf.commons.audit.XMLNames.*;
+
+/**
+ * Variant of {@link DICOM2017c} that writes the compact XML representation of an audit message
+ * directly into a reusable, thread-local character buffer instead of building a JDOM tree first.
+ * The output is identical to the compact output of {@link DICOM2017c}, including JDOM's text
+ * normalization, escaping rules and the trailing line separator. Pretty-printed output is still
+ * rendered by JDOM.
+ * <p>
+ * This is the strategy used by {@link Current}, and thus the default one of the audit context.
+ * </p>
+ *
+ * @since 4.5
+ */
+public class StreamingDICOM2017c extends DICOM2017c {
+
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    // Buffers that have grown beyond this size are not retained for the next message
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(2048));
+
+    @Override
+    public void marshal(AuditMessage auditMessage, Writer writer, boolean pretty) throws IOException {
+        if (pretty) {
+            super.marshal(auditMessage, writer, true);
+        } else {
+            var sb = buffer();
+            serialize(auditMessage, sb);
+            writer.append(sb);
+        }
+    }
+
+    @Override
+    public String marshal(AuditMessage auditMessage, boolean pretty) {
+        if (pretty) {
+            return super.marshal(auditMessage, true);
+        }
+        var sb = buffer();
+        serialize(auditMessage, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Appends the compact XML representation of the audit message to the given buffer
+     *
+     * @param auditMessage audit message
+     * @param sb           buffer
+     */
+    public void serialize(AuditMessage auditMessage, StringBuilder sb) {
+        sb.append('<').append(AUDIT_MESSAGE).append('>');
+        eventIdentification(sb, auditMessage.getEventIdentification());
+        for (var activeParticipant : auditMessage.getActiveParticipants()) {
+            activeParticipant(sb, activeParticipant);
+        }
+        auditSourceIdentification(sb, auditMessage.getAuditSourceIdentification());
+        for (var poi : auditMessage.getParticipantObjectIdentifications()) {
+            participantObjectIdentification(sb, poi);
+        }
+        endElement(sb, AUDIT_MESSAGE);
+        sb.append(LINE_SEPARATOR);
+    }
+
+    protected void eventIdentification(StringBuilder sb, EventIdentificationType eventIdentification) {
+        startElement(sb, EVENT_IDENTIFICATION);
+        if (eventIdentification == null) {
+            emptyElement(sb);
+            return;
+        }
+        attribute(sb, EVENT_ACTION_CODE, eventIdentification.getEventActionCode().getValue());
+        attribute(sb, EVENT_DATE_TIME, eventIdentification.getEventDateTime().toString());
+        attribute(sb, EVENT_OUTCOME_INDICATOR, eventIdentification.getEventOutcomeIndicator().getValue().toString());
+        var hasContent = false;
+        if (eventIdentification.getEventID() != null) {
+            hasContent = startContent(sb, hasContent);
+            codedValueType(sb, EVENT_ID, eventIdentification.getEventID());
+        }
+        for (var eventTypeCode : eventIdentification.getEventTypeCode()) {
+            hasContent = startContent(sb, hasContent);
+            codedValueType(sb, EVENT_TYPE_CODE, eventTypeCode);
+        }
+        if (eventIdentification.getEventOutcomeDescription() != null) {
+            hasContent = startContent(sb, hasContent);
+            textElement(sb, EVENT_OUTCOME_DESCRIPTION, eventIdentification.getEventOutcomeDescription());
+        }
+        for (var purposeOfUse : eventIdentification.getPurposesOfUse()) {
+            hasContent = startContent(sb, hasContent);
+            codedValueType(sb, PURPOSE_OF_USE, purposeOfUse);
+        }
+        closeElement(sb, EVENT_IDENTIFICATION, hasContent);
+    }
+
+    protected void activeParticipant(StringBuilder sb, ActiveParticipantType activeParticipant) {
+        startElement(sb, ACTIVE_PARTICIPANT);
+        attribute(sb, USER_ID, activeParticipant.getUserID());
+        conditionalAttribute(sb, ALTERNATIVE_USER_ID, activeParticipant.getAlternativeUserID());
+        conditionalAttribute(sb, USER_NAME, activeParticipant.getUserName());
+        attribute(sb, USER_IS_REQUESTOR, Boolean.toString(activeParticipant.isUserIsRequestor()));
+        conditionalAttribute(sb, NETWORK_ACCESS_POINT_ID, activeParticipant.getNetworkAccessPointID());
+        conditionalAttribute(sb, NETWORK_ACCESS_POINT_TYPE_CODE, activeParticipant.getNetworkAccessPointTypeCode());
+        var hasContent = false;
+        if (activeParticipant.getRoleIDCodes() != null) {
+            for (var roleIdCode : activeParticipant.getRoleIDCodes()) {
+                hasContent = startContent(sb, hasContent);
+                codedValueType(sb, ROLE_ID_CODE, roleIdCode);
+            }
+        }
+        if (activeParticipant.getMediaType() != null) {
+            hasContent = startContent(sb, hasContent);
+            sb.append('<').append(MEDIA_IDENTIFIER).append('>');
+            codedValueType(sb, MEDIA_TYPE, activeParticipant.getMediaType());
+            endElement(sb, MEDIA_IDENTIFIER);
+        }
+        closeElement(sb, ACTIVE_PARTICIPANT, hasContent);
+    }
+
+    protected void auditSourceIdentification(StringBuilder sb, AuditSourceIdentificationType auditSourceIdentification) {
+        startElement(sb, AUDIT_SOURCE_IDENTIFICATION);
+        if (auditSourceIdentification == null) {
+            emptyElement(sb);
+            return;
+        }
+        conditionalAttribute(sb, AUDIT_ENTERPRISE_SITE_ID, auditSourceIdentification.getAuditEnterpriseSiteID());
+        conditionalAttribute(sb, AUDIT_SOURCE_ID, auditSourceIdentification.getAuditSourceID());
+        var hasContent = false;
+        for (var auditSourceType : auditSourceIdentification.getAuditSourceType()) {
+            hasContent = startContent(sb, hasContent);
+            codedValueType(sb, AUDIT_SOURCE_TYPE_CODE, auditSourceType);
+        }
+        closeElement(sb, AUDIT_SOURCE_IDENTIFICATION, hasContent);
+    }
+
+    protected void participantObjectIdentification(StringBuilder sb, ParticipantObjectIdentificationType poi) {
+        startElement(sb, PARTICIPANT_OBJECT_IDENTIFICATION);
+        if (poi == null) {
+            emptyElement(sb);
+            return;
+        }
+        conditionalAttribute(sb, PARTICIPANT_OBJECT_ID, poi.getParticipantObjectID());
+        conditionalAttribute(sb, PARTICIPANT_OBJECT_TYPE_CODE, poi.getParticipantObjectTypeCode());
+        conditionalAttribute(sb, PARTICIPANT_OBJECT_TYPE_CODE_ROLE, poi.getParticipantObjectTypeCodeRole());
+        conditionalAttribute(sb, PARTICIPANT_OBJECT_DATA_LIFE_CYCLE, poi.getParticipantObjectDataLifeCycle());
+        conditionalAttribute(sb, PARTICIPANT_OBJECT_SENSITIVITY, poi.getParticipantObjectSensitivity());
+        sb.append('>');
+        codedValueType(sb, PARTICIPANT_OBJECT_ID_TYPE_CODE, poi.getParticipantObjectIDTypeCode());
+        if (poi.getParticipantObjectName() != null) {
+            textElement(sb, PARTICIPANT_OBJECT_NAME, poi.getParticipantObjectName());
+        }
+        if (poi.getParticipantObjectQuery() != null) {
+            textElement(sb, PARTICIPANT_OBJECT_QUERY, new String(
+                    Base64.getEncoder().encode(poi.getParticipantObjectQuery()),
+                    StandardCharsets.UTF_8));
+        }
+        for (var participantObjectDetail : poi.getParticipantObjectDetails()) {
+            typeValuePairType(sb, PARTICIPANT_OBJECT_DETAIL, participantObjectDetail);
+        }
+        for (var dicomObjectDescription : poi.getParticipantObjectDescriptions()) {
+            dicomObjectDescription(sb, dicomObjectDescription);
+        }
+        endElement(sb, PARTICIPANT_OBJECT_IDENTIFICATION);
+    }
+
+    protected void codedValueType(StringBuilder sb, String tagName, CodedValueType codedValue) {
+        startElement(sb, tagName);
+        attribute(sb, CSD_CODE, codedValue.getCode());
+        conditionalAttribute(sb, CODE_SYSTEM_NAME, codedValue.getCodeSystemName());
+        conditionalAttribute(sb, DISPLAY_NAME, codedValue.getDisplayName());
+        conditionalAttribute(sb, ORIGINAL_TEXT, codedValue.getOriginalText());
+        emptyElement(sb);
+    }
+
+    protected void typeValuePairType(StringBuilder sb, String tagName, TypeValuePairType typeValuePair) {
+        startElement(sb, tagName);
+        attribute(sb, TYPE, typeValuePair.getType());
+        attribute(sb, VALUE, new String(
+                Base64.getEncoder().encode(typeValuePair.getValue()),
+                StandardCharsets.UTF_8));
+        emptyElement(sb);
+    }
+
+    protected void dicomObjectDescription(StringBuilder sb, DicomObjectDescriptionType dicomObjectDescription) {
+        startElement(sb, PARTICIPANT_OBJECT_DESCRIPTION);
+        var hasContent = false;
+        for (var mpps : dicomObjectDescription.getMPPS()) {
+            hasContent = startContent(sb, hasContent);
+            startElement(sb, MPPS);
+            attribute(sb, UID, mpps);
+            emptyElement(sb);
+        }
+        for (var accession : dicomObjectDescription.getAccession()) {
+            hasContent = startContent(sb, hasContent);
+            startElement(sb, ACCESSION);
+            attribute(sb, NUMBER, accession);
+            emptyElement(sb);
+        }
+        for (var sop : dicomObjectDescription.getSOPClasses()) {
+            hasContent = startContent(sb, hasContent);
+            startElement(sb, SOP_CLASS);
+            attribute(sb, NUMBER_OF_INSTANCES, String.valueOf(sop.getNumberOfInstances()));
+            conditionalAttribute(sb, UID, sop.getUid());
+            var hasInstances = false;
+            for (var uid : sop.getInstanceUids()) {
+                hasInstances = startContent(sb, hasInstances);
+                startElement(sb, INSTANCE);
+                attribute(sb, UID, uid);
+                emptyElement(sb);
+            }
+            closeElement(sb, SOP_CLASS, hasInstances);
+        }
+        if (!dicomObjectDescription.getStudyIDs().isEmpty()) {
+            hasContent = startContent(sb, hasContent);
+            sb.append('<').append(PARTICIPANT_OBJECT_CONTAINS_STUDY).append('>');
+            for (var studyID : dicomObjectDescription.getStudyIDs()) {
+                startElement(sb, STUDY_IDS);
+                attribute(sb, UID, studyID);
+                emptyElement(sb);
+            }
+            endElement(sb, PARTICIPANT_OBJECT_CONTAINS_STUDY);
+        }
+        if (dicomObjectDescription.getEncrypted() != null) {
+            hasContent = startContent(sb, hasContent);
+            textElement(sb, ENCRYPTED, String.valueOf(dicomObjectDescription.getEncrypted()));
+        }
+        if (dicomObjectDescription.getAnonymized() != null) {
+            hasContent = startContent(sb, hasContent);
+            textElement(sb, ANONYMIZED, String.valueOf(dicomObjectDescription.getAnonymized()));
+        }
+        closeElement(sb, PARTICIPANT_OBJECT_DESCRIPTION, hasContent);
+    }
+
+    protected void conditionalAttribute(StringBuilder sb, String attributeName, String value) {
+        if (value != null) {
+            attribute(sb, attributeName, value);
+        }
+    }
+
+    protected void conditionalAttribute(StringBuilder sb, String attributeName, EnumeratedValueSet<?> value) {
+        if (value != null) {
+            attribute(sb, attributeName, value.getValue().toString());
+        }
+    }
+
+    protected void attribute(StringBuilder sb, String attributeName, String value) {
+        Objects.requireNonNull(value, attributeName);
+        sb.append(' ').append(attributeName).append("=\"");
+        appendEscaped(sb, value, true);
+        sb.append('"');
+    }
+
+    /**
+     * Writes an element with text content. As with JDOM's compact format, the text is trimmed and
+     * sequences of whitespace are collapsed into a single space character.
+     */
+    protected void textElement(StringBuilder sb, String tagName, String text) {
+        startElement(sb, tagName);
+        var start = sb.length();
+        sb.append('>');
+        var pendingSpace = false;
+        var written = false;
+        for (var i = 0; i < text.length(); i++) {
+            var c = text.charAt(i);
+            if (isXMLWhitespace(c)) {
+                pendingSpace = written;
+            } else {
+                if (pendingSpace) {
+                    sb.append(' ');
+                    pendingSpace = false;
+                }
+                i = appendEscaped(sb, text, i, false);
+                written = true;
+            }
+        }
+        if (written) {
+            endElement(sb, tagName);
+        } else {
+            sb.setLength(start);
+            emptyElement(sb);
+        }
+    }
+
+    private static void startElement(StringBuilder sb, String tagName) {
+        sb.append('<').append(tagName);
+    }
+
+    private static boolean startContent(StringBuilder sb, boolean hasContent) {
+        if (!hasContent) {
+            sb.append('>');
+        }
+        return true;
+    }
+
+    private static void closeElement(StringBuilder sb, String tagName, boolean hasContent) {
+        if (hasContent) {
+            endElement(sb, tagName);
+        } else {
+            emptyElement(sb);
+        }
+    }
+
+    private static void emptyElement(StringBuilder sb) {
+        sb.append(" />");
+    }
+
+    private static void endElement(StringBuilder sb, String tagName) {
+        sb.append("</").append(tagName).append('>');
+    }
+
+    private static void appendEscaped(StringBuilder sb, String value, boolean attribute) {
+        for (var i = 0; i < value.length(); i++) {
+            i = appendEscaped(sb, value, i, attribute);
+        }
+    }
+
+    /**
+     * Escapes the character at the given index, following JDOM's rules for UTF-8 output.
+     *
+     * @return index of the last character consumed
+     */
+    private static int appendEscaped(StringBuilder sb, String value, int i, boolean attribute) {
+        var c = value.charAt(i);
+        switch (c) {
+            case '&':
+                sb.append("&amp;");
+                return i;
+            case '<':
+                sb.append("&lt;");
+                return i;
+            case '>':
+                sb.append("&gt;");
+                return i;
+            case '"':
+                sb.append(attribute ? "&quot;" : "\"");
+                return i;
+            case '\t':
+                sb.append(attribute ? "&#x9;" : "\t");
+                return i;
+            case '\n':
+                sb.append(attribute ? "&#xA;" : "\n");
+                return i;
+            case '\r':
+                sb.append("&#xD;");
+                return i;
+            default:
+        }
+        if (c < 0x20) {
+            throw illegalCharacter(value, c);
+        }
+        if (Character.isHighSurrogate(c)) {
+            if (i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                var codePoint = Character.toCodePoint(c, value.charAt(i + 1));
+                sb.append("&#x").append(Integer.toHexString(codePoint)).append(';');
+                return i + 1;
+            }
+            throw illegalCharacter(value, c);
+        }
+        if (Character.isLowSurrogate(c) || c == 0xFFFE || c == 0xFFFF) {
+            throw illegalCharacter(value, c);
+        }
+        sb.append(c);
+        return i;
+    }
+
+    private static boolean isXMLWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    private static IllegalArgumentException illegalCharacter(String value, char c) {
+        return new IllegalArgumentException(String.format(
+                "The data \"%s\" is not legal for a JDOM character content: 0x%x is not a legal XML character.",
+                value, (int) c));
+    }
+
+    private static StringBuilder buffer() {
+        var sb = BUFFER.get();
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+            sb = new StringBuilder(2048);
+            BUFFER.set(sb);
+        }
+        sb.setLength(0);
+        return sb;
+    }
+}
@@ -33,6 +33,7 @@ public enum AuditTransmissionChannel {
     NIO_UDP("NIO-UDP", UDPSyslogSenderImpl.class),
     VERTX_UDP("VERTX-UDP", UDPSyslogSenderImpl.class),
     TLS("TLS", TLSSyslogSenderImpl.class),
+    POOLED_TLS("POOLED-TLS", PooledTLSSyslogSenderImpl.class),
     NIO_TLS("NIO-TLS", NettyTLSSyslogSenderImpl.class),
     VERTX_TLS("VERTX-TLS", VertxTLSSyslogSenderImpl.class),
     NETTY_TLS("NETTY-TLS", NettyTLSSyslogSenderImpl.class),
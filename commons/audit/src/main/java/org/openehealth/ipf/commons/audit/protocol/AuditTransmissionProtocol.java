@@ -19,6 +19,8 @@ package org.openehealth.ipf.commons.audit.protocol;
 import org.openehealth.ipf.commons.audit.AuditContext;
 import org.openehealth.ipf.commons.audit.AuditMetadataProvider;
 
+import java.util.List;
+
 /**
  * Implementations of this interface transmit the serialized {@link org.openehealth.ipf.commons.audit.model.AuditMessage AuditMessage}
  * to an AuditRepository using IP protocols like TCP or UDP, usually wrapped into a carrier protocol (such as SYSLOG).
@@ -62,6 +64,33 @@ public interface AuditTransmissionProtocol {
      */
     void send(AuditContext auditContext, AuditMetadataProvider auditMetadataProvider, String auditMessage) throws Exception;
 
+    /**
+     * Transmits a batch of messages
+     *
+     * @param auditContext  audit context that e.g. contains the destination
+     * @param auditMessages audit messages
+     * @throws Exception thrown if sending the messages has failed
+     */
+    default void send(AuditContext auditContext, List<String> auditMessages) throws Exception {
+        send(auditContext, auditContext.getAuditMetadataProvider(), auditMessages);
+    }
+
+    /**
+     * Transmits a batch of messages. The default implementation sends the messages one by one;
+     * stream-oriented implementations should override this to write all messages at once.
+     * If an exception is thrown, an unknown subset of the messages may have been transmitted.
+     *
+     * @param auditContext          audit context that e.g. contains the destination
+     * @param auditMetadataProvider dedicated (message-specific) audit metadata
+     * @param auditMessages         audit messages
+     * @throws Exception thrown if sending the messages has failed
+     */
+    default void send(AuditContext auditContext, AuditMetadataProvider auditMetadataProvider, List<String> auditMessages) throws Exception {
+        for (var auditMessage : auditMessages) {
+            send(auditContext, auditMetadataProvider, auditMessage);
+        }
+    }
+
     /**
      * May be implemented to clean up instances on shut down
      */
@@ -23,6 +23,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -76,6 +77,27 @@ public abstract class NioTLSSyslogSenderImpl<H, D extends NioTLSSyslogSenderImpl
         }
     }
 
+    /**
+     * Passes all messages to the destination at once, which may write them with a single gathering write.
+     */
+    @Override
+    public void send(AuditContext auditContext, AuditMetadataProvider auditMetadataProvider, List<String> auditMessages) {
+        var frames = getTransportPayloads(auditMetadataProvider, auditMessages);
+        if (!frames.isEmpty()) {
+            Destination<H> destination = getDestination(auditContext.getAuditRepositoryHostName(), auditContext.getAuditRepositoryPort());
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Auditing {} records to {}:{}",
+                        frames.size(),
+                        auditContext.getAuditRepositoryHostName(),
+                        auditContext.getAuditRepositoryPort());
+            }
+            destination.write(frames);
+            if (LOG.isTraceEnabled()) {
+                frames.forEach(frame -> LOG.trace(new String(frame, StandardCharsets.UTF_8)));
+            }
+        }
+    }
+
     private D getDestination(String host, int port) {
         return destinations.computeIfAbsent(host + port, s ->
                 customizeDestination(makeDestination(tlsParameters, host, port, loggingEnabled)));
@@ -100,6 +122,16 @@ public abstract class NioTLSSyslogSenderImpl<H, D extends NioTLSSyslogSenderImpl
          */
         void write(byte[] bytes);
 
+        /**
+         * Write several audit records to the destination. The default implementation
+         * writes them one by one.
+         *
+         * @param frames audit record contents
+         */
+        default void write(List<byte[]> frames) {
+            frames.forEach(this::write);
+        }
+
         /**
          * Shut down the destination
          */
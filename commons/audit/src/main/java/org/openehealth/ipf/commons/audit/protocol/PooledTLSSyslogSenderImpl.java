@@ -0,0 +1,482 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openehealth.ipf.commons.audit.protocol;
+
+import org.openehealth.ipf.commons.audit.AuditContext;
+import org.openehealth.ipf.commons.audit.AuditException;
+import org.openehealth.ipf.commons.audit.AuditMetadataProvider;
+import org.openehealth.ipf.commons.audit.TlsParameters;
+import org.openehealth.ipf.commons.audit.protocol.TLSSyslogSenderImpl.SocketTestPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Client implementation of RFC 5425 TLS syslog transport that keeps a pool of TLS connections to one or more
+ * Audit Record Repository endpoints. Each connection is used by one sending thread at a time, so up to
+ * {@code connectionsPerEndpoint * endpoints} audit records can be written concurrently.
+ * <p>
+ * A connection is selected either round-robin or by the least number of pending writes. If writing fails,
+ * the connection is closed and the record is sent over the next healthy connection, preferably to another
+ * endpoint. Failed connections are reconnected by a background task, which also regularly tests idle
+ * connections, so that sending threads never wait for a reconnect of a failed connection.
+ * </p>
+ * <p>
+ * If no {@link #setEndpoints(List) endpoints} are configured, the host and port of the {@link AuditContext}
+ * are used. When the endpoints, the host and port of the {@link AuditContext}, or the number of connections
+ * per endpoint change, the pool is rebuilt on the next send.
+ * </p>
+ *
+ * @see TLSSyslogSenderImpl
+ * @since 4.5
+ */
+public class PooledTLSSyslogSenderImpl extends RFC5425Protocol implements AuditTransmissionProtocol {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PooledTLSSyslogSenderImpl.class);
+
+    /**
+     * Strategy for selecting a connection from the pool
+     */
+    public enum SelectionStrategy {
+        ROUND_ROBIN, LEAST_BUSY
+    }
+
+    private final SSLSocketFactory socketFactory;
+    private final SocketTestPolicy socketTestPolicy;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private List<String> endpoints = List.of();
+    private int connectionsPerEndpoint = 2;
+    private SelectionStrategy selectionStrategy = SelectionStrategy.ROUND_ROBIN;
+    private long healthCheckIntervalMillis = 10000L;
+    private int connectTimeoutMillis = 5000;
+
+    private volatile Pool pool;
+    private volatile ScheduledExecutorService healthChecker;
+
+    public PooledTLSSyslogSenderImpl() {
+        this((SSLSocketFactory) SSLSocketFactory.getDefault(), SocketTestPolicy.TEST_BEFORE_WRITE);
+    }
+
+    public PooledTLSSyslogSenderImpl(TlsParameters tlsParameters) {
+        this(tlsParameters.getSSLSocketFactory(false), SocketTestPolicy.TEST_BEFORE_WRITE);
+    }
+
+    /**
+     * @param tlsParameters    TlsParameters to be used for creating the TCP
+     *                         sockets.
+     * @param socketTestPolicy Determining if and when to test the socket for a
+     *                         connection close/reset
+     */
+    public PooledTLSSyslogSenderImpl(TlsParameters tlsParameters, SocketTestPolicy socketTestPolicy) {
+        this(tlsParameters.getSSLSocketFactory(false), socketTestPolicy);
+    }
+
+    /**
+     * @param socketFactory    SSL socket factory to be used for creating the TCP
+     *                         sockets.
+     * @param socketTestPolicy Determining if and when to test the socket for a
+     *                         connection close/reset
+     */
+    public PooledTLSSyslogSenderImpl(SSLSocketFactory socketFactory, SocketTestPolicy socketTestPolicy) {
+        super();
+        this.socketFactory = socketFactory;
+        this.socketTestPolicy = socketTestPolicy;
+    }
+
+    @Override
+    public String getTransportName() {
+        return AuditTransmissionChannel.POOLED_TLS.getProtocolName();
+    }
+
+    @Override
+    public void send(AuditContext auditContext, AuditMetadataProvider auditMetadataProvider, String auditMessage) throws Exception {
+        if (auditMessage != null) {
+            send(auditContext, getTransportPayload(auditMetadataProvider, auditMessage));
+        }
+    }
+
+    @Override
+    public void send(AuditContext auditContext, AuditMetadataProvider auditMetadataProvider, List<String> auditMessages) throws Exception {
+        var frames = getTransportPayloads(auditMetadataProvider, auditMessages);
+        if (!frames.isEmpty()) {
+            send(auditContext, concat(frames));
+        }
+    }
+
+    private void send(AuditContext auditContext, byte[] msgBytes) {
+        var candidates = candidates(getConnections(auditContext));
+        // Only try the connections that are known to be healthy, the others are reconnected in the background
+        var healthy = candidates.stream()
+                .filter(connection -> connection.healthy)
+                .collect(Collectors.toList());
+        if (healthy.isEmpty()) {
+            candidates.forEach(PooledConnection::scheduleReconnect);
+            throw new AuditException("No healthy connection to any of the audit repository endpoints " + endpointNames(candidates));
+        }
+        Exception lastException = null;
+        for (var connection : healthy) {
+            try {
+                connection.write(msgBytes);
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace(new String(msgBytes, StandardCharsets.UTF_8));
+                }
+                return;
+            } catch (IOException | AuditException e) {
+                LOG.info("Failed to audit to {}, failing over to next connection", connection, e);
+                connection.fail();
+                lastException = e;
+            }
+        }
+        throw new AuditException("Failed to audit to any of the audit repository endpoints " + endpointNames(candidates), lastException);
+    }
+
+    private List<PooledConnection> candidates(List<PooledConnection> connections) {
+        var size = connections.size();
+        var result = new ArrayList<PooledConnection>(size);
+        var start = Math.floorMod(next.getAndIncrement(), size);
+        for (var i = 0; i < size; i++) {
+            result.add(connections.get((start + i) % size));
+        }
+        if (selectionStrategy == SelectionStrategy.LEAST_BUSY) {
+            // Move the least busy connection to the front; ties are still resolved round-robin
+            var leastBusy = 0;
+            var minInFlight = Integer.MAX_VALUE;
+            for (var i = 0; i < size; i++) {
+                var inFlight = result.get(i).inFlight.get();
+                if (inFlight < minInFlight) {
+                    minInFlight = inFlight;
+                    leastBusy = i;
+                }
+            }
+            result.add(0, result.remove(leastBusy));
+        }
+        return result;
+    }
+
+    private List<PooledConnection> getConnections(AuditContext auditContext) {
+        var hostAndPorts = endpoints.isEmpty() ?
+                List.of(auditContext.getAuditRepositoryHostName() + ":" + auditContext.getAuditRepositoryPort()) :
+                endpoints;
+        var current = pool;
+        if (current == null || !current.matches(hostAndPorts, connectionsPerEndpoint)) {
+            synchronized (this) {
+                current = pool;
+                if (current == null || !current.matches(hostAndPorts, connectionsPerEndpoint)) {
+                    if (current != null) {
+                        LOG.info("Audit repository endpoints changed from {} to {}, rebuilding the connection pool",
+                                current.hostAndPorts, hostAndPorts);
+                        current.connections.forEach(PooledConnection::retire);
+                    }
+                    current = new Pool(hostAndPorts, connectionsPerEndpoint, createConnections(hostAndPorts));
+                    pool = current;
+                    startHealthChecker();
+                }
+            }
+        }
+        return current.connections;
+    }
+
+    private List<PooledConnection> createConnections(List<String> hostAndPorts) {
+        // Interleave endpoints so that round-robin spreads the load across repository nodes
+        var result = new ArrayList<PooledConnection>();
+        for (var i = 0; i < connectionsPerEndpoint; i++) {
+            for (var hostAndPort : hostAndPorts) {
+                var separator = hostAndPort.lastIndexOf(':');
+                if (separator < 1) {
+                    throw new IllegalArgumentException("Audit repository endpoint must be given as host:port, was " + hostAndPort);
+                }
+                result.add(new PooledConnection(
+                        hostAndPort.substring(0, separator),
+                        Integer.parseInt(hostAndPort.substring(separator + 1))));
+            }
+        }
+        LOG.info("Created pool of {} TLS connections to audit repository endpoints {}", result.size(), hostAndPorts);
+        return List.copyOf(result);
+    }
+
+    private void startHealthChecker() {
+        if (healthChecker != null) {
+            return;
+        }
+        // Also used for reconnecting failed connections when the periodic health check is disabled
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "ipf-audit-tls-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (healthCheckIntervalMillis > 0) {
+            healthChecker.scheduleWithFixedDelay(this::checkHealth,
+                    healthCheckIntervalMillis, healthCheckIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void checkHealth() {
+        var current = pool;
+        if (current != null) {
+            current.connections.forEach(PooledConnection::checkHealth);
+        }
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+            healthChecker = null;
+        }
+        if (pool != null) {
+            pool.connections.forEach(PooledConnection::retire);
+            pool = null;
+        }
+    }
+
+    /**
+     * Override this method to set any socket option. The default implementation
+     * sets {@code SO_KEEPALIVE} to {@code true}.
+     *
+     * @param socket Socket to configure
+     * @throws SocketException if setting keep alive failed
+     * @see TLSSyslogSenderImpl#setSocketOptions(Socket)
+     */
+    protected void setSocketOptions(final Socket socket) throws SocketException {
+        Objects.requireNonNull(socket);
+        socket.setKeepAlive(true);
+    }
+
+    /**
+     * @param endpoints audit repository endpoints given as {@code host:port}
+     */
+    public void setEndpoints(List<String> endpoints) {
+        this.endpoints = endpoints != null ? List.copyOf(endpoints) : List.of();
+    }
+
+    /**
+     * @param connectionsPerEndpoint number of TLS connections per audit repository endpoint. Defaults to 2.
+     */
+    public void setConnectionsPerEndpoint(int connectionsPerEndpoint) {
+        if (connectionsPerEndpoint < 1) {
+            throw new IllegalArgumentException("Number of connections must be positive");
+        }
+        this.connectionsPerEndpoint = connectionsPerEndpoint;
+    }
+
+    /**
+     * @param selectionStrategy strategy for selecting a connection. Defaults to {@link SelectionStrategy#ROUND_ROBIN}.
+     */
+    public void setSelectionStrategy(SelectionStrategy selectionStrategy) {
+        this.selectionStrategy = Objects.requireNonNull(selectionStrategy);
+    }
+
+    /**
+     * @param healthCheckIntervalMillis interval of the background health check. Zero or a negative value disables
+     *                                  the health check; failed connections are then reconnected only right
+     *                                  after failing and when no healthy connection is left. Defaults to 10000.
+     */
+    public void setHealthCheckIntervalMillis(long healthCheckIntervalMillis) {
+        this.healthCheckIntervalMillis = healthCheckIntervalMillis;
+    }
+
+    /**
+     * @param connectTimeoutMillis timeout for establishing a TCP connection and for the TLS handshake.
+     *                             Zero means no timeout. Defaults to 5000.
+     */
+    public void setConnectTimeoutMillis(int connectTimeoutMillis) {
+        if (connectTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Connect timeout must not be negative");
+        }
+        this.connectTimeoutMillis = connectTimeoutMillis;
+    }
+
+    private static String endpointNames(List<PooledConnection> connections) {
+        return connections.stream()
+                .map(PooledConnection::toString)
+                .distinct()
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    /**
+     * Connections to the given endpoints
+     */
+    private static final class Pool {
+
+        private final List<String> hostAndPorts;
+        private final int connectionsPerEndpoint;
+        private final List<PooledConnection> connections;
+
+        Pool(List<String> hostAndPorts, int connectionsPerEndpoint, List<PooledConnection> connections) {
+            this.hostAndPorts = hostAndPorts;
+            this.connectionsPerEndpoint = connectionsPerEndpoint;
+            this.connections = connections;
+        }
+
+        boolean matches(List<String> hostAndPorts, int connectionsPerEndpoint) {
+            return this.connectionsPerEndpoint == connectionsPerEndpoint && this.hostAndPorts.equals(hostAndPorts);
+        }
+    }
+
+    /**
+     * A single TLS connection of the pool
+     */
+    private final class PooledConnection {
+
+        private final String host;
+        private final int port;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicBoolean reconnectScheduled = new AtomicBoolean();
+        private volatile Socket socket;
+        private volatile boolean healthy = true;
+        private volatile boolean retired;
+
+        PooledConnection(String host, int port) {
+            this.host = host;
+            this.port = port;
+        }
+
+        void write(byte[] msgBytes) throws IOException {
+            inFlight.incrementAndGet();
+            lock.lock();
+            try {
+                if (retired) {
+                    throw new SocketException("Connection to " + this + " has been removed from the pool");
+                }
+                var socket = connect();
+                if (socketTestPolicy.isBeforeWrite() && !TLSSyslogSenderImpl.isSocketConnectionAlive(socket)) {
+                    // Connection was closed by the server while idle; fail over and reconnect in the background
+                    throw new SocketException("Read-test before write operation determined that the socket connection is dead");
+                }
+                LOG.debug("Auditing {} bytes to {}", msgBytes.length, this);
+                var out = socket.getOutputStream();
+                out.write(msgBytes);
+                out.flush();
+                if (socketTestPolicy.isAfterWrite() && !TLSSyslogSenderImpl.isSocketConnectionAlive(socket)) {
+                    throw new SocketException("Read-test after write operation determined that the socket connection is dead");
+                }
+                healthy = true;
+            } finally {
+                lock.unlock();
+                inFlight.decrementAndGet();
+            }
+        }
+
+        void checkHealth() {
+            if (!retired && lock.tryLock()) {
+                try {
+                    if (healthy && socket != null && socketTestPolicy != SocketTestPolicy.DONT_TEST_POLICY
+                            && !TLSSyslogSenderImpl.isSocketConnectionAlive(socket)) {
+                        LOG.info("Health check: connection to {} is dead", this);
+                        close();
+                    }
+                    if (!healthy) {
+                        connect();
+                        healthy = true;
+                        LOG.info("Health check: reconnected to {}", this);
+                    }
+                } catch (Exception e) {
+                    LOG.debug("Health check: could not reconnect to {}", this, e);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        void fail() {
+            healthy = false;
+            lock.lock();
+            try {
+                close();
+            } finally {
+                lock.unlock();
+            }
+            scheduleReconnect();
+        }
+
+        void scheduleReconnect() {
+            var executor = healthChecker;
+            if (!healthy && !retired && executor != null && reconnectScheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(() -> {
+                        reconnectScheduled.set(false);
+                        checkHealth();
+                    });
+                } catch (RejectedExecutionException e) {
+                    // Shut down in the meantime
+                    reconnectScheduled.set(false);
+                }
+            }
+        }
+
+        void retire() {
+            retired = true;
+            lock.lock();
+            try {
+                close();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Socket connect() {
+            var current = socket;
+            if (current == null || current.isClosed()) {
+                try {
+                    var sslSocket = (SSLSocket) socketFactory.createSocket();
+                    setSocketOptions(sslSocket);
+                    sslSocket.connect(new InetSocketAddress(host, port), connectTimeoutMillis);
+                    if (socketTestPolicy != SocketTestPolicy.DONT_TEST_POLICY) {
+                        // Handshake before setting the aggressive SO_TIMEOUT, see TLSSyslogSenderImpl
+                        sslSocket.setSoTimeout(connectTimeoutMillis);
+                        sslSocket.startHandshake();
+                        sslSocket.setSoTimeout(TLSSyslogSenderImpl.MIN_SO_TIMEOUT);
+                    }
+                    current = sslSocket;
+                    socket = current;
+                } catch (IOException e) {
+                    throw new AuditException(String.format("Could not establish TLS connection to %s:%d", host, port), e);
+                }
+            }
+            return current;
+        }
+
+        void close() {
+            TLSSyslogSenderImpl.closeSocket(socket);
+            socket = null;
+        }
+
+        @Override
+        public String toString() {
+            return host + ":" + port;
+        }
+    }
+}
@@ -18,8 +18,6 @@ package org.openehealth.ipf.commons.audit.protocol;
 
 import org.openehealth.ipf.commons.audit.AuditMetadataProvider;
 
-import java.nio.charset.StandardCharsets;
-
 /**
  * Base client implementation of RFC 5424 syslog for sending audit messages to an Audit Record Repository
  * that implements RFC 5424 SYSLOG.
@@ -55,15 +53,89 @@ public class RFC5424Protocol {
      * @return serialized message
      */
     protected byte[] getTransportPayload(AuditMetadataProvider auditMetadataProvider, String auditMessage) {
-        var msg = String.format("<%s>1 %s %s %s %s %s - \uFEFF<?xml version=\"1.0\" encoding=\"UTF-8\"?>%s",
-                TRANSPORT_PRI,
-                auditMetadataProvider.getTimestamp(),
-                auditMetadataProvider.getHostname(),
-                auditMetadataProvider.getSendingApplication().replace(' ', '_'),
-                auditMetadataProvider.getProcessID(),
-                TRANSPORT_MSGID,
-                auditMessage);
-        return msg.trim().getBytes(StandardCharsets.UTF_8);
+        return encode(auditMetadataProvider, auditMessage, false);
+    }
+
+    /**
+     * Encodes syslog header and message body into a single byte array without intermediate
+     * string concatenation. Trailing whitespace of the message is dropped.
+     *
+     * @param auditMetadataProvider audit meta data
+     * @param auditMessage          message to prepare
+     * @param octetCounting         if true, the message is prefixed with its length as required by RFC 5425
+     * @return serialized message
+     */
+    protected static byte[] encode(AuditMetadataProvider auditMetadataProvider, String auditMessage, boolean octetCounting) {
+        var header = new StringBuilder(256)
+                .append('<').append(TRANSPORT_PRI).append(">1 ")
+                .append(auditMetadataProvider.getTimestamp()).append(' ')
+                .append(auditMetadataProvider.getHostname()).append(' ')
+                .append(auditMetadataProvider.getSendingApplication().replace(' ', '_')).append(' ')
+                .append(auditMetadataProvider.getProcessID()).append(' ')
+                .append(TRANSPORT_MSGID)
+                .append(" - \uFEFF<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        var message = String.valueOf(auditMessage);
+        var end = message.length();
+        while (end > 0 && message.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        var length = utf8Length(header, 0, header.length()) + utf8Length(message, 0, end);
+        var prefix = octetCounting ? Integer.toString(length) : "";
+        var output = new byte[prefix.length() + (octetCounting ? 1 : 0) + length];
+        var offset = 0;
+        if (octetCounting) {
+            offset = encodeUtf8(prefix, 0, prefix.length(), output, offset);
+            output[offset++] = ' ';
+        }
+        offset = encodeUtf8(header, 0, header.length(), output, offset);
+        encodeUtf8(message, 0, end, output, offset);
+        return output;
+    }
+
+    private static int utf8Length(CharSequence s, int start, int end) {
+        var length = end - start;
+        for (var i = start; i < end; i++) {
+            var c = s.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    length += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    length += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    length += 2;
+                }
+            }
+        }
+        return length;
+    }
+
+    // Malformed surrogates are replaced by '?', like String#getBytes does
+    private static int encodeUtf8(CharSequence s, int start, int end, byte[] output, int offset) {
+        for (var i = start; i < end; i++) {
+            var c = s.charAt(i);
+            if (c < 0x80) {
+                output[offset++] = (byte) c;
+            } else if (c < 0x800) {
+                output[offset++] = (byte) (0xC0 | (c >> 6));
+                output[offset++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    var codePoint = Character.toCodePoint(c, s.charAt(++i));
+                    output[offset++] = (byte) (0xF0 | (codePoint >> 18));
+                    output[offset++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    output[offset++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    output[offset++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    output[offset++] = '?';
+                }
+            } else {
+                output[offset++] = (byte) (0xE0 | (c >> 12));
+                output[offset++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                output[offset++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return offset;
     }
 
 }
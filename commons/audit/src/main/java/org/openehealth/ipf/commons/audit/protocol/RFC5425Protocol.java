@@ -18,6 +18,10 @@ package org.openehealth.ipf.commons.audit.protocol;
 
 import org.openehealth.ipf.commons.audit.AuditMetadataProvider;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 /**
  * Base client implementation of RFC 5425 syslog for sending audit messages to an Audit Record Repository
  * that implements RFC 5425 (SYSLOG via TLS).
@@ -29,11 +33,39 @@ public class RFC5425Protocol extends RFC5424Protocol {
 
     @Override
     protected byte[] getTransportPayload(AuditMetadataProvider auditMetadataProvider, String auditMessage) {
-        var msgBytes = super.getTransportPayload(auditMetadataProvider, auditMessage);
-        var length = String.format("%d ", msgBytes.length).getBytes();
-        var output = new byte[length.length + msgBytes.length];
-        System.arraycopy(length, 0, output, 0, length.length);
-        System.arraycopy(msgBytes, 0, output, length.length, msgBytes.length);
+        return encode(auditMetadataProvider, auditMessage, true);
+    }
+
+    /**
+     * Serializes a batch of syslog messages into octet-counted frames that can be written
+     * consecutively to the same connection.
+     *
+     * @param auditMetadataProvider audit meta data
+     * @param auditMessages         messages to prepare
+     * @return serialized messages
+     */
+    protected List<byte[]> getTransportPayloads(AuditMetadataProvider auditMetadataProvider, List<String> auditMessages) {
+        return auditMessages.stream()
+                .filter(Objects::nonNull)
+                .map(auditMessage -> getTransportPayload(auditMetadataProvider, auditMessage))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param frames serialized messages
+     * @return serialized messages concatenated into a single payload
+     */
+    protected static byte[] concat(List<byte[]> frames) {
+        var length = 0;
+        for (var frame : frames) {
+            length += frame.length;
+        }
+        var output = new byte[length];
+        var offset = 0;
+        for (var frame : frames) {
+            System.arraycopy(frame, 0, output, offset, frame.length);
+            offset += frame.length;
+        }
         return output;
     }
 
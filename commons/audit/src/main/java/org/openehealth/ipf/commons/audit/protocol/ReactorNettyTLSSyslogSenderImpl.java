@@ -30,6 +30,7 @@ import reactor.netty.tcp.TcpClient;
 import reactor.util.Metrics;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -148,15 +149,20 @@ public class ReactorNettyTLSSyslogSenderImpl extends NioTLSSyslogSenderImpl<Conn
 
         @Override
         public void write(byte[] bytes) {
-            // The write operation is asynchronous.
+            write(List.of(bytes));
+        }
+
+        @Override
+        public void write(List<byte[]> frames) {
+            // The write operation is asynchronous. All frames are gathered into a single flush.
             var channel = getHandle().channel();
-            LOG.trace("Writing {} bytes using session: {}", bytes.length, channel);
+            LOG.trace("Writing {} records using session: {}", frames.size(), channel);
             try {
-                if (!channel.writeAndFlush(Unpooled.wrappedBuffer(bytes)).await(sendTimeout)) {
-                    throw new AuditException("Could not send audit message to " + host + ":" + port);
+                if (!channel.writeAndFlush(Unpooled.wrappedBuffer(frames.toArray(new byte[0][]))).await(sendTimeout)) {
+                    throw new AuditException("Could not send audit messages to " + host + ":" + port);
                 }
             } catch (InterruptedException e) {
-                throw new AuditException("Interrupted during sending audit message to " + host + ":" + port, e);
+                throw new AuditException("Interrupted during sending audit messages to " + host + ":" + port, e);
             }
         }
 
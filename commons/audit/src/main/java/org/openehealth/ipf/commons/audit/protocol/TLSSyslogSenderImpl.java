@@ -31,6 +31,7 @@ import java.net.Socket;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -46,7 +47,9 @@ import java.util.concurrent.atomic.AtomicReference;
  * Note that this implementation disobeys the ATNA specification saying, that
  * the Secure Application, Secure Node, or Audit Record Forwarder is unable to
  * send the message to the Audit Record Repository, then the actor shall store
- * the audit record locally and send it when it is able.
+ * the audit record locally and send it when it is able. Use a
+ * {@link org.openehealth.ipf.commons.audit.queue.BatchingAuditMessageQueue} with a journal directory
+ * to achieve this.
  * </p>
  *
  * @author Lawrence Tarbox, Derived from code written by Matthew Davis of IBM.
@@ -56,7 +59,7 @@ import java.util.concurrent.atomic.AtomicReference;
 public class TLSSyslogSenderImpl extends RFC5425Protocol implements AuditTransmissionProtocol {
 
     private static final Logger LOG = LoggerFactory.getLogger(TLSSyslogSenderImpl.class);
-    private static final int MIN_SO_TIMEOUT = 1;
+    static final int MIN_SO_TIMEOUT = 1;
     private static final Boolean DEFAULT_SOCKET_KEEPALIVE = Boolean.TRUE;
 
     private final AtomicReference<Socket> socket = new AtomicReference<>();
@@ -117,29 +120,45 @@ public class TLSSyslogSenderImpl extends RFC5425Protocol implements AuditTransmi
     @Override
     public void send(AuditContext auditContext, AuditMetadataProvider auditMetadataProvider, String auditMessage) throws Exception {
         if (auditMessage != null) {
-            var msgBytes = getTransportPayload(auditMetadataProvider, auditMessage);
-            LOG.debug("Auditing {} bytes to {}:{}",
-                    msgBytes.length,
-                    auditContext.getAuditRepositoryHostName(),
-                    auditContext.getAuditRepositoryPort());
+            send(auditContext, getTransportPayload(auditMetadataProvider, auditMessage), 1);
+        }
+    }
+
+    /**
+     * Writes all messages as consecutive frames with a single write and flush, testing the socket
+     * at most once before and once after the write as configured by the {@link SocketTestPolicy}.
+     */
+    @Override
+    public void send(AuditContext auditContext, AuditMetadataProvider auditMetadataProvider, List<String> auditMessages) throws Exception {
+        var frames = getTransportPayloads(auditMetadataProvider, auditMessages);
+        if (!frames.isEmpty()) {
+            send(auditContext, concat(frames), frames.size());
+        }
+    }
+
+    private void send(AuditContext auditContext, byte[] msgBytes, int count) throws Exception {
+        LOG.debug("Auditing {} bytes ({} records) to {}:{}",
+                msgBytes.length,
+                count,
+                auditContext.getAuditRepositoryHostName(),
+                auditContext.getAuditRepositoryPort());
+        try {
+            doSend(auditContext, msgBytes);
+            if (LOG.isTraceEnabled()) {
+                LOG.trace(new String(msgBytes, StandardCharsets.UTF_8));
+            }
+        } catch (SocketException | SocketTimeoutException e) {
             try {
+                LOG.info("Failed to use existing TLS socket. Will create a new connection and retry.");
+                closeSocket(socket.get());
+                socket.set(null);
                 doSend(auditContext, msgBytes);
-                if (LOG.isTraceEnabled()) {
-                    LOG.trace(new String(msgBytes, StandardCharsets.UTF_8));
-                }
-            } catch (SocketException | SocketTimeoutException e) {
-                try {
-                    LOG.info("Failed to use existing TLS socket. Will create a new connection and retry.");
-                    closeSocket(socket.get());
-                    socket.set(null);
-                    doSend(auditContext, msgBytes);
-                } catch (Exception exception) {
-                    LOG.error("Failed to audit using new TLS socket, giving up - this audit message will be lost.");
-                    closeSocket(socket.get());
-                    socket.set(null);
-                    // re-throw the exception so caller knows what happened
-                    throw exception;
-                }
+            } catch (Exception exception) {
+                LOG.error("Failed to audit using new TLS socket, giving up - this audit message will be lost.");
+                closeSocket(socket.get());
+                socket.set(null);
+                // re-throw the exception so caller knows what happened
+                throw exception;
             }
         }
     }
@@ -244,7 +263,7 @@ public class TLSSyslogSenderImpl extends RFC5425Protocol implements AuditTransmi
      * @param socket The socket (connection) under test
      * @return {@code true} if the connection is alive, {@code false} otherwise
      */
-    private boolean isSocketConnectionAlive(final Socket socket) {
+    static boolean isSocketConnectionAlive(final Socket socket) {
         boolean isAlive;
         try {
             if (socket.getSoTimeout() > 0) {
@@ -278,7 +297,7 @@ public class TLSSyslogSenderImpl extends RFC5425Protocol implements AuditTransmi
      *
      * @param socket Socket to close.
      */
-    private void closeSocket(final Socket socket) {
+    static void closeSocket(final Socket socket) {
         if (socket != null && !socket.isClosed()) {
             try {
                 socket.close();
@@ -25,6 +25,7 @@ import org.slf4j.LoggerFactory;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 /**
  * Simple UDP sender that opens a new DatagramSocket for every batch of AuditMessages
@@ -61,22 +62,34 @@ public class UDPSyslogSenderImpl extends RFC5424Protocol implements AuditTransmi
     @Override
     public void send(AuditContext auditContext, AuditMetadataProvider auditMetadataProvider, String auditMessage) throws Exception {
         if (auditMessage != null) {
-            try (var socket = new DatagramSocket()) {
-                var msgBytes = getTransportPayload(auditMetadataProvider, auditMessage);
-                var inetAddress = auditContext.getAuditRepositoryAddress();
-                LOG.debug("Auditing {} bytes to {}:{} ({})",
-                        msgBytes.length,
-                        auditContext.getAuditRepositoryHostName(),
-                        auditContext.getAuditRepositoryPort(),
-                        inetAddress.getHostAddress());
-                var packet = new DatagramPacket(
-                        msgBytes,
-                        Math.min(MAX_DATAGRAM_PACKET_SIZE, msgBytes.length),
-                        inetAddress,
-                        auditContext.getAuditRepositoryPort());
-                socket.send(packet);
-                if (LOG.isTraceEnabled()) {
-                    LOG.trace(new String(msgBytes, StandardCharsets.UTF_8));
+            send(auditContext, auditMetadataProvider, List.of(auditMessage));
+        }
+    }
+
+    /**
+     * Sends one datagram per message, reusing the same datagram socket for all of them
+     */
+    @Override
+    public void send(AuditContext auditContext, AuditMetadataProvider auditMetadataProvider, List<String> auditMessages) throws Exception {
+        try (var socket = new DatagramSocket()) {
+            var inetAddress = auditContext.getAuditRepositoryAddress();
+            for (var auditMessage : auditMessages) {
+                if (auditMessage != null) {
+                    var msgBytes = getTransportPayload(auditMetadataProvider, auditMessage);
+                    LOG.debug("Auditing {} bytes to {}:{} ({})",
+                            msgBytes.length,
+                            auditContext.getAuditRepositoryHostName(),
+                            auditContext.getAuditRepositoryPort(),
+                            inetAddress.getHostAddress());
+                    var packet = new DatagramPacket(
+                            msgBytes,
+                            Math.min(MAX_DATAGRAM_PACKET_SIZE, msgBytes.length),
+                            inetAddress,
+                            auditContext.getAuditRepositoryPort());
+                    socket.send(packet);
+                    if (LOG.isTraceEnabled()) {
+                        LOG.trace(new String(msgBytes, StandardCharsets.UTF_8));
+                    }
                 }
             }
         }
@@ -26,6 +26,7 @@ import org.openehealth.ipf.commons.audit.VertxTlsParameters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -94,6 +95,13 @@ public class VertxTLSSyslogSenderImpl extends NioTLSSyslogSenderImpl<String, Ver
             vertx.eventBus().send(getHandle(), buffer);
         }
 
+        @Override
+        public void write(List<byte[]> frames) {
+            Buffer buffer = new BufferImpl();
+            frames.forEach(buffer::appendBytes);
+            vertx.eventBus().send(getHandle(), buffer);
+        }
+
         @Override
         public void shutdown() {
             vertx.close();
@@ -35,6 +35,10 @@ import java.util.concurrent.TimeUnit;
  * The parameters of the {@link ExecutorService} determine the behavior of the queue implementation, e.g. in case the
  * audit destination is not reachable.
  * </p>
+ * <p>
+ * For bounded memory usage, batched sending and local storage of undeliverable records, consider using
+ * {@link BatchingAuditMessageQueue}.
+ * </p>
  *
  * @author Christian Ohr
  * @since 3.5
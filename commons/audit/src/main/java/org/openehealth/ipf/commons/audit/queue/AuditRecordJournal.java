@@ -0,0 +1,298 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openehealth.ipf.commons.audit.queue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Simple file-based journal that stores serialized audit records which could not be delivered
+ * (yet) to the Audit Record Repository. Records are appended to a segment file, which is rolled
+ * when it exceeds a maximal size. Segments are also rolled before they are replayed, and deleted
+ * only after all their records have been handed over. Segments left over from a previous run are
+ * picked up again, so that journaled records survive a restart as required by the ATNA
+ * store-and-forward rule.
+ * <p>
+ * Each record is stored as a 4-byte length followed by the UTF-8 encoded record. Segments are
+ * read record by record. A record whose length is negative, exceeds the maximal record length
+ * or the remaining size of the segment is considered corrupt (e.g. after a crash while writing),
+ * and the segment is truncated before this record.
+ * </p>
+ *
+ * @since 4.5
+ */
+public class AuditRecordJournal {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuditRecordJournal.class);
+
+    static final String SEGMENT_PREFIX = "audit-";
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    /**
+     * Default maximal size of a segment file in bytes
+     */
+    public static final long DEFAULT_MAX_SEGMENT_SIZE = 16L * 1024 * 1024;
+
+    /**
+     * Default maximal length of an encoded audit record in bytes
+     */
+    public static final int DEFAULT_MAX_RECORD_LENGTH = 4 * 1024 * 1024;
+
+    private final Path directory;
+    private final long maxSegmentSize;
+    private final int maxRecordLength;
+    private final AtomicLong sequence = new AtomicLong();
+    private Path currentSegment;
+    private DataOutputStream out;
+    private long currentSegmentSize;
+    private long size;
+
+    /**
+     * @param directory directory where segment files are stored. Created if it does not exist.
+     * @throws IOException if the directory could not be created or read
+     */
+    public AuditRecordJournal(Path directory) throws IOException {
+        this(directory, DEFAULT_MAX_SEGMENT_SIZE, DEFAULT_MAX_RECORD_LENGTH);
+    }
+
+    /**
+     * @param directory       directory where segment files are stored. Created if it does not exist.
+     * @param maxSegmentSize  size in bytes after which a new segment is started
+     * @param maxRecordLength maximal length of an encoded audit record in bytes
+     * @throws IOException if the directory could not be created or read
+     */
+    public AuditRecordJournal(Path directory, long maxSegmentSize, int maxRecordLength) throws IOException {
+        this.directory = requireNonNull(directory, "Journal directory must not be null");
+        if (maxSegmentSize <= 0 || maxRecordLength <= 0) {
+            throw new IllegalArgumentException("Maximal segment size and record length must be positive");
+        }
+        this.maxSegmentSize = maxSegmentSize;
+        this.maxRecordLength = maxRecordLength;
+        Files.createDirectories(directory);
+        size = segments().stream().mapToLong(this::countRecords).sum();
+        if (size > 0) {
+            LOG.info("Found {} journaled audit records in {}", size, directory);
+        }
+    }
+
+    /**
+     * Appends the audit records to the current segment, starting a new one when the
+     * current segment has reached its maximal size.
+     *
+     * @param auditRecords audit records
+     * @throws IOException if writing failed or a record exceeds the maximal record length.
+     *                     In the latter case, none of the records are written.
+     */
+    public synchronized void append(Collection<String> auditRecords) throws IOException {
+        var encoded = auditRecords.stream()
+                .map(auditRecord -> auditRecord.getBytes(StandardCharsets.UTF_8))
+                .collect(Collectors.toList());
+        for (var bytes : encoded) {
+            if (bytes.length > maxRecordLength) {
+                throw new IOException("Audit record of " + bytes.length +
+                        " bytes exceeds the maximal journal record length of " + maxRecordLength);
+            }
+        }
+        for (var bytes : encoded) {
+            if (out == null || currentSegmentSize >= maxSegmentSize) {
+                closeCurrentSegment();
+                openSegment();
+            }
+            out.writeInt(bytes.length);
+            out.write(bytes);
+            currentSegmentSize += Integer.BYTES + bytes.length;
+            size++;
+        }
+        out.flush();
+    }
+
+    /**
+     * Closes the current segment (if any) and returns the oldest segment that is ready for replay
+     *
+     * @return oldest closed segment or null if the journal is empty
+     */
+    public synchronized Path oldestSegment() {
+        closeCurrentSegment();
+        var segments = segments();
+        return segments.isEmpty() ? null : segments.get(0);
+    }
+
+    /**
+     * Opens a closed segment for reading. The caller must close the returned reader.
+     *
+     * @param segment segment file as obtained by {@link #oldestSegment()}
+     * @return reader of the audit records contained in the segment
+     * @throws IOException if the segment could not be opened
+     */
+    public SegmentReader open(Path segment) throws IOException {
+        return new SegmentReader(segment);
+    }
+
+    /**
+     * Removes a segment after its records have been delivered
+     *
+     * @param segment segment file as obtained by {@link #oldestSegment()}
+     * @param records number of records in this segment
+     * @throws IOException if deletion failed
+     */
+    public synchronized void remove(Path segment, int records) throws IOException {
+        Files.deleteIfExists(segment);
+        size = Math.max(0, size - records);
+    }
+
+    /**
+     * @return number of journaled audit records
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * @return true if no audit records are journaled
+     */
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Closes the current segment
+     */
+    public synchronized void close() {
+        closeCurrentSegment();
+    }
+
+    private void openSegment() throws IOException {
+        currentSegment = directory.resolve(String.format("%s%d-%06d%s",
+                SEGMENT_PREFIX, System.currentTimeMillis(), sequence.getAndIncrement(), SEGMENT_SUFFIX));
+        out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(currentSegment, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        currentSegmentSize = Files.size(currentSegment);
+    }
+
+    private void closeCurrentSegment() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                LOG.warn("Failed to close audit journal segment {}", currentSegment, e);
+            }
+            out = null;
+            currentSegment = null;
+        }
+    }
+
+    private List<Path> segments() {
+        try (var files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        var name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .filter(path -> !path.equals(currentSegment))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            LOG.warn("Failed to list audit journal directory {}", directory, e);
+            return List.of();
+        }
+    }
+
+    private long countRecords(Path segment) {
+        var count = 0L;
+        try (var reader = open(segment)) {
+            while (reader.next() != null) {
+                count++;
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to read audit journal segment {}", segment, e);
+        }
+        return count;
+    }
+
+    /**
+     * Reads the audit records of a segment one by one.
+     */
+    public class SegmentReader implements Closeable {
+
+        private final Path segment;
+        private final FileChannel channel;
+        private final DataInputStream in;
+        private long segmentSize;
+        private long position;
+
+        private SegmentReader(Path segment) throws IOException {
+            this.segment = segment;
+            this.channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            this.segmentSize = channel.size();
+        }
+
+        /**
+         * @return next audit record, or null at the end of the segment or at the first corrupt record
+         * @throws IOException if reading failed
+         */
+        public String next() throws IOException {
+            var remaining = segmentSize - position;
+            if (remaining == 0) {
+                return null;
+            }
+            if (remaining < Integer.BYTES) {
+                truncate("incomplete record length");
+                return null;
+            }
+            var length = in.readInt();
+            if (length < 0 || length > maxRecordLength || length > remaining - Integer.BYTES) {
+                truncate("invalid record length " + length);
+                return null;
+            }
+            var bytes = new byte[length];
+            in.readFully(bytes);
+            position += Integer.BYTES + length;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private void truncate(String reason) throws IOException {
+            LOG.warn("Truncating audit journal segment {} at position {}: {}", segment, position, reason);
+            channel.truncate(position);
+            segmentSize = position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,473 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openehealth.ipf.commons.audit.queue;
+
+import org.openehealth.ipf.commons.audit.AuditContext;
+import org.openehealth.ipf.commons.audit.AuditException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Audit queue that buffers serialized audit records in a bounded in-memory queue. A single drainer
+ * thread takes up to {@link #setMaxBatchSize(int) maxBatchSize} records at a time and passes them to the
+ * {@link org.openehealth.ipf.commons.audit.protocol.AuditTransmissionProtocol} as one batch.
+ * <p>
+ * When the queue is full, the configured {@link OverflowPolicy} determines whether the caller blocks,
+ * the oldest record is dropped, or the record is spilled into an {@link AuditRecordJournal}.
+ * If a journal directory is configured, records that cannot be transmitted are also journaled and
+ * retransmitted once the Audit Record Repository becomes reachable again, also after a restart
+ * (store-and-forward). Delivery of journaled records is at-least-once.
+ * </p>
+ * <p>
+ * The drainer thread is started by {@link #start(AuditContext)} or with the first audit record, and stopped
+ * on {@link #shutdown()}. Starting the queue explicitly retransmits records journaled by an earlier run without
+ * waiting for new audit records. Records audited after shutdown has begun are journaled, if a journal directory
+ * is configured, or otherwise rejected.
+ * An instance of this class is meant to be used with exactly one {@link AuditContext}. As records are sent
+ * from the drainer thread, the MDC of the auditing thread is not available while sending.
+ * </p>
+ * <p>
+ * Queue depth, number of dropped and journaled records, and drain latency are available via
+ * getters, e.g. for exposing them via JMX.
+ * </p>
+ *
+ * @see AsynchronousAuditMessageQueue
+ * @since 4.5
+ */
+public class BatchingAuditMessageQueue extends AbstractAuditMessageQueue {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchingAuditMessageQueue.class);
+
+    /**
+     * Determines what happens if an audit record is added to a full queue
+     */
+    public enum OverflowPolicy {
+        /**
+         * The auditing thread waits for free capacity, at most for {@link #setBlockTimeoutMillis(long) blockTimeoutMillis}.
+         * The record is dropped if the timeout elapses.
+         */
+        BLOCK,
+        /**
+         * The oldest record in the queue is dropped.
+         */
+        DROP_OLDEST,
+        /**
+         * The record is written to the journal. Requires a {@link #setJournalDirectory(String) journal directory}.
+         */
+        SPILL
+    }
+
+    private int capacity = 10000;
+    private int maxBatchSize = 100;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private long blockTimeoutMillis = 10000L;
+    private long retryDelayMillis = 5000L;
+    private int shutdownTimeoutSeconds = 30;
+    private Path journalDirectory;
+    private long maxJournalSegmentSize = AuditRecordJournal.DEFAULT_MAX_SEGMENT_SIZE;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong journaledCount = new AtomicLong();
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong lastDrainLatencyMillis = new AtomicLong();
+    private final AtomicLong maxDrainLatencyMillis = new AtomicLong();
+
+    // auditing threads hold the read lock while enqueuing, start and shutdown hold the write lock
+    private final ReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+    private volatile BlockingQueue<String> queue;
+    private volatile AuditContext auditContext;
+    private volatile boolean running;
+    private boolean stopped;
+    private AuditRecordJournal journal;
+    private Thread drainer;
+
+    @Override
+    protected void handle(AuditContext auditContext, String auditRecord) {
+        if (auditRecord != null) {
+            if (!running) {
+                start(auditContext);
+            }
+            var lock = lifecycleLock.readLock();
+            lock.lock();
+            try {
+                // the drainer only exits after running has been cleared, so enqueued records are not lost
+                if (running) {
+                    enqueue(auditContext, auditRecord);
+                } else {
+                    reject(auditContext, auditRecord);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                droppedCount.incrementAndGet();
+                auditContext.getAuditExceptionHandler().handleException(auditContext, e, auditRecord);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void reject(AuditContext auditContext, String auditRecord) {
+        if (journal != null) {
+            journal(auditContext, List.of(auditRecord));
+            journal.close();
+        } else {
+            droppedCount.incrementAndGet();
+            auditContext.getAuditExceptionHandler().handleException(auditContext,
+                    new AuditException("Audit queue has been shut down, rejecting audit record"), auditRecord);
+        }
+    }
+
+    private void enqueue(AuditContext auditContext, String auditRecord) throws InterruptedException {
+        if (queue.offer(auditRecord)) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case BLOCK:
+                if (!queue.offer(auditRecord, blockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    droppedCount.incrementAndGet();
+                    auditContext.getAuditExceptionHandler().handleException(auditContext,
+                            new AuditException("Audit queue is full, dropping audit record"), auditRecord);
+                }
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(auditRecord)) {
+                    var dropped = queue.poll();
+                    if (dropped != null) {
+                        droppedCount.incrementAndGet();
+                        auditContext.getAuditExceptionHandler().handleException(auditContext,
+                                new AuditException("Audit queue is full, dropping oldest audit record"), dropped);
+                    }
+                }
+                break;
+            case SPILL:
+                journal(auditContext, List.of(auditRecord));
+                break;
+        }
+    }
+
+    /**
+     * Starts the drainer thread, which first retransmits records journaled by an earlier run. Has no effect
+     * if the queue has already been started or shut down. Otherwise, the queue is started with the first
+     * audit record.
+     *
+     * @param auditContext the audit context this queue is used with
+     */
+    public void start(AuditContext auditContext) {
+        var lock = lifecycleLock.writeLock();
+        lock.lock();
+        try {
+            if (!running && !stopped) {
+                doStart(auditContext);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void doStart(AuditContext auditContext) {
+        if (overflowPolicy == OverflowPolicy.SPILL && journalDirectory == null) {
+            throw new IllegalStateException("Overflow policy SPILL requires a journal directory");
+        }
+        if (journalDirectory != null) {
+            try {
+                journal = new AuditRecordJournal(journalDirectory, maxJournalSegmentSize,
+                        AuditRecordJournal.DEFAULT_MAX_RECORD_LENGTH);
+            } catch (IOException e) {
+                throw new AuditException("Could not open audit journal in " + journalDirectory, e);
+            }
+        }
+        this.auditContext = requireNonNull(auditContext);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.running = true;
+        this.drainer = new Thread(this::drain, "ipf-audit-drainer");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    var batch = new ArrayList<String>(maxBatchSize);
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                    var sent = send(batch);
+                    if (!sent) {
+                        journal(auditContext, batch);
+                        if (!running) break;
+                        pause();
+                    }
+                } else if (running && journal != null && !journal.isEmpty()) {
+                    replayJournal();
+                }
+            } catch (InterruptedException e) {
+                // Shutdown requested, remaining records are journaled below
+                break;
+            } catch (Exception e) {
+                LOG.warn("Unexpected exception while draining audit queue", e);
+            }
+        }
+        var remaining = new ArrayList<String>(queue);
+        queue.clear();
+        if (!remaining.isEmpty()) {
+            journal(auditContext, remaining);
+        }
+    }
+
+    private void replayJournal() throws IOException, InterruptedException {
+        var segment = journal.oldestSegment();
+        if (segment != null) {
+            var count = 0;
+            try (var reader = journal.open(segment)) {
+                var batch = new ArrayList<String>(maxBatchSize);
+                String auditRecord;
+                do {
+                    auditRecord = reader.next();
+                    if (auditRecord != null) {
+                        batch.add(auditRecord);
+                    }
+                    if (batch.size() == maxBatchSize || (auditRecord == null && !batch.isEmpty())) {
+                        if (!running || !send(batch)) {
+                            // Keep the segment and retry later; records already sent may be sent again
+                            if (running) pause();
+                            return;
+                        }
+                        count += batch.size();
+                        batch = new ArrayList<>(maxBatchSize);
+                    }
+                } while (auditRecord != null);
+            }
+            journal.remove(segment, count);
+            LOG.info("Retransmitted {} journaled audit records", count);
+        }
+    }
+
+    /**
+     * Sends a batch of audit records.
+     *
+     * @param auditRecords audit records
+     * @return true if the batch has been sent, false if it should be journaled
+     */
+    private boolean send(List<String> auditRecords) {
+        var start = System.nanoTime();
+        try {
+            auditContext.getAuditTransmissionProtocol().send(auditContext, auditRecords);
+            sentCount.addAndGet(auditRecords.size());
+        } catch (Exception e) {
+            if (journal != null) {
+                LOG.warn("Failed to send {} audit records, keeping them in the journal for later retransmission",
+                        auditRecords.size(), e);
+                return false;
+            }
+            auditRecords.forEach(auditRecord ->
+                    auditContext.getAuditExceptionHandler().handleException(auditContext, e, auditRecord));
+        }
+        var latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        lastDrainLatencyMillis.set(latency);
+        maxDrainLatencyMillis.accumulateAndGet(latency, Math::max);
+        return true;
+    }
+
+    private void journal(AuditContext auditContext, List<String> auditRecords) {
+        if (journal != null) {
+            try {
+                journal.append(auditRecords);
+                journaledCount.addAndGet(auditRecords.size());
+                return;
+            } catch (IOException e) {
+                LOG.warn("Failed to write {} audit records to the journal", auditRecords.size(), e);
+            }
+        }
+        droppedCount.addAndGet(auditRecords.size());
+        auditRecords.forEach(auditRecord -> auditContext.getAuditExceptionHandler().handleException(auditContext,
+                new AuditException("Audit record could not be sent or journaled"), auditRecord));
+    }
+
+    private void pause() throws InterruptedException {
+        Thread.sleep(retryDelayMillis);
+    }
+
+    /**
+     * Stops accepting records and waits for the drainer thread to send or journal the queued ones. Auditing threads
+     * waiting for free capacity with {@link OverflowPolicy#BLOCK} delay the shutdown until they are done.
+     */
+    @Override
+    public void shutdown() {
+        Thread drainerThread;
+        var lock = lifecycleLock.writeLock();
+        lock.lock();
+        try {
+            stopped = true;
+            if (!running) {
+                return;
+            }
+            running = false;
+            drainerThread = drainer;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            drainerThread.join(TimeUnit.SECONDS.toMillis(shutdownTimeoutSeconds));
+            if (drainerThread.isAlive()) {
+                LOG.warn("Timeout occurred when flushing Audit events, remaining events are journaled or lost");
+                drainerThread.interrupt();
+                drainerThread.join(1000L);
+            }
+        } catch (InterruptedException e) {
+            LOG.warn("Thread interrupt when flushing ATNA events, some events might have been lost", e);
+            Thread.currentThread().interrupt();
+        } finally {
+            if (journal != null) {
+                journal.close();
+            }
+        }
+    }
+
+    /**
+     * @param capacity maximum number of audit records held in memory. Defaults to 10000.
+     */
+    public void setCapacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * @param maxBatchSize maximum number of audit records that are drained at once. Defaults to 100.
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * @param overflowPolicy behavior when the queue is full. Defaults to {@link OverflowPolicy#BLOCK}.
+     */
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = requireNonNull(overflowPolicy);
+    }
+
+    /**
+     * @param blockTimeoutMillis maximum time to wait for free capacity with {@link OverflowPolicy#BLOCK}.
+     *                           Defaults to 10000.
+     */
+    public void setBlockTimeoutMillis(long blockTimeoutMillis) {
+        this.blockTimeoutMillis = blockTimeoutMillis;
+    }
+
+    /**
+     * @param retryDelayMillis delay before journaled records are retransmitted after a failure. Defaults to 5000.
+     */
+    public void setRetryDelayMillis(long retryDelayMillis) {
+        this.retryDelayMillis = retryDelayMillis;
+    }
+
+    /**
+     * Sets the timeout for sending remaining records on shutdown. Defaults to 30
+     *
+     * @param shutdownTimeoutSeconds timeout for sending remaining records on shutdown
+     */
+    public void setShutdownTimeoutSeconds(int shutdownTimeoutSeconds) {
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+    }
+
+    /**
+     * Sets the directory of the {@link AuditRecordJournal}. If not set, records that cannot be sent are passed
+     * to the {@link org.openehealth.ipf.commons.audit.handler.AuditExceptionHandler}.
+     *
+     * @param journalDirectory journal directory
+     */
+    public void setJournalDirectory(String journalDirectory) {
+        this.journalDirectory = journalDirectory != null ? Paths.get(journalDirectory) : null;
+    }
+
+    /**
+     * @param maxJournalSegmentSize size in bytes after which the journal starts a new segment file.
+     *                              Defaults to 16 MiB.
+     */
+    public void setMaxJournalSegmentSize(long maxJournalSegmentSize) {
+        this.maxJournalSegmentSize = maxJournalSegmentSize;
+    }
+
+    /**
+     * @return number of audit records currently held in memory
+     */
+    public int getQueueDepth() {
+        var q = queue;
+        return q != null ? q.size() : 0;
+    }
+
+    /**
+     * @return number of audit records currently held in the journal
+     */
+    public long getJournalDepth() {
+        return journal != null ? journal.size() : 0L;
+    }
+
+    /**
+     * @return number of audit records that have been dropped
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * @return number of audit records that have been written to the journal
+     */
+    public long getJournaledCount() {
+        return journaledCount.get();
+    }
+
+    /**
+     * @return number of audit records that have been sent
+     */
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    /**
+     * @return time in milliseconds to transmit the last batch
+     */
+    public long getLastDrainLatencyMillis() {
+        return lastDrainLatencyMillis.get();
+    }
+
+    /**
+     * @return maximum time in milliseconds to transmit a batch
+     */
+    public long getMaxDrainLatencyMillis() {
+        return maxDrainLatencyMillis.get();
+    }
+}
@@ -21,6 +21,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.openehealth.ipf.commons.audit.codes.EventOutcomeIndicator;
 import org.openehealth.ipf.commons.audit.event.ApplicationActivityBuilder;
+import org.openehealth.ipf.commons.audit.model.AuditMessage;
 import org.openehealth.ipf.commons.audit.utils.AuditUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -92,16 +93,19 @@ abstract class AbstractAuditorIntegrationTest {
 
     void sendAudit(String userName) {
         LOG.debug("Sending audit record");
-        auditContext.audit(
-                new ApplicationActivityBuilder.ApplicationStart(EventOutcomeIndicator.Success)
-                        .setAuditSource(auditContext)
-                        .setApplicationParticipant(
-                                userName,
-                                null,
-                                null,
-                                AuditUtils.getLocalHostName())
-                        .addApplicationStarterParticipant(System.getProperty("user.name"))
-                        .getMessages());
+        auditContext.audit(auditMessage(userName));
+    }
+
+    AuditMessage auditMessage(String userName) {
+        return new ApplicationActivityBuilder.ApplicationStart(EventOutcomeIndicator.Success)
+                .setAuditSource(auditContext)
+                .setApplicationParticipant(
+                        userName,
+                        null,
+                        null,
+                        AuditUtils.getLocalHostName())
+                .addApplicationStarterParticipant(System.getProperty("user.name"))
+                .getMessage();
     }
 
     int freePort() {
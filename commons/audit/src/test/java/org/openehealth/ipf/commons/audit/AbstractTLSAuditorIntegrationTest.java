@@ -23,6 +23,7 @@ import org.openehealth.ipf.commons.audit.server.support.SyslogEventCollector;
 
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -67,6 +68,24 @@ abstract class AbstractTLSAuditorIntegrationTest extends AbstractAuditorIntegrat
         }
     }
 
+    @Test
+    public void testTwoWayTLSBatch() throws Exception {
+        var defaultTls = setupDefaultTlsParameter();
+        auditContext.setTlsParameters(defaultTls);
+        auditContext.setAuditRepositoryTransport(transport());
+        var count = 50;
+        var consumer = SyslogEventCollector.newInstance().withExpectation(count);
+
+        try (var ignored = new TlsSyslogServer(consumer, Throwable::printStackTrace, defaultTls)
+                .start("localhost", port)) {
+            var auditRecords = IntStream.range(0, count)
+                    .mapToObj(i -> auditContext.getSerializationStrategy().marshal(auditMessage(Integer.toString(i)), false))
+                    .collect(Collectors.toList());
+            auditContext.getAuditTransmissionProtocol().send(auditContext, auditRecords);
+            assertTrue(consumer.await(5, TimeUnit.SECONDS), "Consumer only received " + consumer.getSyslogEvents().size());
+        }
+    }
+
     @Test
     public void testTwoWayTLSInterrupted() throws Exception {
         var defaultTls = setupDefaultTlsParameter();
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openehealth.ipf.commons.audit;
+
+import org.junit.jupiter.api.Test;
+import org.openehealth.ipf.commons.audit.protocol.PooledTLSSyslogSenderImpl;
+import org.openehealth.ipf.commons.audit.server.TlsSyslogServer;
+import org.openehealth.ipf.commons.audit.server.support.SyslogEventCollector;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PooledTLSAuditorIntegrationTest extends AbstractTLSAuditorIntegrationTest {
+
+    @Override
+    protected String transport() {
+        return "POOLED-TLS";
+    }
+
+    @Test
+    public void testFailoverToSecondEndpoint() throws Exception {
+        var defaultTls = setupDefaultTlsParameter();
+        auditContext.setTlsParameters(defaultTls);
+        var sender = new PooledTLSSyslogSenderImpl(defaultTls);
+        // first endpoint is not listening
+        sender.setEndpoints(List.of(LOCALHOST + ":" + freePort(), LOCALHOST + ":" + port));
+        sender.setSelectionStrategy(PooledTLSSyslogSenderImpl.SelectionStrategy.LEAST_BUSY);
+        auditContext.setAuditTransmissionProtocol(sender);
+        var count = 10;
+        var consumer = SyslogEventCollector.newInstance().withExpectation(count);
+
+        try (var ignored = new TlsSyslogServer(consumer, Throwable::printStackTrace, defaultTls)
+                .start("localhost", port)) {
+            IntStream.range(0, count).forEach(i -> sendAudit());
+            assertTrue(consumer.await(5, TimeUnit.SECONDS));
+        } finally {
+            sender.shutdown();
+        }
+    }
+
+    @Test
+    public void testRebuildPoolWhenPortChanges() throws Exception {
+        var defaultTls = setupDefaultTlsParameter();
+        auditContext.setTlsParameters(defaultTls);
+        var sender = new PooledTLSSyslogSenderImpl(defaultTls);
+        auditContext.setAuditTransmissionProtocol(sender);
+        var consumer1 = SyslogEventCollector.newInstance().withExpectation(1);
+        var consumer2 = SyslogEventCollector.newInstance().withExpectation(1);
+        var port2 = freePort();
+
+        try (var ignored1 = new TlsSyslogServer(consumer1, Throwable::printStackTrace, defaultTls)
+                .start("localhost", port);
+             var ignored2 = new TlsSyslogServer(consumer2, Throwable::printStackTrace, defaultTls)
+                .start("localhost", port2)) {
+            sendAudit();
+            assertTrue(consumer1.await(5, TimeUnit.SECONDS));
+            auditContext.setAuditRepositoryPort(port2);
+            sendAudit();
+            assertTrue(consumer2.await(5, TimeUnit.SECONDS));
+        } finally {
+            sender.shutdown();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openehealth.ipf.commons.audit.marshal.dicom;
+
+import org.openehealth.ipf.commons.audit.AuditMetadataProvider;
+import org.openehealth.ipf.commons.audit.model.AuditMessage;
+import org.openehealth.ipf.commons.audit.protocol.RFC5425Protocol;
+import org.openehealth.ipf.commons.audit.unmarshal.dicom.DICOMAuditParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JDOM based serialization of audit messages with {@link StreamingDICOM2017c}, both
+ * with and without RFC 5425 framing. The framing of IPF 4.4, based on String.format and getBytes,
+ * serves as baseline for the complete path. Run the {@link #main(String[])} method with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DICOMSerializationBenchmark {
+
+    @Param({"pdq.xml", "pixfeed.xml"})
+    public String sample;
+
+    private AuditMessage auditMessage;
+    private final DICOM2017c jdom = new DICOM2017c();
+    private final StreamingDICOM2017c streaming = new StreamingDICOM2017c();
+    private final Framing framing = new Framing();
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream("audit/" + sample)) {
+            auditMessage = new DICOMAuditParser().parse(new String(is.readAllBytes(), StandardCharsets.UTF_8), false);
+        }
+    }
+
+    @Benchmark
+    public String jdom() {
+        return jdom.marshal(auditMessage, false);
+    }
+
+    @Benchmark
+    public String streaming() {
+        return streaming.marshal(auditMessage, false);
+    }
+
+    @Benchmark
+    public byte[] jdomLegacyFramed() {
+        return framing.legacyFrame(jdom.marshal(auditMessage, false));
+    }
+
+    @Benchmark
+    public byte[] jdomFramed() {
+        return framing.frame(jdom.marshal(auditMessage, false));
+    }
+
+    @Benchmark
+    public byte[] streamingFramed() {
+        return framing.frame(streaming.marshal(auditMessage, false));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(DICOMSerializationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    private static class Framing extends RFC5425Protocol {
+
+        private final AuditMetadataProvider metadataProvider = AuditMetadataProvider.getDefault();
+
+        byte[] frame(String auditMessage) {
+            return getTransportPayload(metadataProvider, auditMessage);
+        }
+
+        // framing as implemented by RFC5424Protocol and RFC5425Protocol before IPF 4.5
+        byte[] legacyFrame(String auditMessage) {
+            var msg = String.format("<%s>1 %s %s %s %s %s - \uFEFF<?xml version=\"1.0\" encoding=\"UTF-8\"?>%s",
+                    10 * 8 + 5,
+                    metadataProvider.getTimestamp(),
+                    metadataProvider.getHostname(),
+                    metadataProvider.getSendingApplication().replace(' ', '_'),
+                    metadataProvider.getProcessID(),
+                    "IHE+RFC-3881",
+                    auditMessage);
+            var msgBytes = msg.trim().getBytes(StandardCharsets.UTF_8);
+            var length = String.format("%d ", msgBytes.length).getBytes();
+            var output = new byte[length.length + msgBytes.length];
+            System.arraycopy(length, 0, output, 0, length.length);
+            System.arraycopy(msgBytes, 0, output, length.length, msgBytes.length);
+            return output;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openehealth.ipf.commons.audit.marshal.dicom;
+
+import org.junit.jupiter.api.Test;
+import org.openehealth.ipf.commons.audit.DefaultAuditContext;
+import org.openehealth.ipf.commons.audit.codes.EventOutcomeIndicator;
+import org.openehealth.ipf.commons.audit.codes.ParticipantObjectIdTypeCode;
+import org.openehealth.ipf.commons.audit.codes.ParticipantObjectTypeCode;
+import org.openehealth.ipf.commons.audit.event.ApplicationActivityBuilder;
+import org.openehealth.ipf.commons.audit.model.AuditMessage;
+import org.openehealth.ipf.commons.audit.model.DicomObjectDescriptionType;
+import org.openehealth.ipf.commons.audit.model.ParticipantObjectIdentificationType;
+import org.openehealth.ipf.commons.audit.model.TypeValuePairType;
+import org.openehealth.ipf.commons.audit.types.MediaType;
+import org.openehealth.ipf.commons.audit.types.PurposeOfUse;
+import org.openehealth.ipf.commons.audit.unmarshal.dicom.DICOMAuditParser;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ */
+public class StreamingDICOM2017cTest {
+
+    private final DICOM2017c jdom = new DICOM2017c();
+    private final StreamingDICOM2017c streaming = new StreamingDICOM2017c();
+
+    @Test
+    public void sameOutputAsJdomForSampleMessages() throws Exception {
+        var parser = new DICOMAuditParser();
+        for (var file : sampleFiles()) {
+            var auditMessage = parser.parse(Files.readString(file, StandardCharsets.UTF_8), true);
+            assertEquals(jdom.marshal(auditMessage, false), streaming.marshal(auditMessage, false), file.toString());
+        }
+    }
+
+    @Test
+    public void sameOutputAsJdomForSpecialCharacters() throws Exception {
+        var auditMessage = auditMessage("  a\t b\r\n c & <d> \"e\" 'f' é 😀  ");
+        var expected = jdom.marshal(auditMessage, false);
+        assertEquals(expected, streaming.marshal(auditMessage, false));
+
+        var writer = new StringWriter();
+        streaming.marshal(auditMessage, writer, false);
+        assertEquals(expected, writer.toString());
+    }
+
+    @Test
+    public void sameOutputAsJdomForWhitespaceOnlyText() {
+        var auditMessage = auditMessage(" \t\n ");
+        assertEquals(jdom.marshal(auditMessage, false), streaming.marshal(auditMessage, false));
+    }
+
+    @Test
+    public void prettyOutputIsDelegatedToJdom() {
+        var auditMessage = auditMessage("pretty");
+        assertEquals(jdom.marshal(auditMessage, true), streaming.marshal(auditMessage, true));
+    }
+
+    @Test
+    public void rejectIllegalCharacters() {
+        var auditMessage = auditMessage("illegal \u0001");
+        assertThrows(IllegalArgumentException.class, () -> jdom.marshal(auditMessage, false));
+        assertThrows(IllegalArgumentException.class, () -> streaming.marshal(auditMessage, false));
+    }
+
+    private AuditMessage auditMessage(String text) {
+        var auditContext = new DefaultAuditContext();
+        var auditMessage = new ApplicationActivityBuilder.ApplicationStart(EventOutcomeIndicator.MinorFailure)
+                .setAuditSource(auditContext)
+                .setApplicationParticipant("app \"1\"", "alt\tuser", text, "host&<>")
+                .addApplicationStarterParticipant("starter\r\nuser")
+                .getMessage();
+        auditMessage.getEventIdentification().setEventOutcomeDescription(text);
+        auditMessage.getEventIdentification().getPurposesOfUse().add(PurposeOfUse.of("TREAT", "v3 & more", "Treatment"));
+        auditMessage.getActiveParticipants().get(0).setMediaType(MediaType.of("110030", "DCM", "USB é"));
+
+        var poi = new ParticipantObjectIdentificationType("id😀", ParticipantObjectIdTypeCode.PatientNumber);
+        poi.setParticipantObjectTypeCode(ParticipantObjectTypeCode.Person);
+        poi.setParticipantObjectName(text);
+        poi.setParticipantObjectQuery("query".getBytes(StandardCharsets.UTF_8));
+        poi.getParticipantObjectDetails().add(new TypeValuePairType("detail", "value"));
+        var description = new DicomObjectDescriptionType();
+        description.getMPPS().add("1.2.3");
+        description.getAccession().add("acc");
+        var sopClass = new DicomObjectDescriptionType.SOPClass(2);
+        sopClass.setUid("1.2.840");
+        sopClass.getInstanceUids().add("1.2.840.1");
+        description.getSOPClasses().add(sopClass);
+        description.getSOPClasses().add(new DicomObjectDescriptionType.SOPClass(0));
+        description.getStudyIDs().add("1.2.3.4");
+        description.setEncrypted(true);
+        description.setAnonymized(false);
+        poi.getParticipantObjectDescriptions().add(description);
+        poi.getParticipantObjectDescriptions().add(new DicomObjectDescriptionType());
+        auditMessage.getParticipantObjectIdentifications().add(poi);
+        return auditMessage;
+    }
+
+    private List<Path> sampleFiles() throws Exception {
+        var resource = getClass().getClassLoader().getResource("audit");
+        try (var files = Files.walk(Paths.get(resource.toURI()))) {
+            return files.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openehealth.ipf.commons.audit.protocol;
+
+import org.junit.jupiter.api.Test;
+import org.openehealth.ipf.commons.audit.AuditMetadataProvider;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ *
+ */
+public class RFC5425ProtocolTest {
+
+    private static final AuditMetadataProvider METADATA = new AuditMetadataProvider() {
+        @Override
+        public String getTimestamp() {
+            return "2026-10-18T10:15:30.123Z";
+        }
+
+        @Override
+        public String getHostname() {
+            return "höst";
+        }
+
+        @Override
+        public String getProcessID() {
+            return "4711";
+        }
+
+        @Override
+        public String getSendingApplication() {
+            return "IPF Test App";
+        }
+
+        @Override
+        public void setSendingApplication(String sendingApplication) {
+        }
+    };
+
+    private static final String[] MESSAGES = {
+            "<AuditMessage />\r\n",
+            "<AuditMessage a=\"é 😀 €\" />\r\n",
+            "<AuditMessage>broken \uD800 surrogate</AuditMessage>",
+            " \t\n",
+            ""
+    };
+
+    @Test
+    public void rfc5424PayloadIsUnchanged() {
+        var protocol = new RFC5424Protocol();
+        for (var message : MESSAGES) {
+            assertArrayEquals(rfc5424(message), protocol.getTransportPayload(METADATA, message), message);
+        }
+    }
+
+    @Test
+    public void rfc5425PayloadIsUnchanged() {
+        var protocol = new RFC5425Protocol();
+        for (var message : MESSAGES) {
+            assertArrayEquals(withPrefix(rfc5424(message)),
+                    protocol.getTransportPayload(METADATA, message), message);
+        }
+    }
+
+    // Previous implementation based on string concatenation
+    private static byte[] rfc5424(String auditMessage) {
+        var msg = String.format("<%s>1 %s %s %s %s %s - \uFEFF<?xml version=\"1.0\" encoding=\"UTF-8\"?>%s",
+                85,
+                METADATA.getTimestamp(),
+                METADATA.getHostname(),
+                METADATA.getSendingApplication().replace(' ', '_'),
+                METADATA.getProcessID(),
+                "IHE+RFC-3881",
+                auditMessage);
+        return msg.trim().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] withPrefix(byte[] msgBytes) {
+        var length = String.format("%d ", msgBytes.length).getBytes();
+        var output = new byte[length.length + msgBytes.length];
+        System.arraycopy(length, 0, output, 0, length.length);
+        System.arraycopy(msgBytes, 0, output, length.length, msgBytes.length);
+        return output;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openehealth.ipf.commons.audit.queue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ */
+public class AuditRecordJournalTest {
+
+    @Test
+    public void rollSegmentsBySize(@TempDir Path directory) throws Exception {
+        var journal = new AuditRecordJournal(directory, 20, 100);
+        journal.append(List.of("record1", "record2", "record3", "record4", "record5"));
+        assertEquals(5, journal.size());
+
+        var records = new ArrayList<String>();
+        Path segment;
+        var segments = 0;
+        while ((segment = journal.oldestSegment()) != null) {
+            var count = 0;
+            try (var reader = journal.open(segment)) {
+                String auditRecord;
+                while ((auditRecord = reader.next()) != null) {
+                    records.add(auditRecord);
+                    count++;
+                }
+            }
+            journal.remove(segment, count);
+            segments++;
+        }
+        assertEquals(List.of("record1", "record2", "record3", "record4", "record5"), records);
+        assertEquals(3, segments);
+        assertEquals(0, journal.size());
+    }
+
+    @Test
+    public void truncateAtCorruptRecord(@TempDir Path directory) throws Exception {
+        var journal = new AuditRecordJournal(directory, AuditRecordJournal.DEFAULT_MAX_SEGMENT_SIZE, 100);
+        journal.append(List.of("record1", "record2"));
+        var segment = journal.oldestSegment();
+        var validSize = Files.size(segment);
+        try (var out = new DataOutputStream(Files.newOutputStream(segment, StandardOpenOption.APPEND))) {
+            out.writeInt(Integer.MAX_VALUE);
+            out.write("garbage".getBytes());
+        }
+
+        var reopened = new AuditRecordJournal(directory, AuditRecordJournal.DEFAULT_MAX_SEGMENT_SIZE, 100);
+        assertEquals(2, reopened.size());
+        assertEquals(validSize, Files.size(segment));
+        try (var reader = reopened.open(segment)) {
+            assertEquals("record1", reader.next());
+            assertEquals("record2", reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void truncateIncompleteRecord(@TempDir Path directory) throws Exception {
+        var journal = new AuditRecordJournal(directory);
+        journal.append(List.of("record1"));
+        var segment = journal.oldestSegment();
+        var validSize = Files.size(segment);
+        try (var out = new DataOutputStream(Files.newOutputStream(segment, StandardOpenOption.APPEND))) {
+            out.writeInt(100);
+            out.write("rec".getBytes());
+        }
+        try (var reader = journal.open(segment)) {
+            assertEquals("record1", reader.next());
+            assertNull(reader.next());
+        }
+        assertEquals(validSize, Files.size(segment));
+    }
+
+    @Test
+    public void rejectTooLongRecord(@TempDir Path directory) throws Exception {
+        var journal = new AuditRecordJournal(directory, AuditRecordJournal.DEFAULT_MAX_SEGMENT_SIZE, 10);
+        assertThrows(IOException.class, () -> journal.append(List.of("short", "much too long")));
+        assertEquals(0, journal.size());
+    }
+}
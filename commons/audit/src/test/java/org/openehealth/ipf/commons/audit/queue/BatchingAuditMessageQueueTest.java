@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openehealth.ipf.commons.audit.queue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.openehealth.ipf.commons.audit.DefaultAuditContext;
+import org.openehealth.ipf.commons.audit.handler.AuditExceptionHandler;
+import org.openehealth.ipf.commons.audit.protocol.AuditTransmissionProtocol;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ *
+ */
+public class BatchingAuditMessageQueueTest {
+
+    @Test
+    public void sendMessages() throws Exception {
+        final var messageSender = mock(AuditTransmissionProtocol.class);
+        final var context = context(messageSender);
+        var queue = new BatchingAuditMessageQueue();
+        try {
+            for (var i = 0; i < 10; i++) {
+                queue.handle(context, "record" + i);
+            }
+        } finally {
+            queue.shutdown();
+        }
+        assertEquals(IntStream.range(0, 10).mapToObj(i -> "record" + i).collect(Collectors.toList()),
+                sentRecords(messageSender, context));
+        assertEquals(10, queue.getSentCount());
+        assertEquals(0, queue.getDroppedCount());
+        assertEquals(0, queue.getQueueDepth());
+    }
+
+    @Test
+    public void dropOldestRecordsWhenFull() throws Exception {
+        final var latch = new CountDownLatch(1);
+        final var messageSender = mock(AuditTransmissionProtocol.class);
+        doAnswer(invocation -> {
+            latch.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(messageSender).send(any(), anyList());
+        final var exceptionHandler = mock(AuditExceptionHandler.class);
+        final var context = context(messageSender);
+        context.setAuditExceptionHandler(exceptionHandler);
+
+        var queue = new BatchingAuditMessageQueue();
+        queue.setCapacity(2);
+        queue.setOverflowPolicy(BatchingAuditMessageQueue.OverflowPolicy.DROP_OLDEST);
+        try {
+            queue.handle(context, "blocking");
+            // wait until the drainer has taken the first record
+            while (queue.getQueueDepth() > 0) {
+                Thread.sleep(10);
+            }
+            for (var i = 0; i < 5; i++) {
+                queue.handle(context, "record" + i);
+            }
+            assertEquals(3, queue.getDroppedCount());
+            assertEquals(2, queue.getQueueDepth());
+            verify(exceptionHandler).handleException(eq(context), any(), eq("record0"));
+            latch.countDown();
+        } finally {
+            queue.shutdown();
+        }
+        assertEquals(List.of("blocking", "record3", "record4"), sentRecords(messageSender, context));
+    }
+
+    @Test
+    public void journalAndRetransmitAfterRestart(@TempDir Path journalDirectory) throws Exception {
+        final var failingSender = mock(AuditTransmissionProtocol.class);
+        doThrow(new RuntimeException("ARR unreachable")).when(failingSender).send(any(), anyList());
+        final var context = context(failingSender);
+
+        var queue = new BatchingAuditMessageQueue();
+        queue.setJournalDirectory(journalDirectory.toString());
+        queue.setRetryDelayMillis(10L);
+        try {
+            queue.handle(context, "record1");
+            queue.handle(context, "record2");
+        } finally {
+            queue.shutdown();
+        }
+        assertEquals(0, queue.getSentCount());
+        assertEquals(2, queue.getJournaledCount());
+        assertEquals(2, new AuditRecordJournal(journalDirectory).size());
+
+        // Restart with a working destination
+        final var messageSender = mock(AuditTransmissionProtocol.class);
+        context.setAuditTransmissionProtocol(messageSender);
+        var restartedQueue = new BatchingAuditMessageQueue();
+        restartedQueue.setJournalDirectory(journalDirectory.toString());
+        try {
+            // journaled records are retransmitted without waiting for a new audit record
+            restartedQueue.start(context);
+            var deadline = System.currentTimeMillis() + 5000L;
+            while (restartedQueue.getSentCount() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(Set.of("record1", "record2"), new HashSet<>(sentRecords(messageSender, context)));
+            restartedQueue.handle(context, "record3");
+        } finally {
+            restartedQueue.shutdown();
+        }
+        assertEquals(Set.of("record1", "record2", "record3"), new HashSet<>(sentRecords(messageSender, context)));
+        assertTrue(new AuditRecordJournal(journalDirectory).isEmpty());
+    }
+
+    @Test
+    public void rejectRecordsAfterShutdown(@TempDir Path journalDirectory) throws Exception {
+        final var messageSender = mock(AuditTransmissionProtocol.class);
+        final var exceptionHandler = mock(AuditExceptionHandler.class);
+        final var context = context(messageSender);
+        context.setAuditExceptionHandler(exceptionHandler);
+
+        var queue = new BatchingAuditMessageQueue();
+        queue.handle(context, "record1");
+        queue.shutdown();
+        queue.handle(context, "record2");
+        assertEquals(List.of("record1"), sentRecords(messageSender, context));
+        assertEquals(1, queue.getDroppedCount());
+        verify(exceptionHandler).handleException(eq(context), any(), eq("record2"));
+
+        var journalingQueue = new BatchingAuditMessageQueue();
+        journalingQueue.setJournalDirectory(journalDirectory.toString());
+        journalingQueue.start(context);
+        journalingQueue.shutdown();
+        journalingQueue.handle(context, "record3");
+        assertEquals(1, journalingQueue.getJournaledCount());
+        assertEquals(1, new AuditRecordJournal(journalDirectory).size());
+        verifyNoMoreInteractions(messageSender);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> sentRecords(AuditTransmissionProtocol messageSender, DefaultAuditContext context) throws Exception {
+        ArgumentCaptor<List<String>> captor = ArgumentCaptor.forClass(List.class);
+        verify(messageSender, atLeastOnce()).send(eq(context), captor.capture());
+        return captor.getAllValues().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    private DefaultAuditContext context(AuditTransmissionProtocol messageSender) {
+        final var context = new DefaultAuditContext();
+        context.setAuditEnabled(true);
+        context.setAuditTransmissionProtocol(messageSender);
+        return context;
+    }
+
+}
@@ -0,0 +1,385 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.core.payload;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes payload pieces into files in a background thread, so that payload logging
+ * does not slow down the transactions. Can be configured for a {@link PayloadLoggerBase payload logger}
+ * via {@link PayloadLoggerBase#setPayloadWriter(AsyncPayloadWriter)}, and can be shared among loggers.
+ * <p>
+ * Payloads are put into a bounded in-memory queue. When the queue is full, payloads are dropped
+ * and counted instead of blocking the caller. The background thread keeps a limited number of
+ * recently used files open. When a file exceeds the configured maximal size, it is renamed
+ * by appending a timestamp to its name and optionally compressed with GZIP. Compression runs
+ * in a separate background thread, so that it does not delay writing of further payloads.
+ * <p>
+ * The writer must be {@link #close() closed} to write all queued payloads and to release the files.
+ * Payloads submitted concurrently with closing are either written or dropped, and their
+ * payload buffers are released in any case.
+ *
+ * @since 4.5
+ */
+public class AsyncPayloadWriter implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncPayloadWriter.class);
+
+    private final BlockingQueue<Entry> queue;
+    private final Map<Path, FileChannel> channels;
+    private final Thread thread;
+    private final ExecutorService compressor;
+    private volatile boolean running = true;
+
+    private volatile long maxFileSize;
+    private volatile boolean compressRotatedFiles = true;
+
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+
+    /**
+     * Creates the writer and starts its background thread.
+     *
+     * @param queueCapacity maximal number of payloads waiting to be written.
+     * @param maxOpenFiles  maximal number of files kept open.
+     */
+    public AsyncPayloadWriter(int queueCapacity, int maxOpenFiles) {
+        if (maxOpenFiles <= 0) {
+            throw new IllegalArgumentException("maximal count of open files must be positive");
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.channels = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, FileChannel> eldest) {
+                if (size() > maxOpenFiles) {
+                    closeChannel(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.compressor = Executors.newSingleThreadExecutor(runnable -> {
+            var compressorThread = new Thread(runnable, "ipf-payload-compressor");
+            compressorThread.setDaemon(true);
+            return compressorThread;
+        });
+        this.thread = new Thread(this::run, "ipf-payload-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues the given payload pieces to be appended to the given file.
+     *
+     * @param path        file path.
+     * @param charsetName name of the character set for the String pieces, may be <code>null</code>
+     *                    for the platform default.
+     * @param pieces      payload pieces.
+     * @return <code>true</code> if the payload has been queued, <code>false</code> if it has been dropped.
+     */
+    public boolean submit(String path, String charsetName, String... pieces) {
+        return submit(path, charsetName, null, 0L, pieces);
+    }
+
+    /**
+     * Queues the given payload pieces, followed by raw payload bytes, to be appended to the given file.
+     * The bytes are written as they are, the buffer is retained until then.
+     *
+     * @param path        file path.
+     * @param charsetName name of the character set for the String pieces, may be <code>null</code>
+     *                    for the platform default.
+     * @param bytes       raw payload bytes, may be <code>null</code>.
+     * @param bytesLength count of bytes to write from the buffer.
+     * @param pieces      payload pieces.
+     * @return <code>true</code> if the payload has been queued, <code>false</code> if it has been dropped.
+     */
+    public boolean submit(String path, String charsetName, PayloadBuffer bytes, long bytesLength, String... pieces) {
+        return submit(path, charsetName, bytes, bytesLength, null, pieces);
+    }
+
+    /**
+     * Queues the given payload pieces, followed by raw payload bytes, to be appended to the given file,
+     * and notifies the given listener when the payload has been written or could not be written.
+     * The listener is called in the background thread and is not called for dropped payloads.
+     *
+     * @param path        file path.
+     * @param charsetName name of the character set for the String pieces, may be <code>null</code>
+     *                    for the platform default.
+     * @param bytes       raw payload bytes, may be <code>null</code>.
+     * @param bytesLength count of bytes to write from the buffer.
+     * @param listener    listener to notify, may be <code>null</code>.
+     * @param pieces      payload pieces.
+     * @return <code>true</code> if the payload has been queued, <code>false</code> if it has been dropped.
+     */
+    public boolean submit(String path, String charsetName, PayloadBuffer bytes, long bytesLength, WriteListener listener, String... pieces) {
+        if ((bytes != null) && !bytes.retain()) {
+            throw new IllegalStateException("Payload buffer has already been released");
+        }
+        var entry = new Entry(path, charsetName, pieces, bytes, bytesLength, listener);
+        if (running && queue.offer(entry)) {
+            // the writer may have been closed in the meantime, then nobody would take the entry
+            if (running || !queue.remove(entry)) {
+                return true;
+            }
+        }
+        drop(entry);
+        return false;
+    }
+
+    private void drop(Entry entry) {
+        if (entry.bytes != null) {
+            entry.bytes.release();
+        }
+        var dropped = droppedCount.incrementAndGet();
+        if ((dropped & (dropped - 1)) == 0) {
+            // avoid flooding the log, report 1st, 2nd, 4th, 8th... dropped payload
+            LOG.warn("Payload logging queue is full or closed, {} payloads dropped so far", dropped);
+        }
+    }
+
+    private void run() {
+        try {
+            while (running || !queue.isEmpty()) {
+                var entry = queue.poll(100L, TimeUnit.MILLISECONDS);
+                if (entry != null) {
+                    write(entry);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            channels.forEach(this::closeChannel);
+            channels.clear();
+        }
+    }
+
+    private void write(Entry entry) {
+        var path = Paths.get(entry.path).toAbsolutePath();
+        FileChannel channel;
+        try {
+            channel = channels.get(path);
+            if (channel == null) {
+                var parent = path.getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                channels.put(path, channel);
+            }
+            var charset = (entry.charsetName != null) ? Charset.forName(entry.charsetName) : Charset.defaultCharset();
+            for (var piece : entry.pieces) {
+                var buffer = charset.encode(piece);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            if (entry.bytes != null) {
+                entry.bytes.writeTo(Channels.newOutputStream(channel), entry.bytesLength);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Cannot write into {}", path, e);
+            if (entry.listener != null) {
+                entry.listener.failed(e);
+            }
+            errorCount.incrementAndGet();
+            return;
+        } finally {
+            if (entry.bytes != null) {
+                entry.bytes.release();
+            }
+        }
+
+        // notify the listener first, so that it is up to date when the statistics change
+        if (entry.listener != null) {
+            entry.listener.written();
+        }
+        writtenCount.incrementAndGet();
+
+        // the payload has been written in any case, rotation failures only affect the file
+        try {
+            if ((maxFileSize > 0) && (channel.size() >= maxFileSize)) {
+                rotate(path, channels.remove(path));
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Cannot rotate {}", path, e);
+        }
+    }
+
+    private void rotate(Path path, FileChannel channel) throws IOException {
+        closeChannel(path, channel);
+        var rotated = path.resolveSibling(path.getFileName() + "." + System.currentTimeMillis());
+        for (var i = 1; Files.exists(rotated) || Files.exists(compressedPath(rotated)); ++i) {
+            rotated = path.resolveSibling(path.getFileName() + "." + System.currentTimeMillis() + "-" + i);
+        }
+        Files.move(path, rotated);
+        if (compressRotatedFiles) {
+            var source = rotated;
+            compressor.execute(() -> compress(source));
+        }
+    }
+
+    private static void compress(Path path) {
+        try {
+            try (var out = new GZIPOutputStream(Files.newOutputStream(compressedPath(path)))) {
+                Files.copy(path, out);
+            }
+            Files.delete(path);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Cannot compress {}", path, e);
+        }
+    }
+
+    private static Path compressedPath(Path path) {
+        return path.resolveSibling(path.getFileName() + ".gz");
+    }
+
+    private void closeChannel(Path path, FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOG.warn("Cannot close {}", path, e);
+        }
+    }
+
+    /**
+     * Stops accepting payloads, writes all queued ones, closes the files and waits
+     * until the rotated files have been compressed.
+     * When the background thread has been interrupted, the remaining payloads are dropped.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            thread.join();
+            compressor.shutdown();
+            compressor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!thread.isAlive()) {
+            var remaining = new ArrayList<Entry>();
+            queue.drainTo(remaining);
+            remaining.forEach(this::drop);
+        }
+    }
+
+    /**
+     * @param maxFileSize file size in bytes after which a file is rotated,
+     *                    non-positive values (the default) mean no rotation.
+     */
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    /**
+     * @param compressRotatedFiles whether rotated files should be compressed with GZIP, <code>true</code> by default.
+     */
+    public void setCompressRotatedFiles(boolean compressRotatedFiles) {
+        this.compressRotatedFiles = compressRotatedFiles;
+    }
+
+    public boolean isCompressRotatedFiles() {
+        return compressRotatedFiles;
+    }
+
+    /**
+     * @return number of payloads which have been written.
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * @return number of payloads which have been dropped because the queue was full
+     * or the writer was closed.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * @return number of payloads which could not be written because of I/O errors.
+     */
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    /**
+     * @return number of payloads waiting to be written.
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Listener which is notified about the outcome of writing a queued payload.
+     */
+    public interface WriteListener {
+
+        /**
+         * Called when the payload has been written.
+         */
+        void written();
+
+        /**
+         * Called when the payload could not be written.
+         */
+        void failed(Exception e);
+    }
+
+    private static class Entry {
+        private final String path;
+        private final String charsetName;
+        private final String[] pieces;
+        private final PayloadBuffer bytes;
+        private final long bytesLength;
+        private final WriteListener listener;
+
+        Entry(String path, String charsetName, String[] pieces, PayloadBuffer bytes, long bytesLength, WriteListener listener) {
+            this.path = path;
+            this.charsetName = charsetName;
+            this.pieces = pieces;
+            this.bytes = bytes;
+            this.bytesLength = bytesLength;
+            this.listener = listener;
+        }
+    }
+}
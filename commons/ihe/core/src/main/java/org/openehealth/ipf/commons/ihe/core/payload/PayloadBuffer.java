@@ -0,0 +1,324 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.core.payload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Growable byte buffer for message payload, consisting of fixed-size chunks.
+ * Unlike {@link java.io.ByteArrayOutputStream}, it never copies already collected bytes
+ * when growing, and the chunks are taken from an application-wide pool and returned
+ * into it when the buffer is {@link #release() released}.  Chunks of buffers which are
+ * never released are simply reclaimed by the garbage collector.
+ * <p>
+ * Bytes are decoded into a String only on demand, as a whole, so that multi-byte
+ * characters spanning several writes are handled correctly.
+ * <p>
+ * The buffer can be configured with a maximal size; bytes beyond this size are
+ * not collected, and the buffer is marked as {@link #isTruncated() truncated}.
+ * <p>
+ * Writing into the buffer is not thread-safe, but a completely written buffer
+ * can be read by multiple threads, e.g. by an {@link AsyncPayloadWriter}.
+ * Readers which may outlive the owner of the buffer must {@link #retain() retain} it.
+ *
+ * @since 4.5
+ */
+public class PayloadBuffer {
+
+    static final int CHUNK_SIZE = 8192;
+    private static final int MAX_POOLED_CHUNKS = 256;
+
+    private static final Queue<byte[]> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOL_SIZE = new AtomicInteger();
+
+    private final long maxSize;
+    private final List<byte[]> chunks = new ArrayList<>();
+    private final AtomicInteger referenceCount = new AtomicInteger(1);
+    private long size;
+    private boolean truncated;
+
+    /**
+     * Creates a buffer without size limit.
+     */
+    public PayloadBuffer() {
+        this(-1L);
+    }
+
+    /**
+     * @param maxSize maximal count of bytes to collect, non-positive values mean "no limit".
+     */
+    public PayloadBuffer(long maxSize) {
+        this.maxSize = (maxSize > 0) ? maxSize : Long.MAX_VALUE;
+    }
+
+    /**
+     * Reads the given stream until its end into a new buffer without size limit.
+     * The stream is not closed.
+     */
+    public static PayloadBuffer readFrom(InputStream stream) throws IOException {
+        var buffer = new PayloadBuffer();
+        var chunk = buffer.currentChunk();
+        int count;
+        while ((count = stream.read(chunk, (int) (buffer.size % CHUNK_SIZE), CHUNK_SIZE - (int) (buffer.size % CHUNK_SIZE))) >= 0) {
+            buffer.size += count;
+            if (buffer.size % CHUNK_SIZE == 0) {
+                chunk = buffer.currentChunk();
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Appends the given bytes to this buffer.
+     */
+    public void write(byte[] b, int off, int len) {
+        checkNotReleased();
+        var remaining = maxSize - size;
+        if (len > remaining) {
+            truncated = true;
+            len = (int) remaining;
+        }
+        while (len > 0) {
+            var chunk = currentChunk();
+            var position = (int) (size % CHUNK_SIZE);
+            var count = Math.min(len, CHUNK_SIZE - position);
+            System.arraycopy(b, off, chunk, position, count);
+            size += count;
+            off += count;
+            len -= count;
+        }
+    }
+
+    /**
+     * Appends the given byte to this buffer.
+     */
+    public void write(int b) {
+        checkNotReleased();
+        if (size >= maxSize) {
+            truncated = true;
+            return;
+        }
+        currentChunk()[(int) (size % CHUNK_SIZE)] = (byte) b;
+        ++size;
+    }
+
+    private byte[] currentChunk() {
+        var index = (int) (size / CHUNK_SIZE);
+        if (index == chunks.size()) {
+            var chunk = POOL.poll();
+            if (chunk != null) {
+                POOL_SIZE.decrementAndGet();
+            } else {
+                chunk = new byte[CHUNK_SIZE];
+            }
+            chunks.add(chunk);
+        }
+        return chunks.get(index);
+    }
+
+    /**
+     * @return count of collected bytes.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return <code>true</code> when some bytes have not been collected because of the size limit.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Returns the position of the first occurrence of the given byte sequence
+     * at or after the given position, or -1 when there is no such occurrence.
+     */
+    public long indexOf(byte[] pattern, long fromIndex) {
+        checkNotReleased();
+        var last = size - pattern.length;
+        outer:
+        for (var i = Math.max(fromIndex, 0L); i <= last; ++i) {
+            for (var j = 0; j < pattern.length; ++j) {
+                if (byteAt(i + j) != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1L;
+    }
+
+    private byte byteAt(long index) {
+        return chunks.get((int) (index / CHUNK_SIZE))[(int) (index % CHUNK_SIZE)];
+    }
+
+    /**
+     * Writes the first <code>length</code> collected bytes into the given stream.
+     */
+    public void writeTo(OutputStream stream, long length) throws IOException {
+        checkNotReleased();
+        length = Math.min(length, size);
+        for (var i = 0; length > 0; ++i) {
+            var count = (int) Math.min(length, CHUNK_SIZE);
+            stream.write(chunks.get(i), 0, count);
+            length -= count;
+        }
+    }
+
+    /**
+     * Writes all collected bytes into the given stream.
+     */
+    public void writeTo(OutputStream stream) throws IOException {
+        writeTo(stream, size);
+    }
+
+    /**
+     * @return a copy of the collected bytes.
+     */
+    public byte[] toByteArray() {
+        checkNotReleased();
+        return copyOf(size);
+    }
+
+    private byte[] copyOf(long length) {
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Payload too large for a byte array: " + length);
+        }
+        var result = new byte[(int) length];
+        for (var position = 0; position < result.length; position += CHUNK_SIZE) {
+            System.arraycopy(chunks.get(position / CHUNK_SIZE), 0, result, position, Math.min(CHUNK_SIZE, result.length - position));
+        }
+        return result;
+    }
+
+    /**
+     * Decodes the first <code>length</code> collected bytes.
+     *
+     * @param charsetName character set name, may be <code>null</code> for the platform default.
+     */
+    public String toString(String charsetName, long length) {
+        var charset = (charsetName != null) ? Charset.forName(charsetName) : Charset.defaultCharset();
+        checkNotReleased();
+        length = Math.min(length, size);
+        if (length == 0) {
+            return "";
+        }
+        return (length <= CHUNK_SIZE)
+                ? new String(chunks.get(0), 0, (int) length, charset)
+                : new String(copyOf(length), charset);
+    }
+
+    /**
+     * Decodes all collected bytes.
+     *
+     * @param charsetName character set name, may be <code>null</code> for the platform default.
+     */
+    public String toString(String charsetName) {
+        return toString(charsetName, size);
+    }
+
+    /**
+     * @return a new input stream over the collected bytes.
+     */
+    public InputStream getInputStream() {
+        checkNotReleased();
+        return new ChunkInputStream();
+    }
+
+    /**
+     * Registers an additional reader of this buffer, which must call {@link #release()} when done.
+     *
+     * @return <code>false</code> when the buffer has already been released.
+     */
+    public boolean retain() {
+        int count;
+        do {
+            count = referenceCount.get();
+            if (count <= 0) {
+                return false;
+            }
+        } while (!referenceCount.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    /**
+     * Releases this buffer.  When neither the owner nor any retaining reader
+     * use the buffer anymore, its chunks are returned into the pool.
+     */
+    public void release() {
+        if (referenceCount.decrementAndGet() == 0) {
+            for (var chunk : chunks) {
+                if (POOL_SIZE.incrementAndGet() <= MAX_POOLED_CHUNKS) {
+                    POOL.offer(chunk);
+                } else {
+                    POOL_SIZE.decrementAndGet();
+                }
+            }
+            chunks.clear();
+        }
+    }
+
+    private void checkNotReleased() {
+        if (referenceCount.get() <= 0) {
+            throw new IllegalStateException("Payload buffer has already been released");
+        }
+    }
+
+    private class ChunkInputStream extends InputStream {
+        private long position;
+
+        @Override
+        public int read() {
+            return (position < size) ? (byteAt(position++) & 0xff) : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= size) {
+                return -1;
+            }
+            var offset = (int) (position % CHUNK_SIZE);
+            var count = (int) Math.min(Math.min(len, CHUNK_SIZE - offset), size - position);
+            System.arraycopy(chunks.get((int) (position / CHUNK_SIZE)), offset, b, off, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            var count = Math.max(0L, Math.min(n, size - position));
+            position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, size - position);
+        }
+    }
+}
@@ -54,6 +54,11 @@ import static java.util.Objects.requireNonNull;
  * <p>
  * As an alternative to SpEL, the user can provide another {@link ExpressionResolver expression resolver}.
  * <p>
+ * Per default, payload is written synchronously. When an {@link AsyncPayloadWriter} is configured,
+ * payload is handed over to it and written in background.  Failed background writes are counted
+ * towards the error count limit as well, but only after they happened, so that payloads queued
+ * in the meantime are still handed over.
+ * <p>
  * Furthermore, the behavior of this class is regulated application-widely by the following Boolean
  * system properties:
  * <ul>
@@ -86,12 +91,37 @@ abstract public class PayloadLoggerBase<T extends PayloadLoggingContext> {
     private final AtomicInteger errorCount = new AtomicInteger(0);
 
     private ExpressionResolver resolver;
+    private AsyncPayloadWriter payloadWriter;
+
+    private final AsyncPayloadWriter.WriteListener writeListener = new AsyncPayloadWriter.WriteListener() {
+        @Override
+        public void written() {
+            errorCount.set(0);
+        }
+
+        @Override
+        public void failed(Exception e) {
+            errorCount.incrementAndGet();
+        }
+    };
 
     protected static Long getNextSequenceId() {
         return SEQUENCE_ID_GENERATOR.getAndIncrement();
     }
 
     protected void doLogPayload(T context, String charsetName, String... payloadPieces) {
+        doLogPayload(context, charsetName, null, 0L, payloadPieces);
+    }
+
+    /**
+     * Logs the given payload pieces, followed by raw payload bytes which are written
+     * without being decoded (they are decoded only for console logging).
+     *
+     * @param payloadBytes       raw payload bytes, may be <code>null</code>.
+     * @param payloadBytesLength count of bytes to log from the buffer.
+     * @since 4.5
+     */
+    protected void doLogPayload(T context, String charsetName, PayloadBuffer payloadBytes, long payloadBytesLength, String... payloadPieces) {
         // check whether we can process
         if (!canProcess()) {
             return;
@@ -105,11 +135,18 @@ abstract public class PayloadLoggerBase<T extends PayloadLoggingContext> {
             // use regular Java logging
             if (LOG.isDebugEnabled()) {
                 var output = String.join("", payloadPieces);
+                if (payloadBytes != null) {
+                    output += payloadBytes.toString(charsetName, payloadBytesLength);
+                }
                 LOG.debug(output);
             }
         } else {
             // compute the file path and write payload pieces into this file
             var path = resolver.resolveExpression(context);
+            if (payloadWriter != null) {
+                payloadWriter.submit(path, charsetName, payloadBytes, payloadBytesLength, writeListener, payloadPieces);
+                return;
+            }
             try (var outputStream = FileUtils.openOutputStream(new File(path), true);
                  var writer = (charsetName != null) ?
                          new OutputStreamWriter(outputStream, charsetName) :
@@ -118,6 +155,10 @@ abstract public class PayloadLoggerBase<T extends PayloadLoggingContext> {
                 for (var payloadPiece : payloadPieces) {
                     writer.write(payloadPiece);
                 }
+                if (payloadBytes != null) {
+                    writer.flush();
+                    payloadBytes.writeTo(outputStream, payloadBytesLength);
+                }
                 errorCount.set(0);
             } catch (IOException e) {
                 errorCount.incrementAndGet();
@@ -182,4 +223,16 @@ abstract public class PayloadLoggerBase<T extends PayloadLoggingContext> {
     public void setExpressionResolver(ExpressionResolver resolver) {
         this.resolver = requireNonNull(resolver);
     }
+
+    public AsyncPayloadWriter getPayloadWriter() {
+        return payloadWriter;
+    }
+
+    /**
+     * @param payloadWriter background writer for the payload,
+     *                      <code>null</code> (the default) means synchronous writing.
+     */
+    public void setPayloadWriter(AsyncPayloadWriter payloadWriter) {
+        this.payloadWriter = payloadWriter;
+    }
 }
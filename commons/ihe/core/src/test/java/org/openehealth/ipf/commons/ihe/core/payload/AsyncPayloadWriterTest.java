@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.core.payload;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class AsyncPayloadWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testWriteThroughLogger() throws Exception {
+        var writer = new AsyncPayloadWriter(100, 1);
+        var logger = new PayloadLoggerBase<PayloadLoggingContext>() {
+            void log(String interactionId, String... pieces) {
+                doLogPayload(new PayloadLoggingContext(getNextSequenceId(), interactionId), "UTF-8", pieces);
+            }
+        };
+        logger.setExpressionResolver(context -> directory.resolve("sub/" + context.getInteractionId() + ".txt").toString());
+        logger.setPayloadWriter(writer);
+
+        logger.log("0", "a", "ä");
+        logger.log("1", "b");
+        logger.log("0", "c");
+        writer.close();
+
+        assertEquals("aäc", Files.readString(directory.resolve("sub/0.txt")));
+        assertEquals("b", Files.readString(directory.resolve("sub/1.txt")));
+        assertEquals(3, writer.getWrittenCount());
+        assertEquals(0, writer.getDroppedCount());
+        assertEquals(0, writer.getErrorCount());
+    }
+
+    @Test
+    public void testRotation() throws Exception {
+        var writer = new AsyncPayloadWriter(100, 10);
+        writer.setMaxFileSize(5);
+        var path = directory.resolve("payload.txt").toString();
+        var written = new AtomicInteger();
+        var listener = new AsyncPayloadWriter.WriteListener() {
+            @Override
+            public void written() {
+                written.incrementAndGet();
+            }
+
+            @Override
+            public void failed(Exception e) {
+                fail(e);
+            }
+        };
+        writer.submit(path, null, null, 0L, listener, "1234");
+        writer.submit(path, null, null, 0L, listener, "5678");
+        writer.submit(path, null, null, 0L, listener, "9");
+        writer.close();
+
+        assertEquals(3, written.get());
+        assertEquals(3, writer.getWrittenCount());
+        assertEquals(0, writer.getErrorCount());
+        assertEquals("9", Files.readString(directory.resolve("payload.txt")));
+        var rotated = Files.list(directory)
+                .filter(p -> p.getFileName().toString().endsWith(".gz"))
+                .collect(Collectors.toList());
+        assertEquals(1, rotated.size());
+        try (var in = new GZIPInputStream(Files.newInputStream(rotated.get(0)))) {
+            assertEquals("12345678", IOUtils.toString(in, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testDropWhenClosed() {
+        var writer = new AsyncPayloadWriter(1, 1);
+        writer.close();
+        assertFalse(writer.submit(directory.resolve("x.txt").toString(), null, "x"));
+        assertEquals(1, writer.getDroppedCount());
+        assertFalse(Files.exists(directory.resolve("x.txt")));
+
+        var buffer = new PayloadBuffer();
+        buffer.write('x');
+        assertFalse(writer.submit(directory.resolve("x.txt").toString(), null, buffer, 1L));
+        assertEquals(2, writer.getDroppedCount());
+        buffer.release();
+        assertFalse(buffer.retain());
+    }
+
+    @Test
+    public void testErrorCountLimit() throws Exception {
+        Files.writeString(directory.resolve("file"), "");
+        var writer = new AsyncPayloadWriter(100, 1);
+        var logger = new PayloadLoggerBase<PayloadLoggingContext>() {
+            void log(String... pieces) {
+                doLogPayload(new PayloadLoggingContext(getNextSequenceId(), "0"), "UTF-8", pieces);
+            }
+        };
+        // the parent of the target file is a regular file, so that writing fails
+        logger.setExpressionResolver(context -> directory.resolve("file/payload.txt").toString());
+        logger.setPayloadWriter(writer);
+        logger.setErrorCountLimit(1);
+
+        logger.log("a");
+        for (var i = 0; (writer.getErrorCount() == 0) && (i < 100); ++i) {
+            Thread.sleep(50L);
+        }
+        logger.log("b");
+        writer.close();
+        assertEquals(1, writer.getErrorCount());
+        assertEquals(0, writer.getWrittenCount());
+        assertEquals(0, writer.getDroppedCount());
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.core.payload;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class PayloadBufferTest {
+
+    private static byte[] createBytes(int length) {
+        var bytes = new byte[length];
+        for (var i = 0; i < length; ++i) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    @Test
+    public void testChunkedWriting() throws Exception {
+        var bytes = createBytes(3 * PayloadBuffer.CHUNK_SIZE + 17);
+        var buffer = new PayloadBuffer();
+        buffer.write(bytes, 0, 5);
+        buffer.write(bytes[5]);
+        buffer.write(bytes, 6, bytes.length - 6);
+
+        assertEquals(bytes.length, buffer.size());
+        assertFalse(buffer.isTruncated());
+        assertArrayEquals(bytes, buffer.toByteArray());
+        assertArrayEquals(bytes, buffer.getInputStream().readAllBytes());
+
+        var out = new ByteArrayOutputStream();
+        buffer.writeTo(out, PayloadBuffer.CHUNK_SIZE + 1);
+        assertEquals(PayloadBuffer.CHUNK_SIZE + 1, out.size());
+        buffer.release();
+    }
+
+    @Test
+    public void testReadFrom() throws Exception {
+        var bytes = createBytes(2 * PayloadBuffer.CHUNK_SIZE);
+        var buffer = PayloadBuffer.readFrom(new ByteArrayInputStream(bytes));
+        assertArrayEquals(bytes, buffer.toByteArray());
+        assertEquals(0, PayloadBuffer.readFrom(new ByteArrayInputStream(new byte[0])).size());
+    }
+
+    @Test
+    public void testMaxSize() {
+        var buffer = new PayloadBuffer(4);
+        buffer.write("abc".getBytes(), 0, 3);
+        buffer.write("def".getBytes(), 0, 3);
+        buffer.write('g');
+        assertTrue(buffer.isTruncated());
+        assertEquals("abcd", buffer.toString("UTF-8"));
+    }
+
+    @Test
+    public void testDecodingOfSplitCharacters() {
+        var text = "äöü€".repeat(PayloadBuffer.CHUNK_SIZE);
+        var bytes = text.getBytes(StandardCharsets.UTF_8);
+        var buffer = new PayloadBuffer();
+        for (var i = 0; i < bytes.length; i += 3) {
+            buffer.write(bytes, i, Math.min(3, bytes.length - i));
+        }
+        assertEquals(text, buffer.toString("UTF-8"));
+        assertEquals("ä", buffer.toString("UTF-8", 2));
+    }
+
+    @Test
+    public void testIndexOf() {
+        var buffer = new PayloadBuffer();
+        var prefix = new byte[PayloadBuffer.CHUNK_SIZE - 2];
+        buffer.write(prefix, 0, prefix.length);
+        buffer.write("--xyz--xyz".getBytes(), 0, 10);
+        var pattern = "--xyz".getBytes();
+        assertEquals(prefix.length, buffer.indexOf(pattern, 0L));
+        assertEquals(prefix.length + 5, buffer.indexOf(pattern, prefix.length + 1));
+        assertEquals(-1L, buffer.indexOf(pattern, prefix.length + 6));
+    }
+
+    @Test
+    public void testReferenceCounting() {
+        var buffer = new PayloadBuffer();
+        buffer.write(1);
+        assertTrue(buffer.retain());
+        buffer.release();
+        assertEquals(1, buffer.toByteArray().length);
+        buffer.release();
+        assertFalse(buffer.retain());
+        assertThrows(IllegalStateException.class, buffer::toByteArray);
+    }
+}
@@ -17,6 +17,7 @@ package org.openehealth.ipf.commons.ihe.hl7v2.audit
 
 import ca.uhn.hl7v2.model.Message
 import org.openehealth.ipf.commons.ihe.hl7v2.Constants
+import org.openehealth.ipf.commons.ihe.hl7v2.LazyHl7v2Message
 import org.openehealth.ipf.modules.hl7.dsl.Repeatable
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
@@ -76,10 +77,12 @@ class AuditUtils {
 
     /**
      * Returns string representation of the request message by extracting it
-     * from the corresponding header of the given Camel exchange (preferred)
+     * from the corresponding headers of the given Camel exchange (preferred)
      * or by serializing the given message adapter.
      */
     static String getRequestString(Map<String, Object> parameters, Message msg) {
-        parameters[Constants.ORIGINAL_MESSAGE_STRING_HEADER_NAME] ?: msg.toString()
+        def snapshot = parameters[Constants.ORIGINAL_MESSAGE_ADAPTER_HEADER_NAME]
+        parameters[Constants.ORIGINAL_MESSAGE_STRING_HEADER_NAME] ?:
+                ((snapshot instanceof LazyHl7v2Message) ? snapshot.toString() : msg.toString())
     }
 }
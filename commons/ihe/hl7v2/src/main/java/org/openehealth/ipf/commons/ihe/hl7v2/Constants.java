@@ -21,8 +21,10 @@ package org.openehealth.ipf.commons.ihe.hl7v2;
 public interface Constants {
 
     /**
-     * Name of the prameter where a copy of the original request
-     * message (as a {@link ca.uhn.hl7v2.model.Message} instance) will be saved.
+     * Name of the prameter where the original request message will be saved, either
+     * as the message passed to the route, or as an unmodifiable {@link LazyHl7v2Message}
+     * snapshot when a copy is requested. Use Camel type conversion to obtain
+     * a {@link ca.uhn.hl7v2.model.Message} in both cases.
      */
     String ORIGINAL_MESSAGE_ADAPTER_HEADER_NAME = "ipf.hl7v2.OriginalMessageAdapter";
 
@@ -276,6 +276,18 @@ public class Hl7v2TransactionConfiguration<AuditDatasetType extends MllpAuditDat
     }
 
 
+    /**
+     * Performs transaction-specific acceptance test of the given request message
+     * without parsing it into a HAPI object.
+     *
+     * @param message {@link LazyHl7v2Message} object.
+     * @since 4.5
+     */
+    public void checkRequestAcceptance(LazyHl7v2Message message) throws Hl7v2AcceptanceException {
+        checkMessageAcceptance(message, true);
+    }
+
+
     /**
      * Performs transaction-specific acceptance test of the given response message.
      *
@@ -323,6 +335,27 @@ public class Hl7v2TransactionConfiguration<AuditDatasetType extends MllpAuditDat
     }
 
 
+    /**
+     * Performs acceptance test of the given message, the relevant MSH fields
+     * are read directly from the ER7 text.
+     *
+     * @param message   {@link LazyHl7v2Message} object.
+     * @param isRequest <code>true</code> iff the message is a request.
+     * @throws Hl7v2AcceptanceException when the message is not acceptable.
+     * @since 4.5
+     */
+    public void checkMessageAcceptance(
+            LazyHl7v2Message message,
+            boolean isRequest) throws Hl7v2AcceptanceException {
+        checkMessageAcceptance(
+                message.getMessageType(),
+                message.getTriggerEvent(),
+                message.getMessageStructure(),
+                message.getVersion(),
+                isRequest);
+    }
+
+
     /**
      * Performs acceptance test of the message with the given attributes.
      *
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.hl7v2;
+
+import ca.uhn.hl7v2.HL7Exception;
+import ca.uhn.hl7v2.model.Message;
+import ca.uhn.hl7v2.parser.EncodingCharacters;
+import ca.uhn.hl7v2.parser.Escape;
+import ca.uhn.hl7v2.parser.Parser;
+
+import java.util.Arrays;
+
+/**
+ * ER7-encoded HL7v2 message which is parsed into a HAPI {@link Message} only on demand.
+ * <p>
+ * Segment boundaries are indexed on construction, so that single values addressed by
+ * simple Terser-like specifications (e.g. <code>MSH-9-1</code>, <code>MSH-10</code>,
+ * <code>PID-3(1)-4-2</code>) can be read directly from the raw text.
+ * Repetition indexes in parentheses are zero-based, field, component and subcomponent
+ * numbers are one-based. Unlike the HAPI Terser, group paths are not supported;
+ * a segment name refers to the first segment with this name in the message.
+ *
+ * @since 4.5
+ */
+public class LazyHl7v2Message {
+
+    private final String text;
+    private final Parser parser;
+    private final char fieldSeparator;
+    private final EncodingCharacters encodingCharacters;
+    private final int[] segmentStarts;
+    private final int[] segmentEnds;
+    private final int segmentCount;
+
+    private volatile Message message;
+
+    /**
+     * @param text   ER7-encoded HL7v2 message, segments can be separated by CR and/or LF.
+     * @param parser parser to be used when the HAPI message is requested.
+     * @throws HL7Exception when the text does not start with a valid MSH segment.
+     */
+    public LazyHl7v2Message(String text, Parser parser) throws HL7Exception {
+        if (text == null || text.length() < 8 || !text.startsWith("MSH")) {
+            throw new HL7Exception("Message does not start with a MSH segment");
+        }
+        this.text = text;
+        this.parser = parser;
+        this.fieldSeparator = text.charAt(3);
+        // four encoding characters, plus the truncation character since HL7 v2.7
+        var encodingCharactersEnd = text.indexOf(fieldSeparator, 4);
+        if (encodingCharactersEnd < 8 || encodingCharactersEnd > 9) {
+            throw new HL7Exception("Invalid encoding characters in MSH-2");
+        }
+        this.encodingCharacters = new EncodingCharacters(fieldSeparator, text.substring(4, encodingCharactersEnd));
+
+        var starts = new int[16];
+        var ends = new int[16];
+        var count = 0;
+        var length = text.length();
+        var start = 0;
+        while (start < length) {
+            var end = start;
+            while (end < length && text.charAt(end) != '\r' && text.charAt(end) != '\n') {
+                ++end;
+            }
+            if (end > start) {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                    ends = Arrays.copyOf(ends, count * 2);
+                }
+                starts[count] = start;
+                ends[count] = end;
+                ++count;
+            }
+            start = end + 1;
+        }
+        this.segmentStarts = starts;
+        this.segmentEnds = ends;
+        this.segmentCount = count;
+    }
+
+    /**
+     * Returns the value addressed by the given specification, e.g. <code>PID-3(1)-4-2</code>.
+     * When component or subcomponent numbers are omitted, the first ones will be taken.
+     *
+     * @param spec value specification.
+     * @return unescaped value, or <code>null</code> when the value is missing or empty.
+     */
+    public String get(String spec) {
+        var parts = spec.split("-");
+        if (parts.length < 2 || parts.length > 4) {
+            throw new IllegalArgumentException("Invalid specification " + spec);
+        }
+        var segmentName = parts[0];
+        var segmentRepetition = 0;
+        var bracket = segmentName.indexOf('(');
+        if (bracket > 0) {
+            segmentRepetition = parseIndex(spec, segmentName.substring(bracket));
+            segmentName = segmentName.substring(0, bracket);
+        }
+        var fieldNumber = parts[1];
+        var fieldRepetition = 0;
+        bracket = fieldNumber.indexOf('(');
+        if (bracket > 0) {
+            fieldRepetition = parseIndex(spec, fieldNumber.substring(bracket));
+            fieldNumber = fieldNumber.substring(0, bracket);
+        }
+        return get(segmentName, segmentRepetition,
+                parseNumber(spec, fieldNumber), fieldRepetition,
+                (parts.length > 2) ? parseNumber(spec, parts[2]) : 1,
+                (parts.length > 3) ? parseNumber(spec, parts[3]) : 1);
+    }
+
+    /**
+     * Returns the value at the given position.
+     *
+     * @param segmentName       segment name.
+     * @param segmentRepetition zero-based repetition of the segment.
+     * @param field             one-based field number.
+     * @param fieldRepetition   zero-based repetition of the field.
+     * @param component         one-based component number.
+     * @param subcomponent      one-based subcomponent number.
+     * @return unescaped value, or <code>null</code> when the value is missing or empty.
+     */
+    public String get(String segmentName, int segmentRepetition, int field, int fieldRepetition, int component, int subcomponent) {
+        var segment = findSegment(segmentName, segmentRepetition);
+        if (segment < 0) {
+            return null;
+        }
+        var start = segmentStarts[segment];
+        var end = segmentEnds[segment];
+        var isMsh = "MSH".equals(segmentName);
+        if (isMsh && field <= 2) {
+            if (field == 1) {
+                return String.valueOf(fieldSeparator);
+            }
+            var encodingCharactersEnd = text.indexOf(fieldSeparator, start + 4);
+            return text.substring(start + 4, (encodingCharactersEnd < 0) ? end : encodingCharactersEnd);
+        }
+
+        // in MSH, the field separator itself is MSH-1
+        var range = token(start + 3, end, fieldSeparator, isMsh ? field - 1 : field, true);
+        if (range != null) {
+            range = token(range[0], range[1], encodingCharacters.getRepetitionSeparator(), fieldRepetition, false);
+        }
+        if (range != null) {
+            range = token(range[0], range[1], encodingCharacters.getComponentSeparator(), component - 1, false);
+        }
+        if (range != null) {
+            range = token(range[0], range[1], encodingCharacters.getSubcomponentSeparator(), subcomponent - 1, false);
+        }
+        if (range == null || range[0] == range[1]) {
+            return null;
+        }
+        var value = text.substring(range[0], range[1]);
+        return (value.indexOf(encodingCharacters.getEscapeCharacter()) >= 0)
+                ? Escape.unescape(value, encodingCharacters)
+                : value;
+    }
+
+    /**
+     * @return message type from MSH-9-1.
+     */
+    public String getMessageType() {
+        return get("MSH", 0, 9, 0, 1, 1);
+    }
+
+    /**
+     * @return trigger event from MSH-9-2.
+     */
+    public String getTriggerEvent() {
+        return get("MSH", 0, 9, 0, 2, 1);
+    }
+
+    /**
+     * @return message structure from MSH-9-3.
+     */
+    public String getMessageStructure() {
+        return get("MSH", 0, 9, 0, 3, 1);
+    }
+
+    /**
+     * @return message control ID from MSH-10.
+     */
+    public String getMessageControlId() {
+        return get("MSH", 0, 10, 0, 1, 1);
+    }
+
+    /**
+     * @return HL7 version from MSH-12.
+     */
+    public String getVersion() {
+        return get("MSH", 0, 12, 0, 1, 1);
+    }
+
+    /**
+     * @return <code>true</code> when the message contains a segment with the given name.
+     */
+    public boolean hasSegment(String segmentName) {
+        return findSegment(segmentName, 0) >= 0;
+    }
+
+    /**
+     * Parses the message on the first invocation, subsequent invocations return the same instance.
+     *
+     * @return HAPI message.
+     * @throws HL7Exception when the message cannot be parsed.
+     */
+    public Message getMessage() throws HL7Exception {
+        var result = message;
+        if (result == null) {
+            synchronized (this) {
+                result = message;
+                if (result == null) {
+                    if (parser == null) {
+                        throw new HL7Exception("No parser available to parse the message");
+                    }
+                    result = parser.parse(text);
+                    message = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return <code>true</code> when the HAPI message has already been created.
+     */
+    public boolean isParsed() {
+        return message != null;
+    }
+
+    /**
+     * @return ER7 representation of the message as received, i.e. without changes
+     * applied to the parsed HAPI message.
+     */
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private int findSegment(String segmentName, int repetition) {
+        var nameLength = segmentName.length();
+        for (var i = 0; i < segmentCount; ++i) {
+            var start = segmentStarts[i];
+            if (segmentEnds[i] - start >= nameLength
+                    && text.startsWith(segmentName, start)
+                    && (segmentEnds[i] - start == nameLength || text.charAt(start + nameLength) == fieldSeparator)
+                    && repetition-- == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the bounds of the token with the given zero-based index, or <code>null</code>
+     * when there is no such token. When <code>leadingSeparator</code> is set, the range is
+     * expected to start with a separator which opens the first token.
+     */
+    private int[] token(int start, int end, char separator, int index, boolean leadingSeparator) {
+        if (index < 0) {
+            return null;
+        }
+        var pos = start;
+        if (leadingSeparator) {
+            if (pos >= end || text.charAt(pos) != separator) {
+                return null;
+            }
+            // the token with index 0 is the segment name
+            --index;
+            ++pos;
+            if (index < 0) {
+                return null;
+            }
+        }
+        for (var i = 0; i < index; ++i) {
+            pos = indexOf(separator, pos, end);
+            if (pos < 0) {
+                return null;
+            }
+            ++pos;
+        }
+        var tokenEnd = indexOf(separator, pos, end);
+        return new int[]{pos, (tokenEnd < 0) ? end : tokenEnd};
+    }
+
+    /**
+     * Like {@link String#indexOf(int, int)}, but does not look beyond the given end position,
+     * so that lookups never scan the segments behind the current one.
+     */
+    private int indexOf(char c, int from, int end) {
+        for (var i = from; i < end; ++i) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int parseIndex(String spec, String s) {
+        if (!s.endsWith(")")) {
+            throw new IllegalArgumentException("Invalid specification " + spec);
+        }
+        return parseNumber(spec, s.substring(1, s.length() - 1));
+    }
+
+    private static int parseNumber(String spec, String s) {
+        try {
+            return Integer.parseInt(s);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid specification " + spec, e);
+        }
+    }
+}
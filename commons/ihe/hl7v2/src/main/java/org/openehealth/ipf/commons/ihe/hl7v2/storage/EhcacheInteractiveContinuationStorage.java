@@ -70,6 +70,23 @@ public class EhcacheInteractiveContinuationStorage implements InteractiveContinu
     }
 
 
+    @Override
+    public boolean putResponse(String chainId, InteractiveContinuationResponse response) {
+        LOG.debug("Store response with {} fragments for storage key {}", response.getFragmentCount(), chainId);
+        var chain = new InteractiveContinuationChain();
+        chain.setResponse(response);
+        ehcache.put(chainId, chain);
+        return true;
+    }
+
+
+    @Override
+    public InteractiveContinuationResponse getResponse(String chainId) {
+        var chain = ehcache.get(chainId);
+        return (chain != null) ? chain.getResponse() : null;
+    }
+
+
     @Override
     public boolean delete(String chainId) {
         return ehcache.remove(chainId);
@@ -82,10 +99,13 @@ public class EhcacheInteractiveContinuationStorage implements InteractiveContinu
      * <p>
      * Keys correspond to continuation pointers of the fragments;
      * the key of the first fragment is <code>null</code>.
+     * Alternatively, the chain holds the complete response, from which
+     * fragments are created on demand.
      */
     private static class InteractiveContinuationChain implements Serializable {
         private final Map<String, Message> responseMessages =
             Collections.synchronizedMap(new HashMap<>());
+        private volatile InteractiveContinuationResponse response;
 
         public void put(String continuationPointer, Message message) {
             responseMessages.put(continuationPointer, message);
@@ -94,6 +114,14 @@ public class EhcacheInteractiveContinuationStorage implements InteractiveContinu
         public Message get(String continuationPointer) {
             return responseMessages.get(continuationPointer);
         }
+
+        public InteractiveContinuationResponse getResponse() {
+            return response;
+        }
+
+        public void setResponse(InteractiveContinuationResponse response) {
+            this.response = response;
+        }
     }
 
 }
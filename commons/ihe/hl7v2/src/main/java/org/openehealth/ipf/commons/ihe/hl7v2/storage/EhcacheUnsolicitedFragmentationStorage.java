@@ -22,15 +22,30 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * A storage of HL7 v2 unsolicited fragmentation accumulators.
+ * When a separate cache for {@link UnsolicitedFragmentAccumulator} instances is provided,
+ * they are stored as they are, otherwise their content is copied into {@link StringBuilder}s.
  * @author Dmytro Rud
  */
 public class EhcacheUnsolicitedFragmentationStorage implements UnsolicitedFragmentationStorage {
 
     private final Cache<String, StringBuilder> ehcache;
+    private final Cache<String, UnsolicitedFragmentAccumulator> accumulatorCache;
 
     public EhcacheUnsolicitedFragmentationStorage(Cache<String, StringBuilder> ehcache) {
         requireNonNull(ehcache);
         this.ehcache = ehcache;
+        this.accumulatorCache = null;
+    }
+
+    /**
+     * @since 4.5
+     */
+    public EhcacheUnsolicitedFragmentationStorage(
+            Cache<String, StringBuilder> ehcache,
+            Cache<String, UnsolicitedFragmentAccumulator> accumulatorCache)
+    {
+        this.ehcache = requireNonNull(ehcache);
+        this.accumulatorCache = requireNonNull(accumulatorCache);
     }
 
     @Override
@@ -40,11 +55,34 @@ public class EhcacheUnsolicitedFragmentationStorage implements UnsolicitedFragme
 
     @Override
     public StringBuilder getAndRemove(String key) {
-        var value = ehcache.get(key);
-        if (value != null) {
-            ehcache.remove(key);
-            return value;
+        var value = ehcache.getAndRemove(key);
+        if ((value == null) && (accumulatorCache != null)) {
+            var accumulator = accumulatorCache.getAndRemove(key);
+            if (accumulator != null) {
+                value = new StringBuilder(accumulator.toString());
+                accumulator.discard();
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void putAccumulator(String key, UnsolicitedFragmentAccumulator accumulator) {
+        if (accumulatorCache != null) {
+            accumulatorCache.put(key, accumulator);
+        } else {
+            UnsolicitedFragmentationStorage.super.putAccumulator(key, accumulator);
+        }
+    }
+
+    @Override
+    public UnsolicitedFragmentAccumulator getAndRemoveAccumulator(String key, int spillThreshold) {
+        if (accumulatorCache != null) {
+            var accumulator = accumulatorCache.getAndRemove(key);
+            if (accumulator != null) {
+                return accumulator;
+            }
         }
-        return null;
+        return UnsolicitedFragmentationStorage.super.getAndRemoveAccumulator(key, spillThreshold);
     }
 }
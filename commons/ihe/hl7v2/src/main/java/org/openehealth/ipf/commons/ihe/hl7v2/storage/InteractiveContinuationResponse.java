@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.hl7v2.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Complete response to an interactive query, stored once instead of as a set of
+ * parsed fragments. The data records of each fragment are kept compressed, header and
+ * footer segments are shared by all fragments. The ER7 representation of a fragment is
+ * assembled on demand, without any changes to DSC and QAK segments.
+ *
+ * @since 4.5
+ */
+public class InteractiveContinuationResponse implements Serializable {
+
+    private static final long serialVersionUID = 4286043719527104537L;
+
+    private final String header;
+    private final String footer;
+    private final List<byte[]> fragments = new ArrayList<>();
+    private final List<String> continuationPointers = new ArrayList<>();
+    private final Map<String, Integer> fragmentIndexes = new HashMap<>();
+    // number of data records preceding each fragment
+    private final List<Integer> precedingRecordCounts = new ArrayList<>();
+    private int totalRecordCount;
+
+    /**
+     * @param header segments preceding the data records, including the trailing segment separator.
+     * @param footer segments following the data records, including the trailing segment separator.
+     */
+    public InteractiveContinuationResponse(String header, String footer) {
+        this.header = header;
+        this.footer = footer;
+    }
+
+    /**
+     * Appends a fragment.
+     *
+     * @param continuationPointer continuation pointer which identifies the fragment,
+     *                            <code>null</code> for the first one.
+     * @param records             data record segments of the fragment, including the trailing segment separator.
+     * @param recordCount         number of data records in the fragment.
+     */
+    public void addFragment(String continuationPointer, String records, int recordCount) {
+        fragmentIndexes.put(continuationPointer, fragments.size());
+        continuationPointers.add(continuationPointer);
+        fragments.add(compress(records));
+        precedingRecordCounts.add(totalRecordCount);
+        totalRecordCount += recordCount;
+    }
+
+    /**
+     * @return number of fragments.
+     */
+    public int getFragmentCount() {
+        return fragments.size();
+    }
+
+    /**
+     * @return index of the fragment with the given continuation pointer, or -1 when none found.
+     */
+    public int indexOf(String continuationPointer) {
+        return fragmentIndexes.getOrDefault(continuationPointer, -1);
+    }
+
+    /**
+     * @return continuation pointer of the fragment with the given index, <code>null</code> for the first one.
+     */
+    public String getContinuationPointer(int index) {
+        return continuationPointers.get(index);
+    }
+
+    /**
+     * @return number of data records in the fragment with the given index.
+     */
+    public int getRecordCount(int index) {
+        var next = index + 1 < precedingRecordCounts.size() ? precedingRecordCounts.get(index + 1) : totalRecordCount;
+        return next - precedingRecordCounts.get(index);
+    }
+
+    /**
+     * @return number of data records in the fragments preceding the one with the given index.
+     */
+    public int getPrecedingRecordCount(int index) {
+        return precedingRecordCounts.get(index);
+    }
+
+    /**
+     * @return total number of data records in the response.
+     */
+    public int getTotalRecordCount() {
+        return totalRecordCount;
+    }
+
+    /**
+     * @return ER7 representation of the fragment with the given index.
+     */
+    public String getFragment(int index) {
+        return header + decompress(fragments.get(index)) + footer;
+    }
+
+    private static byte[] compress(String s) {
+        var deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(s.getBytes(StandardCharsets.UTF_8));
+            deflater.finish();
+            var out = new ByteArrayOutputStream(Math.max(64, s.length() / 4));
+            var buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String decompress(byte[] bytes) {
+        var inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+            var out = new ByteArrayOutputStream(bytes.length * 4);
+            var buffer = new byte[8192];
+            while (!inflater.finished()) {
+                var count = inflater.inflate(buffer);
+                if (count == 0 && inflater.needsInput()) {
+                    throw new IllegalStateException("Truncated fragment data");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted fragment data", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -71,4 +71,36 @@ public interface InteractiveContinuationStorage {
      */
     boolean delete(String chainId);
 
+
+    /**
+     * Puts a complete response into this storage, so that its fragments
+     * can be created on demand instead of being stored one by one.
+     *
+     * @param chainId
+     *      unique ID of the fragment chain, see {@link #put(String, String, Message)}.
+     * @param response
+     *      response split into fragments.
+     * @return
+     *      <code>true</code> when the response has been stored, <code>false</code>
+     *      when this storage supports only single fragments.
+     * @since 4.5
+     */
+    default boolean putResponse(String chainId, InteractiveContinuationResponse response) {
+        return false;
+    }
+
+
+    /**
+     * Retrieves a complete response stored by {@link #putResponse(String, InteractiveContinuationResponse)}.
+     *
+     * @param chainId
+     *      unique ID of the fragment chain, see {@link #put(String, String, Message)}.
+     * @return
+     *      response or <code>null</code> when none found.
+     * @since 4.5
+     */
+    default InteractiveContinuationResponse getResponse(String chainId) {
+        return null;
+    }
+
 }
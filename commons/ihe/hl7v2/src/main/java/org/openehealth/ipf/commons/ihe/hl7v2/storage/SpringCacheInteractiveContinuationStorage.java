@@ -62,6 +62,23 @@ public class SpringCacheInteractiveContinuationStorage implements InteractiveCon
         return null;
     }
 
+    @Override
+    public boolean putResponse(String chainId, InteractiveContinuationResponse response) {
+        LOG.debug("Store response with {} fragments for storage key {}", response.getFragmentCount(), chainId);
+        var chain = new InteractiveContinuationChain();
+        chain.setResponse(response);
+        cache.put(chainId, chain);
+        return true;
+    }
+
+
+    @Override
+    public InteractiveContinuationResponse getResponse(String chainId) {
+        var chain = cache.get(chainId, InteractiveContinuationChain.class);
+        return (chain != null) ? chain.getResponse() : null;
+    }
+
+
     @Override
     public boolean delete(String chainId) {
         if (cache.get(chainId) != null) {
@@ -76,10 +93,13 @@ public class SpringCacheInteractiveContinuationStorage implements InteractiveCon
      * <p>
      * Keys correspond to continuation pointers of the fragments;
      * the key of the first fragment is <code>null</code>.
+     * Alternatively, the chain holds the complete response, from which
+     * fragments are created on demand.
      */
     private static class InteractiveContinuationChain implements Serializable {
         private final Map<String, Message> responseMessages =
                 Collections.synchronizedMap(new HashMap<>());
+        private volatile InteractiveContinuationResponse response;
 
         public void put(String continuationPointer, Message message) {
             responseMessages.put(continuationPointer, message);
@@ -88,5 +108,13 @@ public class SpringCacheInteractiveContinuationStorage implements InteractiveCon
         public Message get(String continuationPointer) {
             return responseMessages.get(continuationPointer);
         }
+
+        public InteractiveContinuationResponse getResponse() {
+            return response;
+        }
+
+        public void setResponse(InteractiveContinuationResponse response) {
+            this.response = response;
+        }
     }
 }
@@ -19,7 +19,8 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 
 /**
- * CachingUnsolicitedFragmentationStorage that uses a Spring cache abstraction
+ * CachingUnsolicitedFragmentationStorage that uses a Spring cache abstraction.
+ * Accumulators are stored either as strings or as {@link UnsolicitedFragmentAccumulator} instances.
  *
  * @author Christian Ohr
  * @since 3.2
@@ -40,10 +41,35 @@ public class SpringCacheUnsolicitedFragmentationStorage implements UnsolicitedFr
 
     @Override
     public StringBuilder getAndRemove(String key) {
-        var element = cache.get(key, String.class);
-        if (element != null) {
+        var element = getAndEvict(key);
+        if (element instanceof UnsolicitedFragmentAccumulator) {
+            var accumulator = (UnsolicitedFragmentAccumulator) element;
+            var result = new StringBuilder(accumulator.toString());
+            accumulator.discard();
+            return result;
+        }
+        return (element != null) ? new StringBuilder((String) element) : null;
+    }
+
+    @Override
+    public void putAccumulator(String key, UnsolicitedFragmentAccumulator accumulator) {
+        cache.put(key, accumulator);
+    }
+
+    @Override
+    public UnsolicitedFragmentAccumulator getAndRemoveAccumulator(String key, int spillThreshold) {
+        var element = getAndEvict(key);
+        if (element instanceof String) {
+            return UnsolicitedFragmentAccumulator.of((String) element, spillThreshold);
+        }
+        return (UnsolicitedFragmentAccumulator) element;
+    }
+
+    private Object getAndEvict(String key) {
+        var wrapper = cache.get(key);
+        if (wrapper != null) {
             cache.evict(key);
-            return new StringBuilder(element);
+            return wrapper.get();
         }
         return null;
     }
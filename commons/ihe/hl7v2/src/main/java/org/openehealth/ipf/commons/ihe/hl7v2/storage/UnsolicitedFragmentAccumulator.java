@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.hl7v2.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Reader;
+import java.io.Serializable;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accumulator for the segments of an unsolicited fragmented message.
+ * <p>
+ * Appended fragments are kept as separate chunks instead of being copied into a growing
+ * buffer. When the accumulated length exceeds a threshold, the content is moved into
+ * a temporary file, and subsequent fragments are appended to this file.
+ * <p>
+ * The temporary file is deleted by {@link #discard()}, or at the latest when the accumulator
+ * becomes unreachable, e.g. after having expired in or been evicted from a cache.
+ * Serialized accumulators contain the content itself instead of the node-local file path,
+ * so that spilling only saves memory in caches which store values by reference.
+ * <p>
+ * Spilling bounds the memory held by unfinished fragment chains, not the size of the assembled
+ * message: {@link #toString()} reads the whole content into one string. Consumers which can
+ * process the message as a stream should use {@link #getReader()} instead.
+ *
+ * @since 4.5
+ */
+public class UnsolicitedFragmentAccumulator implements Serializable {
+
+    private static final long serialVersionUID = -2466245062735624513L;
+    private static final Logger LOG = LoggerFactory.getLogger(UnsolicitedFragmentAccumulator.class);
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final int spillThreshold;
+    private transient List<String> chunks = new ArrayList<>();
+    private transient String spillFile;
+    private transient Cleaner.Cleanable spillFileCleanable;
+    private long length;
+
+    /**
+     * @param spillThreshold number of characters after which the content is moved into
+     *                       a temporary file, no spilling when not positive.
+     */
+    public UnsolicitedFragmentAccumulator(int spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    /**
+     * @return accumulator with the given initial content.
+     */
+    public static UnsolicitedFragmentAccumulator of(CharSequence content, int spillThreshold) {
+        var accumulator = new UnsolicitedFragmentAccumulator(spillThreshold);
+        accumulator.append(content, 0, content.length());
+        return accumulator;
+    }
+
+    /**
+     * Appends characters from <code>start</code> (inclusive) to <code>end</code> (exclusive)
+     * of the given sequence.
+     */
+    public synchronized void append(CharSequence s, int start, int end) {
+        var chunk = s.subSequence(start, end).toString();
+        length += chunk.length();
+        try {
+            if (spillFile != null) {
+                write(List.of(chunk));
+            } else if (spillThreshold > 0 && length > spillThreshold) {
+                var path = Files.createTempFile("ipf-hl7v2-fragments", ".tmp");
+                spillFile = path.toString();
+                spillFileCleanable = CLEANER.register(this, new SpillFileDeleter(spillFile));
+                LOG.debug("Moving {} accumulated characters into {}", length, spillFile);
+                chunks.add(chunk);
+                write(chunks);
+                chunks.clear();
+            } else {
+                chunks.add(chunk);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return number of accumulated characters.
+     */
+    public synchronized long length() {
+        return length;
+    }
+
+    /**
+     * @return <code>true</code> when the content has been moved into a temporary file.
+     */
+    public synchronized boolean isSpilled() {
+        return spillFile != null;
+    }
+
+    /**
+     * @return reader for the accumulated content.
+     */
+    public synchronized Reader getReader() {
+        if (spillFile == null) {
+            return new StringReader(toString());
+        }
+        try {
+            return Files.newBufferedReader(Paths.get(spillFile), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deletes the temporary file, if any. The accumulator must not be used afterwards.
+     */
+    public synchronized void discard() {
+        if (spillFile != null) {
+            spillFileCleanable.clean();
+            spillFileCleanable = null;
+            spillFile = null;
+        }
+        chunks.clear();
+        length = 0;
+    }
+
+    /**
+     * Returns the accumulated content as one string, reading it back from the temporary file
+     * if it has been spilled. The memory needed is proportional to the size of the whole
+     * message, use {@link #getReader()} for large messages where possible.
+     *
+     * @return accumulated content.
+     */
+    @Override
+    public synchronized String toString() {
+        if (spillFile != null) {
+            try {
+                return Files.readString(Paths.get(spillFile), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return (chunks.size() == 1) ? chunks.get(0) : String.join("", chunks);
+    }
+
+    private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeObject(toString());
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        chunks = new ArrayList<>();
+        var content = (String) in.readObject();
+        if (!content.isEmpty()) {
+            chunks.add(content);
+        }
+    }
+
+    private void write(List<String> chunks) throws IOException {
+        try (var writer = Files.newBufferedWriter(Paths.get(spillFile), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (var chunk : chunks) {
+                writer.write(chunk);
+            }
+        }
+    }
+
+    /**
+     * Deletes a temporary file, must not reference the accumulator.
+     */
+    private static class SpillFileDeleter implements Runnable {
+        private final String spillFile;
+
+        SpillFileDeleter(String spillFile) {
+            this.spillFile = spillFile;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Files.deleteIfExists(Paths.get(spillFile));
+            } catch (IOException e) {
+                LOG.warn("Could not delete {}", spillFile, e);
+            }
+        }
+    }
+}
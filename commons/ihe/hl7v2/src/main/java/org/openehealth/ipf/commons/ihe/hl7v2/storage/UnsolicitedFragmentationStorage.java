@@ -40,4 +40,35 @@ public interface UnsolicitedFragmentationStorage {
      *      Accumulator or <code>null</code> when none found.
      */
     StringBuilder getAndRemove(String key);
+
+    /**
+     * Puts a chunked fragment accumulator into the storage. The default implementation
+     * copies the accumulated content into a {@link StringBuilder}.
+     * @param key
+     *      Key consisting of MSH-14/DSC-1, MSH-3-1, MSH-3-2, MSH-3-3.
+     * @param accumulator
+     *      Accumulator to be stored.
+     * @since 4.5
+     */
+    default void putAccumulator(String key, UnsolicitedFragmentAccumulator accumulator) {
+        put(key, new StringBuilder(accumulator.toString()));
+        accumulator.discard();
+    }
+
+    /**
+     * Returns the chunked fragment accumulator which corresponds to the given key
+     * and removes it from the storage.
+     * @param key
+     *      Key consisting of MSH-14/DSC-1, MSH-3-1, MSH-3-2, MSH-3-3.
+     * @param spillThreshold
+     *      spill threshold for accumulators created from other representations,
+     *      see {@link UnsolicitedFragmentAccumulator#UnsolicitedFragmentAccumulator(int)}.
+     * @return
+     *      Accumulator or <code>null</code> when none found.
+     * @since 4.5
+     */
+    default UnsolicitedFragmentAccumulator getAndRemoveAccumulator(String key, int spillThreshold) {
+        var accumulator = getAndRemove(key);
+        return (accumulator != null) ? UnsolicitedFragmentAccumulator.of(accumulator, spillThreshold) : null;
+    }
 }
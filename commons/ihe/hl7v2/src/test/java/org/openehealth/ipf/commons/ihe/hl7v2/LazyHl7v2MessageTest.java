@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.hl7v2;
+
+import ca.uhn.hl7v2.DefaultHapiContext;
+import ca.uhn.hl7v2.HL7Exception;
+import ca.uhn.hl7v2.util.Terser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class LazyHl7v2MessageTest {
+
+    private static final String MESSAGE =
+            "MSH|^~\\&|MESA_PD_CONSUMER|MESA_DEPARTMENT|MESA_PD_SUPPLIER|XYZ_HOSPITAL|||ADT^A01^ADT_A01|11350110|P|2.5\r" +
+            "EVN|A01|20081107\n" +
+            "PID|||4711^^^HIMSS&1.2.3&ISO^PI~0815^^^OTHER&4.5.6&ISO^PI||Doe\\S\\Escaped^John||19380224|M\r\n" +
+            "NK1|1|Brother^Big\r" +
+            "NK1|2|Sister^Little\r" +
+            "PV1||I|\r";
+
+    private final DefaultHapiContext hapiContext = new DefaultHapiContext();
+
+    @Test
+    public void sameValuesAsTerser() throws Exception {
+        var lazy = new LazyHl7v2Message(MESSAGE, hapiContext.getPipeParser());
+        var terser = new Terser(hapiContext.getPipeParser().parse(MESSAGE.replace("\r\n", "\r").replace('\n', '\r')));
+        for (var spec : new String[]{
+                "MSH-1", "MSH-2", "MSH-3", "MSH-9-1", "MSH-9-2", "MSH-9-3", "MSH-10", "MSH-12", "MSH-15",
+                "PID-3", "PID-3-4", "PID-3-4-2", "PID-3(1)-1", "PID-3(1)-4-3", "PID-3(2)-1",
+                "PID-5-1", "PID-5-2", "PID-7", "PID-8", "PID-30", "PV1-2", "PV1-3", "NK1-2-1"}) {
+            assertEquals(terser.get(spec), lazy.get(spec), spec);
+        }
+        assertFalse(lazy.isParsed());
+    }
+
+    @Test
+    public void convenienceAccessors() throws Exception {
+        var lazy = new LazyHl7v2Message(MESSAGE, hapiContext.getPipeParser());
+        assertEquals("ADT", lazy.getMessageType());
+        assertEquals("A01", lazy.getTriggerEvent());
+        assertEquals("ADT_A01", lazy.getMessageStructure());
+        assertEquals("11350110", lazy.getMessageControlId());
+        assertEquals("2.5", lazy.getVersion());
+        assertEquals("Sister", lazy.get("NK1(1)-2-1"));
+        assertNull(lazy.get("NK1(2)-2-1"));
+        assertNull(lazy.get("MSA-2"));
+        assertTrue(lazy.hasSegment("PV1"));
+        assertFalse(lazy.hasSegment("PV2"));
+        assertFalse(lazy.isParsed());
+    }
+
+    @Test
+    public void parseOnDemand() throws Exception {
+        var lazy = new LazyHl7v2Message(MESSAGE.replace('\n', '\r'), hapiContext.getPipeParser());
+        var message = lazy.getMessage();
+        assertTrue(lazy.isParsed());
+        assertSame(message, lazy.getMessage());
+        assertEquals("ADT_A01", message.getName());
+    }
+
+    @Test
+    public void rejectInvalidMessages() {
+        assertThrows(HL7Exception.class, () -> new LazyHl7v2Message("PID|1|", null));
+        assertThrows(HL7Exception.class, () -> new LazyHl7v2Message("MSH|^~", null));
+        assertThrows(IllegalArgumentException.class, () -> new LazyHl7v2Message(MESSAGE, null).get("PID"));
+        assertThrows(HL7Exception.class, () -> new LazyHl7v2Message("MSH|^~\\&#!|A", null));
+    }
+
+    @Test
+    public void lookupsStayWithinSegment() throws Exception {
+        var lazy = new LazyHl7v2Message("MSH|^~\\&|SENDER|FAC|||20220101||ADT^A01|1|P|2.5\rPID|1||id\rPV1|1|I^a&b~c|x\r", null);
+        assertEquals("id", lazy.get("PID-3"));
+        assertNull(lazy.get("PID-3-2"));
+        assertNull(lazy.get("PID-3-1-2"));
+        assertNull(lazy.get("PID-3(1)"));
+        assertNull(lazy.get("PID-4"));
+        assertEquals("b", lazy.get("PV1-2-2-2"));
+        assertEquals("c", lazy.get("PV1-2(1)"));
+    }
+
+    @Test
+    public void truncationCharacter() throws Exception {
+        var lazy = new LazyHl7v2Message("MSH|^~\\&#|SENDER|FAC|||20220101||ADT^A01^ADT_A01|1|P|2.7\rPID|1||a\\T\\b^^^c\r", null);
+        assertEquals("^~\\&#", lazy.get("MSH-2"));
+        assertEquals("ADT_A01", lazy.getMessageStructure());
+        assertEquals("2.7", lazy.getVersion());
+        assertEquals("a&b", lazy.get("PID-3-1"));
+        assertEquals("c", lazy.get("PID-3-4"));
+    }
+}
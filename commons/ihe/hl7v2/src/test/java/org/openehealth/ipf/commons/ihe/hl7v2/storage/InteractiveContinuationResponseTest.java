@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.hl7v2.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class InteractiveContinuationResponseTest {
+
+    private static final String HEADER = "MSH|^~\\&|A|B|C|D|||RSP^K22^RSP_K21|1|P|2.5\rMSA|AA|1\rQAK|tag|OK\rQPD|Q22^Find Candidates^HL7|tag\r";
+    private static final String FOOTER = "DSC|\r";
+
+    private InteractiveContinuationResponse response() {
+        var response = new InteractiveContinuationResponse(HEADER, FOOTER);
+        response.addFragment(null, "PID|1||1\rPID|2||2\r", 2);
+        response.addFragment("second", "PID|3||3\rPID|4||4\r", 2);
+        response.addFragment("third", "PID|5||5 äöü\r", 1);
+        return response;
+    }
+
+    @Test
+    public void fragmentsAreAssembledOnDemand() {
+        var response = response();
+        assertEquals(3, response.getFragmentCount());
+        assertEquals(5, response.getTotalRecordCount());
+        assertEquals(HEADER + "PID|1||1\rPID|2||2\r" + FOOTER, response.getFragment(0));
+        assertEquals(HEADER + "PID|5||5 äöü\r" + FOOTER, response.getFragment(2));
+        assertEquals(0, response.indexOf(null));
+        assertEquals(1, response.indexOf("second"));
+        assertEquals(-1, response.indexOf("unknown"));
+        assertNull(response.getContinuationPointer(0));
+        assertEquals("third", response.getContinuationPointer(2));
+        assertEquals(4, response.getPrecedingRecordCount(2));
+        assertEquals(0, response.getPrecedingRecordCount(0));
+        assertEquals(2, response.getRecordCount(1));
+        assertEquals(1, response.getRecordCount(2));
+    }
+
+    @Test
+    public void serializable() throws Exception {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(response());
+        }
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            var response = (InteractiveContinuationResponse) in.readObject();
+            assertEquals(HEADER + "PID|3||3\rPID|4||4\r" + FOOTER, response.getFragment(response.indexOf("second")));
+        }
+    }
+}
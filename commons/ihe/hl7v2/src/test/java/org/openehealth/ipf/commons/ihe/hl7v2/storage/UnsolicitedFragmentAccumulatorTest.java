@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.hl7v2.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class UnsolicitedFragmentAccumulatorTest {
+
+    @Test
+    public void accumulateInMemory() {
+        var accumulator = new UnsolicitedFragmentAccumulator(-1);
+        accumulator.append("MSH|1\rPID|1\rDSC|x\r", 0, 12);
+        accumulator.append("MSH|2\rPID|2\r", 6, 12);
+        assertFalse(accumulator.isSpilled());
+        assertEquals(18, accumulator.length());
+        assertEquals("MSH|1\rPID|1\rPID|2\r", accumulator.toString());
+    }
+
+    @Test
+    public void spillToFile() throws Exception {
+        var accumulator = UnsolicitedFragmentAccumulator.of("MSH|1\rPID|1\r", 20);
+        assertFalse(accumulator.isSpilled());
+        accumulator.append("MSH|2\rPID|2 äöü\r", 6, 16);
+        assertTrue(accumulator.isSpilled());
+        accumulator.append("MSH|3\rPID|3\r", 6, 12);
+        var expected = "MSH|1\rPID|1\rPID|2 äöü\rPID|3\r";
+        assertEquals(expected, accumulator.toString());
+        assertEquals(expected.length(), accumulator.length());
+        try (var reader = new BufferedReader(accumulator.getReader())) {
+            assertEquals(expected, reader.lines().collect(Collectors.joining("\r", "", "\r")));
+        }
+        accumulator.discard();
+        assertFalse(accumulator.isSpilled());
+        assertEquals("", accumulator.toString());
+    }
+
+    @Test
+    public void serializeContentInsteadOfFile() throws Exception {
+        var accumulator = UnsolicitedFragmentAccumulator.of("MSH|1\rPID|1\r", 10);
+        accumulator.append("MSH|2\rPID|2\r", 6, 12);
+        assertTrue(accumulator.isSpilled());
+
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(accumulator);
+        }
+        accumulator.discard();
+
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            var copy = (UnsolicitedFragmentAccumulator) in.readObject();
+            assertFalse(copy.isSpilled());
+            assertEquals(18, copy.length());
+            assertEquals("MSH|1\rPID|1\rPID|2\r", copy.toString());
+            copy.append("MSH|3\rPID|3\r", 6, 12);
+            assertTrue(copy.isSpilled());
+            assertEquals("MSH|1\rPID|1\rPID|2\rPID|3\r", copy.toString());
+            copy.discard();
+        }
+    }
+}
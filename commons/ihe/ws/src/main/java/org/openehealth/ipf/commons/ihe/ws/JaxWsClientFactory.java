@@ -19,6 +19,8 @@ import static java.util.Objects.requireNonNull;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import javax.xml.namespace.QName;
 import javax.xml.ws.BindingProvider;
 import javax.xml.ws.Service;
@@ -48,9 +50,16 @@ import org.vibur.objectpool.ConcurrentPool;
 import org.vibur.objectpool.PoolObjectFactory;
 import org.vibur.objectpool.PoolService;
 import org.vibur.objectpool.util.ConcurrentLinkedQueueCollection;
+import org.vibur.objectpool.util.SamplingPoolReducer;
+import org.vibur.objectpool.util.ThreadedPoolReducer;
 
 /**
  * Factory for ITI Web Service stubs.
+ * <p>
+ * Client stubs are kept in a pool which is created on {@link #start()} or on the first
+ * call to {@link #getClient()}. Pool sizes and idle eviction can be configured per factory
+ * before the pool is created, the maximum size defaults to the value of the system property
+ * {@link #POOL_SIZE_PROPERTY}.
  *
  * @author Jens Riemschneider
  */
@@ -60,7 +69,16 @@ public class JaxWsClientFactory<AuditDatasetType extends WsAuditDataset> {
     public static final String POOL_SIZE_PROPERTY = JaxWsClientFactory.class.getName() + ".POOLSIZE";
     private static final int DEFAULT_POOL_SIZE = 100;
 
-    protected final PoolService<Object> clientPool;
+    private static final int POOL_REDUCER_SAMPLES = 10;
+
+    protected volatile PoolService<Object> clientPool;
+    private ThreadedPoolReducer clientPoolReducer;
+    private int poolMaxSize = -1;
+    private int poolInitialSize;
+    private long poolIdleTimeout;
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder exhaustionCount = new LongAdder();
+    private final LongAdder borrowWaitNanos = new LongAdder();
     protected final WsTransactionConfiguration<AuditDatasetType> wsTransactionConfiguration;
     protected final String serviceUrl;
     protected final InterceptorProvider customInterceptors;
@@ -104,19 +122,141 @@ public class JaxWsClientFactory<AuditDatasetType extends WsAuditDataset> {
         this.correlator = correlator;
         this.securityInformation = securityInformation;
         this.httpClientPolicy = httpClientPolicy;
-
-        int poolSize = Integer.getInteger(POOL_SIZE_PROPERTY, -1);
-        clientPool = new ConcurrentPool<>(new ConcurrentLinkedQueueCollection<>(), new PortFactory(),
-                0, (poolSize > 0) ? poolSize : DEFAULT_POOL_SIZE, false);
     }
 
     /**
      * Returns a client stub for the web-service.
+     * When the pool is exhausted, waits until another stub has been restored.
      *
      * @return the client stub
      */
-    public synchronized Object getClient() {
-        return clientPool.take();
+    public Object getClient() {
+        var pool = getClientPool();
+        var client = pool.tryTake();
+        if (client == null) {
+            exhaustionCount.increment();
+            var waitedNanos = new long[1];
+            client = pool.take(waitedNanos);
+            borrowWaitNanos.add(waitedNanos[0]);
+        }
+        borrowCount.increment();
+        return client;
+    }
+
+    private PoolService<Object> getClientPool() {
+        var pool = clientPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = clientPool;
+                if (pool == null) {
+                    pool = createClientPool();
+                    clientPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    private PoolService<Object> createClientPool() {
+        var maxSize = (poolMaxSize > 0) ? poolMaxSize : Integer.getInteger(POOL_SIZE_PROPERTY, -1);
+        if (maxSize <= 0) {
+            maxSize = DEFAULT_POOL_SIZE;
+        }
+        var initialSize = Math.min(poolInitialSize, maxSize);
+        // initial client stubs are created eagerly by the pool
+        var pool = new ConcurrentPool<>(new ConcurrentLinkedQueueCollection<>(), new PortFactory(),
+                initialSize, maxSize, false);
+        if (poolIdleTimeout > 0) {
+            clientPoolReducer = new SamplingPoolReducer(pool, poolIdleTimeout, TimeUnit.MILLISECONDS, POOL_REDUCER_SAMPLES);
+            clientPoolReducer.start();
+        }
+        LOG.debug("Created client stub pool with {} initial and {} maximal stubs for {}",
+                initialSize, maxSize, wsTransactionConfiguration.getServiceName());
+        return pool;
+    }
+
+    /**
+     * Creates the pool of client stubs, if not created yet, including the initial stubs.
+     */
+    public void start() {
+        getClientPool();
+    }
+
+    /**
+     * Terminates the pool of client stubs. A new pool will be created when needed.
+     */
+    public synchronized void stop() {
+        if (clientPoolReducer != null) {
+            clientPoolReducer.terminate();
+            clientPoolReducer = null;
+        }
+        if (clientPool != null) {
+            clientPool.terminate();
+            clientPool = null;
+        }
+    }
+
+    /**
+     * @param poolMaxSize maximal number of client stubs, non-positive values mean
+     *                    the value of the system property {@link #POOL_SIZE_PROPERTY} or 100.
+     *                    Takes effect when the pool is created.
+     */
+    public void setPoolMaxSize(int poolMaxSize) {
+        this.poolMaxSize = poolMaxSize;
+    }
+
+    /**
+     * @param poolInitialSize number of client stubs which are created together with the pool.
+     *                        Takes effect when the pool is created.
+     */
+    public void setPoolInitialSize(int poolInitialSize) {
+        this.poolInitialSize = poolInitialSize;
+    }
+
+    /**
+     * @param poolIdleTimeout time in milliseconds after which unused client stubs beyond the
+     *                        initial ones are evicted gradually, non-positive values disable eviction.
+     *                        Takes effect when the pool is created.
+     */
+    public void setPoolIdleTimeout(long poolIdleTimeout) {
+        this.poolIdleTimeout = poolIdleTimeout;
+    }
+
+    /**
+     * @return number of client stubs borrowed from the pool.
+     */
+    public long getBorrowCount() {
+        return borrowCount.sum();
+    }
+
+    /**
+     * @return number of borrowings which found the pool exhausted and had to wait.
+     */
+    public long getExhaustionCount() {
+        return exhaustionCount.sum();
+    }
+
+    /**
+     * @return total time in milliseconds which borrowers have waited on the exhausted pool.
+     */
+    public long getBorrowWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(borrowWaitNanos.sum());
+    }
+
+    /**
+     * @return number of client stubs currently created, or 0 when the pool has not been created yet.
+     */
+    public int getPoolCreatedCount() {
+        var pool = clientPool;
+        return (pool != null) ? pool.createdTotal() : 0;
+    }
+
+    /**
+     * @return number of client stubs currently borrowed, or 0 when the pool has not been created yet.
+     */
+    public int getPoolTakenCount() {
+        var pool = clientPool;
+        return (pool != null) ? pool.taken() : 0;
     }
 
     /**
@@ -211,8 +351,11 @@ public class JaxWsClientFactory<AuditDatasetType extends WsAuditDataset> {
             // Reset the response context associated with the current thread to allow the context to be GCed.
             // See https://issues.apache.org/jira/browse/CXF-7710 and https://issues.apache.org/jira/browse/CXF-7591
             ClientProxy.getClient(client).getResponseContext().clear();
-            clientPool.restore(client);
-            LOG.debug("Returned client stub {} to the pool", client);
+            var pool = clientPool;
+            if (pool != null) {
+                pool.restore(client);
+                LOG.debug("Returned client stub {} to the pool", client);
+            }
         }
     }
 
@@ -15,12 +15,9 @@
  */
 package org.openehealth.ipf.commons.ihe.ws.cxf.payload;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.UnsupportedEncodingException;
 
-import org.apache.cxf.helpers.IOUtils;
 import org.apache.cxf.interceptor.AttachmentInInterceptor;
 import org.apache.cxf.wsdl.interceptors.DocLiteralInInterceptor;
 import org.apache.cxf.interceptor.Fault;
@@ -28,6 +25,7 @@ import org.apache.cxf.interceptor.StaxInInterceptor;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.phase.AbstractPhaseInterceptor;
 import org.apache.cxf.phase.Phase;
+import org.openehealth.ipf.commons.ihe.core.payload.PayloadBuffer;
 import org.openehealth.ipf.commons.ihe.ws.utils.SoapUtils;
 
 import static org.openehealth.ipf.commons.ihe.ws.cxf.payload.StringPayloadHolder.PayloadType;
@@ -36,6 +34,8 @@ import static org.openehealth.ipf.commons.ihe.ws.cxf.payload.StringPayloadHolder
 /**
  * CXF interceptor that saves String payload of the incoming SOAP message
  * body into the CXF message.  Usable on both client and server sides.
+ * <p>
+ * HTTP payload is saved as raw bytes and decoded only when requested.
  *
  * @author Dmytro Rud
  */
@@ -76,37 +76,28 @@ public class InPayloadExtractorInterceptor extends AbstractPhaseInterceptor<Mess
 
         // extract current message contents from the stream,
         // substitute the used stream by an again-usable one.
-        byte[] bytes;
+        PayloadBuffer bytes;
         try {
             var stream = message.getContent(InputStream.class);
-            bytes = IOUtils.readBytesFromStream(stream);
-            message.setContent(InputStream.class, new ByteArrayInputStream(bytes));
+            bytes = PayloadBuffer.readFrom(stream);
+            message.setContent(InputStream.class, bytes.getInputStream());
         } catch (IOException e) {
             throw new RuntimeException("Error when extracting payload", e);
         }
 
+        // save the payload into the message's content map,
         // optionally extract SOAP Body from the SOAP Envelope
-        String payload;
-        try {
-            var charsetName = (String) message.get(Message.ENCODING);
-            payload = (charsetName != null) ? new String(bytes, charsetName) : new String(bytes);
-        } catch (UnsupportedEncodingException e) {
-            // actually cannot occur, because non-supported encodings
-            // will cause exceptions a lot earlier
-            throw new RuntimeException(e);
-        }
-
-        if (payloadType == PayloadType.SOAP_BODY) {
-            payload = SoapUtils.extractSoapBody(payload);
-        }
-
-        // save the String payload into the message's content map
         var payloadHolder = message.getContent(StringPayloadHolder.class);
         if (payloadHolder == null) {
             payloadHolder = new StringPayloadHolder();
             message.setContent(StringPayloadHolder.class, payloadHolder);
         }
-        payloadHolder.put(payloadType, payload);
+        var charsetName = (String) message.get(Message.ENCODING);
+        if (payloadType == PayloadType.SOAP_BODY) {
+            payloadHolder.put(payloadType, SoapUtils.extractSoapBody(bytes.toString(charsetName)));
+        } else {
+            payloadHolder.put(payloadType, bytes, charsetName);
+        }
 
         // optionally take care of dropping HTTP payload and
         // input stream after the SOAP Body has been successfully parsed
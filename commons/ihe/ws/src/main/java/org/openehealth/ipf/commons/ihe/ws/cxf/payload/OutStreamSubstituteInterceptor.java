@@ -36,6 +36,16 @@ import java.lang.reflect.Field;
  */
 public class OutStreamSubstituteInterceptor extends AbstractPhaseInterceptor<Message> {
 
+    /**
+     * When the CXF message contains a number in the contextual property with this name,
+     * the stream wrapper will collect at most that many bytes of payload.  Note that
+     * SOAP Body extraction and ATNA auditing see only the collected part of the payload.
+     *
+     * @since 4.5
+     */
+    public static final String MAX_COLLECTED_SIZE =
+            OutStreamSubstituteInterceptor.class.getName() + ".max.collected.size";
+
     private static final Field MWRITER_FIELD;
     private static final Field MOUT_WRITER_FIELD;
     private static final Field MOUT_STREAM_FIELD;
@@ -77,7 +87,9 @@ public class OutStreamSubstituteInterceptor extends AbstractPhaseInterceptor<Mes
             x = MOUT_STREAM_FIELD.get(writer);
             checkClass(x, OutputStream.class);
             var os = (OutputStream) x;
-            var wrapper = new WrappedOutputStream(os, (String) message.get(Message.ENCODING));
+            var maxSize = (Number) message.getContextualProperty(MAX_COLLECTED_SIZE);
+            var wrapper = new WrappedOutputStream(os, (String) message.get(Message.ENCODING),
+                    (maxSize != null) ? maxSize.longValue() : -1L);
             message.setContent(OutputStream.class, wrapper);
             MOUT_STREAM_FIELD.set(writer, wrapper);
         } catch (IllegalAccessException e) {
@@ -15,10 +15,13 @@
  */
 package org.openehealth.ipf.commons.ihe.ws.cxf.payload;
 
+import org.openehealth.ipf.commons.ihe.core.payload.PayloadBuffer;
+
 import java.util.EnumMap;
 
 /**
  * Holder for various types of String message payloads.
+ * Payloads can be put as raw bytes, they will be decoded on first access.
  * @author Dmytro Rud
  */
 public class StringPayloadHolder {
@@ -36,19 +39,58 @@ public class StringPayloadHolder {
 
 
     // not synchronized, because parallel access is not expected
-    private final EnumMap<PayloadType, String> map =
+    private final EnumMap<PayloadType, Payload> map =
             new EnumMap<>(PayloadType.class);
 
 
     public String get(PayloadType payloadType) {
-        return map.get(payloadType);
+        var payload = map.get(payloadType);
+        if (payload == null) {
+            return null;
+        }
+        if ((payload.string == null) && (payload.bytes != null)) {
+            payload.string = payload.bytes.toString(payload.charsetName);
+        }
+        return payload.string;
+    }
+
+    /**
+     * @return raw payload bytes, or <code>null</code> when the payload
+     *      of the given type is absent or has been put as a String.
+     * @since 4.5
+     */
+    public PayloadBuffer getBytes(PayloadType payloadType) {
+        var payload = map.get(payloadType);
+        return (payload != null) ? payload.bytes : null;
     }
 
     public void put(PayloadType payloadType, String payload) {
-        map.put(payloadType, payload);
+        map.put(payloadType, new Payload(null, null, payload));
+    }
+
+    /**
+     * @param bytes       raw payload bytes.
+     * @param charsetName character set name, may be <code>null</code> for the platform default.
+     * @since 4.5
+     */
+    public void put(PayloadType payloadType, PayloadBuffer bytes, String charsetName) {
+        map.put(payloadType, new Payload(bytes, charsetName, null));
     }
 
     public void remove(PayloadType payloadType) {
         map.remove(payloadType);
     }
+
+
+    private static class Payload {
+        private final PayloadBuffer bytes;
+        private final String charsetName;
+        private String string;
+
+        private Payload(PayloadBuffer bytes, String charsetName, String string) {
+            this.bytes = bytes;
+            this.charsetName = charsetName;
+            this.string = string;
+        }
+    }
 }
@@ -15,6 +15,8 @@
  */
 package org.openehealth.ipf.commons.ihe.ws.cxf.payload;
 
+import org.openehealth.ipf.commons.ihe.core.payload.PayloadBuffer;
+
 import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -22,16 +24,21 @@ import java.nio.charset.Charset;
 
 /**
  * An implementation of output stream which serves as a proxy for another output
- * stream instance and collects the data pieces to be written in a string buffer
- * (these pieces are XML and/or MIME artifacts).
+ * stream instance and collects the data pieces to be written in a byte buffer
+ * (these pieces are XML and/or MIME artifacts).  The bytes are decoded into
+ * a String only when {@link #getCollectedPayload()} is called.
+ * <p>
+ * The byte buffer is released when the stream is closed.
  *
  * @author Dmytro Rud
  */
 public class WrappedOutputStream extends FilterOutputStream {
 
     private final String charsetName;
-    private final StringBuilder payloadCollector;
+    private final PayloadBuffer payloadCollector;
+    private String collectedPayload;
     private boolean isActive;
+    private boolean isReleased;
 
     /**
      * Constructor.
@@ -42,10 +49,25 @@ public class WrappedOutputStream extends FilterOutputStream {
      *      character set name, may be <code>null</code> if not known.
      */
     public WrappedOutputStream(OutputStream os, String charsetName) {
+        this(os, charsetName, -1L);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param os
+     *      the output data stream to be wrapped
+     * @param charsetName
+     *      character set name, may be <code>null</code> if not known.
+     * @param maxSize
+     *      maximal count of bytes to collect, non-positive values mean "no limit".
+     * @since 4.5
+     */
+    public WrappedOutputStream(OutputStream os, String charsetName, long maxSize) {
         super(os);
         this.charsetName = (charsetName != null) ? charsetName : Charset.defaultCharset().name();
         isActive = true;
-        payloadCollector = new StringBuilder();
+        payloadCollector = new PayloadBuffer(maxSize);
     }
 
 
@@ -54,7 +76,31 @@ public class WrappedOutputStream extends FilterOutputStream {
      * @return SOAP payload as XML String.
      */
     public String getCollectedPayload() {
-        return payloadCollector.toString();
+        if (collectedPayload == null) {
+            collectedPayload = payloadCollector.toString(charsetName);
+        }
+        return collectedPayload;
+    }
+
+
+    /**
+     * Returns the collected message payload as raw bytes, without decoding it.
+     * Consumers which use the bytes after the stream has been closed must
+     * {@link PayloadBuffer#retain() retain} the buffer.
+     * @return byte buffer containing the SOAP payload.
+     * @since 4.5
+     */
+    public PayloadBuffer getCollectedBytes() {
+        return payloadCollector;
+    }
+
+
+    /**
+     * @return character set name of the collected payload.
+     * @since 4.5
+     */
+    public String getCharsetName() {
+        return charsetName;
     }
 
 
@@ -68,11 +114,34 @@ public class WrappedOutputStream extends FilterOutputStream {
 
     /* ----- implementation of standard OutputStream methods ----- */
 
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        if (isActive) {
+            payloadCollector.write(b);
+            collectedPayload = null;
+        }
+    }
+
     @Override
     public void write(byte[] b, int off, int len) throws IOException {
-        super.write(b, off, len);
+        out.write(b, off, len);
         if (isActive) {
-            payloadCollector.append(new String(b, off, len, charsetName));
+            payloadCollector.write(b, off, len);
+            collectedPayload = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            if (!isReleased) {
+                isReleased = true;
+                isActive = false;
+                payloadCollector.release();
+            }
         }
     }
 }
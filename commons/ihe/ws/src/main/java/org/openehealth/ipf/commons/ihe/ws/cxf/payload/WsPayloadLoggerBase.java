@@ -19,11 +19,13 @@ import org.apache.cxf.message.Message;
 import org.apache.cxf.message.MessageUtils;
 import org.apache.cxf.transport.http.AbstractHTTPDestination;
 import org.apache.cxf.wsdl.service.factory.ReflectionServiceFactoryBean;
+import org.openehealth.ipf.commons.ihe.core.payload.PayloadBuffer;
 import org.openehealth.ipf.commons.ihe.core.payload.PayloadLoggerBase;
 import org.openehealth.ipf.commons.ihe.core.payload.PayloadLoggingContext;
 import org.openehealth.ipf.commons.ihe.ws.InterceptorUtils;
 
 import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
@@ -39,12 +41,19 @@ import static org.openehealth.ipf.commons.ihe.ws.cxf.payload.StringPayloadHolder
  * <li><tt>partialResponse</tt>&nbsp;&mdash; returns <code>true</code>,
  * when the message under consideration is a WS-Addressing partial response.
  * </ul>
+ * <p/>
+ * Message bodies are logged as raw bytes, exactly as they have been received or sent.
+ * Optionally, their size can be limited, and MIME attachments (e.g. MTOM/XOP parts)
+ * can be stripped, so that only the root MIME part is logged.
  *
  * @author Dmytro Rud
  */
 public class WsPayloadLoggerBase
         extends PayloadLoggerBase<WsPayloadLoggerBase.WsPayloadLoggingContext> {
 
+    private long maxBodySize = -1L;
+    private boolean stripAttachments;
+
 
     public void logPayload(Message message) {
         Long sequenceId = InterceptorUtils.findContextualProperty(message, SEQUENCE_ID_PROPERTY_NAME);
@@ -59,13 +68,62 @@ public class WsPayloadLoggerBase
                 Boolean.TRUE.equals(message.get(Message.PARTIAL_RESPONSE_MESSAGE)));
 
         var isOutbound = MessageUtils.isOutbound(message);
+        var charsetName = (String) message.get(Message.ENCODING);
+        var metadataPayload = isOutbound ? getOutboundMetadataPayload(message) : getInboundMetadataPayload(message);
+        var headersPayload = getHeadersPayload(message);
+        var bodyBytes = isOutbound ? getOutboundBodyBytes(message) : getInboundBodyBytes(message);
+
+        if (bodyBytes != null) {
+            doLogPayload(spelContext, charsetName, bodyBytes, getBodyLength(message, bodyBytes),
+                    metadataPayload, headersPayload);
+        } else {
+            doLogPayload(spelContext, charsetName, metadataPayload, headersPayload, getInboundBodyPayload(message));
+        }
+    }
+
+
+    /**
+     * Determines how many bytes of the message body shall be logged,
+     * according to the configured size limit and attachment stripping.
+     */
+    private long getBodyLength(Message message, PayloadBuffer bodyBytes) {
+        var length = bodyBytes.size();
+        if (stripAttachments) {
+            var boundary = getMimeBoundary((String) message.get(Message.CONTENT_TYPE));
+            if (boundary != null) {
+                var delimiter = ("--" + boundary).getBytes(StandardCharsets.US_ASCII);
+                var rootPartStart = bodyBytes.indexOf(delimiter, 0L);
+                if (rootPartStart >= 0) {
+                    var attachmentsStart = bodyBytes.indexOf(delimiter, rootPartStart + delimiter.length);
+                    if (attachmentsStart >= 0) {
+                        length = attachmentsStart;
+                    }
+                }
+            }
+        }
+        return (maxBodySize > 0) ? Math.min(length, maxBodySize) : length;
+    }
 
-        doLogPayload(
-                spelContext,
-                (String) message.get(Message.ENCODING),
-                isOutbound ? getOutboundMetadataPayload(message) : getInboundMetadataPayload(message),
-                getHeadersPayload(message),
-                isOutbound ? getOutboundBodyPayload(message) : getInboundBodyPayload(message));
+
+    /**
+     * Extracts MIME boundary from the given content type, returns <code>null</code>
+     * when the content type is not multipart.
+     */
+    static String getMimeBoundary(String contentType) {
+        if ((contentType == null) || !contentType.toLowerCase().startsWith("multipart/")) {
+            return null;
+        }
+        for (var parameter : contentType.split(";")) {
+            var pair = parameter.trim().split("=", 2);
+            if ((pair.length == 2) && "boundary".equalsIgnoreCase(pair[0].trim())) {
+                var boundary = pair[1].trim();
+                if ((boundary.length() > 1) && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+                    boundary = boundary.substring(1, boundary.length() - 1);
+                }
+                return boundary.isEmpty() ? null : boundary;
+            }
+        }
+        return null;
     }
 
 
@@ -121,6 +179,12 @@ public class WsPayloadLoggerBase
     }
 
 
+    private static PayloadBuffer getInboundBodyBytes(Message message) {
+        var payloadHolder = message.getContent(StringPayloadHolder.class);
+        return (payloadHolder != null) ? payloadHolder.getBytes(HTTP) : null;
+    }
+
+
     private static String getOutboundMetadataPayload(Message message) {
         var sb = new StringBuilder();
 
@@ -139,10 +203,10 @@ public class WsPayloadLoggerBase
     }
 
 
-    private static String getOutboundBodyPayload(Message message) {
+    private static PayloadBuffer getOutboundBodyBytes(Message message) {
         var wrapper = OutStreamSubstituteInterceptor.getStreamWrapper(message);
         wrapper.deactivate();
-        return wrapper.getCollectedPayload();
+        return wrapper.getCollectedBytes();
     }
 
     private static String getInteractionId(Message message) {
@@ -151,6 +215,41 @@ public class WsPayloadLoggerBase
         return name.endsWith("PortType") ? name.substring(0, name.length() - 8) : name;
     }
 
+    /**
+     * @return maximal count of body bytes to log,
+     * non-positive value (the default) means "no limit".
+     * @since 4.5
+     */
+    public long getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    /**
+     * @param maxBodySize maximal count of body bytes to log,
+     *                    non-positive value (the default) means "no limit".
+     * @since 4.5
+     */
+    public void setMaxBodySize(long maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+
+    /**
+     * @return <code>true</code> when only the root part of multipart messages is logged.
+     * @since 4.5
+     */
+    public boolean isStripAttachments() {
+        return stripAttachments;
+    }
+
+    /**
+     * @param stripAttachments <code>true</code> when only the root part of multipart messages
+     *                         shall be logged, <code>false</code> (the default) for the whole message.
+     * @since 4.5
+     */
+    public void setStripAttachments(boolean stripAttachments) {
+        this.stripAttachments = stripAttachments;
+    }
+
     /**
      * SPEL evaluation context for patterns of file names where WS-based payload should be saved.
      */
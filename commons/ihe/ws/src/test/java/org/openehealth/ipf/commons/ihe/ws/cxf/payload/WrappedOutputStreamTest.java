@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.ws.cxf.payload;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class WrappedOutputStreamTest {
+
+    @Test
+    public void testCollecting() throws Exception {
+        var bytes = "<a>ä€</a>".getBytes(StandardCharsets.UTF_8);
+        var target = new ByteArrayOutputStream();
+        var stream = new WrappedOutputStream(target, "UTF-8");
+
+        // split multi-byte characters between the writes
+        stream.write(bytes, 0, 4);
+        stream.write(bytes[4]);
+        stream.write(bytes, 5, 3);
+        assertEquals("<a>ä€", stream.getCollectedPayload());
+        stream.write(bytes, 8, bytes.length - 8);
+        assertEquals("<a>ä€</a>", stream.getCollectedPayload());
+        stream.deactivate();
+        stream.write('x');
+
+        assertEquals(bytes.length, stream.getCollectedBytes().size());
+        assertEquals(bytes.length + 1, target.size());
+
+        stream.close();
+        assertEquals("<a>ä€</a>", stream.getCollectedPayload());
+        assertThrows(IllegalStateException.class, () -> stream.getCollectedBytes().toByteArray());
+    }
+
+    @Test
+    public void testMaxSize() throws Exception {
+        var stream = new WrappedOutputStream(new ByteArrayOutputStream(), "UTF-8", 3L);
+        stream.write("abcdef".getBytes(), 0, 6);
+        assertEquals("abc", stream.getCollectedPayload());
+        assertTrue(stream.getCollectedBytes().isTruncated());
+    }
+
+    @Test
+    public void testMimeBoundary() {
+        assertEquals("uuid:1234", WsPayloadLoggerBase.getMimeBoundary(
+                "multipart/related; type=\"application/xop+xml\"; boundary=\"uuid:1234\"; start=\"<root.message@cxf.apache.org>\""));
+        assertEquals("abc", WsPayloadLoggerBase.getMimeBoundary("Multipart/Related;boundary=abc"));
+        assertNull(WsPayloadLoggerBase.getMimeBoundary("application/soap+xml; charset=UTF-8"));
+        assertNull(WsPayloadLoggerBase.getMimeBoundary(null));
+    }
+}
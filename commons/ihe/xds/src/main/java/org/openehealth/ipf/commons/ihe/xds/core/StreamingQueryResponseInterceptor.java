@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.xds.core;
+
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.io.CachedOutputStream;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageUtils;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.staxutils.StaxUtils;
+import org.apache.cxf.wsdl.interceptors.DocLiteralInInterceptor;
+import org.openehealth.ipf.commons.ihe.xds.core.transform.responses.StreamingQueryResponseReader;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+/**
+ * Client-side CXF interceptor which spools the <code>AdhocQueryResponse</code> element
+ * of an ITI-18 or ITI-38 response into a {@link CachedOutputStream} (which is written into
+ * a temporary file when it gets large), instead of letting JAXB unmarshal it.
+ * <p>
+ * JAXB gets a response which contains only the status, so that the audit can still be performed.
+ * The spooled response is stored in the message under the key {@link #SPOOLED_RESPONSE}, and
+ * is available in the JAX-WS response context after the call. It can be read with
+ * {@link #createReader(CachedOutputStream)}.
+ *
+ * @since 4.5
+ */
+public class StreamingQueryResponseInterceptor extends AbstractPhaseInterceptor<Message> {
+
+    public static final String SPOOLED_RESPONSE =
+            StreamingQueryResponseInterceptor.class.getName() + ".SPOOLED_RESPONSE";
+
+    private static final String QUERY_NS = "urn:oasis:names:tc:ebxml-regrep:xsd:query:3.0";
+
+    public StreamingQueryResponseInterceptor() {
+        super(Phase.UNMARSHAL);
+        addBefore(DocLiteralInInterceptor.class.getName());
+    }
+
+    @Override
+    public void handleMessage(Message message) {
+        if (!MessageUtils.isRequestor(message) || (message.getContent(Exception.class) != null)) {
+            return;
+        }
+        var reader = message.getContent(XMLStreamReader.class);
+        if ((reader == null) ||
+                (reader.getEventType() != XMLStreamReader.START_ELEMENT) ||
+                !QUERY_NS.equals(reader.getNamespaceURI()) ||
+                !"AdhocQueryResponse".equals(reader.getLocalName())) {
+            return;
+        }
+
+        var status = reader.getAttributeValue(null, "status");
+        var cachedStream = new CachedOutputStream();
+        try {
+            var writer = StaxUtils.createXMLStreamWriter(cachedStream);
+            StaxUtils.copy(reader, writer);
+            writer.close();
+            cachedStream.close();
+
+            var stub = new StringWriter();
+            var stubWriter = StaxUtils.createXMLStreamWriter(stub);
+            stubWriter.writeStartElement("", "AdhocQueryResponse", QUERY_NS);
+            stubWriter.writeDefaultNamespace(QUERY_NS);
+            if (status != null) {
+                stubWriter.writeAttribute("status", status);
+            }
+            stubWriter.writeEndElement();
+            stubWriter.close();
+
+            var stubReader = StaxUtils.createXMLStreamReader(new StringReader(stub.toString()));
+            stubReader.nextTag();
+            message.setContent(XMLStreamReader.class, stubReader);
+            message.put(SPOOLED_RESPONSE, cachedStream);
+        } catch (XMLStreamException | IOException e) {
+            throw new Fault(e);
+        }
+    }
+
+    /**
+     * Creates a reader for a spooled response. The temporary file, if any,
+     * will be deleted when the reader is closed.
+     *
+     * @param cachedStream spooled response.
+     * @return reader for the spooled response.
+     */
+    public static StreamingQueryResponseReader createReader(CachedOutputStream cachedStream) throws IOException {
+        return new StreamingQueryResponseReader(cachedStream.getInputStream());
+    }
+}
@@ -16,6 +16,7 @@
 package org.openehealth.ipf.commons.ihe.xds.core.ebxml;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Provides functionality for containers of various ebXML objects.
@@ -77,6 +78,32 @@ public interface EbXMLObjectContainer {
      */
     List<EbXMLAssociation> getAssociations();
 
+    /**
+     * Returns the associations of this container having the given source object.
+     * The default implementation filters {@link #getAssociations()}.
+     * @param sourceObject
+     *          the id of the source object.
+     * @return the associations.
+     */
+    default List<EbXMLAssociation> getAssociationsBySource(String sourceObject) {
+        return getAssociations().stream()
+                .filter(association -> sourceObject.equals(association.getSource()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the associations of this container having the given target object.
+     * The default implementation filters {@link #getAssociations()}.
+     * @param targetObject
+     *          the id of the target object.
+     * @return the associations.
+     */
+    default List<EbXMLAssociation> getAssociationsByTarget(String targetObject) {
+        return getAssociations().stream()
+                .filter(association -> targetObject.equals(association.getTarget()))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Adds a classification to this container.
      * @param classification
@@ -89,6 +116,19 @@ public interface EbXMLObjectContainer {
      */
     List<EbXMLClassification> getClassifications();
 
+    /**
+     * Returns the classifications of this container classifying the given object.
+     * The default implementation filters {@link #getClassifications()}.
+     * @param classifiedObject
+     *          the id of the classified object.
+     * @return the classifications.
+     */
+    default List<EbXMLClassification> getClassifications(String classifiedObject) {
+        return getClassifications().stream()
+                .filter(classification -> classifiedObject.equals(classification.getClassifiedObject()))
+                .collect(Collectors.toList());
+    }
+
     /**
      * @return the object library used by this container.
      */
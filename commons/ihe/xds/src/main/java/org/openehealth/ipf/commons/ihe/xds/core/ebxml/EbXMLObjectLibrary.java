@@ -17,16 +17,18 @@ package org.openehealth.ipf.commons.ihe.xds.core.ebxml;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A container of objects used for resolving object references and their ids.
+ * <p>
+ * The library is thread-safe, so that metadata objects can be transformed in parallel.
  * @author Jens Riemschneider
  */
 public class EbXMLObjectLibrary {
-    private final Map<String, Object> objLib = new HashMap<>();
-    private final Map<Object, String> reverseLib = new HashMap<>();
+    private final Map<String, Object> objLib = new ConcurrentHashMap<>();
+    private final Map<Object, String> reverseLib = new ConcurrentHashMap<>();
     
     /**
      * Puts an object into the library.
@@ -21,18 +21,21 @@ import org.openehealth.ipf.commons.ihe.xds.core.ebxml.*;
 import org.openehealth.ipf.commons.ihe.xds.core.stub.ebrs30.rim.*;
 
 import javax.xml.bind.JAXBElement;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 /**
  * Base class for requests and responses that contain various ebXML 3.0
  * objects.
+ * <p>
+ * Lookups are answered from an index which is built lazily in one pass over the contents.
+ * The index is dropped when objects are added via this container or when the size or the
+ * identity of the contents list changes. Ids, classification nodes, classified objects and
+ * association ends of contained objects are expected not to be changed after they have been added.
  * @author Jens Riemschneider
  */
 public abstract class EbXMLObjectContainer30 implements EbXMLObjectContainer {
     private final EbXMLObjectLibrary objectLibrary;
+    private Index index;
 
     @Override
     public EbXMLObjectLibrary getObjectLibrary() {
@@ -66,6 +69,7 @@ public abstract class EbXMLObjectContainer30 implements EbXMLObjectContainer {
         if (association != null) {
             var internal = ((EbXMLAssociation30)association).getInternal();
             getContents().add(EbXMLFactory30.RIM_FACTORY.createAssociation(internal));
+            index = null;
         }        
     }
 
@@ -74,6 +78,7 @@ public abstract class EbXMLObjectContainer30 implements EbXMLObjectContainer {
         if (extrinsic != null) {
             var internal = ((EbXMLExtrinsicObject30)extrinsic).getInternal();
             getContents().add(EbXMLFactory30.RIM_FACTORY.createExtrinsicObject(internal));
+            index = null;
         }        
     }
 
@@ -82,32 +87,48 @@ public abstract class EbXMLObjectContainer30 implements EbXMLObjectContainer {
         if (regPackage != null) {
             var internal = ((EbXMLRegistryPackage30)regPackage).getInternal();
             getContents().add(EbXMLFactory30.RIM_FACTORY.createRegistryPackage(internal));
+            index = null;
         }        
     }
 
     @Override
     public List<EbXMLAssociation> getAssociations() {
-        var results = new ArrayList<EbXMLAssociation>();
-        for (var identifiable : getContents()) {
-            var association = cast(identifiable, AssociationType1.class);
-            if (association != null) {
-                results.add(new EbXMLAssociation30(association, objectLibrary));
-            }
+        return wrapAssociations(index().associations);
+    }
+
+    @Override
+    public List<EbXMLAssociation> getAssociationsBySource(String sourceObject) {
+        return wrapAssociations(index().associationsBySource.getOrDefault(sourceObject, Collections.emptyList()));
+    }
+
+    @Override
+    public List<EbXMLAssociation> getAssociationsByTarget(String targetObject) {
+        return wrapAssociations(index().associationsByTarget.getOrDefault(targetObject, Collections.emptyList()));
+    }
+
+    private List<EbXMLAssociation> wrapAssociations(List<AssociationType1> associations) {
+        var results = new ArrayList<EbXMLAssociation>(associations.size());
+        for (var association : associations) {
+            results.add(new EbXMLAssociation30(association, objectLibrary));
         }
-        
         return results;
     }
 
     @Override
     public List<EbXMLClassification> getClassifications() {
-        var results = new ArrayList<EbXMLClassification>();
-        for (var identifiable : getContents()) {
-            var classification = cast(identifiable, ClassificationType.class);
-            if (classification != null) {
-                results.add(new EbXMLClassification30(classification));
-            }
+        return wrapClassifications(index().classifications);
+    }
+
+    @Override
+    public List<EbXMLClassification> getClassifications(String classifiedObject) {
+        return wrapClassifications(index().classificationsByClassifiedObject.getOrDefault(classifiedObject, Collections.emptyList()));
+    }
+
+    private List<EbXMLClassification> wrapClassifications(List<ClassificationType> classifications) {
+        var results = new ArrayList<EbXMLClassification>(classifications.size());
+        for (var classification : classifications) {
+            results.add(new EbXMLClassification30(classification));
         }
-        
         return results;
     }
     
@@ -116,14 +137,11 @@ public abstract class EbXMLObjectContainer30 implements EbXMLObjectContainer {
         noNullElements(objectTypes, "objectTypes cannot be null or contain null elements");
 
         var results = new ArrayList<EbXMLExtrinsicObject>();
-        for (var identifiable : getContents()) {
-            var extrinsic = cast(identifiable, ExtrinsicObjectType.class);
-            if (extrinsic != null) {
-                for (var objectType : objectTypes) {
-                    if (objectType.equals(extrinsic.getObjectType())) {
-                        results.add(new EbXMLExtrinsicObject30(extrinsic, objectLibrary));
-                        break;
-                    }
+        for (var extrinsic : index().extrinsics) {
+            for (var objectType : objectTypes) {
+                if (objectType.equals(extrinsic.getObjectType())) {
+                    results.add(new EbXMLExtrinsicObject30(extrinsic, objectLibrary));
+                    break;
                 }
             }
         }
@@ -133,12 +151,10 @@ public abstract class EbXMLObjectContainer30 implements EbXMLObjectContainer {
 
     @Override
     public List<EbXMLExtrinsicObject> getExtrinsicObjects() {
-        var results = new ArrayList<EbXMLExtrinsicObject>();
-        for (var identifiable : getContents()) {
-            var extrinsic = cast(identifiable, ExtrinsicObjectType.class);
-            if (extrinsic != null) {
-                results.add(new EbXMLExtrinsicObject30(extrinsic, objectLibrary));
-            }
+        var extrinsics = index().extrinsics;
+        var results = new ArrayList<EbXMLExtrinsicObject>(extrinsics.size());
+        for (var extrinsic : extrinsics) {
+            results.add(new EbXMLExtrinsicObject30(extrinsic, objectLibrary));
         }
         
         return results;
@@ -148,29 +164,19 @@ public abstract class EbXMLObjectContainer30 implements EbXMLObjectContainer {
     public List<EbXMLRegistryPackage> getRegistryPackages(String classificationNode) {
         notNull(classificationNode, "classificationNode cannot be null");
 
-        var acceptedIds = getAcceptedIds(classificationNode);
-        
-        var results = new ArrayList<EbXMLRegistryPackage>();
-        for (var identifiable : getContents()) {
-            var regPackage = cast(identifiable, RegistryPackageType.class);
-            if (matchesFilter(regPackage, acceptedIds, classificationNode)) {
-                results.add(new EbXMLRegistryPackage30(regPackage, objectLibrary));
-            }
-        }
-        
-        return results;
+        return wrapRegistryPackages(index().registryPackagesByNode.getOrDefault(classificationNode, Collections.emptyList()));
     }
 
     @Override
     public List<EbXMLRegistryPackage> getRegistryPackages() {
-        var results = new ArrayList<EbXMLRegistryPackage>();
-        for (var identifiable : getContents()) {
-            var regPackage = cast(identifiable, RegistryPackageType.class);
-            if (regPackage != null) {
-                results.add(new EbXMLRegistryPackage30(regPackage, objectLibrary));
-            }
+        return wrapRegistryPackages(index().registryPackages);
+    }
+
+    private List<EbXMLRegistryPackage> wrapRegistryPackages(List<RegistryPackageType> regPackages) {
+        var results = new ArrayList<EbXMLRegistryPackage>(regPackages.size());
+        for (var regPackage : regPackages) {
+            results.add(new EbXMLRegistryPackage30(regPackage, objectLibrary));
         }
-        
         return results;
     }
 
@@ -179,38 +185,88 @@ public abstract class EbXMLObjectContainer30 implements EbXMLObjectContainer {
         if (classification != null) {
             var internal = ((EbXMLClassification30)classification).getInternal();
             getContents().add(EbXMLFactory30.RIM_FACTORY.createClassification(internal));
+            index = null;
         }
     }
 
-    private boolean matchesFilter(RegistryPackageType regPackage, Set<String> acceptedIds, String classificationNode) {
-        return regPackage != null && (acceptedIds.contains(regPackage.getId()) || hasClassificationNode(regPackage, classificationNode));
-
+    /**
+     * @return the index of the current contents, rebuilt if the contents have changed.
+     */
+    private Index index() {
+        var contents = getContents();
+        var current = index;
+        if (current == null || current.contents != contents || current.size != contents.size()) {
+            current = new Index(contents);
+            index = current;
+        }
+        return current;
     }
 
-    private boolean hasClassificationNode(RegistryPackageType regPackage, String classificationNode) {
-        var id = regPackage.getId();
-        if (id == null) {
-            return false;
-        }
-        
-        for (var classification : regPackage.getClassification()) {
-            if (classificationNode.equals(classification.getClassificationNode()) 
-                    && id.equals(classification.getClassifiedObject())) {
-                return true;
+    /**
+     * Contained objects grouped by type, and the relations between them, in the order of the contents.
+     */
+    private final class Index {
+        private final List<JAXBElement<? extends IdentifiableType>> contents;
+        private final int size;
+        private final List<AssociationType1> associations = new ArrayList<>();
+        private final List<ClassificationType> classifications = new ArrayList<>();
+        private final List<ExtrinsicObjectType> extrinsics = new ArrayList<>();
+        private final List<RegistryPackageType> registryPackages = new ArrayList<>();
+        private final Map<String, List<AssociationType1>> associationsBySource = new HashMap<>();
+        private final Map<String, List<AssociationType1>> associationsByTarget = new HashMap<>();
+        private final Map<String, List<ClassificationType>> classificationsByClassifiedObject = new HashMap<>();
+        private final Map<String, List<RegistryPackageType>> registryPackagesByNode = new HashMap<>();
+
+        private Index(List<JAXBElement<? extends IdentifiableType>> contents) {
+            this.contents = contents;
+            this.size = contents.size();
+
+            for (var identifiable : contents) {
+                var association = cast(identifiable, AssociationType1.class);
+                if (association != null) {
+                    associations.add(association);
+                    associationsBySource.computeIfAbsent(association.getSourceObject(), k -> new ArrayList<>()).add(association);
+                    associationsByTarget.computeIfAbsent(association.getTargetObject(), k -> new ArrayList<>()).add(association);
+                    continue;
+                }
+                var classification = cast(identifiable, ClassificationType.class);
+                if (classification != null) {
+                    classifications.add(classification);
+                    classificationsByClassifiedObject.computeIfAbsent(classification.getClassifiedObject(), k -> new ArrayList<>())
+                            .add(classification);
+                    continue;
+                }
+                var extrinsic = cast(identifiable, ExtrinsicObjectType.class);
+                if (extrinsic != null) {
+                    extrinsics.add(extrinsic);
+                    continue;
+                }
+                var regPackage = cast(identifiable, RegistryPackageType.class);
+                if (regPackage != null) {
+                    registryPackages.add(regPackage);
+                }
             }
-        }
-        return false;
-    }
 
-    private Set<String> getAcceptedIds(String classificationNode) {
-        var acceptedIds = new HashSet<String>();
-        for (var identifiable : getContents()) {
-            var classification = cast(identifiable, ClassificationType.class);
-            if (classification != null && classificationNode.equals(classification.getClassificationNode())) {
-                acceptedIds.add(classification.getClassifiedObject());
+            for (var regPackage : registryPackages) {
+                var id = regPackage.getId();
+                var nodes = new LinkedHashSet<String>();
+                for (var classification : classificationsByClassifiedObject.getOrDefault(id, Collections.emptyList())) {
+                    nodes.add(classification.getClassificationNode());
+                }
+                if (id != null) {
+                    for (var classification : regPackage.getClassification()) {
+                        if (id.equals(classification.getClassifiedObject())) {
+                            nodes.add(classification.getClassificationNode());
+                        }
+                    }
+                }
+                for (var node : nodes) {
+                    if (node != null) {
+                        registryPackagesByNode.computeIfAbsent(node, k -> new ArrayList<>()).add(regPackage);
+                    }
+                }
             }
         }
-        return acceptedIds;
     }
 
     /**
@@ -16,6 +16,8 @@
 package org.openehealth.ipf.commons.ihe.xds.core.metadata;
 
 import ca.uhn.hl7v2.model.v25.datatype.XAD;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -31,6 +33,8 @@ import java.util.Objects;
  * All members of this class are allowed to be <code>null</code>. When transforming
  * to HL7 this indicates that the values are empty. Trailing empty values are 
  * removed from the HL7 string.
+ * <p>
+ * Addresses keep their values in own fields, HAPI composites are created only on request.
  * @author Jens Riemschneider
  * @author Dmytro Rud
  */
@@ -41,12 +45,22 @@ import java.util.Objects;
 public class Address extends Hl7v2Based<XAD> {
     private static final long serialVersionUID = -5050715144917393181L;
 
+    private String streetAddress;
+    private String otherDesignation;
+    private String city;
+    private String stateOrProvince;
+    private String zipOrPostalCode;
+    private String country;
+    private String countyParishCode;
+    private Hl7v2Components otherComponents;
+
     public Address() {
-        super(new XAD(MESSAGE));
+        super();
     }
 
     public Address(XAD xad) {
-        super(xad);
+        this();
+        parseCompact(Hl7v2Components.of(xad));
     }
 
 
@@ -54,7 +68,7 @@ public class Address extends Hl7v2Based<XAD> {
      * @return the street address (XAD.1).
      */
     public String getStreetAddress() {
-        return getHapiObject().getXad1_StreetAddress().getSad1_StreetOrMailingAddress().getValue();
+        return streetAddress;
     }
 
     /**
@@ -62,7 +76,7 @@ public class Address extends Hl7v2Based<XAD> {
      *          the street address (XAD.1).
      */
     public void setStreetAddress(String streetAddress) {
-        setValue(getHapiObject().getXad1_StreetAddress().getSad1_StreetOrMailingAddress(), streetAddress);
+        this.streetAddress = streetAddress;
     }
 
     /**
@@ -70,7 +84,7 @@ public class Address extends Hl7v2Based<XAD> {
      */
     @XmlElement(name = "additionalLocator")
     public String getOtherDesignation() {
-        return getHapiObject().getXad2_OtherDesignation().getValue();
+        return otherDesignation;
     }
 
     /**
@@ -78,14 +92,14 @@ public class Address extends Hl7v2Based<XAD> {
      *          the other designation (XAD.2).
      */
     public void setOtherDesignation(String otherDesignation) {
-        setValue(getHapiObject().getXad2_OtherDesignation(), otherDesignation);
+        this.otherDesignation = otherDesignation;
     }
 
     /**
      * @return the city (XAD.3).
      */
     public String getCity() {
-        return getHapiObject().getXad3_City().getValue();
+        return city;
     }
 
     /**
@@ -93,7 +107,7 @@ public class Address extends Hl7v2Based<XAD> {
      *          the city (XAD.3).
      */
     public void setCity(String city) {
-        setValue(getHapiObject().getXad3_City(), city);
+        this.city = city;
     }
 
     /**
@@ -101,7 +115,7 @@ public class Address extends Hl7v2Based<XAD> {
      */
     @XmlElement(name = "state")
     public String getStateOrProvince() {
-        return getHapiObject().getXad4_StateOrProvince().getValue();
+        return stateOrProvince;
     }
 
     /**
@@ -109,7 +123,7 @@ public class Address extends Hl7v2Based<XAD> {
      *          the state or province (XAD.4).
      */
     public void setStateOrProvince(String stateOrProvince) {
-        setValue(getHapiObject().getXad4_StateOrProvince(), stateOrProvince);
+        this.stateOrProvince = stateOrProvince;
     }
 
     /**
@@ -117,7 +131,7 @@ public class Address extends Hl7v2Based<XAD> {
      */
     @XmlElement(name = "postalCode")
     public String getZipOrPostalCode() {
-        return getHapiObject().getXad5_ZipOrPostalCode().getValue();
+        return zipOrPostalCode;
     }
 
     /**
@@ -125,14 +139,14 @@ public class Address extends Hl7v2Based<XAD> {
      *          the zip or postal code (XAD.5).
      */
     public void setZipOrPostalCode(String zipOrPostalCode) {
-        setValue(getHapiObject().getXad5_ZipOrPostalCode(), zipOrPostalCode);
+        this.zipOrPostalCode = zipOrPostalCode;
     }
 
     /**
      * @return the country (XAD.6).
      */
     public String getCountry() {
-        return getHapiObject().getXad6_Country().getValue();
+        return country;
     }
 
     /**
@@ -140,7 +154,7 @@ public class Address extends Hl7v2Based<XAD> {
      *          the country (XAD.6).
      */
     public void setCountry(String country) {
-        setValue(getHapiObject().getXad6_Country(), country);
+        this.country = country;
     }
 
     /**
@@ -148,7 +162,7 @@ public class Address extends Hl7v2Based<XAD> {
      */
     @XmlElement(name = "county")
     public String getCountyParishCode() {
-        return getHapiObject().getXad9_CountyParishCode().getValue();
+        return countyParishCode;
     }
 
     /**
@@ -156,7 +170,65 @@ public class Address extends Hl7v2Based<XAD> {
      *          the county parish code (XAD.9).
      */
     public void setCountyParishCode(String countyParishCode) {
-        setValue(getHapiObject().getXad9_CountyParishCode(), countyParishCode);
+        this.countyParishCode = countyParishCode;
+    }
+
+    @Override
+    protected String render() {
+        if (otherComponents != null) {
+            return super.render();
+        }
+        var sb = new StringBuilder();
+        Hl7v2Components.appendEscaped(sb, streetAddress).append(Hl7v2Components.COMPONENT_SEPARATOR);
+        Hl7v2Components.appendEscaped(sb, otherDesignation).append(Hl7v2Components.COMPONENT_SEPARATOR);
+        Hl7v2Components.appendEscaped(sb, city).append(Hl7v2Components.COMPONENT_SEPARATOR);
+        Hl7v2Components.appendEscaped(sb, stateOrProvince).append(Hl7v2Components.COMPONENT_SEPARATOR);
+        Hl7v2Components.appendEscaped(sb, zipOrPostalCode).append(Hl7v2Components.COMPONENT_SEPARATOR);
+        Hl7v2Components.appendEscaped(sb, country).append(Hl7v2Components.COMPONENT_SEPARATOR);
+        // XAD.7 and XAD.8 are not supported
+        sb.append(Hl7v2Components.COMPONENT_SEPARATOR).append(Hl7v2Components.COMPONENT_SEPARATOR);
+        Hl7v2Components.appendEscaped(sb, countyParishCode);
+        return Hl7v2Components.stripEnd(sb, Hl7v2Components.COMPONENT_SEPARATOR).toString();
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isEmpty() {
+        if (otherComponents != null) {
+            return super.isEmpty();
+        }
+        return StringUtils.isEmpty(streetAddress) && StringUtils.isEmpty(otherDesignation)
+                && StringUtils.isEmpty(city) && StringUtils.isEmpty(stateOrProvince)
+                && StringUtils.isEmpty(zipOrPostalCode) && StringUtils.isEmpty(country)
+                && StringUtils.isEmpty(countyParishCode);
+    }
+
+    @Override
+    protected XAD createHapiObject() {
+        var xad = new XAD(MESSAGE);
+        if (otherComponents != null) {
+            otherComponents.applyTo(xad);
+        }
+        setValue(xad.getXad1_StreetAddress().getSad1_StreetOrMailingAddress(), streetAddress);
+        setValue(xad.getXad2_OtherDesignation(), otherDesignation);
+        setValue(xad.getXad3_City(), city);
+        setValue(xad.getXad4_StateOrProvince(), stateOrProvince);
+        setValue(xad.getXad5_ZipOrPostalCode(), zipOrPostalCode);
+        setValue(xad.getXad6_Country(), country);
+        setValue(xad.getXad9_CountyParishCode(), countyParishCode);
+        return xad;
+    }
+
+    @Override
+    protected void parseCompact(Hl7v2Components components) {
+        streetAddress = components.get(1, 1);
+        otherDesignation = components.get(2, 1);
+        city = components.get(3, 1);
+        stateOrProvince = components.get(4, 1);
+        zipOrPostalCode = components.get(5, 1);
+        country = components.get(6, 1);
+        countyParishCode = components.get(9, 1);
+        otherComponents = components.hasValuesBeyond(1, 1, 1, 1, 1, 1, 0, 0, 1) ? components : null;
     }
 
     @Override
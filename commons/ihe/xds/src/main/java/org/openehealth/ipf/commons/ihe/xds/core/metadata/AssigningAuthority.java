@@ -16,6 +16,8 @@
 package org.openehealth.ipf.commons.ihe.xds.core.metadata;
 
 import ca.uhn.hl7v2.model.v25.datatype.HD;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.apache.commons.lang3.StringUtils;
 import org.ietf.jgss.Oid;
 import org.openehealth.ipf.commons.ihe.xds.core.metadata.Hl7v2Based.Holder;
 
@@ -40,6 +42,8 @@ import static org.openehealth.ipf.commons.ihe.xds.core.metadata.Vocabulary.UNIVE
  * All members of this class are allowed to be <code>null</code>. When transforming
  * to HL7 this indicates that the values are empty. Trailing empty values are
  * removed from the HL7 string.
+ * <p>
+ * Authorities keep their values in own fields, HAPI composites are created only on request.
  * @author Jens Riemschneider
  * @author Dmytro Rud
  */
@@ -48,18 +52,24 @@ import static org.openehealth.ipf.commons.ihe.xds.core.metadata.Vocabulary.UNIVE
 public class AssigningAuthority extends Hl7v2Based<Holder<HD>> {
     private static final long serialVersionUID = 5350057820250191032L;
 
+    private String namespaceId;
+    private String universalId;
+    private String universalIdType;
+    private Hl7v2Components otherComponents;
+
     public AssigningAuthority() {
-        super(new Holder<>(new HD(MESSAGE)));
+        super();
     }
 
 
     public AssigningAuthority(Holder<HD> hdHolder) {
-        super(hdHolder);
+        this();
+        parseCompact(Hl7v2Components.of(hdHolder));
     }
 
 
     public AssigningAuthority(HD hd) {
-        super(new Holder<>(hd));
+        this(new Holder<>(hd));
     }
 
     /**
@@ -102,7 +112,7 @@ public class AssigningAuthority extends Hl7v2Based<Holder<HD>> {
      */
     @XmlAttribute
     public String getUniversalId() {
-        return getHapiObject().getInternal().getHd2_UniversalID().getValue();
+        return universalId;
     }
 
     /**
@@ -110,7 +120,7 @@ public class AssigningAuthority extends Hl7v2Based<Holder<HD>> {
      *          the universal ID (HD.2).
      */
     public void setUniversalId(String universalId) {
-        setValue(getHapiObject().getInternal().getHd2_UniversalID(), universalId);
+        this.universalId = universalId;
     }
 
     /**
@@ -118,7 +128,7 @@ public class AssigningAuthority extends Hl7v2Based<Holder<HD>> {
      */
     @XmlAttribute
     public String getUniversalIdType() {
-        return getHapiObject().getInternal().getHd3_UniversalIDType().getValue();
+        return universalIdType;
     }
 
     /**
@@ -126,7 +136,72 @@ public class AssigningAuthority extends Hl7v2Based<Holder<HD>> {
      *          the universal type ID (HD.3).
      */
     public void setUniversalIdType(String universalIdType) {
-        setValue(getHapiObject().getInternal().getHd3_UniversalIDType(), universalIdType);
+        this.universalIdType = universalIdType;
+    }
+
+    /**
+     * @return the namespace ID (HD.1), which is not a property of XDS assigning authorities.
+     */
+    String namespaceId() {
+        return namespaceId;
+    }
+
+    /**
+     * @param namespaceId
+     *          the namespace ID (HD.1).
+     */
+    void namespaceId(String namespaceId) {
+        this.namespaceId = namespaceId;
+    }
+
+    /**
+     * Appends the HD rendering of this authority with the given components, without removing trailing delimiters.
+     */
+    void appendTo(StringBuilder sb, boolean withNamespaceId) {
+        if (withNamespaceId) {
+            Hl7v2Components.appendEscaped(sb, namespaceId());
+        }
+        sb.append(Hl7v2Components.SUBCOMPONENT_SEPARATOR);
+        Hl7v2Components.appendEscaped(sb, getUniversalId()).append(Hl7v2Components.SUBCOMPONENT_SEPARATOR);
+        Hl7v2Components.appendEscaped(sb, getUniversalIdType());
+    }
+
+    String renderCompact(boolean withNamespaceId) {
+        var sb = new StringBuilder();
+        appendTo(sb, withNamespaceId);
+        return Hl7v2Components.stripEnd(sb, Hl7v2Components.SUBCOMPONENT_SEPARATOR).toString();
+    }
+
+    @Override
+    protected String render() {
+        return renderCompact(false);
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isEmpty() {
+        return StringUtils.isEmpty(universalId) && StringUtils.isEmpty(universalIdType);
+    }
+
+    @Override
+    protected Holder<HD> createHapiObject() {
+        var holder = new Holder<>(new HD(MESSAGE));
+        if (otherComponents != null) {
+            otherComponents.applyTo(holder);
+        }
+        var hd = holder.getInternal();
+        setValue(hd.getHd1_NamespaceID(), namespaceId);
+        setValue(hd.getHd2_UniversalID(), universalId);
+        setValue(hd.getHd3_UniversalIDType(), universalIdType);
+        return holder;
+    }
+
+    @Override
+    protected void parseCompact(Hl7v2Components components) {
+        namespaceId = components.get(1, 1);
+        universalId = components.get(1, 2);
+        universalIdType = components.get(1, 3);
+        otherComponents = components.hasValuesBeyond(3) ? components : null;
     }
 
 
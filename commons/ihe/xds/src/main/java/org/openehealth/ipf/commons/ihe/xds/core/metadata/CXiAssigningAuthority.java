@@ -16,6 +16,8 @@
 package org.openehealth.ipf.commons.ihe.xds.core.metadata;
 
 import ca.uhn.hl7v2.model.v25.datatype.HD;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAttribute;
@@ -71,7 +73,7 @@ public class CXiAssigningAuthority extends AssigningAuthority {
      */
     @XmlAttribute
     public String getNamespaceId() {
-        return getHapiObject().getInternal().getHd1_NamespaceID().getValue();
+        return namespaceId();
     }
 
     /**
@@ -79,7 +81,18 @@ public class CXiAssigningAuthority extends AssigningAuthority {
      *          the namespace ID (HD.1).
      */
     public void setNamespaceId(String namespaceId) {
-        setValue(getHapiObject().getInternal().getHd1_NamespaceID(), namespaceId);
+        namespaceId(namespaceId);
+    }
+
+    @Override
+    protected String render() {
+        return renderCompact(true);
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isEmpty() {
+        return super.isEmpty() && StringUtils.isEmpty(namespaceId());
     }
 
     @Override
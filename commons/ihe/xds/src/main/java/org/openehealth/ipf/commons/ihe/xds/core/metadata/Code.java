@@ -16,6 +16,7 @@
 package org.openehealth.ipf.commons.ihe.xds.core.metadata;
 
 import ca.uhn.hl7v2.model.v25.datatype.CE;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.apache.commons.lang3.StringUtils;
 import org.openehealth.ipf.commons.ihe.xds.core.metadata.jaxbadapters.LocalizedStringAdapter;
 
@@ -30,6 +31,8 @@ import java.util.Objects;
  * Represents a code.
  * <p> 
  * All members of this class are allowed to be <code>null</code>.
+ * <p>
+ * Codes keep their values in own fields, HAPI composites are created only on request.
  * @author Jens Riemschneider
  * @author Dmytro Rud
  */
@@ -39,20 +42,27 @@ public class Code extends Hl7v2Based<CE> {
     private static final long serialVersionUID = 7603534956639945984L;
 
     private LocalizedString localizedString;
+    private String code;
+    private String text;
+    private String schemeName;
+    private Hl7v2Components otherComponents;
 
 
     /**
      * Constructs a code.
      */
     public Code() {
-        super(new CE(MESSAGE));
+        super();
     }
 
     /**
      * Constructs a code.
+     * @param ce
+     *          CE element to copy the values from.
      */
     public Code(CE ce) {
-        super(ce);
+        this();
+        parseCompact(Hl7v2Components.of(ce));
     }
 
     /**
@@ -76,7 +86,7 @@ public class Code extends Hl7v2Based<CE> {
      */
     @XmlAttribute
     public String getCode() {
-        return getHapiObject().getCe1_Identifier().getValue();
+        return code;
     }
     
     /**
@@ -84,7 +94,7 @@ public class Code extends Hl7v2Based<CE> {
      *          the value of this code.
      */
     public void setCode(String code) {
-        setValue(getHapiObject().getCe1_Identifier(), code);
+        this.code = code;
     }
     
     /**
@@ -93,7 +103,7 @@ public class Code extends Hl7v2Based<CE> {
     @XmlAttribute
     @XmlJavaTypeAdapter(value = LocalizedStringAdapter.class)
     public LocalizedString getDisplayName() {
-        var value = getHapiObject().getCe2_Text().getValue();
+        var value = text;
 
         if (StringUtils.isEmpty(value)) {
             localizedString = null;
@@ -114,11 +124,7 @@ public class Code extends Hl7v2Based<CE> {
      */
     public void setDisplayName(LocalizedString displayName) {
         this.localizedString = displayName;
-        if (displayName != null) {
-            setValue(getHapiObject().getCe2_Text(), displayName.getValue());
-        } else {
-            getHapiObject().getCe2_Text().clear();
-        }
+        this.text = (displayName != null) ? displayName.getValue() : null;
     }
     
     /**
@@ -126,7 +132,7 @@ public class Code extends Hl7v2Based<CE> {
      */
     @XmlAttribute(name = "codeSystemName")
     public String getSchemeName() {
-        return getHapiObject().getCe3_NameOfCodingSystem().getValue();
+        return schemeName;
     }
     
     /**
@@ -134,7 +140,43 @@ public class Code extends Hl7v2Based<CE> {
      *          the schema of this code.
      */
     public void setSchemeName(String schemeName) {
-        setValue(getHapiObject().getCe3_NameOfCodingSystem(), schemeName);
+        this.schemeName = schemeName;
+    }
+
+    @Override
+    protected String render() {
+        // CE.2 is not rendered
+        var sb = Hl7v2Components.appendEscaped(new StringBuilder(), code)
+                .append(Hl7v2Components.COMPONENT_SEPARATOR)
+                .append(Hl7v2Components.COMPONENT_SEPARATOR);
+        Hl7v2Components.appendEscaped(sb, schemeName);
+        return Hl7v2Components.stripEnd(sb, Hl7v2Components.COMPONENT_SEPARATOR).toString();
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isEmpty() {
+        return StringUtils.isEmpty(code) && StringUtils.isEmpty(schemeName);
+    }
+
+    @Override
+    protected CE createHapiObject() {
+        var ce = new CE(MESSAGE);
+        if (otherComponents != null) {
+            otherComponents.applyTo(ce);
+        }
+        setValue(ce.getCe1_Identifier(), code);
+        setValue(ce.getCe2_Text(), text);
+        setValue(ce.getCe3_NameOfCodingSystem(), schemeName);
+        return ce;
+    }
+
+    @Override
+    protected void parseCompact(Hl7v2Components components) {
+        code = components.get(1, 1);
+        text = components.get(2, 1);
+        schemeName = components.get(3, 1);
+        otherComponents = components.hasValuesBeyond(1, 1, 1) ? components : null;
     }
 
     @Override
@@ -31,6 +31,10 @@ import java.lang.reflect.InvocationTargetException;
 
 /**
  * An XDS model object backed up by an HL7 v2 element.
+ * <p>
+ * Compact model objects keep their data in own fields and parse and render HL7 v2 strings
+ * without any HAPI objects involved.  They create HAPI composites only on request,
+ * see {@link #getHapiObject()}.
  * @param <C>
  *     HAPI composite type which corresponds to the HL7 v2 element.
  *
@@ -46,15 +50,17 @@ abstract public class Hl7v2Based<C extends Composite> implements Serializable {
         MESSAGE.getParser().getParserConfiguration().setValidating(false);
     }
 
+    private static volatile Hl7v2ParseCache parseCache;
+
 
     private final C hapiObject;
 
 
     /**
-     * Default constructor, for serialization purposes only.
+     * Constructor for compact XDS model objects which are not backed up by a HAPI composite.
      */
     protected Hl7v2Based() {
-        throw new IllegalStateException("this default constructor is defined only to satisfy JAXB requirements");
+        this.hapiObject = null;
     }
 
 
@@ -81,6 +87,7 @@ abstract public class Hl7v2Based<C extends Composite> implements Serializable {
      * @return
      *      generated XDS model object or <code>null</code> when the given
      *      HL7 v2 element is <code>null</code> or empty.
+     * @see #setParseCache(Hl7v2ParseCache)
      */
     public static <C extends Composite, T extends Hl7v2Based<C>> T parse(
             String hl7String,
@@ -90,9 +97,18 @@ abstract public class Hl7v2Based<C extends Composite> implements Serializable {
             return null;
         }
 
+        var cache = parseCache;
+        if (cache != null) {
+            return cache.parse(hl7String, xdsModelClass);
+        }
+
         try {
             var xdsModelObject = xdsModelClass.getConstructor().newInstance();
-            MESSAGE.getParser().parse(xdsModelObject.getHapiObject(), hl7String, XdsHl7v2Renderer.ENCODING_CHARACTERS);
+            if (xdsModelObject.hasHapiObject()) {
+                MESSAGE.getParser().parse(xdsModelObject.getHapiObject(), hl7String, XdsHl7v2Renderer.ENCODING_CHARACTERS);
+            } else {
+                xdsModelObject.parseCompact(Hl7v2Components.parse(hl7String));
+            }
             return xdsModelObject.isEmpty() ? null : xdsModelObject;
         } catch (InstantiationException | IllegalAccessException | HL7Exception | NoSuchMethodException | InvocationTargetException e) {
             throw new RuntimeException(e);
@@ -100,6 +116,29 @@ abstract public class Hl7v2Based<C extends Composite> implements Serializable {
     }
 
 
+    /**
+     * Activates or deactivates caching of parsed HL7 v2 elements in {@link #parse(String, Class)}.
+     * <p>
+     * The cache is held in a static field, so that this setting is process-wide: it applies
+     * to all threads, routes and applications which share this class (i.e. its class loader),
+     * and is typically made once during application startup.
+     * @param parseCache
+     *      cache to use, or <code>null</code> to parse each HL7 v2 element anew (default).
+     */
+    public static void setParseCache(Hl7v2ParseCache parseCache) {
+        Hl7v2Based.parseCache = parseCache;
+    }
+
+
+    /**
+     * @return
+     *      currently active cache of parsed HL7 v2 elements, or <code>null</code>.
+     */
+    public static Hl7v2ParseCache getParseCache() {
+        return parseCache;
+    }
+
+
     /**
      * Renders this XDS model object using the XDS-specific
      * {@link XdsHl7v2Renderer HL7 v2 renderer},
@@ -158,10 +197,44 @@ abstract public class Hl7v2Based<C extends Composite> implements Serializable {
      * @return
      *      HAPI composite holding the HL7 v2 element
      *      which corresponds to this XDS model object.
+     *      Modifications of the composite are reflected in this object and vice versa,
+     *      except for compact model objects, which create a new detached composite on each call.
      */
     @JsonIgnore
     public C getHapiObject() {
-        return hapiObject;
+        return (hapiObject != null) ? hapiObject : createHapiObject();
+    }
+
+
+    /**
+     * @return
+     *      <code>true</code> if this XDS model object is backed up by a HAPI composite,
+     *      <code>false</code> if it is a compact one.
+     */
+    protected boolean hasHapiObject() {
+        return hapiObject != null;
+    }
+
+
+    /**
+     * Creates a HAPI composite from the data of a compact XDS model object.
+     * Must be implemented by all classes which use the compact constructor.
+     * @return
+     *      new HAPI composite.
+     */
+    protected C createHapiObject() {
+        throw new IllegalStateException("compact XDS model object " + getClass().getSimpleName() + " cannot create HAPI composites");
+    }
+
+
+    /**
+     * Fills a compact XDS model object from a parsed HL7 v2 element.
+     * Must be implemented by all classes which use the compact constructor.
+     * @param components
+     *      parsed HL7 v2 element.
+     */
+    protected void parseCompact(Hl7v2Components components) {
+        throw new IllegalStateException("compact XDS model object " + getClass().getSimpleName() + " cannot be parsed");
     }
 
 
@@ -200,16 +273,53 @@ abstract public class Hl7v2Based<C extends Composite> implements Serializable {
      */
     protected static void setAssigningAuthority(AssigningAuthority assigningAuthority, HD target) {
         if (assigningAuthority != null) {
-            var source = assigningAuthority.getHapiObject().getInternal();
-            setValue(target.getHd1_NamespaceID(), source.getHd1_NamespaceID().getValue());
-            setValue(target.getHd2_UniversalID(), source.getHd2_UniversalID().getValue());
-            setValue(target.getHd3_UniversalIDType(), source.getHd3_UniversalIDType().getValue());
+            setValue(target.getHd1_NamespaceID(), assigningAuthority.namespaceId());
+            setValue(target.getHd2_UniversalID(), assigningAuthority.getUniversalId());
+            setValue(target.getHd3_UniversalIDType(), assigningAuthority.getUniversalIdType());
         } else {
             target.clear();
         }
     }
 
 
+    /**
+     * Helper method used for copying data elements of an assigning authority into a compact model object.
+     * @param assigningAuthority
+     *      source assigning authority.
+     * @return
+     *      detached copy of the given assigning authority, or <code>null</code>.
+     */
+    protected static AssigningAuthority copyAssigningAuthority(AssigningAuthority assigningAuthority) {
+        if (assigningAuthority == null) {
+            return null;
+        }
+        var copy = new AssigningAuthority(assigningAuthority.getUniversalId(), assigningAuthority.getUniversalIdType());
+        copy.namespaceId(assigningAuthority.namespaceId());
+        return copy;
+    }
+
+    /**
+     * Helper method used for parsing an assigning authority into a compact model object.
+     * @param components
+     *      parsed HL7 v2 element.
+     * @param component
+     *      one-based index of the HD component.
+     * @return
+     *      assigning authority, or <code>null</code> if the HD component is not present.
+     */
+    protected static AssigningAuthority parseAssigningAuthority(Hl7v2Components components, int component) {
+        var namespaceId = components.get(component, 1);
+        var universalId = components.get(component, 2);
+        var universalIdType = components.get(component, 3);
+        if ((namespaceId == null) && (universalId == null) && (universalIdType == null)) {
+            return null;
+        }
+        var assigningAuthority = new AssigningAuthority(universalId, universalIdType);
+        assigningAuthority.namespaceId(namespaceId);
+        return assigningAuthority;
+    }
+
+
     /**
      * Fake enclosing element for an HL7 v2 sub-component, necessary for correct rendering and parsing.
      */
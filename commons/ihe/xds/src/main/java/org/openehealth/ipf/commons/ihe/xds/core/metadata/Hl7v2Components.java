@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.xds.core.metadata;
+
+import ca.uhn.hl7v2.HL7Exception;
+import ca.uhn.hl7v2.model.Composite;
+import ca.uhn.hl7v2.model.Type;
+import ca.uhn.hl7v2.parser.PipeParser;
+import ca.uhn.hl7v2.util.Terser;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.openehealth.ipf.commons.ihe.xds.core.metadata.XdsHl7v2Renderer.ENCODING_CHARACTERS;
+import static org.openehealth.ipf.commons.ihe.xds.core.metadata.XdsHl7v2Renderer.ESCAPING;
+
+/**
+ * Unescaped components and subcomponents of an HL7 v2 element, used by compact
+ * XDS model objects and validators. Splitting follows the rules of the HAPI pipe parser:
+ * empty values are <code>null</code>, trailing delimiters are ignored.
+ * The class also provides helpers for rendering compact XDS model objects
+ * in the same way as {@link XdsHl7v2Renderer} renders HAPI composites.
+ *
+ * @since 4.5
+ */
+public final class Hl7v2Components implements Serializable {
+    private static final long serialVersionUID = -2318496506071256870L;
+
+    static final char COMPONENT_SEPARATOR = ENCODING_CHARACTERS.getComponentSeparator();
+    static final char SUBCOMPONENT_SEPARATOR = ENCODING_CHARACTERS.getSubcomponentSeparator();
+
+    private final List<List<String>> components;
+
+    private Hl7v2Components(List<List<String>> components) {
+        this.components = components;
+    }
+
+    /**
+     * Splits the given HL7 v2 element into unescaped components and subcomponents.
+     */
+    public static Hl7v2Components parse(String hl7String) {
+        var components = new ArrayList<List<String>>();
+        for (var component : split(hl7String, COMPONENT_SEPARATOR)) {
+            var subComponents = split(component, SUBCOMPONENT_SEPARATOR);
+            for (var i = 0; i < subComponents.size(); ++i) {
+                var value = subComponents.get(i);
+                if (value != null) {
+                    subComponents.set(i, ESCAPING.unescape(value, ENCODING_CHARACTERS));
+                }
+            }
+            components.add(subComponents);
+        }
+        return new Hl7v2Components(components);
+    }
+
+    /**
+     * Splits the values of the given HAPI composite, e.g. for copying them into a compact XDS model object.
+     */
+    static Hl7v2Components of(Composite composite) {
+        return parse(PipeParser.encode(composite, ENCODING_CHARACTERS));
+    }
+
+    private static List<String> split(String s, char delimiter) {
+        var result = new ArrayList<String>();
+        if (s == null) {
+            return result;
+        }
+        var start = 0;
+        for (var i = 0; i < s.length(); ++i) {
+            if (s.charAt(i) == delimiter) {
+                result.add((i > start) ? s.substring(start, i) : null);
+                start = i + 1;
+            }
+        }
+        if (start < s.length()) {
+            result.add(s.substring(start));
+        }
+        return result;
+    }
+
+    /**
+     * @param component
+     *      one-based component index.
+     * @param subComponent
+     *      one-based subcomponent index.
+     * @return
+     *      the unescaped value, or <code>null</code> if it is not present.
+     */
+    public String get(int component, int subComponent) {
+        if (component > components.size()) {
+            return null;
+        }
+        var subComponents = components.get(component - 1);
+        return (subComponent > subComponents.size()) ? null : subComponents.get(subComponent - 1);
+    }
+
+    /**
+     * @param component
+     *      one-based component index.
+     * @return
+     *      <code>true</code> if any subcomponent of the given component is present.
+     */
+    public boolean hasValue(int component) {
+        return (component <= components.size())
+                && components.get(component - 1).stream().anyMatch(Objects::nonNull);
+    }
+
+    /**
+     * @param subComponentCounts
+     *      numbers of subcomponents per component which are represented by a compact XDS model object,
+     *      starting with the first component.
+     * @return
+     *      <code>true</code> if there are values which are not represented by the model object.
+     */
+    boolean hasValuesBeyond(int... subComponentCounts) {
+        for (var i = 0; i < components.size(); ++i) {
+            var subComponents = components.get(i);
+            var count = (i < subComponentCounts.length) ? subComponentCounts[i] : 0;
+            for (var j = count; j < subComponents.size(); ++j) {
+                if (subComponents.get(j) != null) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets all values into the given HAPI type, like the HAPI pipe parser does.
+     */
+    void applyTo(Type type) {
+        try {
+            for (var i = 0; i < components.size(); ++i) {
+                var subComponents = components.get(i);
+                for (var j = 0; j < subComponents.size(); ++j) {
+                    Terser.getPrimitive(type, i + 1, j + 1).setValue(subComponents.get(j));
+                }
+            }
+        } catch (HL7Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Appends the escaped value to the given buffer, nothing for <code>null</code> values.
+     */
+    static StringBuilder appendEscaped(StringBuilder sb, String value) {
+        return (value == null) ? sb : sb.append(ESCAPING.escape(value, ENCODING_CHARACTERS));
+    }
+
+    /**
+     * Removes trailing delimiters from the given buffer.
+     */
+    static StringBuilder stripEnd(StringBuilder sb, char delimiter) {
+        var length = sb.length();
+        while ((length > 0) && (sb.charAt(length - 1) == delimiter)) {
+            --length;
+        }
+        sb.setLength(length);
+        return sb;
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.xds.core.metadata;
+
+import ca.uhn.hl7v2.HL7Exception;
+import ca.uhn.hl7v2.model.Composite;
+import ca.uhn.hl7v2.util.DeepCopy;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Size-bounded cache of parsed HL7 v2 elements, keyed by the HL7 v2 string
+ * and the class of the XDS model object. Can be activated by
+ * {@link Hl7v2Based#setParseCache(Hl7v2ParseCache)}, and is useful when
+ * the same patient IDs, codes, organizations etc. occur in many documents.
+ * <p>
+ * The cache never hands out the cached data itself, as XDS model objects are mutable.
+ * For compact XDS model objects, it keeps the split components of the HL7 v2 element;
+ * for other ones, it keeps a parsed HAPI composite which is deep-copied into each new
+ * XDS model object. In both cases, the HL7 v2 string is neither split nor unescaped again.
+ * <p>
+ * When the cache is full, the least recently used HL7 v2 elements are evicted. Large caches
+ * evict a small batch of additional elements at once, so that the cost of finding them is
+ * spread over many insertions. The cache is thread-safe; hits do not take any lock, and
+ * at most one thread at a time evicts elements while the others go on.
+ *
+ * @since 4.5
+ */
+public class Hl7v2ParseCache {
+
+    private static final Object EMPTY = new Object();
+
+    private final Map<Pair<Class<?>, String>, Entry> templates = new ConcurrentHashMap<>();
+    private final int maximumSize;
+    private final int evictionBatchSize;
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maximumSize
+     *      maximum number of cached HL7 v2 elements.
+     */
+    public Hl7v2ParseCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximum size must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.evictionBatchSize = maximumSize / 16;
+    }
+
+    /**
+     * Parses the given non-empty HL7 v2 element, see {@link Hl7v2Based#parse(String, Class)}.
+     */
+    <C extends Composite, T extends Hl7v2Based<C>> T parse(String hl7String, Class<T> xdsModelClass) {
+        var key = Pair.<Class<?>, String>of(xdsModelClass, hl7String);
+        var entry = templates.get(key);
+        if (entry != null) {
+            hits.increment();
+            entry.lastAccess = clock.incrementAndGet();
+        } else {
+            misses.increment();
+            entry = new Entry(createTemplate(hl7String, xdsModelClass), clock.incrementAndGet());
+            if (templates.putIfAbsent(key, entry) == null && templates.size() > maximumSize) {
+                evict();
+            }
+        }
+        return fromTemplate(entry.template, xdsModelClass);
+    }
+
+    /**
+     * Removes the least recently used elements beyond the maximum size, unless another thread is already doing so.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            var excess = templates.size() - maximumSize;
+            if (excess <= 0) {
+                return;
+            }
+            // access times are copied, because they may change while sorting
+            var candidates = new ArrayList<Map.Entry<Pair<Class<?>, String>, Long>>(templates.size());
+            for (var e : templates.entrySet()) {
+                candidates.add(new AbstractMap.SimpleImmutableEntry<>(e.getKey(), e.getValue().lastAccess));
+            }
+            candidates.sort(Map.Entry.comparingByValue());
+            var count = Math.min(candidates.size(), excess + evictionBatchSize);
+            for (var i = 0; i < count; ++i) {
+                if (templates.remove(candidates.get(i).getKey()) != null) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static <C extends Composite, T extends Hl7v2Based<C>> Object createTemplate(String hl7String, Class<T> xdsModelClass) {
+        var xdsModelObject = newInstance(xdsModelClass);
+        if (xdsModelObject.hasHapiObject()) {
+            try {
+                Hl7v2Based.MESSAGE.getParser().parse(xdsModelObject.getHapiObject(), hl7String, XdsHl7v2Renderer.ENCODING_CHARACTERS);
+            } catch (HL7Exception e) {
+                throw new RuntimeException(e);
+            }
+            return xdsModelObject.isEmpty() ? EMPTY : xdsModelObject.getHapiObject();
+        }
+        var components = Hl7v2Components.parse(hl7String);
+        xdsModelObject.parseCompact(components);
+        return xdsModelObject.isEmpty() ? EMPTY : components;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <C extends Composite, T extends Hl7v2Based<C>> T fromTemplate(Object template, Class<T> xdsModelClass) {
+        if (template == EMPTY) {
+            return null;
+        }
+        var xdsModelObject = newInstance(xdsModelClass);
+        if (template instanceof Hl7v2Components) {
+            xdsModelObject.parseCompact((Hl7v2Components) template);
+        } else {
+            try {
+                DeepCopy.copy((C) template, xdsModelObject.getHapiObject());
+            } catch (HL7Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return xdsModelObject;
+    }
+
+    private static <T> T newInstance(Class<T> xdsModelClass) {
+        try {
+            return xdsModelClass.getConstructor().newInstance();
+        } catch (InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Removes all cached HL7 v2 elements.  Metrics are not reset.
+     */
+    public void clear() {
+        templates.clear();
+    }
+
+    /**
+     * @return number of cached HL7 v2 elements.
+     */
+    public int size() {
+        return templates.size();
+    }
+
+    private static class Entry {
+        private final Object template;
+        private volatile long lastAccess;
+
+        Entry(Object template, long lastAccess) {
+            this.template = template;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    /**
+     * @return number of parse requests served from the cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of parse requests which had to parse the HL7 v2 element.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of HL7 v2 elements evicted because the cache was full.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return ratio of cache hits to all parse requests, or 0.0 when there were no requests.
+     */
+    public double getHitRate() {
+        var hitCount = getHitCount();
+        var total = hitCount + getMissCount();
+        return (total == 0) ? 0.0 : (double) hitCount / total;
+    }
+}
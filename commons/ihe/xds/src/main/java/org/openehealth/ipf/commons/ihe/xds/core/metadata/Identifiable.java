@@ -16,6 +16,8 @@
 package org.openehealth.ipf.commons.ihe.xds.core.metadata;
 
 import ca.uhn.hl7v2.model.v25.datatype.CX;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.apache.commons.lang3.StringUtils;
 import org.ietf.jgss.Oid;
 import org.openehealth.ipf.commons.ihe.xds.core.metadata.jaxbadapters.AssigningAuthorityAdapter;
 
@@ -33,6 +35,8 @@ import java.util.Objects;
  * All members of this class are allowed to be <code>null</code>. When transforming
  * to HL7 this indicates that the values are empty. Trailing empty values are 
  * removed from the HL7 string.
+ * <p>
+ * Identifiables keep their values in own fields, HAPI composites are created only on request.
  * @author Jens Riemschneider
  * @author Dmytro Rud
  */
@@ -41,19 +45,26 @@ import java.util.Objects;
 public class Identifiable extends Hl7v2Based<CX> {
     private static final long serialVersionUID = -3392755556068006520L;
 
+    private String id;
+    private AssigningAuthority assigningAuthority;
+    private Hl7v2Components otherComponents;
+
     /**
      * Constructs an identifiable.
      */
     public Identifiable() {
-        super(new CX(MESSAGE));
+        super();
     }
 
 
     /**
      * Constructs an identifiable.
+     * @param cx
+     *          CX element to copy the values from.
      */
     public Identifiable(CX cx) {
-        super(cx);
+        this();
+        parseCompact(Hl7v2Components.of(cx));
     }
     
     /**
@@ -91,7 +102,7 @@ public class Identifiable extends Hl7v2Based<CX> {
      */
     @XmlAttribute(name = "extension")
     public String getId() {
-        return getHapiObject().getCx1_IDNumber().getValue();
+        return id;
     }
 
     /**
@@ -99,7 +110,7 @@ public class Identifiable extends Hl7v2Based<CX> {
      *          person ID (CX.1) / Code.
      */
     public void setId(String id) {
-        setValue(getHapiObject().getCx1_IDNumber(), id);
+        this.id = id;
     }
 
     /**
@@ -108,8 +119,7 @@ public class Identifiable extends Hl7v2Based<CX> {
     @XmlAttribute(name = "root")
     @XmlJavaTypeAdapter(value = AssigningAuthorityAdapter.class)
     public AssigningAuthority getAssigningAuthority() {
-        var assigningAuthority = new AssigningAuthority(getHapiObject().getCx4_AssigningAuthority());
-        return assigningAuthority.isEmpty() ? null : assigningAuthority;
+        return ((assigningAuthority == null) || assigningAuthority.isEmpty()) ? null : assigningAuthority;
     }
 
     /**
@@ -117,7 +127,46 @@ public class Identifiable extends Hl7v2Based<CX> {
      *          assigning authority (CX.4) / Code System.
      */
     public void setAssigningAuthority(AssigningAuthority assigningAuthority) {
-        setAssigningAuthority(assigningAuthority, getHapiObject().getCx4_AssigningAuthority());
+        this.assigningAuthority = copyAssigningAuthority(assigningAuthority);
+    }
+
+    @Override
+    protected String render() {
+        var sb = Hl7v2Components.appendEscaped(new StringBuilder(), id);
+        if (assigningAuthority != null) {
+            var hd = assigningAuthority.renderCompact(false);
+            if (!hd.isEmpty()) {
+                sb.append(Hl7v2Components.COMPONENT_SEPARATOR)
+                        .append(Hl7v2Components.COMPONENT_SEPARATOR)
+                        .append(Hl7v2Components.COMPONENT_SEPARATOR)
+                        .append(hd);
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isEmpty() {
+        return StringUtils.isEmpty(id) && ((assigningAuthority == null) || assigningAuthority.isEmpty());
+    }
+
+    @Override
+    protected CX createHapiObject() {
+        var cx = new CX(MESSAGE);
+        if (otherComponents != null) {
+            otherComponents.applyTo(cx);
+        }
+        setValue(cx.getCx1_IDNumber(), id);
+        setAssigningAuthority(assigningAuthority, cx.getCx4_AssigningAuthority());
+        return cx;
+    }
+
+    @Override
+    protected void parseCompact(Hl7v2Components components) {
+        id = components.get(1, 1);
+        assigningAuthority = parseAssigningAuthority(components, 4);
+        otherComponents = components.hasValuesBeyond(1, 0, 0, 3) ? components : null;
     }
 
     @Override
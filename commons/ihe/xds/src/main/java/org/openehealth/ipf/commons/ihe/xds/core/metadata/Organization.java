@@ -16,6 +16,8 @@
 package org.openehealth.ipf.commons.ihe.xds.core.metadata;
 
 import ca.uhn.hl7v2.model.v25.datatype.XON;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -31,6 +33,8 @@ import java.util.Objects;
  * All members of this class are allowed to be <code>null</code>. When transforming
  * to HL7 this indicates that the values are empty. Trailing empty values are 
  * removed from the HL7 string.
+ * <p>
+ * Organizations keep their values in own fields, HAPI composites are created only on request.
  * @author Jens Riemschneider
  * @author Dmytro Rud
  */
@@ -39,20 +43,26 @@ import java.util.Objects;
 public class Organization extends Hl7v2Based<XON> {
     private static final long serialVersionUID = 8283797476558181158L;
 
+    private String organizationName;
+    private AssigningAuthority assigningAuthority;
+    private String idNumber;
+    private Hl7v2Components otherComponents;
+
     /**
      * Constructs the organization.
      */
     public Organization() {
-        super(new XON(MESSAGE));
+        super();
     }
 
     /**
      * Constructs the organization.
      * @param xon
-     *          parsed HL7 v2 element.
+     *          parsed HL7 v2 element to copy the values from.
      */
     public Organization(XON xon) {
-        super(xon);
+        this();
+        parseCompact(Hl7v2Components.of(xon));
     }
 
     /**
@@ -85,8 +95,7 @@ public class Organization extends Hl7v2Based<XON> {
      * @return the assigning authority (XON.6).
      */
     public AssigningAuthority getAssigningAuthority() {
-        var authority = new AssigningAuthority(getHapiObject().getXon6_AssigningAuthority());
-        return authority.isEmpty() ? null : authority;
+        return ((assigningAuthority == null) || assigningAuthority.isEmpty()) ? null : assigningAuthority;
     }
     
     /**
@@ -94,7 +103,7 @@ public class Organization extends Hl7v2Based<XON> {
      *          the assigning authority (XON.6).
      */
     public void setAssigningAuthority(AssigningAuthority assigningAuthority) {
-        setAssigningAuthority(assigningAuthority, getHapiObject().getXon6_AssigningAuthority());
+        this.assigningAuthority = copyAssigningAuthority(assigningAuthority);
     }
 
     /**
@@ -102,7 +111,7 @@ public class Organization extends Hl7v2Based<XON> {
      */
     @XmlElement(name = "name")
     public String getOrganizationName() {
-        return getHapiObject().getXon1_OrganizationName().getValue();
+        return organizationName;
     }
 
     /**
@@ -110,14 +119,14 @@ public class Organization extends Hl7v2Based<XON> {
      *          the name of the organization (XON.1).
      */
     public void setOrganizationName(String organizationName) {
-        setValue(getHapiObject().getXon1_OrganizationName(), organizationName);
+        this.organizationName = organizationName;
     }
 
     /**
      * @return the id of the organization (XON.10).
      */
     public String getIdNumber() {
-        return getHapiObject().getXon10_OrganizationIdentifier().getValue();
+        return idNumber;
     }
 
     /**
@@ -125,7 +134,47 @@ public class Organization extends Hl7v2Based<XON> {
      *          the id of the organization (XON.10).
      */
     public void setIdNumber(String idNumber) {
-        setValue(getHapiObject().getXon10_OrganizationIdentifier(), idNumber);
+        this.idNumber = idNumber;
+    }
+
+    @Override
+    protected String render() {
+        // only XON.1, XON.6 and XON.10 are rendered
+        var sb = Hl7v2Components.appendEscaped(new StringBuilder(), organizationName)
+                .append(StringUtils.repeat(Hl7v2Components.COMPONENT_SEPARATOR, 5));
+        if (assigningAuthority != null) {
+            sb.append(assigningAuthority.renderCompact(true));
+        }
+        sb.append(StringUtils.repeat(Hl7v2Components.COMPONENT_SEPARATOR, 4));
+        Hl7v2Components.appendEscaped(sb, idNumber);
+        return Hl7v2Components.stripEnd(sb, Hl7v2Components.COMPONENT_SEPARATOR).toString();
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isEmpty() {
+        return StringUtils.isEmpty(organizationName) && StringUtils.isEmpty(idNumber)
+                && ((assigningAuthority == null) || (assigningAuthority.isEmpty() && StringUtils.isEmpty(assigningAuthority.namespaceId())));
+    }
+
+    @Override
+    protected XON createHapiObject() {
+        var xon = new XON(MESSAGE);
+        if (otherComponents != null) {
+            otherComponents.applyTo(xon);
+        }
+        setValue(xon.getXon1_OrganizationName(), organizationName);
+        setAssigningAuthority(assigningAuthority, xon.getXon6_AssigningAuthority());
+        setValue(xon.getXon10_OrganizationIdentifier(), idNumber);
+        return xon;
+    }
+
+    @Override
+    protected void parseCompact(Hl7v2Components components) {
+        organizationName = components.get(1, 1);
+        assigningAuthority = parseAssigningAuthority(components, 6);
+        idNumber = components.get(10, 1);
+        otherComponents = components.hasValuesBeyond(1, 0, 0, 0, 0, 3, 0, 0, 0, 1) ? components : null;
     }
 
     @Override
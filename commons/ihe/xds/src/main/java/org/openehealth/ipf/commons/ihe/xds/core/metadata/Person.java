@@ -16,6 +16,8 @@
 package org.openehealth.ipf.commons.ihe.xds.core.metadata;
 
 import ca.uhn.hl7v2.model.v25.datatype.XCN;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlType;
@@ -32,6 +34,8 @@ import java.util.Objects;
  * All of this class are allowed to be <code>null</code>. When transforming  
  * to HL7 this indicates that the values are empty. Trailing empty  
  * values are removed from the HL7 string.
+ * <p>
+ * Persons keep their values in own fields, HAPI composites are created only on request.
  * @author Jens Riemschneider
  * @author Dmytro Rud
  */
@@ -39,20 +43,28 @@ import java.util.Objects;
 @XmlType(name = "Person", propOrder = {"id", "name"})
 public class Person extends Hl7v2Based<XCN> {
     private static final long serialVersionUID = 1775227207521668959L;
+
+    private String id;
+    private AssigningAuthority assigningAuthority;
+    private XcnName name;
+    private Hl7v2Components otherComponents;
     
     /**
      * Constructs a person.
      */
     public Person() {
-        super(new XCN(MESSAGE));
+        super();
     }
 
 
     /**
      * Constructs a person.
+     * @param xcn
+     *          XCN element to copy the values from.
      */
     public Person(XCN xcn) {
-        super(xcn);
+        this();
+        parseCompact(Hl7v2Components.of(xcn));
     }
 
 
@@ -73,9 +85,7 @@ public class Person extends Hl7v2Based<XCN> {
      * @return the id of the person (XCN.1 and XCN.9).
      */
     public Identifiable getId() {
-        return new Identifiable(
-                getHapiObject().getXcn1_IDNumber().getValue(),
-                new AssigningAuthority(getHapiObject().getXcn9_AssigningAuthority()));
+        return new Identifiable(id, assigningAuthority);
     }
 
     /**
@@ -84,11 +94,11 @@ public class Person extends Hl7v2Based<XCN> {
      */
     public void setId(Identifiable id) {
         if (id != null) {
-            setValue(getHapiObject().getXcn1_IDNumber(), id.getId());
-            setAssigningAuthority(id.getAssigningAuthority(), getHapiObject().getXcn9_AssigningAuthority());
+            this.id = id.getId();
+            this.assigningAuthority = copyAssigningAuthority(id.getAssigningAuthority());
         } else {
-            getHapiObject().getXcn1_IDNumber().clear();
-            getHapiObject().getXcn9_AssigningAuthority().clear();
+            this.id = null;
+            this.assigningAuthority = null;
         }
     }
 
@@ -96,8 +106,7 @@ public class Person extends Hl7v2Based<XCN> {
      * @return the name of the person (XCN.2.1, XCN.3, XCN.4, XCN.5, XCN.6, XCN.7).
      */
     public Name getName() {
-        var name = new XcnName(getHapiObject());
-        return name.isEmpty() ? null : name;
+        return ((name == null) || name.hasNoNames()) ? null : name;
     }
 
     /**
@@ -106,18 +115,63 @@ public class Person extends Hl7v2Based<XCN> {
      */
     public void setName(Name name) {
         if (name != null) {
-            var thisName = new XcnName(getHapiObject());
-            thisName.copyFrom(name);
+            this.name = new XcnName();
+            this.name.copyFrom(name);
         }
         else {
-            var xcn = getHapiObject();
-            xcn.getXcn2_FamilyName().clear();
-            xcn.getXcn3_GivenName().clear();
-            xcn.getXcn4_SecondAndFurtherGivenNamesOrInitialsThereof().clear();
-            xcn.getXcn5_SuffixEgJRorIII().clear();
-            xcn.getXcn6_PrefixEgDR().clear();
-            xcn.getXcn7_DegreeEgMD().clear();
+            this.name = null;
+        }
+    }
+
+    @Override
+    protected String render() {
+        if (otherComponents != null) {
+            return super.render();
+        }
+        var sb = Hl7v2Components.appendEscaped(new StringBuilder(), id).append(Hl7v2Components.COMPONENT_SEPARATOR);
+        if (name != null) {
+            name.appendTo(sb);
+        } else {
+            sb.append(StringUtils.repeat(Hl7v2Components.COMPONENT_SEPARATOR, 5));
+        }
+        // XCN.8 is not supported
+        sb.append(Hl7v2Components.COMPONENT_SEPARATOR).append(Hl7v2Components.COMPONENT_SEPARATOR);
+        if (assigningAuthority != null) {
+            sb.append(assigningAuthority.renderCompact(true));
         }
+        return Hl7v2Components.stripEnd(sb, Hl7v2Components.COMPONENT_SEPARATOR).toString();
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isEmpty() {
+        if (otherComponents != null) {
+            return super.isEmpty();
+        }
+        return StringUtils.isEmpty(id)
+                && ((assigningAuthority == null) || (assigningAuthority.isEmpty() && StringUtils.isEmpty(assigningAuthority.namespaceId())))
+                && ((name == null) || name.hasNoNames());
+    }
+
+    @Override
+    protected XCN createHapiObject() {
+        var xcn = new XCN(MESSAGE);
+        if (otherComponents != null) {
+            otherComponents.applyTo(xcn);
+        }
+        setValue(xcn.getXcn1_IDNumber(), id);
+        (name != null ? name : new XcnName()).applyNames(xcn);
+        setAssigningAuthority(assigningAuthority, xcn.getXcn9_AssigningAuthority());
+        return xcn;
+    }
+
+    @Override
+    protected void parseCompact(Hl7v2Components components) {
+        id = components.get(1, 1);
+        name = new XcnName();
+        name.parseNames(components);
+        assigningAuthority = parseAssigningAuthority(components, 9);
+        otherComponents = components.hasValuesBeyond(1, 1, 1, 1, 1, 1, 1, 0, 3) ? components : null;
     }
 
     @Override
@@ -16,6 +16,8 @@
 package org.openehealth.ipf.commons.ihe.xds.core.metadata;
 
 import ca.uhn.hl7v2.model.v25.datatype.XCN;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.apache.commons.lang3.StringUtils;
 
 /**
  * This class represents a name.
@@ -26,18 +28,34 @@ import ca.uhn.hl7v2.model.v25.datatype.XCN;
  * All members of this class are allowed to be <code>null</code>. When transforming
  * to HL7 this indicates that the values are empty. Trailing empty values are
  * removed from the HL7 string.
+ * <p>
+ * Names keep their values in own fields, HAPI composites are created only on request.
  * @author Jens Riemschneider
  * @author Dmytro Rud
  */
 public class XcnName extends Name<XCN> {
     private static final long serialVersionUID = 1003106925101895418L;
 
+    private String familyName;
+    private String givenName;
+    private String secondAndFurtherGivenNames;
+    private String suffix;
+    private String prefix;
+    private String degree;
+    private Hl7v2Components otherComponents;
+
     public XcnName() {
-        super(new XCN(MESSAGE));
+        super();
     }
 
+    /**
+     * Constructs a name.
+     * @param xcn
+     *          XCN element to copy the values from.
+     */
     public XcnName(XCN xcn) {
-        super(xcn);
+        this();
+        parseCompact(Hl7v2Components.of(xcn));
     }
 
 
@@ -69,62 +87,136 @@ public class XcnName extends Name<XCN> {
 
     @Override
     public String getFamilyName() {
-        return getHapiObject().getXcn2_FamilyName().getFn1_Surname().getValue();
+        return familyName;
     }
 
     @Override
     public void setFamilyName(String value) {
-        setValue(getHapiObject().getXcn2_FamilyName().getFn1_Surname(), value);
+        this.familyName = value;
     }
 
     @Override
     public String getGivenName() {
-        return getHapiObject().getXcn3_GivenName().getValue();
+        return givenName;
     }
 
     @Override
     public void setGivenName(String value) {
-        setValue(getHapiObject().getXcn3_GivenName(), value);
+        this.givenName = value;
     }
 
     @Override
     public String getSecondAndFurtherGivenNames() {
-        return getHapiObject().getXcn4_SecondAndFurtherGivenNamesOrInitialsThereof().getValue();
+        return secondAndFurtherGivenNames;
     }
 
     @Override
     public void setSecondAndFurtherGivenNames(String value) {
-        setValue(getHapiObject().getXcn4_SecondAndFurtherGivenNamesOrInitialsThereof(), value);
+        this.secondAndFurtherGivenNames = value;
     }
 
     @Override
     public String getSuffix() {
-        return getHapiObject().getXcn5_SuffixEgJRorIII().getValue();
+        return suffix;
     }
 
     @Override
     public void setSuffix(String value) {
-        setValue(getHapiObject().getXcn5_SuffixEgJRorIII(), value);
+        this.suffix = value;
     }
 
     @Override
     public String getPrefix() {
-        return getHapiObject().getXcn6_PrefixEgDR().getValue();
+        return prefix;
     }
 
     @Override
     public void setPrefix(String value) {
-        setValue(getHapiObject().getXcn6_PrefixEgDR(), value);
+        this.prefix = value;
     }
 
     @Override
     public String getDegree() {
-        return getHapiObject().getXcn7_DegreeEgMD().getValue();
+        return degree;
     }
 
     @Override
     public void setDegree(String value) {
-        setValue(getHapiObject().getXcn7_DegreeEgMD(), value);
+        this.degree = value;
+    }
+
+    /**
+     * Appends the rendering of the components XCN.2 to XCN.7, without removing trailing delimiters.
+     */
+    void appendTo(StringBuilder sb) {
+        Hl7v2Components.appendEscaped(sb, familyName).append(Hl7v2Components.COMPONENT_SEPARATOR);
+        Hl7v2Components.appendEscaped(sb, givenName).append(Hl7v2Components.COMPONENT_SEPARATOR);
+        Hl7v2Components.appendEscaped(sb, secondAndFurtherGivenNames).append(Hl7v2Components.COMPONENT_SEPARATOR);
+        Hl7v2Components.appendEscaped(sb, suffix).append(Hl7v2Components.COMPONENT_SEPARATOR);
+        Hl7v2Components.appendEscaped(sb, prefix).append(Hl7v2Components.COMPONENT_SEPARATOR);
+        Hl7v2Components.appendEscaped(sb, degree);
+    }
+
+    /**
+     * Fills the name fields from the components XCN.2.1 to XCN.7.
+     */
+    void parseNames(Hl7v2Components components) {
+        familyName = components.get(2, 1);
+        givenName = components.get(3, 1);
+        secondAndFurtherGivenNames = components.get(4, 1);
+        suffix = components.get(5, 1);
+        prefix = components.get(6, 1);
+        degree = components.get(7, 1);
+    }
+
+    /**
+     * Sets the name fields into the components XCN.2.1 to XCN.7 of the given HAPI composite.
+     */
+    void applyNames(XCN xcn) {
+        setValue(xcn.getXcn2_FamilyName().getFn1_Surname(), familyName);
+        setValue(xcn.getXcn3_GivenName(), givenName);
+        setValue(xcn.getXcn4_SecondAndFurtherGivenNamesOrInitialsThereof(), secondAndFurtherGivenNames);
+        setValue(xcn.getXcn5_SuffixEgJRorIII(), suffix);
+        setValue(xcn.getXcn6_PrefixEgDR(), prefix);
+        setValue(xcn.getXcn7_DegreeEgMD(), degree);
+    }
+
+    boolean hasNoNames() {
+        return StringUtils.isEmpty(familyName) && StringUtils.isEmpty(givenName)
+                && StringUtils.isEmpty(secondAndFurtherGivenNames) && StringUtils.isEmpty(suffix)
+                && StringUtils.isEmpty(prefix) && StringUtils.isEmpty(degree);
+    }
+
+    @Override
+    protected String render() {
+        if (otherComponents != null) {
+            return super.render();
+        }
+        var sb = new StringBuilder().append(Hl7v2Components.COMPONENT_SEPARATOR);
+        appendTo(sb);
+        return Hl7v2Components.stripEnd(sb, Hl7v2Components.COMPONENT_SEPARATOR).toString();
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isEmpty() {
+        return (otherComponents != null) ? super.isEmpty() : hasNoNames();
+    }
+
+    @Override
+    protected XCN createHapiObject() {
+        var xcn = new XCN(MESSAGE);
+        if (otherComponents != null) {
+            otherComponents.applyTo(xcn);
+        }
+        applyNames(xcn);
+        return xcn;
+    }
+
+    @Override
+    protected void parseCompact(Hl7v2Components components) {
+        parseNames(components);
+        otherComponents = components.hasValuesBeyond(0, 1, 1, 1, 1, 1, 1) ? components : null;
     }
 
     @Override
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.xds.core.transform;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Converts independent metadata objects either sequentially or, when a {@link ForkJoinPool}
+ * is configured and enough objects are given, in parallel on that pool.
+ * The order of the results always corresponds to the order of the sources.
+ *
+ * @since 4.5
+ */
+public class ParallelMapper {
+    /**
+     * Minimal number of objects for which the conversion is distributed over the pool.
+     */
+    public static final int DEFAULT_THRESHOLD = 64;
+
+    /**
+     * A mapper which performs all conversions sequentially.
+     */
+    public static final ParallelMapper SEQUENTIAL = new ParallelMapper(null);
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * Constructs a mapper.
+     * @param pool
+     *          the pool to run parallel conversions on. Can be <code>null</code>,
+     *          then all conversions are performed sequentially in the calling thread.
+     * @param threshold
+     *          minimal number of objects for which the conversion is performed in parallel.
+     */
+    public ParallelMapper(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Constructs a mapper with the {@link #DEFAULT_THRESHOLD default threshold}.
+     * @param pool
+     *          the pool to run parallel conversions on. Can be <code>null</code>.
+     */
+    public ParallelMapper(ForkJoinPool pool) {
+        this(pool, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Applies the given function to all sources.
+     * @param sources
+     *          the objects to convert.
+     * @param function
+     *          the conversion, must be safe to be called concurrently.
+     * @return the converted objects in the order of the sources.
+     */
+    public <S, T> List<T> map(Collection<? extends S> sources, Function<? super S, ? extends T> function) {
+        if (pool == null || sources.size() < threshold) {
+            var results = new ArrayList<T>(sources.size());
+            for (S source : sources) {
+                results.add(function.apply(source));
+            }
+            return results;
+        }
+        // a parallel stream started from within a pool task is processed by that pool
+        return pool.invoke(ForkJoinTask.adapt(() -> sources.parallelStream()
+                .<T>map(function)
+                .collect(Collectors.toList())));
+    }
+}
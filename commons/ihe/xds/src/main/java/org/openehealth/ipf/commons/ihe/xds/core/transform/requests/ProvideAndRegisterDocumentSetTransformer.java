@@ -18,6 +18,7 @@ package org.openehealth.ipf.commons.ihe.xds.core.transform.requests;
 import static org.apache.commons.lang3.Validate.notNull;
 
 import javax.activation.DataHandler;
+import java.util.stream.Collectors;
 
 import org.openehealth.ipf.commons.ihe.xds.core.ebxml.EbXMLFactory;
 import org.openehealth.ipf.commons.ihe.xds.core.ebxml.EbXMLObjectLibrary;
@@ -27,6 +28,7 @@ import org.openehealth.ipf.commons.ihe.xds.core.requests.ProvideAndRegisterDocum
 import org.openehealth.ipf.commons.ihe.xds.core.transform.ebxml.AssociationTransformer;
 import org.openehealth.ipf.commons.ihe.xds.core.transform.ebxml.DocumentEntryTransformer;
 import org.openehealth.ipf.commons.ihe.xds.core.transform.ebxml.FolderTransformer;
+import org.openehealth.ipf.commons.ihe.xds.core.transform.ParallelMapper;
 import org.openehealth.ipf.commons.ihe.xds.core.transform.ebxml.SubmissionSetTransformer;
 
 import static org.openehealth.ipf.commons.ihe.xds.core.metadata.Vocabulary.*;
@@ -41,6 +43,7 @@ public class ProvideAndRegisterDocumentSetTransformer {
     private final DocumentEntryTransformer documentEntryTransformer;
     private final FolderTransformer folderTransformer;
     private final AssociationTransformer associationTransformer;
+    private final ParallelMapper mapper;
     
     /**
      * Constructs the transformer
@@ -48,8 +51,22 @@ public class ProvideAndRegisterDocumentSetTransformer {
      *          factory for version independent ebXML objects. 
      */
     public ProvideAndRegisterDocumentSetTransformer(EbXMLFactory factory) {
+        this(factory, ParallelMapper.SEQUENTIAL);
+    }
+
+    /**
+     * Constructs the transformer
+     * @param factory
+     *          factory for version independent ebXML objects.
+     * @param mapper
+     *          the mapper used to transform document entries and folders,
+     *          e.g. a {@link ParallelMapper} with a {@link java.util.concurrent.ForkJoinPool}.
+     */
+    public ProvideAndRegisterDocumentSetTransformer(EbXMLFactory factory, ParallelMapper mapper) {
         notNull(factory, "factory cannot be null");
+        notNull(mapper, "mapper cannot be null");
         this.factory = factory;
+        this.mapper = mapper;
         
         submissionSetTransformer = new SubmissionSetTransformer(factory);
         documentEntryTransformer = new DocumentEntryTransformer(factory);
@@ -71,17 +88,21 @@ public class ProvideAndRegisterDocumentSetTransformer {
         var library = factory.createObjectLibrary();
         var ebXML = factory.createProvideAndRegisterDocumentSetRequest(library);
         
-        for (var doc : request.getDocuments()) {
-            var docEntry = doc.getDocumentEntry();
-            if (docEntry != null) {
-                ebXML.addExtrinsicObject(documentEntryTransformer.toEbXML(docEntry, library));
-                ebXML.addDocument(docEntry.getEntryUuid(), doc.getContent(DataHandler.class));
-            }
+        var docs = request.getDocuments().stream()
+                .filter(doc -> doc.getDocumentEntry() != null)
+                .collect(Collectors.toList());
+        var extrinsics = mapper.map(docs, doc -> documentEntryTransformer.toEbXML(doc.getDocumentEntry(), library));
+        for (var i = 0; i < docs.size(); ++i) {
+            var doc = docs.get(i);
+            ebXML.addExtrinsicObject(extrinsics.get(i));
+            ebXML.addDocument(doc.getDocumentEntry().getEntryUuid(), doc.getContent(DataHandler.class));
         }
         
-        for (var folder : request.getFolders()) {
-            ebXML.addRegistryPackage(folderTransformer.toEbXML(folder, library));
-            addClassification(ebXML, folder.getEntryUuid(), FOLDER_CLASS_NODE, library);
+        var folders = request.getFolders();
+        var regPackages = mapper.map(folders, folder -> folderTransformer.toEbXML(folder, library));
+        for (var i = 0; i < folders.size(); ++i) {
+            ebXML.addRegistryPackage(regPackages.get(i));
+            addClassification(ebXML, folders.get(i).getEntryUuid(), FOLDER_CLASS_NODE, library);
         }
 
         var submissionSet = request.getSubmissionSet();
@@ -114,8 +135,9 @@ public class ProvideAndRegisterDocumentSetTransformer {
         var request = new ProvideAndRegisterDocumentSet();
 
         var documents = ebXML.getDocuments();
-        for (var extrinsic : ebXML.getExtrinsicObjects(DocumentEntryType.STABLE.getUuid())) {
-            var docEntry = documentEntryTransformer.fromEbXML(extrinsic);
+        var docEntries = mapper.map(
+                ebXML.getExtrinsicObjects(DocumentEntryType.STABLE.getUuid()), documentEntryTransformer::fromEbXML);
+        for (var docEntry : docEntries) {
             if (docEntry != null) {
                 var document = new Document();
                 document.setDocumentEntry(docEntry);
@@ -128,9 +150,8 @@ public class ProvideAndRegisterDocumentSetTransformer {
             }
         }
 
-        for (var regPackage : ebXML.getRegistryPackages(FOLDER_CLASS_NODE)) {
-            request.getFolders().add(folderTransformer.fromEbXML(regPackage));
-        }
+        request.getFolders().addAll(mapper.map(
+                ebXML.getRegistryPackages(FOLDER_CLASS_NODE), folderTransformer::fromEbXML));
 
         var regPackages = ebXML.getRegistryPackages(SUBMISSION_SET_CLASS_NODE);
         if (regPackages.size() > 0) {
@@ -25,6 +25,7 @@ import org.openehealth.ipf.commons.ihe.xds.core.requests.RegisterDocumentSet;
 import org.openehealth.ipf.commons.ihe.xds.core.transform.ebxml.AssociationTransformer;
 import org.openehealth.ipf.commons.ihe.xds.core.transform.ebxml.DocumentEntryTransformer;
 import org.openehealth.ipf.commons.ihe.xds.core.transform.ebxml.FolderTransformer;
+import org.openehealth.ipf.commons.ihe.xds.core.transform.ParallelMapper;
 import org.openehealth.ipf.commons.ihe.xds.core.transform.ebxml.SubmissionSetTransformer;
 
 /**
@@ -37,6 +38,7 @@ public class RegisterDocumentSetTransformer {
     private final DocumentEntryTransformer documentEntryTransformer;
     private final FolderTransformer folderTransformer;
     private final AssociationTransformer associationTransformer;
+    private final ParallelMapper mapper;
     
     /**
      * Constructs the transformer
@@ -44,8 +46,22 @@ public class RegisterDocumentSetTransformer {
      *          factory for version independent ebXML objects. 
      */
     public RegisterDocumentSetTransformer(EbXMLFactory factory) {
+        this(factory, ParallelMapper.SEQUENTIAL);
+    }
+
+    /**
+     * Constructs the transformer
+     * @param factory
+     *          factory for version independent ebXML objects.
+     * @param mapper
+     *          the mapper used to transform document entries and folders,
+     *          e.g. a {@link ParallelMapper} with a {@link java.util.concurrent.ForkJoinPool}.
+     */
+    public RegisterDocumentSetTransformer(EbXMLFactory factory, ParallelMapper mapper) {
         notNull(factory, "factory cannot be null");
+        notNull(mapper, "mapper cannot be null");
         this.factory = factory;
+        this.mapper = mapper;
         
         submissionSetTransformer = new SubmissionSetTransformer(factory);
         documentEntryTransformer = new DocumentEntryTransformer(factory);
@@ -65,13 +81,14 @@ public class RegisterDocumentSetTransformer {
         var ebXML = factory.createSubmitObjectsRequest();
         var library = ebXML.getObjectLibrary();
         
-        for (var docEntry : request.getDocumentEntries()) {
-            ebXML.addExtrinsicObject(documentEntryTransformer.toEbXML(docEntry, library));
-        }
+        mapper.map(request.getDocumentEntries(), docEntry -> documentEntryTransformer.toEbXML(docEntry, library))
+                .forEach(ebXML::addExtrinsicObject);
         
-        for (var folder : request.getFolders()) {
-            ebXML.addRegistryPackage(folderTransformer.toEbXML(folder, library));
-            addClassification(ebXML, folder.getEntryUuid(), Vocabulary.FOLDER_CLASS_NODE, library);
+        var folders = request.getFolders();
+        var regPackages = mapper.map(folders, folder -> folderTransformer.toEbXML(folder, library));
+        for (var i = 0; i < folders.size(); ++i) {
+            ebXML.addRegistryPackage(regPackages.get(i));
+            addClassification(ebXML, folders.get(i).getEntryUuid(), Vocabulary.FOLDER_CLASS_NODE, library);
         }
 
         var submissionSet = request.getSubmissionSet();
@@ -97,13 +114,11 @@ public class RegisterDocumentSetTransformer {
 
         var request = new RegisterDocumentSet();
         
-        for (var extrinsic : ebXML.getExtrinsicObjects(DocumentEntryType.STABLE_OR_ON_DEMAND)) {
-            request.getDocumentEntries().add(documentEntryTransformer.fromEbXML(extrinsic));
-        }
+        request.getDocumentEntries().addAll(mapper.map(
+                ebXML.getExtrinsicObjects(DocumentEntryType.STABLE_OR_ON_DEMAND), documentEntryTransformer::fromEbXML));
 
-        for (var regPackage : ebXML.getRegistryPackages(Vocabulary.FOLDER_CLASS_NODE)) {
-            request.getFolders().add(folderTransformer.fromEbXML(regPackage));
-        }
+        request.getFolders().addAll(mapper.map(
+                ebXML.getRegistryPackages(Vocabulary.FOLDER_CLASS_NODE), folderTransformer::fromEbXML));
 
         var regPackages = ebXML.getRegistryPackages(Vocabulary.SUBMISSION_SET_CLASS_NODE);
         if (regPackages.size() > 0) {
@@ -19,20 +19,27 @@ import org.openehealth.ipf.commons.ihe.xds.core.ebxml.EbXMLFactory;
 import org.openehealth.ipf.commons.ihe.xds.core.ebxml.EbXMLObjectLibrary;
 import org.openehealth.ipf.commons.ihe.xds.core.ebxml.EbXMLQueryResponse;
 import org.openehealth.ipf.commons.ihe.xds.core.metadata.Document;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.DocumentEntry;
 import org.openehealth.ipf.commons.ihe.xds.core.metadata.DocumentEntryType;
 import org.openehealth.ipf.commons.ihe.xds.core.metadata.Vocabulary;
 import org.openehealth.ipf.commons.ihe.xds.core.responses.QueryResponse;
+import org.openehealth.ipf.commons.ihe.xds.core.transform.ParallelMapper;
 import org.openehealth.ipf.commons.ihe.xds.core.transform.ebxml.AssociationTransformer;
 import org.openehealth.ipf.commons.ihe.xds.core.transform.ebxml.DocumentEntryTransformer;
 import org.openehealth.ipf.commons.ihe.xds.core.transform.ebxml.FolderTransformer;
 import org.openehealth.ipf.commons.ihe.xds.core.transform.ebxml.SubmissionSetTransformer;
 
 import javax.activation.DataHandler;
+import java.util.IdentityHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.apache.commons.lang3.Validate.notNull;
 
 /**
  * Transforms between {@link QueryResponse} and the {@link EbXMLQueryResponse} representation.
+ * <p>
+ * Document entries, folders and submission sets are independent of each other and can
+ * optionally be transformed in parallel on a {@link ForkJoinPool}.
  *
  * @author Jens Riemschneider
  */
@@ -43,6 +50,7 @@ public class QueryResponseTransformer {
     private final FolderTransformer folderTransformer;
     private final AssociationTransformer associationTransformer;
     private final ErrorInfoListTransformer errorInfoListTransformer;
+    private final ParallelMapper mapper;
 
     /**
      * Constructs the transformer.
@@ -50,8 +58,21 @@ public class QueryResponseTransformer {
      * @param factory the factory for ebXML objects.
      */
     public QueryResponseTransformer(EbXMLFactory factory) {
+        this(factory, ParallelMapper.SEQUENTIAL);
+    }
+
+    /**
+     * Constructs the transformer.
+     *
+     * @param factory the factory for ebXML objects.
+     * @param mapper  the mapper used to transform independent metadata objects,
+     *                e.g. a {@link ParallelMapper} with a {@link ForkJoinPool}.
+     */
+    public QueryResponseTransformer(EbXMLFactory factory, ParallelMapper mapper) {
         notNull(factory, "factory cannot be null");
+        notNull(mapper, "mapper cannot be null");
         this.factory = factory;
+        this.mapper = mapper;
 
         submissionSetTransformer = new SubmissionSetTransformer(factory);
         documentEntryTransformer = new DocumentEntryTransformer(factory);
@@ -79,25 +100,36 @@ public class QueryResponseTransformer {
             ebXML.setErrors(errorInfoListTransformer.toEbXML(response.getErrors()));
         }
 
-        for (var docEntry : response.getDocumentEntries()) {
-            var extrinsic = documentEntryTransformer.toEbXML(docEntry, library);
-            for (var document : response.getDocuments()) {
-                if ((document != null) && (document.getDocumentEntry() == docEntry)) {
-                    extrinsic.setDataHandler(document.getContent(DataHandler.class));
-                    break;
-                }
+        // documents are attached to the first document with the very same entry instance
+        var documents = new IdentityHashMap<DocumentEntry, Document>();
+        for (var document : response.getDocuments()) {
+            if (document != null) {
+                documents.putIfAbsent(document.getDocumentEntry(), document);
             }
-            ebXML.addExtrinsicObject(extrinsic);
         }
 
-        for (var folder : response.getFolders()) {
-            ebXML.addRegistryPackage(folderTransformer.toEbXML(folder, library));
-            addClassification(ebXML, folder.getEntryUuid(), Vocabulary.FOLDER_CLASS_NODE, library);
+        var extrinsics = mapper.map(response.getDocumentEntries(), docEntry -> {
+            var extrinsic = documentEntryTransformer.toEbXML(docEntry, library);
+            var document = documents.get(docEntry);
+            if (document != null) {
+                extrinsic.setDataHandler(document.getContent(DataHandler.class));
+            }
+            return extrinsic;
+        });
+        extrinsics.forEach(ebXML::addExtrinsicObject);
+
+        var folders = response.getFolders();
+        var folderPackages = mapper.map(folders, folder -> folderTransformer.toEbXML(folder, library));
+        for (var i = 0; i < folders.size(); ++i) {
+            ebXML.addRegistryPackage(folderPackages.get(i));
+            addClassification(ebXML, folders.get(i).getEntryUuid(), Vocabulary.FOLDER_CLASS_NODE, library);
         }
 
-        for (var set : response.getSubmissionSets()) {
-            ebXML.addRegistryPackage(submissionSetTransformer.toEbXML(set, library));
-            addClassification(ebXML, set.getEntryUuid(), Vocabulary.SUBMISSION_SET_CLASS_NODE, library);
+        var sets = response.getSubmissionSets();
+        var setPackages = mapper.map(sets, set -> submissionSetTransformer.toEbXML(set, library));
+        for (var i = 0; i < sets.size(); ++i) {
+            ebXML.addRegistryPackage(setPackages.get(i));
+            addClassification(ebXML, sets.get(i).getEntryUuid(), Vocabulary.SUBMISSION_SET_CLASS_NODE, library);
         }
 
         for (var association : response.getAssociations()) {
@@ -129,24 +161,25 @@ public class QueryResponseTransformer {
 
         var foundNonObjRefs = false;
 
-        for (var extrinsic : ebXML.getExtrinsicObjects(DocumentEntryType.STABLE_OR_ON_DEMAND)) {
-            var documentEntry = documentEntryTransformer.fromEbXML(extrinsic);
+        var extrinsics = ebXML.getExtrinsicObjects(DocumentEntryType.STABLE_OR_ON_DEMAND);
+        var documentEntries = mapper.map(extrinsics, documentEntryTransformer::fromEbXML);
+        for (var i = 0; i < extrinsics.size(); ++i) {
+            var documentEntry = documentEntries.get(i);
             response.getDocumentEntries().add(documentEntry);
-            if (extrinsic.getDataHandler() != null) {
-                response.getDocuments().add(new Document(documentEntry, extrinsic.getDataHandler()));
+            var dataHandler = extrinsics.get(i).getDataHandler();
+            if (dataHandler != null) {
+                response.getDocuments().add(new Document(documentEntry, dataHandler));
             }
             foundNonObjRefs = true;
         }
 
-        for (var regPackage : ebXML.getRegistryPackages(Vocabulary.FOLDER_CLASS_NODE)) {
-            response.getFolders().add(folderTransformer.fromEbXML(regPackage));
-            foundNonObjRefs = true;
-        }
+        var folders = mapper.map(ebXML.getRegistryPackages(Vocabulary.FOLDER_CLASS_NODE), folderTransformer::fromEbXML);
+        response.getFolders().addAll(folders);
+        foundNonObjRefs |= !folders.isEmpty();
 
-        for (var regPackage : ebXML.getRegistryPackages(Vocabulary.SUBMISSION_SET_CLASS_NODE)) {
-            response.getSubmissionSets().add(submissionSetTransformer.fromEbXML(regPackage));
-            foundNonObjRefs = true;
-        }
+        var submissionSets = mapper.map(ebXML.getRegistryPackages(Vocabulary.SUBMISSION_SET_CLASS_NODE), submissionSetTransformer::fromEbXML);
+        response.getSubmissionSets().addAll(submissionSets);
+        foundNonObjRefs |= !submissionSets.isEmpty();
 
         for (var association : ebXML.getAssociations()) {
             response.getAssociations().add(associationTransformer.fromEbXML(association));
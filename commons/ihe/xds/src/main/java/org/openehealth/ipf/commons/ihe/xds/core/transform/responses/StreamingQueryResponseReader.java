@@ -0,0 +1,410 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.xds.core.transform.responses;
+
+import org.apache.cxf.staxutils.StaxUtils;
+import org.openehealth.ipf.commons.ihe.xds.core.XdsJaxbDataBinding;
+import org.openehealth.ipf.commons.ihe.xds.core.ebxml.EbXMLFactory;
+import org.openehealth.ipf.commons.ihe.xds.core.ebxml.EbXMLObjectLibrary;
+import org.openehealth.ipf.commons.ihe.xds.core.ebxml.EbXMLRegistryError;
+import org.openehealth.ipf.commons.ihe.xds.core.ebxml.EbXMLRegistryPackage;
+import org.openehealth.ipf.commons.ihe.xds.core.ebxml.ebxml30.EbXMLAssociation30;
+import org.openehealth.ipf.commons.ihe.xds.core.ebxml.ebxml30.EbXMLExtrinsicObject30;
+import org.openehealth.ipf.commons.ihe.xds.core.ebxml.ebxml30.EbXMLFactory30;
+import org.openehealth.ipf.commons.ihe.xds.core.ebxml.ebxml30.EbXMLRegistryError30;
+import org.openehealth.ipf.commons.ihe.xds.core.ebxml.ebxml30.EbXMLRegistryPackage30;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.Association;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.DocumentEntry;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.DocumentEntryType;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.Folder;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.ObjectReference;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.SubmissionSet;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.Vocabulary;
+import org.openehealth.ipf.commons.ihe.xds.core.responses.ErrorInfo;
+import org.openehealth.ipf.commons.ihe.xds.core.responses.Status;
+import org.openehealth.ipf.commons.ihe.xds.core.stub.ebrs30.query.AdhocQueryResponse;
+import org.openehealth.ipf.commons.ihe.xds.core.stub.ebrs30.rim.AssociationType1;
+import org.openehealth.ipf.commons.ihe.xds.core.stub.ebrs30.rim.ClassificationType;
+import org.openehealth.ipf.commons.ihe.xds.core.stub.ebrs30.rim.ExtrinsicObjectType;
+import org.openehealth.ipf.commons.ihe.xds.core.stub.ebrs30.rim.ObjectRefType;
+import org.openehealth.ipf.commons.ihe.xds.core.stub.ebrs30.rim.RegistryPackageType;
+import org.openehealth.ipf.commons.ihe.xds.core.stub.ebrs30.rs.RegistryErrorList;
+import org.openehealth.ipf.commons.ihe.xds.core.transform.ebxml.AssociationTransformer;
+import org.openehealth.ipf.commons.ihe.xds.core.transform.ebxml.DocumentEntryTransformer;
+import org.openehealth.ipf.commons.ihe.xds.core.transform.ebxml.FolderTransformer;
+import org.openehealth.ipf.commons.ihe.xds.core.transform.ebxml.SubmissionSetTransformer;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * Pull-based reader of ebXML 3.0 query responses ({@link AdhocQueryResponse}), which
+ * produces the contained metadata objects one at a time, instead of unmarshalling
+ * the whole response and transforming it into a {@link org.openehealth.ipf.commons.ihe.xds.core.responses.QueryResponse}.
+ * <p>
+ * The reader returns {@link DocumentEntry}, {@link Folder}, {@link SubmissionSet},
+ * {@link Association} and {@link ObjectReference} objects in the order of the response.
+ * Response status and errors are available as soon as the reader has been created.
+ * <p>
+ * Only one registry object is held in memory at a time. The exception are registry packages
+ * which are classified as folders or submission sets by a separate classification, and which
+ * appear in the response before this classification: they are kept until the classification
+ * has been read. Registry packages which are not classified at all are skipped,
+ * in the same way as by {@link QueryResponseTransformer}.
+ * <p>
+ * Instances are not thread-safe and must be closed after use.
+ *
+ * @since 4.5
+ */
+public class StreamingQueryResponseReader implements Iterator<Object>, Closeable {
+
+    private static final String RIM_NS = "urn:oasis:names:tc:ebxml-regrep:xsd:rim:3.0";
+    private static final String RS_NS = "urn:oasis:names:tc:ebxml-regrep:xsd:rs:3.0";
+
+    private static final List<String> DOCUMENT_ENTRY_TYPES = Arrays.asList(DocumentEntryType.STABLE_OR_ON_DEMAND);
+
+    private final XMLStreamReader reader;
+    private final Closeable source;
+    private final Unmarshaller unmarshaller;
+    private final EbXMLFactory factory;
+    private final EbXMLObjectLibrary objectLibrary;
+    private final DocumentEntryTransformer documentEntryTransformer;
+    private final FolderTransformer folderTransformer;
+    private final SubmissionSetTransformer submissionSetTransformer;
+    private final AssociationTransformer associationTransformer;
+
+    private final Deque<Object> pending = new ArrayDeque<>();
+    private final Map<String, EbXMLRegistryPackage> unclassifiedPackages = new LinkedHashMap<>();
+    private final Map<String, String> packageClassificationNodes = new HashMap<>();
+
+    private Status status;
+    private List<ErrorInfo> errors = Collections.emptyList();
+    private boolean finished;
+
+    /**
+     * Creates a reader for the given XML stream, which must be positioned before or
+     * at the start tag of the <code>AdhocQueryResponse</code> element.
+     *
+     * @param reader  XML stream reader.
+     * @param factory the factory for ebXML objects.
+     */
+    public StreamingQueryResponseReader(XMLStreamReader reader, EbXMLFactory factory) {
+        this(reader, null, factory);
+    }
+
+    /**
+     * Creates a reader for the given XML stream, which must be positioned before or
+     * at the start tag of the <code>AdhocQueryResponse</code> element.
+     *
+     * @param reader XML stream reader.
+     */
+    public StreamingQueryResponseReader(XMLStreamReader reader) {
+        this(reader, null, new EbXMLFactory30());
+    }
+
+    /**
+     * Creates a reader for the given XML document. The input stream will be closed
+     * together with the reader.
+     *
+     * @param inputStream XML document containing an <code>AdhocQueryResponse</code>.
+     */
+    public StreamingQueryResponseReader(InputStream inputStream) {
+        this(StaxUtils.createXMLStreamReader(notNull(inputStream, "input stream cannot be null")),
+                inputStream, new EbXMLFactory30());
+    }
+
+    private StreamingQueryResponseReader(XMLStreamReader reader, Closeable source, EbXMLFactory factory) {
+        notNull(reader, "reader cannot be null");
+        notNull(factory, "factory cannot be null");
+        this.reader = reader;
+        this.source = source;
+        this.factory = factory;
+        this.objectLibrary = factory.createObjectLibrary();
+
+        documentEntryTransformer = new DocumentEntryTransformer(factory);
+        folderTransformer = new FolderTransformer(factory);
+        submissionSetTransformer = new SubmissionSetTransformer(factory);
+        associationTransformer = new AssociationTransformer(factory);
+
+        try {
+            unmarshaller = JaxbContextHolder.CONTEXT.createUnmarshaller();
+            unmarshaller.setListener(new XdsJaxbDataBinding.UnmarshallerListener());
+            readHeader();
+        } catch (JAXBException | XMLStreamException e) {
+            closeQuietly();
+            throw new IllegalArgumentException("Cannot read query response", e);
+        }
+    }
+
+    /**
+     * @return the status of the response.
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the errors of the response, never <code>null</code>.
+     */
+    public List<ErrorInfo> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (pending.isEmpty() && !finished) {
+                readNext();
+            }
+        } catch (JAXBException | XMLStreamException e) {
+            throw new IllegalStateException("Cannot read query response", e);
+        }
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public Object next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return pending.poll();
+    }
+
+    /**
+     * @return a sequential stream over the remaining objects, which closes this reader when being closed.
+     */
+    public Stream<Object> stream() {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::closeQuietly);
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        pending.clear();
+        unclassifiedPackages.clear();
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        } finally {
+            if (source != null) {
+                source.close();
+            }
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            // nop
+        }
+    }
+
+    /**
+     * Reads the status and the errors, and positions the reader in the registry object list.
+     */
+    private void readHeader() throws JAXBException, XMLStreamException {
+        if (reader.getEventType() != XMLStreamReader.START_ELEMENT) {
+            reader.nextTag();
+        }
+        if (!"AdhocQueryResponse".equals(reader.getLocalName())) {
+            throw new XMLStreamException("Unexpected element " + reader.getName() + ", expected AdhocQueryResponse");
+        }
+        status = Status.valueOfOpcode(reader.getAttributeValue(null, "status"));
+        reader.next();
+
+        while (toNextTag()) {
+            if (isElement(RS_NS, "RegistryErrorList")) {
+                var errorList = unmarshaller.unmarshal(reader, RegistryErrorList.class).getValue();
+                var ebXML = new ArrayList<EbXMLRegistryError>();
+                errorList.getRegistryError().forEach(error -> ebXML.add(new EbXMLRegistryError30(error)));
+                errors = new ErrorInfoListTransformer(factory).fromEbXML(ebXML);
+            } else if (isElement(RIM_NS, "RegistryObjectList")) {
+                reader.next();
+                return;
+            } else {
+                skipElement();
+            }
+        }
+        finished = true;
+    }
+
+    /**
+     * Reads the next element of the registry object list,
+     * and adds the resulting metadata object(s) to the pending ones.
+     */
+    private void readNext() throws JAXBException, XMLStreamException {
+        if (!toNextTag()) {
+            // end of the registry object list, unclassified registry packages are not returned
+            unclassifiedPackages.clear();
+            finished = true;
+            return;
+        }
+
+        if (!RIM_NS.equals(reader.getNamespaceURI())) {
+            skipElement();
+            return;
+        }
+
+        switch (reader.getLocalName()) {
+            case "ExtrinsicObject":
+                var extrinsic = new EbXMLExtrinsicObject30(
+                        unmarshaller.unmarshal(reader, ExtrinsicObjectType.class).getValue(), objectLibrary);
+                if (DOCUMENT_ENTRY_TYPES.contains(extrinsic.getObjectType())) {
+                    pending.add(documentEntryTransformer.fromEbXML(extrinsic));
+                }
+                break;
+
+            case "RegistryPackage":
+                var regPackage = new EbXMLRegistryPackage30(
+                        unmarshaller.unmarshal(reader, RegistryPackageType.class).getValue(), objectLibrary);
+                var node = getClassificationNode(regPackage);
+                if (node != null) {
+                    addRegistryPackage(regPackage, node);
+                } else if (regPackage.getId() != null) {
+                    unclassifiedPackages.put(regPackage.getId(), regPackage);
+                }
+                break;
+
+            case "Classification":
+                var classification = unmarshaller.unmarshal(reader, ClassificationType.class).getValue();
+                var classificationNode = classification.getClassificationNode();
+                if (isRegistryPackageNode(classificationNode) && (classification.getClassifiedObject() != null)) {
+                    var classified = unclassifiedPackages.remove(classification.getClassifiedObject());
+                    if (classified != null) {
+                        addRegistryPackage(classified, classificationNode);
+                    } else {
+                        packageClassificationNodes.putIfAbsent(classification.getClassifiedObject(), classificationNode);
+                    }
+                }
+                break;
+
+            case "Association":
+                var association = new EbXMLAssociation30(
+                        unmarshaller.unmarshal(reader, AssociationType1.class).getValue(), objectLibrary);
+                pending.add(associationTransformer.fromEbXML(association));
+                break;
+
+            case "ObjectRef":
+                var objectRef = unmarshaller.unmarshal(reader, ObjectRefType.class).getValue();
+                pending.add(new ObjectReference(objectRef.getId(), objectRef.getHome()));
+                break;
+
+            default:
+                skipElement();
+        }
+    }
+
+    private String getClassificationNode(EbXMLRegistryPackage regPackage) {
+        var id = regPackage.getId();
+        if (id == null) {
+            return null;
+        }
+        var node = packageClassificationNodes.remove(id);
+        if (node != null) {
+            return node;
+        }
+        for (var classification : regPackage.getClassifications()) {
+            if (id.equals(classification.getClassifiedObject()) && isRegistryPackageNode(classification.getClassificationNode())) {
+                return classification.getClassificationNode();
+            }
+        }
+        return null;
+    }
+
+    private void addRegistryPackage(EbXMLRegistryPackage regPackage, String node) {
+        if (Vocabulary.FOLDER_CLASS_NODE.equals(node)) {
+            pending.add(folderTransformer.fromEbXML(regPackage));
+        } else {
+            pending.add(submissionSetTransformer.fromEbXML(regPackage));
+        }
+    }
+
+    private static boolean isRegistryPackageNode(String node) {
+        return Vocabulary.FOLDER_CLASS_NODE.equals(node) || Vocabulary.SUBMISSION_SET_CLASS_NODE.equals(node);
+    }
+
+    private boolean isElement(String namespace, String localName) {
+        return namespace.equals(reader.getNamespaceURI()) && localName.equals(reader.getLocalName());
+    }
+
+    /**
+     * Moves the reader to the next start tag on the current level.
+     *
+     * @return <code>true</code> if a start tag has been found, <code>false</code>
+     * if the end tag of the enclosing element has been reached.
+     */
+    private boolean toNextTag() throws XMLStreamException {
+        while (!reader.isStartElement() && !reader.isEndElement()) {
+            reader.next();
+        }
+        return reader.isStartElement();
+    }
+
+    /**
+     * Skips the current element including its descendants, and moves the reader behind its end tag.
+     */
+    private void skipElement() throws XMLStreamException {
+        var depth = 1;
+        while (depth > 0) {
+            var event = reader.next();
+            if (event == XMLStreamReader.START_ELEMENT) {
+                ++depth;
+            } else if (event == XMLStreamReader.END_ELEMENT) {
+                --depth;
+            }
+        }
+        reader.next();
+    }
+
+    private static class JaxbContextHolder {
+        private static final JAXBContext CONTEXT;
+
+        static {
+            try {
+                CONTEXT = JAXBContext.newInstance(AdhocQueryResponse.class);
+            } catch (JAXBException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.xds.core.transform.responses;
+
+import org.openehealth.ipf.commons.ihe.xds.core.ebxml.ebxml30.EbXMLFactory30;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.Association;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.DocumentEntry;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.Folder;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.ObjectReference;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.SubmissionSet;
+import org.openehealth.ipf.commons.ihe.xds.core.responses.ErrorInfo;
+import org.openehealth.ipf.commons.ihe.xds.core.responses.QueryResponse;
+import org.openehealth.ipf.commons.ihe.xds.core.responses.Status;
+import org.openehealth.ipf.commons.ihe.xds.core.stub.ebrs30.query.AdhocQueryResponse;
+import org.openehealth.ipf.commons.ihe.xds.core.stub.ebrs30.rim.IdentifiableType;
+import org.openehealth.ipf.commons.ihe.xds.core.stub.ebrs30.rim.RegistryObjectListType;
+
+import javax.xml.bind.JAXBElement;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * Creates ebXML 3.0 query responses ({@link AdhocQueryResponse}) whose registry object list
+ * is filled lazily from an {@link Iterator} or a {@link Stream} of metadata objects
+ * ({@link DocumentEntry}, {@link Folder}, {@link SubmissionSet}, {@link Association},
+ * {@link ObjectReference}).
+ * <p>
+ * Each metadata object is transformed by a {@link QueryResponseTransformer} only when JAXB
+ * pulls it while marshalling the response, so that it can be written to the output stream
+ * and garbage-collected before the next object is transformed. The registry object list
+ * can therefore be iterated only once, size queries and random access are not supported.
+ * Status and errors are written as usual.
+ * <p>
+ * When the metadata objects have been exhausted, the source is closed,
+ * if it is a {@link Stream} or an {@link AutoCloseable} iterator.  Callers which cannot
+ * guarantee that the response is marshalled completely, e.g. because the connection
+ * may break, must additionally call {@link #close(AdhocQueryResponse)} when done.
+ *
+ * @since 4.5
+ */
+public class StreamingQueryResponseTransformer {
+
+    private final QueryResponseTransformer transformer = new QueryResponseTransformer(new EbXMLFactory30());
+
+    /**
+     * Creates a query response with the given status and errors,
+     * and with a registry object list which is filled lazily from the given metadata objects.
+     *
+     * @param status  response status.
+     * @param errors  response errors, may be <code>null</code>.
+     * @param objects metadata objects.
+     * @return ebXML 3.0 query response.
+     */
+    public AdhocQueryResponse toEbXML(Status status, List<ErrorInfo> errors, Iterator<?> objects) {
+        notNull(objects, "objects cannot be null");
+        var header = new QueryResponse(status);
+        if (errors != null) {
+            header.setErrors(errors);
+        }
+        var response = (AdhocQueryResponse) transformer.toEbXML(header).getInternal();
+        response.setRegistryObjectList(new StreamingRegistryObjectList(new TransformingIterator(status, objects)));
+        return response;
+    }
+
+    /**
+     * Creates a query response with the status and errors of the given response,
+     * and with a registry object list which is filled lazily from the given metadata objects.
+     * Metadata objects contained in the given response are not included.
+     *
+     * @param source  response to take status and errors from.
+     * @param objects metadata objects.
+     * @return ebXML 3.0 query response.
+     */
+    public AdhocQueryResponse toEbXML(QueryResponse source, Iterator<?> objects) {
+        notNull(source, "source response cannot be null");
+        return toEbXML(source.getStatus(), source.getErrors(), objects);
+    }
+
+    /**
+     * Creates a query response with the status and errors of the given response,
+     * and with a registry object list which is filled lazily from the given metadata objects.
+     * Metadata objects contained in the given response are not included.
+     *
+     * @param source  response to take status and errors from.
+     * @param objects metadata objects.
+     * @return ebXML 3.0 query response.
+     */
+    public AdhocQueryResponse toEbXML(QueryResponse source, Stream<?> objects) {
+        notNull(source, "source response cannot be null");
+        return toEbXML(source.getStatus(), source.getErrors(), objects);
+    }
+
+    /**
+     * Closes the metadata source of the given response, if the response has been created
+     * by this transformer and the source has not been closed yet.  Does nothing otherwise.
+     *
+     * @param response ebXML 3.0 query response.
+     */
+    public static void close(AdhocQueryResponse response) {
+        if (response.getRegistryObjectList() instanceof StreamingRegistryObjectList) {
+            ((StreamingRegistryObjectList) response.getRegistryObjectList()).iterator.close();
+        }
+    }
+
+    /**
+     * Creates a query response with the given status and errors,
+     * and with a registry object list which is filled lazily from the given metadata objects.
+     *
+     * @param status  response status.
+     * @param errors  response errors, may be <code>null</code>.
+     * @param objects metadata objects.
+     * @return ebXML 3.0 query response.
+     */
+    public AdhocQueryResponse toEbXML(Status status, List<ErrorInfo> errors, Stream<?> objects) {
+        notNull(objects, "objects cannot be null");
+        return toEbXML(status, errors, new ClosingIterator(objects));
+    }
+
+    /**
+     * Registry object list which marshals the given elements.
+     */
+    private static class StreamingRegistryObjectList extends RegistryObjectListType {
+        private final TransformingIterator iterator;
+
+        StreamingRegistryObjectList(TransformingIterator iterator) {
+            this.iterator = iterator;
+            this.identifiable = new OnceIterableList<>(iterator);
+        }
+    }
+
+    /**
+     * List view of an iterator which can be iterated only once, as JAXB does when marshalling.
+     * Elements returned by the iterator are not retained.
+     * <p>
+     * {@link #size()} and {@link #get(int)} are not supported, because they would require
+     * all elements in memory.  Equality is identity-based, and {@link #toString()}
+     * does not touch the elements.
+     */
+    private static class OnceIterableList<T> extends AbstractList<T> {
+        private final Iterator<T> source;
+        private boolean iterated;
+        private int released;
+
+        OnceIterableList(Iterator<T> source) {
+            this.source = source;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            if (iterated) {
+                throw new IllegalStateException("streaming registry object list can be iterated only once");
+            }
+            iterated = true;
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return source.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    var element = source.next();
+                    ++released;
+                    return element;
+                }
+            };
+        }
+
+        @Override
+        public T get(int index) {
+            throw new UnsupportedOperationException("streaming registry object list does not support random access");
+        }
+
+        @Override
+        public int size() {
+            throw new UnsupportedOperationException("streaming registry object list does not support size queries");
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return (released == 0) && !source.hasNext();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o == this;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+
+        @Override
+        public String toString() {
+            return "streaming registry object list, " + released + " element(s) released";
+        }
+    }
+
+    /**
+     * Transforms each metadata object into one or more ebXML registry objects when it is pulled.
+     */
+    private class TransformingIterator implements Iterator<JAXBElement<? extends IdentifiableType>> {
+        private final Status status;
+        private final Iterator<?> objects;
+        private final Deque<JAXBElement<? extends IdentifiableType>> pending = new ArrayDeque<>();
+        private boolean closed;
+
+        TransformingIterator(Status status, Iterator<?> objects) {
+            this.status = status;
+            this.objects = objects;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (pending.isEmpty() && !closed) {
+                if (objects.hasNext()) {
+                    // only the registry objects are taken over, errors are written by the enclosing response
+                    var response = new QueryResponse(status);
+                    add(response, objects.next());
+                    var ebXML = (AdhocQueryResponse) transformer.toEbXML(response).getInternal();
+                    pending.addAll(ebXML.getRegistryObjectList().getIdentifiable());
+                } else {
+                    close();
+                }
+            }
+            return !pending.isEmpty();
+        }
+
+        @Override
+        public JAXBElement<? extends IdentifiableType> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return pending.poll();
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.clear();
+            if (objects instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) objects).close();
+                } catch (Exception e) {
+                    throw new IllegalStateException("Cannot close metadata source", e);
+                }
+            }
+        }
+    }
+
+    private static void add(QueryResponse response, Object object) {
+        if (object instanceof DocumentEntry) {
+            response.getDocumentEntries().add((DocumentEntry) object);
+        } else if (object instanceof Folder) {
+            response.getFolders().add((Folder) object);
+        } else if (object instanceof SubmissionSet) {
+            response.getSubmissionSets().add((SubmissionSet) object);
+        } else if (object instanceof Association) {
+            response.getAssociations().add((Association) object);
+        } else if (object instanceof ObjectReference) {
+            response.getReferences().add((ObjectReference) object);
+        } else {
+            throw new IllegalArgumentException("Unsupported metadata object " +
+                    ((object != null) ? object.getClass().getName() : null));
+        }
+    }
+
+    /**
+     * Iterator over a stream which closes the stream.
+     */
+    private static class ClosingIterator implements Iterator<Object>, AutoCloseable {
+        private final Stream<?> stream;
+        private final Iterator<?> iterator;
+
+        ClosingIterator(Stream<?> stream) {
+            this.stream = stream;
+            this.iterator = stream.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            return iterator.next();
+        }
+
+        @Override
+        public void close() {
+            stream.close();
+        }
+    }
+}
@@ -15,11 +15,9 @@
  */
 package org.openehealth.ipf.commons.ihe.xds.core.validate;
 
-import org.openehealth.ipf.commons.ihe.xds.core.metadata.Hl7v2Based;
-import org.openehealth.ipf.commons.ihe.xds.core.metadata.Identifiable;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.Hl7v2Components;
 
 import static org.apache.commons.lang3.StringUtils.*;
-import static org.openehealth.ipf.commons.ihe.xds.core.validate.HL7ValidationUtils.isEmptyField;
 import static org.openehealth.ipf.commons.ihe.xds.core.validate.ValidationMessage.CX_NEEDS_ID;
 import static org.openehealth.ipf.commons.ihe.xds.core.validate.ValidationMessage.CX_TOO_MANY_COMPONENTS;
 import static org.openehealth.ipf.commons.ihe.xds.core.validate.ValidatorAssertions.metaDataAssert;
@@ -30,6 +28,7 @@ import static org.openehealth.ipf.commons.ihe.xds.core.validate.ValidatorAsserti
  */
 public class CXValidator implements ValueValidator {
     private static final HDValidator HD_VALIDATOR = new HDValidator();
+    private static final int[] PROHIBITED_COMPONENTS = {2, 3, 5, 6, 7, 8, 9, 10};
 
     private final boolean assigningAuthorityRequired;
 
@@ -40,27 +39,23 @@ public class CXValidator implements ValueValidator {
 
     @Override
     public void validate(String hl7CX) throws XDSMetaDataException {
-        var identifiable = Hl7v2Based.parse(hl7CX, Identifiable.class);
-        metaDataAssert(identifiable != null, CX_NEEDS_ID);
-
-        var cx = identifiable.getHapiObject();
+        var cx = Hl7v2Components.parse(hl7CX);
+        var id = cx.get(1, 1);
+        var namespaceId = cx.get(4, 1);
+        var universalId = cx.get(4, 2);
+        var universalIdType = cx.get(4, 3);
+        metaDataAssert(isNotEmpty(id) || isNotEmpty(universalId) || isNotEmpty(universalIdType), CX_NEEDS_ID);
 
         // prohibited fields
-        metaDataAssert(isEmpty(cx.getCx2_CheckDigit().getValue()), CX_TOO_MANY_COMPONENTS);
-        metaDataAssert(isEmpty(cx.getCx3_CheckDigitScheme().getValue()), CX_TOO_MANY_COMPONENTS);
-        metaDataAssert(isEmpty(cx.getCx5_IdentifierTypeCode().getValue()), CX_TOO_MANY_COMPONENTS);
-        metaDataAssert(isEmptyField(cx.getCx6_AssigningFacility()), CX_TOO_MANY_COMPONENTS);
-        metaDataAssert(isEmpty(cx.getCx7_EffectiveDate().getValue()), CX_TOO_MANY_COMPONENTS);
-        metaDataAssert(isEmpty(cx.getCx8_ExpirationDate().getValue()), CX_TOO_MANY_COMPONENTS);
-        metaDataAssert(isEmptyField(cx.getCx9_AssigningJurisdiction()), CX_TOO_MANY_COMPONENTS);
-        metaDataAssert(isEmptyField(cx.getCx10_AssigningAgencyOrDepartment()), CX_TOO_MANY_COMPONENTS);
+        for (var component : PROHIBITED_COMPONENTS) {
+            metaDataAssert(!cx.hasValue(component), CX_TOO_MANY_COMPONENTS);
+        }
 
         // required and optional fields
-        metaDataAssert(isNotEmpty(cx.getCx1_IDNumber().getValue()), CX_NEEDS_ID, hl7CX);
+        metaDataAssert(isNotEmpty(id), CX_NEEDS_ID, hl7CX);
 
-        var assigningAuthority = cx.getCx4_AssigningAuthority();
-        if (assigningAuthorityRequired || (! isEmptyField(assigningAuthority))) {
-            HD_VALIDATOR.validate(assigningAuthority, hl7CX);
+        if (assigningAuthorityRequired || isNotEmpty(namespaceId) || isNotEmpty(universalId) || isNotEmpty(universalIdType)) {
+            HD_VALIDATOR.validate(namespaceId, universalId, universalIdType, hl7CX);
         }
     }
 }
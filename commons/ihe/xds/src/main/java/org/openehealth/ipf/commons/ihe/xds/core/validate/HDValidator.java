@@ -40,15 +40,34 @@ public class HDValidator {
      *      original string from XDS message where which contained the given HD element.
      */
     public void validate(HD hd, String original) {
-        metaDataAssert(StringUtils.isEmpty(hd.getHd1_NamespaceID().getValue()),
+        validate(
+                hd.getHd1_NamespaceID().getValue(),
+                hd.getHd2_UniversalID().getValue(),
+                hd.getHd3_UniversalIDType().getValue(),
+                original);
+    }
+
+
+    /**
+     * Validates the components of an HL7 v2 HD element.
+     * @param namespaceId
+     *      namespace ID (HD.1).
+     * @param universalId
+     *      universal ID (HD.2).
+     * @param universalIdType
+     *      universal ID type (HD.3).
+     * @param original
+     *      original string from XDS message where which contained the given HD element.
+     */
+    public void validate(String namespaceId, String universalId, String universalIdType, String original) {
+        metaDataAssert(StringUtils.isEmpty(namespaceId),
                 HD_MUST_NOT_HAVE_NAMESPACE_ID, original);
 
-        metaDataAssert(UNIVERSAL_ID_TYPE_OID.equals(hd.getHd3_UniversalIDType().getValue()),
+        metaDataAssert(UNIVERSAL_ID_TYPE_OID.equals(universalIdType),
                 UNIVERSAL_ID_TYPE_MUST_BE_ISO, original);
 
-        var oid = hd.getHd2_UniversalID().getValue();
-        metaDataAssert(StringUtils.isNotEmpty(oid), HD_NEEDS_UNIVERSAL_ID, original);
+        metaDataAssert(StringUtils.isNotEmpty(universalId), HD_NEEDS_UNIVERSAL_ID, original);
 
-        OID_VALIDATOR.validate(oid);
+        OID_VALIDATOR.validate(universalId);
     }
 }
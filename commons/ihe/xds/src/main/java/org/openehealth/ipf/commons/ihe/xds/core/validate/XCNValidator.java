@@ -15,14 +15,12 @@
  */
 package org.openehealth.ipf.commons.ihe.xds.core.validate;
 
-import org.openehealth.ipf.commons.ihe.xds.core.metadata.Hl7v2Based;
-import org.openehealth.ipf.commons.ihe.xds.core.metadata.Person;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.Hl7v2Components;
 
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 import static org.openehealth.ipf.commons.ihe.xds.core.validate.ValidationMessage.PERSON_MISSING_NAME_AND_ID;
 import static org.openehealth.ipf.commons.ihe.xds.core.validate.ValidationMessage.PERSON_HD_INOPPORTUNE;
 import static org.openehealth.ipf.commons.ihe.xds.core.validate.ValidatorAssertions.metaDataAssert;
-import static org.openehealth.ipf.commons.ihe.xds.core.validate.HL7ValidationUtils.isNotEmptyField;
 
 /**
  * Validates a XCN string.
@@ -33,19 +31,16 @@ public class XCNValidator implements ValueValidator {
 
     @Override
     public void validate(String hl7xcn) throws XDSMetaDataException {
-        var person = Hl7v2Based.parse(hl7xcn, Person.class);
-        metaDataAssert(person != null, PERSON_MISSING_NAME_AND_ID, hl7xcn);
+        var xcn = Hl7v2Components.parse(hl7xcn);
+        var id = xcn.get(1, 1);
+        metaDataAssert(isNotEmpty(id) || isNotEmpty(xcn.get(2, 1)), PERSON_MISSING_NAME_AND_ID, hl7xcn);
 
-        var xcn = person.getHapiObject();
-        metaDataAssert(
-                isNotEmpty(xcn.getXcn1_IDNumber().getValue()) ||
-                isNotEmpty(xcn.getXcn2_FamilyName().getFn1_Surname().getValue()),
-                PERSON_MISSING_NAME_AND_ID, hl7xcn);
-
-        var hd = xcn.getXcn9_AssigningAuthority();
-        if (isNotEmptyField(hd)) {
-            metaDataAssert(isNotEmpty(xcn.getXcn1_IDNumber().getValue()), PERSON_HD_INOPPORTUNE, hl7xcn);
-            HD_VALIDATOR.validate(hd, hl7xcn);
+        var namespaceId = xcn.get(9, 1);
+        var universalId = xcn.get(9, 2);
+        var universalIdType = xcn.get(9, 3);
+        if (isNotEmpty(namespaceId) || isNotEmpty(universalId) || isNotEmpty(universalIdType)) {
+            metaDataAssert(isNotEmpty(id), PERSON_HD_INOPPORTUNE, hl7xcn);
+            HD_VALIDATOR.validate(namespaceId, universalId, universalIdType, hl7xcn);
         }
     }
 }
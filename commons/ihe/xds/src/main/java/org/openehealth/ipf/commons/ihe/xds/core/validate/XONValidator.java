@@ -17,11 +17,9 @@ package org.openehealth.ipf.commons.ihe.xds.core.validate;
 
 import static org.openehealth.ipf.commons.ihe.xds.core.validate.ValidationMessage.*;
 import static org.openehealth.ipf.commons.ihe.xds.core.validate.ValidatorAssertions.*;
-import static org.openehealth.ipf.commons.ihe.xds.core.validate.HL7ValidationUtils.isEmptyField;
 import static org.apache.commons.lang3.StringUtils.*;
 
-import org.openehealth.ipf.commons.ihe.xds.core.metadata.Hl7v2Based;
-import org.openehealth.ipf.commons.ihe.xds.core.metadata.Organization;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.Hl7v2Components;
 
 /**
  * Validates a XON string.
@@ -30,32 +28,28 @@ import org.openehealth.ipf.commons.ihe.xds.core.metadata.Organization;
 public class XONValidator implements ValueValidator {
     private static final OIDValidator OID_VALIDATOR = new OIDValidator();
     private static final HDValidator HD_VALIDATOR = new HDValidator();
+    private static final int[] PROHIBITED_COMPONENTS = {2, 3, 4, 5, 7, 8, 9};
 
     @Override
     public void validate(String hl7XON) throws XDSMetaDataException {
-        var organization = Hl7v2Based.parse(hl7XON, Organization.class);
-        metaDataAssert(organization != null, ORGANIZATION_NAME_MISSING, hl7XON);
+        var xon = Hl7v2Components.parse(hl7XON);
+        metaDataAssert(isNotEmpty(xon.get(1, 1)), ORGANIZATION_NAME_MISSING, hl7XON);
 
-        var xon = organization.getHapiObject();
-        metaDataAssert(isNotEmpty(xon.getXon1_OrganizationName().getValue()), ORGANIZATION_NAME_MISSING, hl7XON);
-
-        var hd = xon.getXon6_AssigningAuthority();
-        if (isEmptyField(hd)) {
-            var idNumber = xon.getXon10_OrganizationIdentifier().getValue();
+        var namespaceId = xon.get(6, 1);
+        var universalId = xon.get(6, 2);
+        var universalIdType = xon.get(6, 3);
+        if (isEmpty(namespaceId) && isEmpty(universalId) && isEmpty(universalIdType)) {
+            var idNumber = xon.get(10, 1);
             if (isNotEmpty(idNumber)) {
                 OID_VALIDATOR.validate(idNumber);
             }
         } else {
-            HD_VALIDATOR.validate(hd, hl7XON);
+            HD_VALIDATOR.validate(namespaceId, universalId, universalIdType, hl7XON);
         }
 
         metaDataAssert(countMatches(hl7XON, "^") <= 9, ORGANIZATION_TOO_MANY_COMPONENTS);
-        metaDataAssert(isEmpty(xon.getXon2_OrganizationNameTypeCode().getValue()), ORGANIZATION_TOO_MANY_COMPONENTS);
-        metaDataAssert(isEmpty(xon.getXon3_IDNumber().getValue()), ORGANIZATION_TOO_MANY_COMPONENTS);
-        metaDataAssert(isEmpty(xon.getXon4_CheckDigit().getValue()), ORGANIZATION_TOO_MANY_COMPONENTS);
-        metaDataAssert(isEmpty(xon.getXon5_CheckDigitScheme().getValue()), ORGANIZATION_TOO_MANY_COMPONENTS);
-        metaDataAssert(isEmpty(xon.getXon7_IdentifierTypeCode().getValue()), ORGANIZATION_TOO_MANY_COMPONENTS);
-        metaDataAssert(isEmptyField(xon.getXon8_AssigningFacility()), ORGANIZATION_TOO_MANY_COMPONENTS);
-        metaDataAssert(isEmpty(xon.getXon9_NameRepresentationCode().getValue()), ORGANIZATION_TOO_MANY_COMPONENTS);
+        for (var component : PROHIBITED_COMPONENTS) {
+            metaDataAssert(!xon.hasValue(component), ORGANIZATION_TOO_MANY_COMPONENTS);
+        }
     }
 }
@@ -193,6 +193,7 @@ public class ObjectContainerValidator implements Validator<EbXMLObjectContainer,
 
     private void validateFolders(EbXMLObjectContainer container, ValidationProfile profile) throws XDSMetaDataException {
         var logicalIds = new HashSet<String>();
+        var submissionSetIds = getSubmissionSetIds(container);
         for (var folder : container.getRegistryPackages(FOLDER_CLASS_NODE)) {
              if (profile == RMU.Interactions.ITI_92) {
                  throw new XdsRuntimeException(ErrorCode.OBJECT_TYPE_ERROR, "Folders cannot be updated", Severity.ERROR, folder.getId());
@@ -215,7 +216,7 @@ public class ObjectContainerValidator implements Validator<EbXMLObjectContainer,
                     MISSING_FOLDER_NAME, folder.getId());
 
             if (profile == XDS.Interactions.ITI_57) {
-                validateUpdateObject(folder, container, profile);
+                validateUpdateObject(folder, container, submissionSetIds, profile);
             }
         }
     }
@@ -240,6 +241,7 @@ public class ObjectContainerValidator implements Validator<EbXMLObjectContainer,
 
     private void validateDocumentEntries(EbXMLObjectContainer container, ValidationProfile profile) throws XDSMetaDataException {
         var logicalIds = new HashSet<String>();
+        var submissionSetIds = getSubmissionSetIds(container);
         for (var docEntry : container.getExtrinsicObjects(DocumentEntryType.STABLE_OR_ON_DEMAND)) {
             var limitedMetadata = checkLimitedMetadata(docEntry, DOC_ENTRY_LIMITED_METADATA_CLASS_NODE, profile);
 
@@ -282,7 +284,7 @@ public class ObjectContainerValidator implements Validator<EbXMLObjectContainer,
             metaDataAssert(StringUtils.isNotEmpty(mimeType), MIME_TYPE_MUST_BE_SPECIFIED);
 
             if ((profile == XDS.Interactions.ITI_57) || (profile == RMU.Interactions.ITI_92)) {
-                validateUpdateObject(docEntry, container, profile);
+                validateUpdateObject(docEntry, container, submissionSetIds, profile);
             }
         }
     }
@@ -350,8 +352,10 @@ public class ObjectContainerValidator implements Validator<EbXMLObjectContainer,
                 .filter(docEntry -> docEntry.getId() != null)
                 .map(EbXMLRegistryObject::getId)
                 .collect(Collectors.toSet());
-        var submissionSetIds = container.getRegistryPackages(SUBMISSION_SET_CLASS_NODE).stream()
+        var submissionSetIds = getSubmissionSetIds(container);
+        var stableDocEntryIds = container.getExtrinsicObjects(DocumentEntryType.STABLE.getUuid()).stream()
                 .map(EbXMLRegistryObject::getId)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
         var associationIds = new HashSet<String>();
         var hasSubmitAssociationType = false;
@@ -379,9 +383,8 @@ public class ObjectContainerValidator implements Validator<EbXMLObjectContainer,
 
                 case IS_SNAPSHOT_OF:
                     if (!profile.isQuery()) {
-                        var sourceDocEntry = getExtrinsicObject(
-                                container, association.getSource(), DocumentEntryType.STABLE.getUuid());
-                        metaDataAssert(sourceDocEntry != null, MISSING_SNAPSHOT_ASSOCIATION, "sourceObject", association.getSource());
+                        metaDataAssert(stableDocEntryIds.contains(association.getSource()),
+                                MISSING_SNAPSHOT_ASSOCIATION, "sourceObject", association.getSource());
                         metaDataAssert(hasSubmitAssociationType || docEntryIds.contains(association.getSource()), SOURCE_UUID_NOT_FOUND);
                     }
                     break;
@@ -427,25 +430,15 @@ public class ObjectContainerValidator implements Validator<EbXMLObjectContainer,
         }
     }
 
-    private EbXMLExtrinsicObject getExtrinsicObject(EbXMLObjectContainer container, String docEntryId, String... objectTypes) {
-        for (var docEntry : container.getExtrinsicObjects(objectTypes)) {
-            if (docEntry.getId() != null && docEntry.getId().equals(docEntryId)) {
-                return docEntry;
-            }
-        }
-        return null;
-    }
-
-    private EbXMLRegistryPackage getRegistryPackage(EbXMLObjectContainer container, String submissionSetId, String classificationNode) {
-        for (var registryPackage : container.getRegistryPackages(classificationNode)) {
-            if (registryPackage.getId() != null && registryPackage.getId().equals(submissionSetId)) {
-                return registryPackage;
-            }
-        }
-        return null;
+    private static Set<String> getSubmissionSetIds(EbXMLObjectContainer container) {
+        return container.getRegistryPackages(SUBMISSION_SET_CLASS_NODE).stream()
+                .map(EbXMLRegistryObject::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
     }
 
-    private void validateUpdateObject(EbXMLRegistryObject registryObject, EbXMLObjectContainer container, ValidationProfile profile) {
+    private void validateUpdateObject(EbXMLRegistryObject registryObject, EbXMLObjectContainer container,
+                                      Set<String> submissionSetIds, ValidationProfile profile) {
 
         // logicalId is required for ITI-57 and optional for ITI-92
         var logicalId = registryObject.getLid();
@@ -465,10 +458,12 @@ public class ObjectContainerValidator implements Validator<EbXMLObjectContainer,
         }
 
         var foundHasMemberAssociation = false;
-        for (var association : container.getAssociations()) {
+        var associations = (registryObject.getId() != null)
+                ? container.getAssociationsByTarget(registryObject.getId())
+                : Collections.<EbXMLAssociation>emptyList();
+        for (var association : associations) {
             if (association.getAssociationType() == AssociationType.HAS_MEMBER
-                && association.getTarget().equals(registryObject.getId())
-                && (getRegistryPackage(container, association.getSource(), SUBMISSION_SET_CLASS_NODE) != null))
+                && submissionSetIds.contains(association.getSource()))
             {
                 if (association.getPreviousVersion() == null) {
                     throw new XdsRuntimeException(ErrorCode.METADATA_VERSION_ERROR,
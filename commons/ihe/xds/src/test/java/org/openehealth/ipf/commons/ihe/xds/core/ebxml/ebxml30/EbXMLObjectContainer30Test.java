@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.xds.core.ebxml.ebxml30;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openehealth.ipf.commons.ihe.xds.core.SampleData;
+import org.openehealth.ipf.commons.ihe.xds.core.ebxml.EbXMLClassification;
+import org.openehealth.ipf.commons.ihe.xds.core.ebxml.EbXMLObjectContainer;
+import org.openehealth.ipf.commons.ihe.xds.core.ebxml.EbXMLRegistryObject;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.Association;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.AssociationType;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.DocumentEntryType;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.Vocabulary;
+import org.openehealth.ipf.commons.ihe.xds.core.requests.RegisterDocumentSet;
+import org.openehealth.ipf.commons.ihe.xds.core.stub.ebrs30.rim.RegistryPackageType;
+import org.openehealth.ipf.commons.ihe.xds.core.transform.ebxml.AssociationTransformer;
+import org.openehealth.ipf.commons.ihe.xds.core.transform.requests.RegisterDocumentSetTransformer;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ *
+ */
+public class EbXMLObjectContainer30Test {
+    private final EbXMLFactory30 factory = new EbXMLFactory30();
+    private RegisterDocumentSet request;
+    private EbXMLSubmitObjectsRequest30 ebXML;
+
+    @BeforeEach
+    public void setUp() {
+        request = SampleData.createRegisterDocumentSet();
+        ebXML = (EbXMLSubmitObjectsRequest30) new RegisterDocumentSetTransformer(factory).toEbXML(request);
+    }
+
+    @Test
+    public void testLookups() {
+        var submissionSets = ebXML.getRegistryPackages(Vocabulary.SUBMISSION_SET_CLASS_NODE);
+        assertEquals(List.of(request.getSubmissionSet().getEntryUuid()), ids(submissionSets));
+        var folders = ebXML.getRegistryPackages(Vocabulary.FOLDER_CLASS_NODE);
+        assertEquals(List.of(request.getFolders().get(0).getEntryUuid()), ids(folders));
+        assertEquals(2, ebXML.getRegistryPackages().size());
+        assertEquals(2, ebXML.getClassifications().size());
+        assertEquals(1, ebXML.getExtrinsicObjects(DocumentEntryType.STABLE_OR_ON_DEMAND).size());
+        assertTrue(ebXML.getExtrinsicObjects(DocumentEntryType.ON_DEMAND.getUuid()).isEmpty());
+        assertEquals(3, ebXML.getAssociations().size());
+
+        var docEntryUuid = request.getDocumentEntries().get(0).getEntryUuid();
+        for (var association : ebXML.getAssociations()) {
+            assertTrue(ids(ebXML.getAssociationsBySource(association.getSource())).contains(association.getId()));
+            assertTrue(ids(ebXML.getAssociationsByTarget(association.getTarget())).contains(association.getId()));
+        }
+        assertEquals(2, ebXML.getAssociationsBySource(docEntryUuid).size()
+                + ebXML.getAssociationsByTarget(docEntryUuid).size());
+        assertTrue(ebXML.getAssociationsByTarget("unknown").isEmpty());
+
+        var submissionSetUuid = request.getSubmissionSet().getEntryUuid();
+        assertEquals(List.of(Vocabulary.SUBMISSION_SET_CLASS_NODE), nodes(ebXML.getClassifications(submissionSetUuid)));
+        assertTrue(ebXML.getClassifications("unknown").isEmpty());
+    }
+
+    @Test
+    public void testDefaultLookupsMatchIndex() {
+        var container = mock(EbXMLObjectContainer.class, CALLS_REAL_METHODS);
+        doReturn(ebXML.getAssociations()).when(container).getAssociations();
+        doReturn(ebXML.getClassifications()).when(container).getClassifications();
+        for (var association : ebXML.getAssociations()) {
+            assertEquals(ids(ebXML.getAssociationsBySource(association.getSource())),
+                    ids(container.getAssociationsBySource(association.getSource())));
+            assertEquals(ids(ebXML.getAssociationsByTarget(association.getTarget())),
+                    ids(container.getAssociationsByTarget(association.getTarget())));
+        }
+        assertTrue(container.getAssociationsByTarget("unknown").isEmpty());
+        for (var classification : ebXML.getClassifications()) {
+            assertEquals(nodes(ebXML.getClassifications(classification.getClassifiedObject())),
+                    nodes(container.getClassifications(classification.getClassifiedObject())));
+        }
+        assertTrue(container.getClassifications("unknown").isEmpty());
+    }
+
+    @Test
+    public void testIndexFollowsAdditions() {
+        var target = request.getFolders().get(0).getEntryUuid();
+        assertEquals(1, ebXML.getAssociationsByTarget(target).size());
+
+        var association = new Association(AssociationType.HAS_MEMBER, "urn:uuid:added",
+                request.getSubmissionSet().getEntryUuid(), target);
+        ebXML.addAssociation(new AssociationTransformer(factory).toEbXML(association, ebXML.getObjectLibrary()));
+        assertEquals(2, ebXML.getAssociationsByTarget(target).size());
+        assertEquals(4, ebXML.getAssociations().size());
+    }
+
+    @Test
+    public void testIndexFollowsContentChanges() {
+        assertEquals(1, ebXML.getRegistryPackages(Vocabulary.FOLDER_CLASS_NODE).size());
+
+        var folderId = request.getFolders().get(0).getEntryUuid();
+        ebXML.getContents().removeIf(element -> element.getValue() instanceof RegistryPackageType
+                && folderId.equals(element.getValue().getId()));
+        assertTrue(ebXML.getRegistryPackages(Vocabulary.FOLDER_CLASS_NODE).isEmpty());
+        assertEquals(1, ebXML.getRegistryPackages().size());
+    }
+
+    private static List<String> nodes(List<EbXMLClassification> classifications) {
+        return classifications.stream().map(EbXMLClassification::getClassificationNode).collect(Collectors.toList());
+    }
+
+    private static List<String> ids(List<? extends EbXMLRegistryObject> objects) {
+        return objects.stream().map(EbXMLRegistryObject::getId).collect(Collectors.toList());
+    }
+}
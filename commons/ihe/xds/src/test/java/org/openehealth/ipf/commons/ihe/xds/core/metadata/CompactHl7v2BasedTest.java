@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.xds.core.metadata;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class CompactHl7v2BasedTest {
+
+    @Test
+    public void testIdentifiable() throws Exception {
+        var identifiable = Hl7v2Based.parse("ab\\S\\c^^^ns&1.2.3&ISO", Identifiable.class);
+        assertEquals("ab^c", identifiable.getId());
+        assertEquals("1.2.3", identifiable.getAssigningAuthority().getUniversalId());
+        assertEquals("ISO", identifiable.getAssigningAuthority().getUniversalIdType());
+        assertEquals("ab\\S\\c^^^&1.2.3&ISO", identifiable.render());
+        assertEquals("ab\\S\\c^^^ns&1.2.3&ISO", Hl7v2Based.rawRender(identifiable));
+
+        var hapiObject = identifiable.getHapiObject();
+        assertNotSame(hapiObject, identifiable.getHapiObject());
+        assertEquals("ab^c", hapiObject.getCx1_IDNumber().getValue());
+        assertEquals("ns", hapiObject.getCx4_AssigningAuthority().getHd1_NamespaceID().getValue());
+        hapiObject.getCx1_IDNumber().setValue("lost");
+        assertEquals("ab^c", identifiable.getId());
+
+        identifiable.setId("xyz");
+        assertEquals("xyz^^^&1.2.3&ISO", identifiable.render());
+        assertEquals(new Identifiable("xyz", new AssigningAuthority("1.2.3")), identifiable);
+
+        var copy = new Identifiable(identifiable.getHapiObject());
+        assertEquals(identifiable, copy);
+        assertEquals("xyz^^^ns&1.2.3&ISO", Hl7v2Based.rawRender(copy));
+    }
+
+    @Test
+    public void testPerson() {
+        var hl7String = "id\\T\\1^Fam^Given^Second^Jr^Dr^PhD^^ns&1.2.3&ISO";
+        var person = Hl7v2Based.parse(hl7String, Person.class);
+        assertEquals(new Identifiable("id&1", new AssigningAuthority("1.2.3")), person.getId());
+        assertEquals(new XcnName("Fam", "Given", "Second", "Jr", "Dr", "PhD"), person.getName());
+        assertEquals(hl7String, person.render());
+        assertEquals(XdsHl7v2Renderer.encode(person), person.render());
+
+        person.getName().setGivenName("Other");
+        assertEquals("Other", person.getHapiObject().getXcn3_GivenName().getValue());
+        person.setId(null);
+        assertEquals("^Fam^Other^Second^Jr^Dr^PhD", person.render());
+        person.setName(null);
+        assertTrue(person.isEmpty());
+        assertTrue(XdsHl7v2Renderer.isEmpty(person));
+
+        person = Hl7v2Based.parse("^^^^^^^^^^^^DN", Person.class);
+        assertFalse(person.isEmpty());
+        assertEquals("^^^^^^^^^^^^DN", person.render());
+        assertEquals("^Fam", new Person(null, new XcnName("Fam", null, null, null, null, null)).render());
+    }
+
+    @Test
+    public void testOrganization() {
+        var organization = Hl7v2Based.parse("Name^A^^^^ns&1.2.3&ISO^^^^4.5", Organization.class);
+        assertEquals("Name", organization.getOrganizationName());
+        assertEquals(new AssigningAuthority("1.2.3"), organization.getAssigningAuthority());
+        assertEquals("4.5", organization.getIdNumber());
+        assertEquals("Name^^^^^ns&1.2.3&ISO^^^^4.5", organization.render());
+        assertEquals(XdsHl7v2Renderer.encode(organization), organization.render());
+        assertEquals("Name^A^^^^ns&1.2.3&ISO^^^^4.5", Hl7v2Based.rawRender(organization));
+
+        organization.setAssigningAuthority(null);
+        assertEquals("Name^^^^^^^^^4.5", organization.render());
+        assertNull(Hl7v2Based.parse("^A", Organization.class));
+    }
+
+    @Test
+    public void testAddress() {
+        var hl7String = "Street^Other^City^State^12345^Country^^^County";
+        var address = Hl7v2Based.parse(hl7String, Address.class);
+        assertEquals("Street", address.getStreetAddress());
+        assertEquals("County", address.getCountyParishCode());
+        assertEquals(hl7String, address.render());
+        assertEquals(XdsHl7v2Renderer.encode(address), address.render());
+
+        address = Hl7v2Based.parse("Street&Line^^City^^^^H", Address.class);
+        assertEquals("City", address.getCity());
+        assertEquals("Street&Line^^City^^^^H", address.render());
+        assertEquals(new Address(address.getHapiObject()), address);
+    }
+
+    @Test
+    public void testCode() {
+        var code = Hl7v2Based.parse("c1^Display^scheme", Code.class);
+        assertEquals("c1", code.getCode());
+        assertEquals(new LocalizedString("Display"), code.getDisplayName());
+        assertEquals("scheme", code.getSchemeName());
+        assertEquals("c1^^scheme", code.render());
+        assertEquals("c1^Display^scheme", Hl7v2Based.rawRender(code));
+        assertNull(Hl7v2Based.parse("^^", Code.class));
+    }
+
+    @Test
+    public void testComponentsOutsideOfXdsSubset() {
+        var hl7String = "1^2^3^41&42&43&44^51&52^6";
+        var identifiable = Hl7v2Based.parse(hl7String, Identifiable.class);
+        assertEquals("1^^^&42&43", identifiable.render());
+        assertEquals(hl7String, Hl7v2Based.rawRender(identifiable));
+        assertEquals("2", identifiable.getHapiObject().getCx2_CheckDigit().getValue());
+
+        identifiable.getAssigningAuthority().setUniversalId("4.5.6");
+        identifiable.setAssigningAuthority(identifiable.getAssigningAuthority());
+        assertEquals("1^2^3^41&4.5.6&43&44^51&52^6", Hl7v2Based.rawRender(identifiable));
+    }
+
+    @Test
+    public void testSerialization() {
+        var identifiable = Hl7v2Based.parse("1^2^^&1.2.3&ISO", Identifiable.class);
+        var copy = SerializationUtils.roundtrip(identifiable);
+        assertEquals(identifiable, copy);
+        assertEquals("1^2^^&1.2.3&ISO", Hl7v2Based.rawRender(copy));
+    }
+}
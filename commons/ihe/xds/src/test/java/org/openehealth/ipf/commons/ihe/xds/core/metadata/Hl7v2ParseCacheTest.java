@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.xds.core.metadata;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class Hl7v2ParseCacheTest {
+
+    private Hl7v2ParseCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new Hl7v2ParseCache(3);
+        Hl7v2Based.setParseCache(cache);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Hl7v2Based.setParseCache(null);
+    }
+
+    @Test
+    public void testCompactCopies() {
+        var hl7 = "42^^^&1.2.3&ISO";
+        var first = Hl7v2Based.parse(hl7, Identifiable.class);
+        var second = Hl7v2Based.parse(hl7, Identifiable.class);
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0.5, cache.getHitRate());
+
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        first.setId("43");
+        first.getAssigningAuthority().setUniversalId("1.2.4");
+        assertEquals(new Identifiable("42", new AssigningAuthority("1.2.3")), Hl7v2Based.parse(hl7, Identifiable.class));
+        assertEquals(hl7, Hl7v2Based.render(second));
+    }
+
+    @Test
+    public void testHapiCopies() {
+        var hl7 = "ref-12345^^^&1.2.3.4.5.6.7.8.9.1789&ISO^urn:ihe:iti:xds:2013:order";
+        Hl7v2Based.setParseCache(null);
+        var expected = Hl7v2Based.parse(hl7, ReferenceId.class);
+        Hl7v2Based.setParseCache(cache);
+
+        var first = Hl7v2Based.parse(hl7, ReferenceId.class);
+        first.setId("other");
+        var second = Hl7v2Based.parse(hl7, ReferenceId.class);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(expected, second);
+        assertEquals(Hl7v2Based.rawRender(expected), Hl7v2Based.rawRender(second));
+    }
+
+    @Test
+    public void testKeyedByClass() {
+        assertEquals("1.2.3", Hl7v2Based.parse("1.2.3", Code.class).getCode());
+        assertEquals("1.2.3", Hl7v2Based.parse("1.2.3", Identifiable.class).getId());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testEmptyAndEviction() {
+        assertNull(Hl7v2Based.parse("^^^", Identifiable.class));
+        assertNull(Hl7v2Based.parse("^^^", Identifiable.class));
+        assertEquals(1, cache.getHitCount());
+
+        Hl7v2Based.parse("1", Code.class);
+        Hl7v2Based.parse("2", Code.class);
+        assertEquals(3, cache.size());
+        Hl7v2Based.parse("^^^", Identifiable.class);
+        Hl7v2Based.parse("3", Code.class);
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(3, cache.size());
+
+        // the least recently used element has been evicted
+        assertEquals(2, cache.getHitCount());
+        Hl7v2Based.parse("^^^", Identifiable.class);
+        assertEquals(3, cache.getHitCount());
+        Hl7v2Based.parse("1", Code.class);
+        assertEquals(3, cache.getHitCount());
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        var threads = 8;
+        var maximumSize = 64;
+        cache = new Hl7v2ParseCache(maximumSize);
+        Hl7v2Based.setParseCache(cache);
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var tasks = new ArrayList<Callable<Void>>();
+            for (var t = 0; t < threads; ++t) {
+                tasks.add(() -> {
+                    for (var i = 0; i < 1000; ++i) {
+                        var code = Integer.toString(i % 100);
+                        assertEquals(code, Hl7v2Based.parse(code, Code.class).getCode());
+                    }
+                    return null;
+                });
+            }
+            for (var future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertEquals(threads * 1000, cache.getHitCount() + cache.getMissCount());
+        // eviction is skipped while another thread evicts, so the cache may slightly exceed its size
+        assertTrue(cache.size() <= maximumSize + threads);
+        assertTrue(cache.getEvictionCount() > 0);
+    }
+}
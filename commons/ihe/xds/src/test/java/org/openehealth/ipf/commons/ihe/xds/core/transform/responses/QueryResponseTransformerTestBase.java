@@ -18,12 +18,19 @@ package org.openehealth.ipf.commons.ihe.xds.core.transform.responses;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openehealth.ipf.commons.ihe.xds.core.SampleData;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.AssigningAuthority;
 import org.openehealth.ipf.commons.ihe.xds.core.metadata.AssociationType;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.Document;
 import org.openehealth.ipf.commons.ihe.xds.core.metadata.DocumentEntryType;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.Identifiable;
 import org.openehealth.ipf.commons.ihe.xds.core.metadata.Vocabulary;
 import org.openehealth.ipf.commons.ihe.xds.core.responses.QueryResponse;
+import org.openehealth.ipf.commons.ihe.xds.core.responses.Status;
+import org.openehealth.ipf.commons.ihe.xds.core.transform.ParallelMapper;
 import org.openehealth.ipf.commons.ihe.xds.core.transform.ebxml.FactoryCreator;
 
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -131,4 +138,42 @@ public abstract class QueryResponseTransformerTestBase implements FactoryCreator
         var ebXML = transformer.toEbXML(new QueryResponse());
         assertEquals(new QueryResponse(), transformer.fromEbXML(ebXML));
     }
+
+    @Test
+    public void testParallel() {
+        var patientIds = new Identifiable[100];
+        for (var i = 0; i < patientIds.length; ++i) {
+            patientIds[i] = new Identifiable("id" + i, new AssigningAuthority("1.3"));
+        }
+        var response = SampleData.createQueryResponseWithLeafClass(Status.SUCCESS, patientIds);
+        for (var i = 0; i < response.getDocumentEntries().size(); ++i) {
+            var docEntry = response.getDocumentEntries().get(i);
+            docEntry.setEntryUuid("document" + i);
+            if (i % 2 == 0) {
+                response.getDocuments().add(new Document(docEntry, SampleData.createDataHandler()));
+            }
+        }
+
+        var pool = new ForkJoinPool(4);
+        try {
+            var parallelTransformer = new QueryResponseTransformer(createFactory(), new ParallelMapper(pool, 10));
+            var ebXML = parallelTransformer.toEbXML(response);
+            var extrinsics = ebXML.getExtrinsicObjects();
+            assertEquals(100, extrinsics.size());
+            for (var i = 0; i < extrinsics.size(); ++i) {
+                assertEquals("document" + i, extrinsics.get(i).getId());
+                assertEquals(i % 2 == 0, extrinsics.get(i).getDataHandler() != null);
+            }
+
+            var result = parallelTransformer.fromEbXML(ebXML);
+            assertEquals(transformer.fromEbXML(transformer.toEbXML(response)), result);
+            assertEquals(response.getDocumentEntries(), result.getDocumentEntries());
+            assertEquals(response.getFolders(), result.getFolders());
+            assertEquals(response.getSubmissionSets(), result.getSubmissionSets());
+            assertEquals(50, result.getDocuments().size());
+            assertSame(result.getDocumentEntries().get(2), result.getDocuments().get(1).getDocumentEntry());
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.xds.core.transform.responses.ebxml30;
+
+import org.junit.jupiter.api.Test;
+import org.openehealth.ipf.commons.ihe.xds.core.SampleData;
+import org.openehealth.ipf.commons.ihe.xds.core.ebxml.ebxml30.EbXMLFactory30;
+import org.openehealth.ipf.commons.ihe.xds.core.ebxml.ebxml30.EbXMLQueryResponse30;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.AssigningAuthority;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.Association;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.DocumentEntry;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.Folder;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.Identifiable;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.ObjectReference;
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.SubmissionSet;
+import org.openehealth.ipf.commons.ihe.xds.core.responses.ErrorCode;
+import org.openehealth.ipf.commons.ihe.xds.core.responses.ErrorInfo;
+import org.openehealth.ipf.commons.ihe.xds.core.responses.QueryResponse;
+import org.openehealth.ipf.commons.ihe.xds.core.responses.Severity;
+import org.openehealth.ipf.commons.ihe.xds.core.responses.Status;
+import org.openehealth.ipf.commons.ihe.xds.core.stub.ebrs30.query.AdhocQueryResponse;
+import org.openehealth.ipf.commons.ihe.xds.core.transform.responses.QueryResponseTransformer;
+import org.openehealth.ipf.commons.ihe.xds.core.transform.responses.StreamingQueryResponseReader;
+
+import javax.xml.bind.JAXBContext;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class StreamingQueryResponseReaderTest {
+
+    private final QueryResponseTransformer transformer = new QueryResponseTransformer(new EbXMLFactory30());
+
+    private static byte[] marshal(AdhocQueryResponse response) throws Exception {
+        var out = new ByteArrayOutputStream();
+        JAXBContext.newInstance(AdhocQueryResponse.class).createMarshaller().marshal(response, out);
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testLeafClassSameAsTransformer() throws Exception {
+        var response = SampleData.createQueryResponseWithLeafClass(Status.SUCCESS,
+                new Identifiable("id3", new AssigningAuthority("1.3")),
+                new Identifiable("id4", new AssigningAuthority("1.4")));
+        var ebXML = (AdhocQueryResponse) transformer.toEbXML(response).getInternal();
+        var xml = marshal(ebXML);
+
+        var expected = transformer.fromEbXML(new EbXMLQueryResponse30(ebXML));
+        var actual = new QueryResponse(Status.SUCCESS);
+        try (var reader = new StreamingQueryResponseReader(new ByteArrayInputStream(xml))) {
+            assertEquals(Status.SUCCESS, reader.getStatus());
+            assertTrue(reader.getErrors().isEmpty());
+            reader.forEachRemaining(object -> {
+                if (object instanceof DocumentEntry) {
+                    actual.getDocumentEntries().add((DocumentEntry) object);
+                } else if (object instanceof Folder) {
+                    actual.getFolders().add((Folder) object);
+                } else if (object instanceof SubmissionSet) {
+                    actual.getSubmissionSets().add((SubmissionSet) object);
+                } else if (object instanceof Association) {
+                    actual.getAssociations().add((Association) object);
+                } else {
+                    fail("Unexpected object " + object);
+                }
+            });
+            assertFalse(reader.hasNext());
+            assertThrows(NoSuchElementException.class, reader::next);
+        }
+
+        assertEquals(2, actual.getDocumentEntries().size());
+        assertEquals(2, actual.getFolders().size());
+        assertEquals(2, actual.getSubmissionSets().size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testPackageClassifiedAfterwards() throws Exception {
+        var response = SampleData.createQueryResponseWithLeafClass();
+        var ebXML = (AdhocQueryResponse) transformer.toEbXML(response).getInternal();
+        // move all classifications to the end of the registry object list
+        var contents = ebXML.getRegistryObjectList().getIdentifiable();
+        var classifications = contents.stream()
+                .filter(element -> "Classification".equals(element.getName().getLocalPart()))
+                .collect(Collectors.toList());
+        contents.removeAll(classifications);
+        contents.addAll(classifications);
+
+        try (var reader = new StreamingQueryResponseReader(new ByteArrayInputStream(marshal(ebXML)))) {
+            var objects = reader.stream().collect(Collectors.toList());
+            assertEquals(Status.PARTIAL_SUCCESS, reader.getStatus());
+            assertEquals(1, objects.stream().filter(Folder.class::isInstance).count());
+            assertEquals(1, objects.stream().filter(SubmissionSet.class::isInstance).count());
+            assertEquals(response.getSubmissionSets().get(0).getEntryUuid(),
+                    ((SubmissionSet) objects.get(objects.size() - 1)).getEntryUuid());
+        }
+    }
+
+    @Test
+    public void testErrorsAndReferences() throws Exception {
+        var response = SampleData.createQueryResponseWithObjRef();
+        response.setStatus(Status.PARTIAL_SUCCESS);
+        var error = new ErrorInfo(ErrorCode.REGISTRY_ERROR, "context", Severity.WARNING, "location", null);
+        response.getErrors().add(error);
+        var ebXML = (AdhocQueryResponse) transformer.toEbXML(response).getInternal();
+
+        try (var reader = new StreamingQueryResponseReader(new ByteArrayInputStream(marshal(ebXML)))) {
+            assertEquals(Status.PARTIAL_SUCCESS, reader.getStatus());
+            assertEquals(1, reader.getErrors().size());
+            assertEquals(error, reader.getErrors().get(0));
+            var references = new ArrayList<>();
+            reader.forEachRemaining(references::add);
+            assertEquals(response.getReferences(), references);
+            assertTrue(references.get(0) instanceof ObjectReference);
+        }
+    }
+
+    @Test
+    public void testEmptyResponse() throws Exception {
+        var ebXML = (AdhocQueryResponse) transformer.toEbXML(new QueryResponse(Status.FAILURE)).getInternal();
+        try (var reader = new StreamingQueryResponseReader(new ByteArrayInputStream(marshal(ebXML)))) {
+            assertEquals(Status.FAILURE, reader.getStatus());
+            assertFalse(reader.hasNext());
+        }
+    }
+}
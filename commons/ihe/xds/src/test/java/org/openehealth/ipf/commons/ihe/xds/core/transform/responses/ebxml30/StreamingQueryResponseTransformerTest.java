@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.ihe.xds.core.transform.responses.ebxml30;
+
+import org.junit.jupiter.api.Test;
+import org.openehealth.ipf.commons.ihe.xds.core.SampleData;
+import org.openehealth.ipf.commons.ihe.xds.core.ebxml.ebxml30.EbXMLFactory30;
+import org.openehealth.ipf.commons.ihe.xds.core.ebxml.ebxml30.EbXMLQueryResponse30;
+import org.openehealth.ipf.commons.ihe.xds.core.responses.ErrorCode;
+import org.openehealth.ipf.commons.ihe.xds.core.responses.ErrorInfo;
+import org.openehealth.ipf.commons.ihe.xds.core.responses.Severity;
+import org.openehealth.ipf.commons.ihe.xds.core.responses.Status;
+import org.openehealth.ipf.commons.ihe.xds.core.stub.ebrs30.query.AdhocQueryResponse;
+import org.openehealth.ipf.commons.ihe.xds.core.transform.responses.QueryResponseTransformer;
+import org.openehealth.ipf.commons.ihe.xds.core.transform.responses.StreamingQueryResponseTransformer;
+
+import javax.xml.bind.JAXBContext;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class StreamingQueryResponseTransformerTest {
+
+    private final QueryResponseTransformer transformer = new QueryResponseTransformer(new EbXMLFactory30());
+    private final StreamingQueryResponseTransformer streamingTransformer = new StreamingQueryResponseTransformer();
+
+    private static AdhocQueryResponse roundTrip(AdhocQueryResponse response) throws Exception {
+        var context = JAXBContext.newInstance(AdhocQueryResponse.class);
+        var out = new ByteArrayOutputStream();
+        context.createMarshaller().marshal(response, out);
+        return (AdhocQueryResponse) context.createUnmarshaller().unmarshal(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test
+    public void testSameAsTransformer() throws Exception {
+        var response = SampleData.createQueryResponseWithLeafClass();
+        var objects = new ArrayList<>();
+        objects.addAll(response.getSubmissionSets());
+        objects.addAll(response.getDocumentEntries());
+        objects.addAll(response.getFolders());
+        objects.addAll(response.getAssociations());
+
+        var pulled = new AtomicInteger();
+        var closed = new AtomicBoolean();
+        var stream = objects.stream()
+                .peek(object -> pulled.incrementAndGet())
+                .onClose(() -> closed.set(true));
+        var ebXML = streamingTransformer.toEbXML(response.getStatus(), response.getErrors(), stream);
+        assertEquals(0, pulled.get());
+
+        var actual = transformer.fromEbXML(new EbXMLQueryResponse30(roundTrip(ebXML)));
+        assertEquals(objects.size(), pulled.get());
+        assertTrue(closed.get());
+        assertEquals(response, actual);
+    }
+
+    @Test
+    public void testErrors() throws Exception {
+        var error = new ErrorInfo(ErrorCode.REGISTRY_ERROR, "context", Severity.WARNING, "location", null);
+        var ebXML = streamingTransformer.toEbXML(Status.PARTIAL_SUCCESS, List.of(error),
+                SampleData.createQueryResponseWithObjRef().getReferences().iterator());
+
+        var actual = transformer.fromEbXML(new EbXMLQueryResponse30(roundTrip(ebXML)));
+        assertEquals(Status.PARTIAL_SUCCESS, actual.getStatus());
+        assertEquals(List.of(error), actual.getErrors());
+        assertEquals(SampleData.createQueryResponseWithObjRef().getReferences(), actual.getReferences());
+    }
+
+    @Test
+    public void testStatusAndErrorsFromSourceResponse() throws Exception {
+        var source = SampleData.createQueryResponseWithObjRef();
+        source.setStatus(Status.PARTIAL_SUCCESS);
+        source.setErrors(List.of(new ErrorInfo(ErrorCode.REGISTRY_ERROR, "context", Severity.WARNING, "location", null)));
+        var ebXML = streamingTransformer.toEbXML(source, source.getReferences().stream());
+
+        var actual = transformer.fromEbXML(new EbXMLQueryResponse30(roundTrip(ebXML)));
+        assertEquals(source, actual);
+    }
+
+    @Test
+    public void testListMethods() throws Exception {
+        var references = SampleData.createQueryResponseWithObjRef().getReferences();
+        var ebXML = streamingTransformer.toEbXML(Status.SUCCESS, null, references.iterator());
+        var list = ebXML.getRegistryObjectList().getIdentifiable();
+        assertFalse(list.isEmpty());
+        assertNotNull(list.toString());
+        assertEquals(list, list);
+        assertNotEquals(list, new ArrayList<>());
+        assertThrows(UnsupportedOperationException.class, list::size);
+        assertThrows(UnsupportedOperationException.class, () -> list.get(0));
+
+        // JAXB only iterates
+        var actual = transformer.fromEbXML(new EbXMLQueryResponse30(roundTrip(ebXML)));
+        assertEquals(references, actual.getReferences());
+        assertFalse(list.isEmpty());
+        assertThrows(IllegalStateException.class, list::iterator);
+    }
+
+    @Test
+    public void testClose() {
+        var closed = new AtomicInteger();
+        var stream = SampleData.createQueryResponseWithObjRef().getReferences().stream()
+                .onClose(closed::incrementAndGet);
+        var ebXML = streamingTransformer.toEbXML(Status.SUCCESS, null, stream);
+        var iterator = ebXML.getRegistryObjectList().getIdentifiable().iterator();
+        assertTrue(iterator.hasNext());
+        iterator.next();
+
+        StreamingQueryResponseTransformer.close(ebXML);
+        StreamingQueryResponseTransformer.close(ebXML);
+        assertEquals(1, closed.get());
+        assertFalse(iterator.hasNext());
+
+        // not a streaming response
+        StreamingQueryResponseTransformer.close(new AdhocQueryResponse());
+    }
+
+    @Test
+    public void testUnsupportedObject() {
+        var ebXML = streamingTransformer.toEbXML(Status.SUCCESS, null, List.of("foo").iterator());
+        var iterator = ebXML.getRegistryObjectList().getIdentifiable().iterator();
+        assertThrows(IllegalArgumentException.class, iterator::hasNext);
+    }
+}
@@ -15,36 +15,80 @@
  */
 package org.openehealth.ipf.commons.xml;
 
+import net.sf.saxon.om.NodeInfo;
 import org.openehealth.ipf.commons.core.modules.api.ValidationException;
 import org.openehealth.ipf.commons.core.modules.api.Validator;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+import org.xml.sax.helpers.XMLFilterImpl;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.sax.SAXSource;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
 
 import static java.util.Objects.requireNonNull;
-import static org.openehealth.ipf.commons.xml.XmlUtils.rootElementName;
-import static org.openehealth.ipf.commons.xml.XmlUtils.source;
 
 /**
  * XSD- and Schematron-based validator for HL7 v3 messages.
+ * <p>
+ * The message is parsed only once: the root element name is taken from the first
+ * start element event, XSD validation is performed on the SAX events during parsing,
+ * and the Schematron rules are applied to the tree built in the same pass.  When there
+ * are no Schematron rules for the root element, no tree is built.
+ *
  * @author Dmytro Rud
  */
 public class CombinedXmlValidator implements Validator<String, CombinedXmlValidationProfile> {
 
     private static final XsdValidator XSD_VALIDATOR = new XsdValidator(CombinedXmlValidator.class.getClassLoader());
     private static final SchematronValidator SCHEMATRON_VALIDATOR = new SchematronValidator();
+    // SAXParserFactory instances are not thread-safe
+    private static final ThreadLocal<SAXParserFactory> PARSER_FACTORY = ThreadLocal.withInitial(() -> {
+        var factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory;
+    });
+    private static final ContentHandler NO_OP_HANDLER = new DefaultHandler();
 
 
     @Override
     public void validate(String message, CombinedXmlValidationProfile profile) throws ValidationException {
         requireNonNull(profile, "validation profile must be not null");
-        // check whether the root element name is valid
-        var rootElementName = rootElementName(requireNonNull(message, "message must be not null"));
-        if (! profile.isValidRootElement(rootElementName)) {
+        requireNonNull(message, "message must be not null");
+
+        // parse the message, check whether the root element name is valid,
+        // perform XSD validation on the fly
+        var filter = new ValidatingFilter(profile);
+        NodeInfo document = null;
+        RuntimeException parsingFailure = null;
+        try {
+            filter.setParent(PARSER_FACTORY.get().newSAXParser().getXMLReader());
+            document = SCHEMATRON_VALIDATOR.parse(new SAXSource(filter, new InputSource(new StringReader(message))));
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IllegalStateException("Cannot create SAX parser", e);
+        } catch (RuntimeException e) {
+            parsingFailure = e;
+        }
+
+        var rootElementName = filter.rootElementName;
+        if (! filter.rootElementAccepted) {
             throw new ValidationException("Invalid root element '" + rootElementName + "'");
         }
 
-        // XSD validation
-        var xsdPath = profile.getXsdPath(rootElementName);
-        if (xsdPath != null) {
-            XSD_VALIDATOR.validate(source(message), xsdPath);
+        var exceptions = filter.errorHandler.getExceptions();
+        if (parsingFailure != null) {
+            exceptions.add(new ValidationException(
+                    "Unexpected validation failure because " + parsingFailure.getMessage(), parsingFailure));
+        }
+        if (! exceptions.isEmpty()) {
+            throw new ValidationException(exceptions);
         }
 
         // Schematron validation
@@ -53,7 +97,138 @@ public class CombinedXmlValidator implements Validator<String, CombinedXmlValida
             var schematronProfile = new SchematronProfile(
                     schematronPath,
                     profile.getCustomSchematronParameters(rootElementName));
-            SCHEMATRON_VALIDATOR.validate(source(message), schematronProfile);
+            SCHEMATRON_VALIDATOR.validate(document, schematronProfile);
+        }
+    }
+
+
+    /**
+     * SAX filter which determines the root element name and forwards the events
+     * to the XSD validator handler in addition to the tree builder.  When the tree
+     * is not needed, the tree builder only receives the end of the document.
+     */
+    private static class ValidatingFilter extends XMLFilterImpl {
+        private final CombinedXmlValidationProfile profile;
+        private final XsdValidator.CollectingErrorHandler errorHandler = new XsdValidator.CollectingErrorHandler();
+        private final List<String[]> rootPrefixMappings = new ArrayList<>();
+        private Locator locator;
+        private String rootElementName;
+        private boolean rootElementAccepted;
+        private ContentHandler validatorHandler;
+        private ContentHandler skippedTreeBuilder;
+
+        private ValidatingFilter(CombinedXmlValidationProfile profile) {
+            this.profile = profile;
+        }
+
+        @Override
+        public void setDocumentLocator(Locator locator) {
+            this.locator = locator;
+            super.setDocumentLocator(locator);
+        }
+
+        @Override
+        public void startPrefixMapping(String prefix, String uri) throws SAXException {
+            if (rootElementName == null) {
+                rootPrefixMappings.add(new String[]{prefix, uri});
+            } else if (validatorHandler != null) {
+                validatorHandler.startPrefixMapping(prefix, uri);
+            }
+            super.startPrefixMapping(prefix, uri);
+        }
+
+        @Override
+        public void endPrefixMapping(String prefix) throws SAXException {
+            if (validatorHandler != null) {
+                validatorHandler.endPrefixMapping(prefix);
+            }
+            super.endPrefixMapping(prefix);
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
+            if (rootElementName == null) {
+                startRootElement(localName);
+            }
+            if (validatorHandler != null) {
+                validatorHandler.startElement(uri, localName, qName, atts);
+            }
+            super.startElement(uri, localName, qName, atts);
+        }
+
+        private void startRootElement(String localName) throws SAXException {
+            rootElementName = localName;
+            rootElementAccepted = profile.isValidRootElement(localName);
+            if (! rootElementAccepted) {
+                // no need to parse further
+                throw new SAXException("Invalid root element '" + localName + "'");
+            }
+            if (profile.getSchematronPath(localName) == null) {
+                skippedTreeBuilder = getContentHandler();
+                setContentHandler(NO_OP_HANDLER);
+            }
+            var xsdPath = profile.getXsdPath(localName);
+            if (xsdPath != null) {
+                validatorHandler = XSD_VALIDATOR.newValidatorHandler(xsdPath, errorHandler);
+                if (locator != null) {
+                    validatorHandler.setDocumentLocator(locator);
+                }
+                validatorHandler.startDocument();
+                for (var mapping : rootPrefixMappings) {
+                    validatorHandler.startPrefixMapping(mapping[0], mapping[1]);
+                }
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            if (validatorHandler != null) {
+                validatorHandler.endElement(uri, localName, qName);
+            }
+            super.endElement(uri, localName, qName);
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            if (validatorHandler != null) {
+                validatorHandler.characters(ch, start, length);
+            }
+            super.characters(ch, start, length);
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+            if (validatorHandler != null) {
+                validatorHandler.ignorableWhitespace(ch, start, length);
+            }
+            super.ignorableWhitespace(ch, start, length);
+        }
+
+        @Override
+        public void processingInstruction(String target, String data) throws SAXException {
+            if (validatorHandler != null) {
+                validatorHandler.processingInstruction(target, data);
+            }
+            super.processingInstruction(target, data);
+        }
+
+        @Override
+        public void skippedEntity(String name) throws SAXException {
+            if (validatorHandler != null) {
+                validatorHandler.skippedEntity(name);
+            }
+            super.skippedEntity(name);
+        }
+
+        @Override
+        public void endDocument() throws SAXException {
+            if (validatorHandler != null) {
+                validatorHandler.endDocument();
+            }
+            if (skippedTreeBuilder != null) {
+                setContentHandler(skippedTreeBuilder);
+            }
+            super.endDocument();
         }
     }
 }
@@ -15,6 +15,7 @@
  */
 package org.openehealth.ipf.commons.xml;
 
+import net.sf.saxon.om.NodeInfo;
 import org.openehealth.ipf.commons.core.modules.api.ValidationException;
 import org.openehealth.ipf.commons.core.modules.api.Validator;
 import org.openehealth.ipf.commons.xml.svrl.FailedAssert;
@@ -29,7 +30,8 @@ import java.util.ArrayList;
  * error text and details (if available) are put into the {@link ValidationException}'s message.
  * <p>
  * The Validator accepts a {@link Source} as input, and a {@link SchematronProfile}
- * as validation profile parameter.
+ * as validation profile parameter.  A document which is validated several times should be
+ * {@link #parse(Source) parsed} once, the resulting tree is accepted as {@link Source} as well.
  *
  * @author Christian Ohr
  */
@@ -53,6 +55,18 @@ public class SchematronValidator implements Validator<Source, SchematronProfile>
         }
     }
 
+    /**
+     * Parses the given XML document into a tree which can be passed to
+     * {@link #validate(Source, SchematronProfile)} without being parsed again.
+     *
+     * @param message XML document.
+     * @return root node of the parsed document.
+     * @since 4.5
+     */
+    public NodeInfo parse(Source message) {
+        return schematronTransmogrifier.buildTree(message);
+    }
+
     private static String message(FailedAssert failedAssert) {
         var sb = new StringBuilder()
                 .append("Validation error at ")
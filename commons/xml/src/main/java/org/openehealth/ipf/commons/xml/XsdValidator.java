@@ -27,6 +27,7 @@ import javax.xml.XMLConstants;
 import javax.xml.transform.Source;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.ValidatorHandler;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -96,6 +97,30 @@ public class XsdValidator extends AbstractCachingXmlProcessor<Schema> implements
         }
     }
 
+    /**
+     * Creates a SAX content handler which validates the document whose events it receives,
+     * so that a document can be validated while it is being parsed for other purposes.
+     *
+     * @param schemaResource
+     *            the XML schema to validate against
+     * @param errorHandler
+     *            handler for the validation problems
+     * @return validator handler, document events must be passed to it starting with
+     *            {@link ValidatorHandler#startDocument()}
+     * @since 4.5
+     */
+    public ValidatorHandler newValidatorHandler(String schemaResource, ErrorHandler errorHandler) {
+        try {
+            var validatorHandler = resource(schemaResource).newValidatorHandler();
+            validatorHandler.setErrorHandler(errorHandler);
+            return validatorHandler;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Could not initialize XSD schema", e);
+        }
+    }
+
     @Override
     protected Schema createResource(Object... params) {
         // SchemaFactory is neither thread-safe nor reentrant
@@ -125,7 +150,7 @@ public class XsdValidator extends AbstractCachingXmlProcessor<Schema> implements
      * 
      * @author Christian Ohr
      */
-    private static class CollectingErrorHandler implements ErrorHandler {
+    static class CollectingErrorHandler implements ErrorHandler {
 
         private final List<ValidationException> exceptions = new ArrayList<>();
 
@@ -17,7 +17,11 @@ package org.openehealth.ipf.commons.xml;
 
 import lombok.Getter;
 import lombok.Setter;
+import net.sf.saxon.jaxp.SaxonTransformerFactory;
+import net.sf.saxon.lib.ParseOptions;
 import net.sf.saxon.lib.StandardURIResolver;
+import net.sf.saxon.om.NodeInfo;
+import net.sf.saxon.trans.XPathException;
 import org.openehealth.ipf.commons.core.modules.api.Transmogrifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -117,6 +121,30 @@ public class XsltTransmogrifier<T> extends AbstractCachingXmlProcessor<Templates
         return accessor.getResult();
     }
 
+    /**
+     * Parses the given source into a Saxon tree, which can then be passed to
+     * {@link #zap(Source, Object...)} repeatedly without being parsed again.
+     *
+     * @param source
+     *            XML document to be parsed
+     * @return root node of the parsed document
+     * @since 4.5
+     */
+    public NodeInfo buildTree(Source source) {
+        if (!(factory instanceof SaxonTransformerFactory)) {
+            throw new IllegalStateException("Saxon transformer factory expected, got " + factory.getClass().getName());
+        }
+        var configuration = ((SaxonTransformerFactory) factory).getConfiguration();
+        // parsing errors are propagated as exceptions, do not print them to the console
+        var options = new ParseOptions(configuration.getParseOptions());
+        options.setErrorReporter(error -> LOG.debug("XML parsing problem: {}", error.getMessage()));
+        try {
+            return configuration.buildDocumentTree(source, options).getRootNode();
+        } catch (XPathException e) {
+            throw new RuntimeException("XML parsing failed: " + e.getMessage(), e);
+        }
+    }
+
     private void doZap(Source source, Result result, Object... params) {
         if (params.length == 0) {
             throw new IllegalArgumentException("Expected XSL location in first parameter");
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.commons.xml;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.openehealth.ipf.commons.core.modules.api.ValidationException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class CombinedXmlValidatorTest {
+
+    private static final CombinedXmlValidationProfile PROFILE = new CombinedXmlValidationProfile() {
+        @Override
+        public boolean isValidRootElement(String rootElementName) {
+            return "a".equals(rootElementName);
+        }
+
+        @Override
+        public String getXsdPath(String rootElementName) {
+            return "/xsd/test.xsd";
+        }
+
+        @Override
+        public String getSchematronPath(String rootElementName) {
+            return "/schematron/combined-test-rules.xml";
+        }
+
+        @Override
+        public Map<String, Object> getCustomSchematronParameters(String rootElementName) {
+            return null;
+        }
+    };
+
+    private static final CombinedXmlValidationProfile XSD_ONLY_PROFILE = new CombinedXmlValidationProfile() {
+        @Override
+        public boolean isValidRootElement(String rootElementName) {
+            return PROFILE.isValidRootElement(rootElementName);
+        }
+
+        @Override
+        public String getXsdPath(String rootElementName) {
+            return PROFILE.getXsdPath(rootElementName);
+        }
+
+        @Override
+        public String getSchematronPath(String rootElementName) {
+            return null;
+        }
+
+        @Override
+        public Map<String, Object> getCustomSchematronParameters(String rootElementName) {
+            return null;
+        }
+    };
+
+    private final CombinedXmlValidator validator = new CombinedXmlValidator();
+
+    private String resource(String name) throws IOException {
+        return IOUtils.toString(getClass().getResourceAsStream(name), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testValid() throws Exception {
+        validator.validate(resource("/xsd/test.xml"), PROFILE);
+    }
+
+    @Test
+    public void testXsdFailure() throws Exception {
+        var message = resource("/xsd/invalidtest.xml");
+        var e = assertThrows(ValidationException.class, () -> validator.validate(message, PROFILE));
+        assertFalse(e instanceof SchematronValidationException);
+        assertTrue(e.getCauses().length > 1);
+    }
+
+    @Test
+    public void testSchematronFailure() throws Exception {
+        var message = resource("/xsd/test.xml").replace("<c>blub</c>", "<c>blab</c>");
+        assertThrows(SchematronValidationException.class, () -> validator.validate(message, PROFILE));
+    }
+
+    @Test
+    public void testWithoutSchematron() throws Exception {
+        // Schematron rules would fail, but are not configured
+        validator.validate(resource("/xsd/test.xml").replace("<c>blub</c>", "<c>blab</c>"), XSD_ONLY_PROFILE);
+        var e = assertThrows(ValidationException.class,
+                () -> validator.validate(resource("/xsd/invalidtest.xml"), XSD_ONLY_PROFILE));
+        assertTrue(e.getCauses().length > 1);
+        assertThrows(ValidationException.class,
+                () -> validator.validate("<a xmlns=\"http://org.openehealth.ipf/test\"><b>", XSD_ONLY_PROFILE));
+    }
+
+    @Test
+    public void testInvalidRootElement() {
+        var e = assertThrows(ValidationException.class, () -> validator.validate(
+                "<?xml version=\"1.0\"?><!-- comment --><t:b xmlns:t=\"http://org.openehealth.ipf/test\"/>", PROFILE));
+        assertEquals("Invalid root element 'b'", e.getMessage());
+    }
+
+    @Test
+    public void testMalformedMessage() {
+        assertThrows(ValidationException.class, () -> validator.validate("<a xmlns=\"http://org.openehealth.ipf/test\"><b>", PROFILE));
+        assertThrows(ValidationException.class, () -> validator.validate("no XML", PROFILE));
+    }
+}
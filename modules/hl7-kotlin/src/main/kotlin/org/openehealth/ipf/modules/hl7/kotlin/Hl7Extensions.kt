@@ -458,6 +458,16 @@ fun <T : Message> Message.respond(responseEvent: String, responseTrigger: String
     return out as T
 }
 
+/**
+ * @return the value addressed by the compiled Terser [path]
+ */
+operator fun Message.get(path: TerserPath): String? = path.get(this)
+
+/**
+ * Sets the value addressed by the compiled Terser [path]
+ */
+operator fun Message.set(path: TerserPath, v: Any?) = path.set(this, stringValue(v))
+
 /**
  * @return true if the version of this [Message] is at least [otherVersion]
  */
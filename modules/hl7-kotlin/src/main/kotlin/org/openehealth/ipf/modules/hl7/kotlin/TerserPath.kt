@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openehealth.ipf.modules.hl7.kotlin
+
+import ca.uhn.hl7v2.HL7Exception
+import ca.uhn.hl7v2.model.GenericMessage
+import ca.uhn.hl7v2.model.Group
+import ca.uhn.hl7v2.model.Message
+import ca.uhn.hl7v2.model.Segment
+import ca.uhn.hl7v2.model.Structure
+import ca.uhn.hl7v2.util.Terser
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Precompiled HAPI [Terser] path, e.g. `/PATIENT_RESULT/PATIENT/PID-5(1)-1` or `QUERY_RESPONSE/PID-3-4-2`.
+ *
+ * The spec is parsed only once. The location of the addressed segment is resolved with a [Terser]
+ * when a message class is seen for the first time, and is then stored as child names and repetitions,
+ * so that subsequent accesses to messages of the same class only perform a few group lookups.
+ * Paths with wildcards in the segment part and paths on [GenericMessage]s are always resolved by a Terser.
+ *
+ * Use it with the [Message.get] and [Message.set] operators, e.g. `msg[path]` and `msg[path] = "Smith"`.
+ *
+ * @since 4.5
+ */
+class TerserPath private constructor(spec: String) {
+
+    val spec: String = spec.trim()
+    private val segmentSpec: String = this.spec.substringBefore('-')
+    private val indices: IntArray = Terser.getIndices(this.spec)
+    private val cacheable: Boolean = '*' !in segmentSpec && '?' !in segmentSpec
+    private val locations = ConcurrentHashMap<Class<*>, Location>()
+
+    /**
+     * @return the segment addressed by this path, like [Terser.getSegment]
+     */
+    fun getSegment(message: Message): Segment {
+        if (!cacheable || message is GenericMessage) {
+            return Terser(message).getSegment(segmentSpec)
+        }
+        val location = locations[message.javaClass]
+        if (location == null) {
+            val segment = Terser(message).getSegment(segmentSpec)
+            Location.of(segment)?.let { locations.putIfAbsent(message.javaClass, it) }
+            return segment
+        }
+        return location.navigate(message)
+    }
+
+    /**
+     * @return the value addressed by this path, like [Terser.get]
+     */
+    fun get(message: Message): String? =
+            Terser.get(getSegment(message), indices[0], indices[1], indices[2], indices[3])
+
+    /**
+     * Sets the value addressed by this path, like [Terser.set]
+     */
+    fun set(message: Message, value: String?) =
+            Terser.set(getSegment(message), indices[0], indices[1], indices[2], indices[3], value)
+
+    override fun toString(): String = spec
+
+    private class Location(private val names: Array<String>, private val repetitions: IntArray) {
+
+        fun navigate(message: Message): Segment {
+            var group: Group = message
+            for (i in 0 until names.size - 1) {
+                group = group.get(names[i], repetitions[i]) as Group
+            }
+            return group.get(names.last(), repetitions.last()) as Segment
+        }
+
+        companion object {
+            fun of(segment: Segment): Location? {
+                val names = mutableListOf<String>()
+                val repetitions = mutableListOf<Int>()
+                var structure: Structure = segment
+                while (structure.parent != null && structure.parent !== structure) {
+                    val parent = structure.parent
+                    val (name, rep) = locate(parent, structure) ?: return null
+                    names.add(0, name)
+                    repetitions.add(0, rep)
+                    structure = parent
+                }
+                return if (names.isEmpty()) null else Location(names.toTypedArray(), repetitions.toIntArray())
+            }
+
+            private fun locate(parent: Group, child: Structure): Pair<String, Int>? {
+                for (name in parent.names) {
+                    val index = parent.getAll(name).indexOfFirst { it === child }
+                    if (index >= 0) return Pair(name, index)
+                }
+                return null
+            }
+        }
+    }
+
+    companion object {
+        private const val MAX_CACHE_SIZE = 1000
+        private val cache = ConcurrentHashMap<String, TerserPath>()
+
+        /**
+         * @return a compiled path for the given Terser spec, cached instances are returned
+         */
+        fun compile(spec: String): TerserPath =
+                cache[spec] ?: try {
+                    TerserPath(spec).also { if (cache.size < MAX_CACHE_SIZE) cache.putIfAbsent(spec, it) }
+                } catch (e: HL7Exception) {
+                    throw Hl7DslException("Invalid Terser spec $spec", e)
+                }
+    }
+}
@@ -18,6 +18,7 @@ package org.openehealth.ipf.modules.hl7.kotlin
 
 import ca.uhn.hl7v2.DefaultHapiContext
 import ca.uhn.hl7v2.model.Message
+import ca.uhn.hl7v2.util.Terser
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Test
 
@@ -113,4 +114,16 @@ class MessageTest {
         assertEquals("XYZ", msg2.triggerEvent)
     }
 
-}
\ No newline at end of file
+
+    @Test
+    fun testTerserPath() {
+        val spec = "/PATIENT_RESULT/PATIENT/PID-5-1"
+        val path = TerserPath.compile(spec)
+        assertEquals(Terser(msg4).get(spec), msg4[path])
+        assertEquals(msg4["PATIENT_RESULT"]["PATIENT"]["PID"][5][1].value, msg4[path])
+        msg4[path] = "Nobody"
+        assertEquals("Nobody", msg4["PATIENT_RESULT"]["PATIENT"]["PID"][5][1].value)
+        assertEquals("Nobody", msg4[path])
+        assertEquals(msg1["PID"][5][2].value, msg1[TerserPath.compile("PID-5-2")])
+    }
+}
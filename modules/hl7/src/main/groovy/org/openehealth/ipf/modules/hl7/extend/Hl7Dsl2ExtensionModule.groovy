@@ -19,6 +19,7 @@ import ca.uhn.hl7v2.model.*
 import ca.uhn.hl7v2.parser.FixFieldDataType
 import ca.uhn.hl7v2.util.DeepCopy
 import ca.uhn.hl7v2.util.ReadOnlyMessageIterator
+import org.openehealth.ipf.modules.hl7.TerserPath
 import org.openehealth.ipf.modules.hl7.dsl.HL7DslException
 import org.openehealth.ipf.modules.hl7.dsl.Null
 import org.openehealth.ipf.modules.hl7.dsl.Repeatable
@@ -714,6 +715,34 @@ class Hl7Dsl2ExtensionModule {
         writer
     }
 
+    /**
+     * Read access by a precompiled Terser path, e.g. <code>msg[TerserPath.compile('PID-5-1')]</code>.
+     * Unlike the navigation with the DSL, this does not involve any dynamic method dispatch on
+     * the HAPI model classes.
+     *
+     * @param delegate message
+     * @param path compiled Terser path
+     * @return the value addressed by the path
+     *
+     * @DSLDoc http://repo.openehealth.org/confluence/display/ipf2/HL7+DSL
+     */
+    static String getAt(Message delegate, TerserPath path) {
+        path.get(delegate)
+    }
+
+    /**
+     * Write access by a precompiled Terser path, e.g. <code>msg[TerserPath.compile('PID-5-1')] = 'Smith'</code>
+     *
+     * @param delegate message
+     * @param path compiled Terser path
+     * @param value any source value
+     *
+     * @DSLDoc http://repo.openehealth.org/confluence/display/ipf2/HL7+DSL
+     */
+    static void putAt(Message delegate, TerserPath path, value) {
+        path.set(delegate, value == null ? null : stringValue(value))
+    }
+
     // Helpers
 
     private static selector(elements, adapter, index) {
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.modules.hl7;
+
+import ca.uhn.hl7v2.HL7Exception;
+import ca.uhn.hl7v2.model.GenericMessage;
+import ca.uhn.hl7v2.model.Group;
+import ca.uhn.hl7v2.model.Message;
+import ca.uhn.hl7v2.model.Segment;
+import ca.uhn.hl7v2.model.Structure;
+import ca.uhn.hl7v2.util.Terser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precompiled HAPI {@link Terser} path, e.g. <code>/PATIENT_RESULT/PATIENT/PID-5(1)-1</code>
+ * or <code>PID-3-4-2</code>.
+ * <p>
+ * The spec is parsed only once. The location of the addressed segment is resolved with a
+ * {@link Terser} when a message class is seen for the first time, and is then stored as an array
+ * of child names and repetitions, so that subsequent accesses to messages of the same class
+ * only perform a few group lookups instead of a segment search. Field, repetition, component and
+ * subcomponent indexes are precomputed.
+ * <p>
+ * Paths with wildcards in the segment part and paths on {@link GenericMessage}s, whose structure
+ * depends on the content, are always resolved by a Terser.
+ * <p>
+ * Instances are immutable and thread-safe; {@link #compile(String)} returns cached instances.
+ *
+ * @since 4.5
+ */
+public final class TerserPath {
+
+    private static final int MAX_CACHE_SIZE = 1000;
+    private static final Map<String, TerserPath> CACHE = new ConcurrentHashMap<>();
+
+    private final String spec;
+    private final String segmentSpec;
+    private final int field;
+    private final int repetition;
+    private final int component;
+    private final int subComponent;
+    private final boolean cacheable;
+    private final Map<Class<?>, Location> locations = new ConcurrentHashMap<>();
+
+    private TerserPath(String spec) throws HL7Exception {
+        this.spec = Objects.requireNonNull(spec).trim();
+        var dash = this.spec.indexOf('-');
+        this.segmentSpec = (dash < 0) ? this.spec : this.spec.substring(0, dash);
+        var indices = Terser.getIndices(this.spec);
+        this.field = indices[0];
+        this.repetition = indices[1];
+        this.component = indices[2];
+        this.subComponent = indices[3];
+        this.cacheable = segmentSpec.indexOf('*') < 0 && segmentSpec.indexOf('?') < 0;
+    }
+
+    /**
+     * Returns a compiled path for the given Terser spec.
+     *
+     * @param spec Terser spec
+     * @return compiled path
+     * @throws HL7v2Exception if the spec is invalid
+     */
+    public static TerserPath compile(String spec) {
+        var path = CACHE.get(spec);
+        if (path == null) {
+            try {
+                path = new TerserPath(spec);
+            } catch (HL7Exception e) {
+                throw new HL7v2Exception(e);
+            }
+            if (CACHE.size() < MAX_CACHE_SIZE) {
+                CACHE.putIfAbsent(spec, path);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * @return the Terser spec of this path
+     */
+    public String getSpec() {
+        return spec;
+    }
+
+    /**
+     * Returns the segment addressed by this path, like {@link Terser#getSegment(String)}.
+     */
+    public Segment getSegment(Message message) throws HL7Exception {
+        if (!cacheable || message instanceof GenericMessage) {
+            return new Terser(message).getSegment(segmentSpec);
+        }
+        var location = locations.get(message.getClass());
+        if (location == null) {
+            var segment = new Terser(message).getSegment(segmentSpec);
+            location = Location.of(segment);
+            if (location != null) {
+                locations.putIfAbsent(message.getClass(), location);
+            }
+            return segment;
+        }
+        return location.navigate(message);
+    }
+
+    /**
+     * Returns the value addressed by this path, like {@link Terser#get(String)}.
+     */
+    public String get(Message message) throws HL7Exception {
+        return Terser.get(getSegment(message), field, repetition, component, subComponent);
+    }
+
+    /**
+     * Sets the value addressed by this path, like {@link Terser#set(String, String)}.
+     */
+    public void set(Message message, String value) throws HL7Exception {
+        Terser.set(getSegment(message), field, repetition, component, subComponent, value);
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+
+    /**
+     * Names and repetitions of the structures leading from the message to a segment.
+     */
+    private static final class Location {
+
+        private final String[] names;
+        private final int[] repetitions;
+
+        private Location(String[] names, int[] repetitions) {
+            this.names = names;
+            this.repetitions = repetitions;
+        }
+
+        static Location of(Segment segment) throws HL7Exception {
+            var names = new ArrayList<String>();
+            var repetitions = new ArrayList<Integer>();
+            Structure structure = segment;
+            while (structure.getParent() != null && structure.getParent() != structure) {
+                var parent = structure.getParent();
+                if (!locate(parent, structure, names, repetitions)) {
+                    return null;
+                }
+                structure = parent;
+            }
+            if (names.isEmpty()) {
+                return null;
+            }
+            Collections.reverse(names);
+            Collections.reverse(repetitions);
+            return new Location(
+                    names.toArray(new String[0]),
+                    repetitions.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        private static boolean locate(Group parent, Structure child, ArrayList<String> names, ArrayList<Integer> repetitions) throws HL7Exception {
+            for (var name : parent.getNames()) {
+                var all = parent.getAll(name);
+                for (var i = 0; i < all.length; ++i) {
+                    if (all[i] == child) {
+                        names.add(name);
+                        repetitions.add(i);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        Segment navigate(Message message) throws HL7Exception {
+            Group group = message;
+            var last = names.length - 1;
+            for (var i = 0; i < last; ++i) {
+                group = (Group) group.get(names[i], repetitions[i]);
+            }
+            return (Segment) group.get(names[last], repetitions[last]);
+        }
+    }
+}
@@ -20,6 +20,7 @@ import ca.uhn.hl7v2.model.v24.message.ORU_R01
 import ca.uhn.hl7v2.model.v25.message.MDM_T01
 import org.junit.Before
 import org.junit.Test
+import org.openehealth.ipf.modules.hl7.TerserPath
 import org.openehealth.ipf.modules.hl7.message.MessageUtils
 
 import static org.openehealth.ipf.modules.hl7.dsl.TestUtils.load
@@ -111,4 +112,13 @@ class MessageTest extends groovy.test.GroovyAssert {
         def msg4Copy = MessageUtils.copy(msg4)
         assert msg4.toString() == msg4Copy.toString()
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCompiledPath() {
+        def path = TerserPath.compile('/PATIENT_RESULT/ORDER_OBSERVATION/OBSERVATION(1)/OBX-5')
+        assert msg2[path] == msg2.PATIENT_RESULT.ORDER_OBSERVATION.OBSERVATION(1).OBX[5].value
+        msg2[path] = 'changed'
+        assert msg2.PATIENT_RESULT.ORDER_OBSERVATION.OBSERVATION(1).OBX[5].value == 'changed'
+        assert msg1[TerserPath.compile('PID-5-2')] == msg1.PID[5][2].value
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.modules.hl7;
+
+import ca.uhn.hl7v2.util.Terser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.openehealth.ipf.modules.hl7.SegmentFinderTest.loadFile;
+
+/**
+ *
+ */
+public class TerserPathTest {
+
+    private static final String[] SPECS = {
+            "MSH-9-1", "MSH-10", "QUERY_RESPONSE/PID-5-2", "QUERY_RESPONSE(0)/PID-3(1)-4-2",
+            "/QUERY_RESPONSE(2)/PID-1", "QUERY_RESPONSE(1)/PID-5(1)-7", "/.QPD-3-1", "/QUERY_RESPONSE(2)/PID-11-6"
+    };
+
+    @Test
+    public void testGetSameAsTerser() throws Exception {
+        var message = loadFile("msg-11.hl7");
+        var other = loadFile("msg-11.hl7");
+        for (var spec : SPECS) {
+            var path = TerserPath.compile(spec);
+            var expected = new Terser(message).get(spec);
+            assertEquals(expected, path.get(message), spec);
+            // location is now cached for the message class
+            assertEquals(expected, path.get(message), spec);
+            assertEquals(new Terser(other).get(spec), path.get(other), spec);
+        }
+    }
+
+    @Test
+    public void testSet() throws Exception {
+        var message = loadFile("msg-11.hl7");
+        var path = TerserPath.compile("/QUERY_RESPONSE(1)/PID-5(1)-2");
+        path.get(message);
+        path.set(message, "Otto");
+        assertEquals("Otto", new Terser(message).get("/QUERY_RESPONSE(1)/PID-5(1)-2"));
+        assertEquals("Otto", path.get(message));
+    }
+
+    @Test
+    public void testCompileIsCached() {
+        assertSame(TerserPath.compile("PID-5-1"), TerserPath.compile("PID-5-1"));
+    }
+
+    @Test
+    public void testWildcards() throws Exception {
+        var message = loadFile("msg-01.hl7");
+        var path = TerserPath.compile("P?D-5-1");
+        assertEquals(new Terser(message).get("P?D-5-1"), path.get(message));
+        assertEquals("Nachname", path.get(message));
+    }
+}
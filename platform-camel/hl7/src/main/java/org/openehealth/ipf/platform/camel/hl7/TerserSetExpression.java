@@ -17,22 +17,22 @@
 package org.openehealth.ipf.platform.camel.hl7;
 
 import ca.uhn.hl7v2.HL7Exception;
-import ca.uhn.hl7v2.util.Terser;
 import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
 import org.openehealth.ipf.modules.hl7.HL7v2Exception;
+import org.openehealth.ipf.modules.hl7.TerserPath;
 
 /**
  *
  */
 public class TerserSetExpression implements Expression {
 
-    private final String spec;
+    private final TerserPath path;
     private final Expression value;
 
     public TerserSetExpression(String spec, Expression value) {
         super();
-        this.spec = spec;
+        this.path = TerserPath.compile(spec);
         this.value = value;
     }
 
@@ -40,7 +40,7 @@ public class TerserSetExpression implements Expression {
     public <T> T evaluate(Exchange exchange, Class<T> type) {
         try {
             var msg = HL7v2.bodyMessage(exchange);
-            new Terser(msg).set(spec, value.evaluate(exchange, String.class));
+            path.set(msg, value.evaluate(exchange, String.class));
             return (T)msg;
         } catch (HL7Exception e) {
             throw new HL7v2Exception(e);
@@ -0,0 +1,600 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.platform.camel.hl7.validation;
+
+import ca.uhn.hl7v2.HL7Exception;
+import ca.uhn.hl7v2.HapiContext;
+import ca.uhn.hl7v2.model.Composite;
+import ca.uhn.hl7v2.model.DataTypeException;
+import ca.uhn.hl7v2.model.Group;
+import ca.uhn.hl7v2.model.Message;
+import ca.uhn.hl7v2.model.Primitive;
+import ca.uhn.hl7v2.model.Segment;
+import ca.uhn.hl7v2.model.Structure;
+import ca.uhn.hl7v2.model.Type;
+import ca.uhn.hl7v2.model.Visitable;
+import ca.uhn.hl7v2.model.primitive.TSComponentOne;
+import ca.uhn.hl7v2.parser.EncodingCharacters;
+import ca.uhn.hl7v2.parser.PipeParser;
+import ca.uhn.hl7v2.util.Terser;
+import ca.uhn.hl7v2.validation.ValidationException;
+import ca.uhn.hl7v2.validation.impl.AbstractMessageRule;
+import org.openehealth.ipf.gazelle.validation.core.stub.HL7V2XConformanceProfile;
+import org.openehealth.ipf.gazelle.validation.core.stub.HL7V2XStaticDef;
+import org.openehealth.ipf.gazelle.validation.core.stub.SegmentType;
+import org.openehealth.ipf.gazelle.validation.core.util.MessageUtils;
+import org.openehealth.ipf.gazelle.validation.profile.ConformanceProfile;
+import org.openehealth.ipf.gazelle.validation.profile.HL7v2Transactions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.openehealth.ipf.gazelle.validation.core.util.ProfileAssertions.profileNotHL7Compliant;
+import static org.openehealth.ipf.gazelle.validation.core.util.ProfileAssertions.profileViolatedWhen;
+import static org.openehealth.ipf.gazelle.validation.core.util.ProfileValidationMessage.*;
+
+/**
+ * Drop-in replacement for {@link org.openehealth.ipf.gazelle.validation.core.CachingGazelleProfileRule}.
+ * <p>
+ * Each conformance profile is compiled once into a tree of immutable rules, which carry the
+ * usage, cardinality, length and constant value of each element as well as the names and positions
+ * of the allowed child elements. Validating a message only walks the HAPI model along these rules,
+ * without re-interpreting the JAXB representation of the profile and without bean copying of
+ * profile elements. The reported {@link ValidationException}s are the same as those of
+ * {@link org.openehealth.ipf.gazelle.validation.core.GazelleProfileRule}, in the same order.
+ * <p>
+ * Compiled profiles are cached by profile ID.
+ *
+ * @since 4.5
+ */
+public class CompiledGazelleProfileRule extends AbstractMessageRule {
+
+    private static final long serialVersionUID = 3618127497617322311L;
+    private static final Logger LOG = LoggerFactory.getLogger(CompiledGazelleProfileRule.class);
+    private static final Map<String, CompiledProfile> PROFILE_CACHE = new ConcurrentHashMap<>();
+    private static final EncodingCharacters ENCODING_CHARACTERS = new EncodingCharacters('|', null);
+    private static volatile JAXBContext jaxbContext;
+
+    private final HL7v2Transactions iheTransaction;
+    private final ConformanceProfile profile;
+
+    public CompiledGazelleProfileRule(HL7v2Transactions iheTransaction) {
+        this.iheTransaction = iheTransaction;
+        this.profile = null;
+    }
+
+    public CompiledGazelleProfileRule(ConformanceProfile profile) {
+        this.iheTransaction = null;
+        this.profile = profile;
+    }
+
+    @Override
+    public ValidationException[] apply(Message message) {
+        try {
+            var conformanceProfile = (profile == null)
+                    ? MessageUtils.guessGazelleProfile(iheTransaction, message)
+                    : profile;
+            if (conformanceProfile == null) {
+                return failed("No matching profile could be loaded for message of type " + message.getClass().getName());
+            }
+            var profileId = conformanceProfile.profileInfo().profileId();
+            var compiledProfile = compiledProfile(message.getParser().getHapiContext(), profileId);
+            if (compiledProfile == null) {
+                return failed("Cannot parse conformance profile " + profileId + " for message of type " + message.getClass().getName());
+            }
+            return compiledProfile.apply(message);
+        } catch (Exception e) {
+            return failed(e);
+        }
+    }
+
+    /**
+     * @return compiled profile with the given ID, loaded from the profile store of the given HAPI context.
+     */
+    protected CompiledProfile compiledProfile(HapiContext context, String profileId) throws JAXBException, IOException {
+        var result = PROFILE_CACHE.get(profileId);
+        if (result == null) {
+            LOG.debug("Conformance Profile {} requested, but has not been compiled yet", profileId);
+            var profileString = context.getProfileStore().getProfile(profileId);
+            if (profileString == null) {
+                return null;
+            }
+            var conformanceProfile = (HL7V2XConformanceProfile) getJaxbContext().createUnmarshaller()
+                    .unmarshal(new StringReader(profileString));
+            var compiled = compile(conformanceProfile);
+            result = PROFILE_CACHE.putIfAbsent(profileId, compiled);
+            if (result == null) {
+                LOG.debug("Added compiled conformance profile {} to cache", profileId);
+                result = compiled;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compiles the given conformance profile.
+     */
+    public static CompiledProfile compile(HL7V2XConformanceProfile profile) {
+        HL7V2XStaticDef staticDef = null;
+        for (var ref : profile.getDynamicDevesAndHL7V2XStaticDevesAndHL7V2XStaticDefReves()) {
+            if (ref.getClass().isAssignableFrom(HL7V2XStaticDef.class)) {
+                staticDef = (HL7V2XStaticDef) ref;
+            }
+        }
+        return (staticDef == null)
+                ? new CompiledProfile(null, null, profile.getHL7Version(), null)
+                : new CompiledProfile(staticDef.getMsgType(), staticDef.getEventType(), profile.getHL7Version(),
+                        new GroupRule(null, staticDef.getSegmentsAndSegGroups()));
+    }
+
+    static void reset() {
+        PROFILE_CACHE.clear();
+    }
+
+    private static JAXBContext getJaxbContext() throws JAXBException {
+        if (jaxbContext == null) {
+            jaxbContext = JAXBContext.newInstance(HL7V2XConformanceProfile.class);
+        }
+        return jaxbContext;
+    }
+
+    /**
+     * Conformance profile compiled into a tree of rules.
+     */
+    public static final class CompiledProfile {
+
+        private final String messageType;
+        private final String triggerEvent;
+        private final String version;
+        private final GroupRule messageRule;
+
+        private CompiledProfile(String messageType, String triggerEvent, String version, GroupRule messageRule) {
+            this.messageType = messageType;
+            this.triggerEvent = triggerEvent;
+            this.version = version;
+            this.messageRule = messageRule;
+        }
+
+        public ValidationException[] apply(Message message) {
+            var violations = new ArrayList<ValidationException>();
+            if (messageRule == null) {
+                violations.add(new ValidationException("No Static Definitions found in HL7V2XConformance profile"));
+            } else {
+                var terser = new Terser(message);
+                MessageUtils.checkMSHTypeField(messageType, terser, violations);
+                MessageUtils.checkMSHEventField(triggerEvent, terser, violations);
+                MessageUtils.checkMSHVersionField(version, terser, violations);
+                messageRule.test(message, violations);
+            }
+            return violations.toArray(new ValidationException[0]);
+        }
+    }
+
+    /**
+     * Usage, cardinality, length and constant value of a profile element.
+     */
+    private abstract static class ElementRule {
+
+        final String name;
+        final boolean required;
+        final boolean disallowed;
+        final boolean nullContext;
+        final int min;
+        final int max;
+        final int length;
+        final String constantValue;
+
+        ElementRule(String name, String usage, BigInteger min, String max, BigInteger length, String constantValue) {
+            this.name = name;
+            this.required = "R".equalsIgnoreCase(usage);
+            this.disallowed = "X".equalsIgnoreCase(usage);
+            this.nullContext = "NULL".equalsIgnoreCase(usage);
+            this.min = (min != null) ? min.intValue() : 0;
+            this.max = (max == null) ? 0 : "*".equals(max) ? Short.MAX_VALUE : Short.parseShort(max);
+            this.length = (length != null) ? length.intValue() : 255;
+            this.constantValue = (constantValue != null && !constantValue.isEmpty()) ? constantValue : null;
+        }
+
+        void testCardinality(int reps, List<ValidationException> violations) {
+            if (reps < min && required) {
+                profileViolatedWhen(true, violations, LESS_THAN_MINIMUM_CARDINALITY, name, min, reps);
+            }
+            if (max > 0 && reps > max) {
+                profileViolatedWhen(true, violations, MORE_THAN_MAXIMUM_CARDINALITY, name, max, reps);
+            }
+            if (reps > 0 && disallowed) {
+                profileViolatedWhen(true, violations, NOT_SUPPORTED_ELEMENT_PRESENT, name);
+            }
+        }
+    }
+
+    /**
+     * Rule for a segment or a segment group.
+     */
+    private abstract static class StructureRule extends ElementRule {
+
+        StructureRule(String name, String usage, BigInteger min, String max) {
+            super(name, usage, min, max, null, null);
+        }
+
+        abstract void test(Structure structure, List<ValidationException> violations);
+    }
+
+    private static final class GroupRule extends StructureRule {
+
+        private final StructureRule[] children;
+        private final Set<String> allowedNames = new HashSet<>();
+
+        GroupRule(HL7V2XStaticDef.SegGroup segGroup, List<Object> profileChildren) {
+            super(segGroup != null ? segGroup.getName() : null,
+                    segGroup != null ? segGroup.getUsage() : null,
+                    segGroup != null ? segGroup.getMin() : null,
+                    segGroup != null ? segGroup.getMax() : null);
+            var rules = new ArrayList<StructureRule>();
+            for (var child : profileChildren) {
+                StructureRule rule;
+                if (child instanceof SegmentType) {
+                    rule = new SegmentRule((SegmentType) child);
+                } else if (child instanceof HL7V2XStaticDef.SegGroup) {
+                    var childGroup = (HL7V2XStaticDef.SegGroup) child;
+                    rule = new GroupRule(childGroup, childGroup.getSegGroupsAndSegments());
+                } else {
+                    throw new IllegalArgumentException("Unknown profile element type " + child.getClass().getName());
+                }
+                if (!rule.disallowed) {
+                    rules.add(rule);
+                    allowedNames.add(rule.name);
+                }
+            }
+            this.children = rules.toArray(new StructureRule[0]);
+        }
+
+        @Override
+        void test(Structure structure, List<ValidationException> violations) {
+            if (structure instanceof Group) {
+                testGroup((Group) structure, violations);
+            } else {
+                profileNotHL7Compliant(violations, PROFILE_STRUCTURE_MISMATCH, "group", structure.getClass().getName());
+            }
+        }
+
+        void testGroup(Group group, List<ValidationException> violations) {
+            for (var child : children) {
+                try {
+                    var nonEmptyStructures = nonEmptyStructures(group.getAll(child.name));
+                    child.testCardinality(nonEmptyStructures.size(), violations);
+                    for (var structure : nonEmptyStructures) {
+                        child.test(structure, violations);
+                    }
+                } catch (HL7Exception e) {
+                    profileNotHL7Compliant(violations, PROFILE_STRUCTURE_NOT_EXIST_IN_JAVA_CLASS, child.name);
+                }
+            }
+            for (var childName : group.getNames()) {
+                if (!allowedNames.contains(childName)) {
+                    try {
+                        for (var rep : group.getAll(childName)) {
+                            if (!isEmpty(rep)) {
+                                profileViolatedWhen(true, violations, STRUCTURE_NOT_DEFINED_IN_PROFILE, childName);
+                            }
+                        }
+                    } catch (HL7Exception e) {
+                        violations.add(new ValidationException("Problem checking profile:" + e.getMessage()));
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class SegmentRule extends StructureRule {
+
+        // indexed by field position - 1, null for disallowed fields
+        private final FieldRule[] fields;
+        private final boolean msh;
+
+        SegmentRule(SegmentType segment) {
+            super(segment.getName(), segment.getUsage(), segment.getMin(), segment.getMax());
+            this.msh = "MSH".equalsIgnoreCase(segment.getName());
+            var profileFields = segment.getFields();
+            this.fields = new FieldRule[profileFields.size()];
+            for (var i = 0; i < fields.length; ++i) {
+                var field = new FieldRule(profileFields.get(i));
+                fields[i] = field.disallowed ? null : field;
+            }
+        }
+
+        @Override
+        void test(Structure structure, List<ValidationException> violations) {
+            if (structure instanceof Segment) {
+                var start = violations.size();
+                testSegment((Segment) structure, violations);
+                for (var i = start; i < violations.size(); ++i) {
+                    violations.get(i).setSegmentName(name);
+                }
+            } else {
+                profileNotHL7Compliant(violations, PROFILE_STRUCTURE_MISMATCH, "segment", structure.getClass().getName());
+            }
+        }
+
+        private void testSegment(Segment segment, List<ValidationException> violations) {
+            for (var i = 1; i <= fields.length; ++i) {
+                var field = fields[i - 1];
+                if (field != null) {
+                    try {
+                        var nonEmptyFields = nonEmptyFields(segment.getField(i));
+                        field.testCardinality(nonEmptyFields.size(), violations);
+                        var escape = !(msh && i < 3);
+                        for (var type : nonEmptyFields) {
+                            var start = violations.size();
+                            field.testField(type, escape, violations);
+                            for (var j = start; j < violations.size(); ++j) {
+                                violations.get(j).setFieldPosition(i);
+                            }
+                        }
+                    } catch (HL7Exception e) {
+                        profileNotHL7Compliant(violations, FIELD_NOT_FOUND, i);
+                    }
+                }
+            }
+            for (var i = 1; i <= segment.numFields(); ++i) {
+                if (i > fields.length || fields[i - 1] == null) {
+                    try {
+                        for (var rep : segment.getField(i)) {
+                            if (!isEmpty(rep)) {
+                                profileViolatedWhen(true, violations, FIELD_NOT_DEFINED_IN_PROFILE, i, segment.getName());
+                            }
+                        }
+                    } catch (HL7Exception e) {
+                        violations.add(new ValidationException("Problem testing against profile: " + e.getMessage()));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Rule for a field, component or subcomponent.
+     */
+    private static class TypeRule extends ElementRule {
+
+        final String datatype;
+
+        TypeRule(String name, String usage, BigInteger min, String max, BigInteger length,
+                 String constantValue, String datatype) {
+            super(name, usage, min, max, length, constantValue);
+            this.datatype = datatype;
+        }
+
+        void testType(Type type, String encoded, boolean testUsage, List<ValidationException> violations) {
+            if (encoded == null) {
+                encoded = encode(type);
+            }
+            if (testUsage) {
+                if (required) {
+                    profileViolatedWhen(encoded.isEmpty(), violations, REQUIRED_ELEMENT_MISSING, name);
+                } else if (disallowed) {
+                    profileViolatedWhen(!encoded.isEmpty(), violations, NOT_SUPPORTED_ELEMENT_PRESENT, name);
+                } else if (nullContext) {
+                    profileViolatedWhen(!encoded.isEmpty(), violations, NO_ELEMENTS_AFTER_NULL, name);
+                }
+            }
+            if (!disallowed && !encoded.isEmpty()) {
+                var className = type.getClass().getName();
+                if ((className.equals("ca.uhn.hl7v2.model.v231.datatype.TSComponentOne") ||
+                        className.equals("ca.uhn.hl7v2.model.v24.datatype.TSComponentOne")) && !datatype.equals("ST")) {
+                    profileNotHL7Compliant(violations, HL7_DATATYPE_MISMATCH, type.getName(), datatype);
+                } else if (!(type instanceof TSComponentOne) && !type.getName().contains(datatype)) {
+                    var simpleName = type.getClass().getSimpleName();
+                    profileViolatedWhen(!simpleName.equals("Varies") && !simpleName.equals("QIP"),
+                            violations, HL7_DATATYPE_MISMATCH, type.getName(), datatype);
+                }
+                if (encoded.length() > length) {
+                    profileViolatedWhen(true, violations, LENGTH_EXCEEDED, name, encoded.length(), length);
+                }
+                if (constantValue != null && !encoded.equals(constantValue)) {
+                    profileViolatedWhen(true, violations, WRONG_CONSTANT_VALUE, encoded, constantValue);
+                }
+            }
+        }
+    }
+
+    private static final class FieldRule extends TypeRule {
+
+        private final boolean nullable;
+        private final ComponentRule[] components;
+
+        FieldRule(SegmentType.Field field) {
+            super(field.getName(), field.getUsage(), field.getMin(), field.getMax(), field.getLength(),
+                    field.getConstantValue(), field.getDatatype());
+            this.nullable = field.isNullable();
+            this.components = field.getComponents().stream()
+                    .map(ComponentRule::new)
+                    .toArray(ComponentRule[]::new);
+        }
+
+        void testField(Type type, boolean escape, List<ValidationException> violations) {
+            String encoded = null;
+            if (!escape && type instanceof Primitive) {
+                encoded = ((Primitive) type).getValue();
+            }
+            testType(type, encoded, false, violations);
+            if (components.length > 0 && !disallowed) {
+                if (type instanceof Composite) {
+                    var composite = (Composite) type;
+                    var nullContext = false;
+                    for (var i = 1; i <= components.length; ++i) {
+                        try {
+                            ComponentRule component;
+                            if (nullContext) {
+                                component = components[i - 1].nullVariant;
+                            } else {
+                                component = components[i - 1];
+                                if (i == 1 && nullable &&
+                                        PipeParser.encode(composite.getComponent(0), ENCODING_CHARACTERS).equals("\"\"")) {
+                                    nullContext = true;
+                                }
+                            }
+                            component.testComponent(composite.getComponent(i - 1), violations);
+                        } catch (DataTypeException e) {
+                            profileNotHL7Compliant(violations, COMPONENT_TYPE_MISMATCH, type.getName(), i);
+                        }
+                    }
+                    checkUndefinedComponents(composite, components.length, violations);
+                } else {
+                    profileNotHL7Compliant(violations, WRONG_FIELD_TYPE, type.getClass().getName());
+                }
+            }
+        }
+    }
+
+    private static final class ComponentRule extends TypeRule {
+
+        private final TypeRule[] subComponents;
+        private final ComponentRule nullVariant;
+
+        ComponentRule(SegmentType.Field.Component component) {
+            super(component.getName(), component.getUsage(), null, null, component.getLength(),
+                    component.getConstantValue(), component.getDatatype());
+            this.subComponents = component.getSubComponents().stream()
+                    .map(sub -> new TypeRule(sub.getName(), sub.getUsage(), null, null, sub.getLength(),
+                            sub.getConstantValue(), sub.getDatatype()))
+                    .toArray(TypeRule[]::new);
+            this.nullVariant = new ComponentRule(this);
+        }
+
+        /**
+         * Variant used for components following a null first component. Its subcomponents are
+         * not checked, like in the original rule, which copies only the bean properties of the component.
+         */
+        private ComponentRule(ComponentRule original) {
+            super(original.name, "NULL", null, null, BigInteger.valueOf(original.length),
+                    original.constantValue, original.datatype);
+            this.subComponents = new TypeRule[0];
+            this.nullVariant = this;
+        }
+
+        void testComponent(Type type, List<ValidationException> violations) {
+            testType(type, null, true, violations);
+            try {
+                if (subComponents.length == 0 || disallowed || isEmpty(type)) {
+                    return;
+                }
+                if (type instanceof Composite) {
+                    var composite = (Composite) type;
+                    for (var i = 1; i <= subComponents.length; ++i) {
+                        try {
+                            subComponents[i - 1].testType(composite.getComponent(i - 1), null, true, violations);
+                        } catch (DataTypeException e) {
+                            profileNotHL7Compliant(violations, SUBCOMPONENT_TYPE_MISMATCH, type.getName(), i);
+                        }
+                    }
+                    checkUndefinedComponents(composite, subComponents.length, violations);
+                } else {
+                    profileViolatedWhen(true, violations, WRONG_COMPONENT_TYPE, type.getClass().getName());
+                }
+            } catch (HL7Exception e) {
+                violations.add(new ValidationException(e));
+            }
+        }
+    }
+
+    private static void checkUndefinedComponents(Composite composite, int numInProfile, List<ValidationException> violations) {
+        var extra = new StringBuilder();
+        var components = composite.getComponents();
+        for (var i = numInProfile; i < components.length; ++i) {
+            try {
+                var s = composite.getComponent(i).encode();
+                if (!s.isEmpty()) {
+                    extra.append(s).append(ENCODING_CHARACTERS.getComponentSeparator());
+                }
+            } catch (HL7Exception e) {
+                violations.add(new ValidationException(e));
+            }
+        }
+        profileViolatedWhen(extra.length() > 0, violations, COMPONENT_NOT_DEFINED_IN_PROFILE, extra.toString());
+    }
+
+    /**
+     * Empty elements encode to an empty string, which is determined without running the encoder.
+     */
+    private static String encode(Type type) {
+        try {
+            if (type.isEmpty()) {
+                return "";
+            }
+        } catch (HL7Exception e) {
+            // let the encoder decide
+        }
+        return PipeParser.encode(type, ENCODING_CHARACTERS);
+    }
+
+    private static List<Structure> nonEmptyStructures(Structure[] structures) throws HL7Exception {
+        if (structures == null || structures.length == 0) {
+            return Collections.emptyList();
+        }
+        var result = new ArrayList<Structure>(structures.length);
+        for (var structure : structures) {
+            if (!isEmpty(structure)) {
+                result.add(structure);
+            }
+        }
+        return result;
+    }
+
+    private static List<Type> nonEmptyFields(Type[] types) throws HL7Exception {
+        if (types == null || types.length == 0) {
+            return Collections.emptyList();
+        }
+        if (types.length == 1) {
+            return isEmpty(types[0]) ? Collections.emptyList() : Collections.singletonList(types[0]);
+        }
+        // the first repetition is always kept, subsequent empty ones are dropped
+        var result = new ArrayList<Type>(types.length);
+        result.add(types[0]);
+        for (var i = 1; i < types.length; ++i) {
+            if (!isEmpty(types[i])) {
+                result.add(types[i]);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isEmpty(Visitable v) throws HL7Exception {
+        if (v == null) {
+            return true;
+        }
+        if (v instanceof TSComponentOne) {
+            var value = ((TSComponentOne) v).getValue();
+            return value == null || value.isEmpty();
+        }
+        if (v instanceof Composite && v.getClass().getName().endsWith(".TS")) {
+            return isEmpty(((Composite) v).getComponent(0));
+        }
+        return v.isEmpty();
+    }
+}
@@ -20,13 +20,11 @@ import ca.uhn.hl7v2.HL7Exception;
 import ca.uhn.hl7v2.HapiContext;
 import ca.uhn.hl7v2.Severity;
 import ca.uhn.hl7v2.model.Message;
-import ca.uhn.hl7v2.parser.GenericParser;
 import ca.uhn.hl7v2.validation.MessageRule;
 import ca.uhn.hl7v2.validation.impl.ValidationContextFactory;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.openehealth.ipf.commons.core.modules.api.ValidationException;
-import org.openehealth.ipf.gazelle.validation.core.CachingGazelleProfileRule;
 import org.openehealth.ipf.gazelle.validation.profile.ConformanceProfile;
 import org.openehealth.ipf.gazelle.validation.profile.HL7v2Transactions;
 import org.openehealth.ipf.gazelle.validation.profile.store.GazelleProfileStore;
@@ -45,6 +43,9 @@ import static java.util.Objects.requireNonNull;
  * instance as one of its message rules. In that case it would be sufficient to use
  * {@link org.openehealth.ipf.platform.camel.hl7.HL7v2#validatingProcessor()} or
  * {@link org.apache.camel.component.hl7.HL7#messageConforms()}.
+ * <p>
+ * The processors use a {@link CompiledGazelleProfileRule}, and String bodies are parsed with
+ * the generic parser of the HapiContext, which creates it only once.
  *
  * @author Boris Stanojevic
  * @author Christian Ohr
@@ -72,7 +73,7 @@ public final class ConformanceProfileValidators {
     public static Processor validatingProcessor(final ConformanceProfile conformanceProfile) {
         return new Processor() {
 
-            private final CachingGazelleProfileRule rule = new CachingGazelleProfileRule(conformanceProfile);
+            private final CompiledGazelleProfileRule rule = new CompiledGazelleProfileRule(conformanceProfile);
 
             @Override
             public void process(Exchange exchange) throws Exception {
@@ -93,7 +94,7 @@ public final class ConformanceProfileValidators {
     public static Processor validatingProcessor(final HL7v2Transactions iheTransaction) {
         return new Processor() {
 
-            private final CachingGazelleProfileRule rule = new CachingGazelleProfileRule(iheTransaction);
+            private final CompiledGazelleProfileRule rule = new CompiledGazelleProfileRule(iheTransaction);
 
             @Override
             public void process(Exchange exchange) throws Exception {
@@ -139,7 +140,7 @@ public final class ConformanceProfileValidators {
         } else if (body instanceof String) {
             var context = exchange.getIn().getHeader("CamelHL7Context", HapiContext.class);
             context = context != null ? context : FALLBACK_HAPI_CONTEXT;
-            message = new GenericParser(context).parse((String) body);
+            message = context.getGenericParser().parse((String) body);
         } else {
             // try type conversion
             message = exchange.getIn().getBody(Message.class);
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.platform.camel.hl7.validation;
+
+import ca.uhn.hl7v2.DefaultHapiContext;
+import ca.uhn.hl7v2.HapiContext;
+import ca.uhn.hl7v2.model.Message;
+import ca.uhn.hl7v2.validation.MessageRule;
+import ca.uhn.hl7v2.validation.ValidationException;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.openehealth.ipf.gazelle.validation.core.CachingGazelleProfileRule;
+import org.openehealth.ipf.gazelle.validation.profile.pixpdq.ItiPixPdqProfile;
+import org.openehealth.ipf.gazelle.validation.profile.pixpdq.PixPdqTransactions;
+import org.openehealth.ipf.gazelle.validation.profile.store.GazelleProfileStore;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *
+ */
+public class CompiledGazelleProfileRuleTest {
+
+    private final HapiContext context;
+
+    public CompiledGazelleProfileRuleTest() {
+        context = new DefaultHapiContext();
+        context.setProfileStore(new GazelleProfileStore());
+        context.getParserConfiguration().setValidating(false);
+    }
+
+    @Test
+    public void testSameResultsForTransactions() throws Exception {
+        for (var message : samples()) {
+            assertSameResults(
+                    new CachingGazelleProfileRule(PixPdqTransactions.ITI8),
+                    new CompiledGazelleProfileRule(PixPdqTransactions.ITI8),
+                    message);
+            assertSameResults(
+                    new CachingGazelleProfileRule(PixPdqTransactions.ITI10),
+                    new CompiledGazelleProfileRule(PixPdqTransactions.ITI10),
+                    message);
+            assertSameResults(
+                    new CachingGazelleProfileRule(PixPdqTransactions.ITI21),
+                    new CompiledGazelleProfileRule(PixPdqTransactions.ITI21),
+                    message);
+        }
+    }
+
+    @Test
+    public void testSameResultsForProfile() throws Exception {
+        var violations = 0;
+        for (var message : samples()) {
+            violations += assertSameResults(
+                    new CachingGazelleProfileRule(ItiPixPdqProfile.ITI_10_ADT_A31),
+                    new CompiledGazelleProfileRule(ItiPixPdqProfile.ITI_10_ADT_A31),
+                    message);
+        }
+        assertTrue(violations > 0);
+    }
+
+    @Test
+    public void testValidMessage() throws Exception {
+        var message = parse(resource("hl7/iti-10.hl7"));
+        var rule = new CompiledGazelleProfileRule(ItiPixPdqProfile.ITI_10_ADT_A31);
+        for (var i = 0; i < 3; ++i) {
+            assertEquals(0, errors(rule.apply(message)));
+        }
+    }
+
+    private int assertSameResults(MessageRule expectedRule, MessageRule actualRule, Message message) {
+        var expected = describe(expectedRule.apply(message));
+        var actual = describe(actualRule.apply(message));
+        assertEquals(expected, actual);
+        return expected.size();
+    }
+
+    private static int errors(ValidationException[] exceptions) {
+        var result = 0;
+        for (var exception : exceptions) {
+            if (exception.getSeverity() == ca.uhn.hl7v2.Severity.ERROR) {
+                ++result;
+            }
+        }
+        return result;
+    }
+
+    private static List<String> describe(ValidationException[] exceptions) {
+        var result = new ArrayList<String>();
+        for (var exception : exceptions) {
+            result.add(exception.getSeverity() + " " + exception.getLocation() + " " +
+                    exception.getMessage());
+        }
+        return result;
+    }
+
+    private List<Message> samples() throws Exception {
+        var iti8 = resource("hl7/iti-8.hl7");
+        var iti10 = resource("hl7/iti-10.hl7");
+        var iti21 = resource("hl7/iti-21.hl7");
+        var samples = List.of(
+                iti8,
+                iti10,
+                iti21,
+                // required field missing
+                iti10.replace("PID|||13278^^^HIMSS2005&1.3.6.1.4.1.21367.2005.1.1&ISO^PI~", "PID|||~"),
+                // field not defined in profile, too long value, undefined components
+                iti10.replace("EVN|A31|20071024113127", "EVN|A31|20071024113127|||||||||XYZ")
+                        .replace("MOORE^CHIP^^^^^L", "MOORE" + "X".repeat(300) + "^CHIP^^^^^L^^^^^^^^^EXTRA"),
+                // null first component and undefined segment
+                iti10.replace("MOORE^CHIP^^^^^L", "\"\"^CHIP")
+                        .replace("PV1||N", "ZZZ|1|2\rPV1||N"),
+                // wrong message type and version
+                iti10.replace("ADT^A31^ADT_A05", "ADT^A08^ADT_A01").replace("|P|2.5", "|P|2.4"),
+                iti21.replace("RCP|I|10^RD", "RCP|X|10^RD^EXTRA&SUB"));
+        var result = new ArrayList<Message>();
+        for (var sample : samples) {
+            result.add(parse(sample));
+        }
+        assertFalse(result.isEmpty());
+        return result;
+    }
+
+    private Message parse(String message) throws Exception {
+        return context.getPipeParser().parse(message);
+    }
+
+    private String resource(String path) throws IOException {
+        return IOUtils.toString(getClass().getClassLoader().getResource(path), StandardCharsets.UTF_8)
+                .replaceAll("\n", "\r");
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.platform.camel.hl7.validation;
+
+import ca.uhn.hl7v2.DefaultHapiContext;
+import ca.uhn.hl7v2.HL7Exception;
+import ca.uhn.hl7v2.model.Message;
+import ca.uhn.hl7v2.validation.ValidationException;
+import org.openehealth.ipf.gazelle.validation.core.CachingGazelleProfileRule;
+import org.openehealth.ipf.gazelle.validation.profile.pixpdq.PixPdqTransactions;
+import org.openehealth.ipf.gazelle.validation.profile.store.GazelleProfileStore;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link CachingGazelleProfileRule} with {@link CompiledGazelleProfileRule}.
+ * Run the {@link #main(String[])} method with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConformanceProfileValidationBenchmark {
+
+    @Param({"iti-10.hl7", "iti-21.hl7"})
+    public String sample;
+
+    private Message message;
+    private CachingGazelleProfileRule caching;
+    private CompiledGazelleProfileRule compiled;
+
+    @Setup
+    public void setup() throws IOException, HL7Exception {
+        var context = new DefaultHapiContext();
+        context.setProfileStore(new GazelleProfileStore());
+        context.getParserConfiguration().setValidating(false);
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream("hl7/" + sample)) {
+            message = context.getPipeParser().parse(
+                    new String(is.readAllBytes(), StandardCharsets.UTF_8).replace('\n', '\r'));
+        }
+        var transaction = sample.startsWith("iti-21") ? PixPdqTransactions.ITI21 : PixPdqTransactions.ITI10;
+        caching = new CachingGazelleProfileRule(transaction);
+        compiled = new CompiledGazelleProfileRule(transaction);
+    }
+
+    @Benchmark
+    public ValidationException[] caching() {
+        return caching.apply(message);
+    }
+
+    @Benchmark
+    public ValidationException[] compiled() {
+        return compiled.apply(message);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ConformanceProfileValidationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
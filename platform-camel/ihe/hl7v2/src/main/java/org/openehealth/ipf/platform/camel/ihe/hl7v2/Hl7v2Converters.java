@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.platform.camel.ihe.hl7v2;
+
+import ca.uhn.hl7v2.HL7Exception;
+import ca.uhn.hl7v2.model.Message;
+import org.apache.camel.Converter;
+import org.openehealth.ipf.commons.ihe.hl7v2.LazyHl7v2Message;
+
+/**
+ * Camel type converters for {@link LazyHl7v2Message}, which is used as message body
+ * by MLLP consumers with enabled lazy parsing.
+ *
+ * @since 4.5
+ */
+@Converter(generateLoader = true)
+public class Hl7v2Converters {
+
+    /**
+     * Parses the message when this has not happened yet.
+     */
+    @Converter
+    public static Message toMessage(LazyHl7v2Message in) throws HL7Exception {
+        return in.getMessage();
+    }
+
+    /**
+     * Returns the raw message text, or the encoded HAPI message when the latter has already
+     * been created and thus may have been modified by the route.
+     */
+    @Converter
+    public static String toString(LazyHl7v2Message in) throws HL7Exception {
+        return in.isParsed() ? in.getMessage().encode() : in.toString();
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.platform.camel.ihe.hl7v2;
+
+import org.apache.camel.TypeConverterLoaderException;
+import org.apache.camel.spi.TypeConverterLoader;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.apache.camel.support.SimpleTypeConverter;
+
+/**
+ * Registers the type converters of {@link Hl7v2Converters} without classpath scanning.
+ * Must be kept in sync with that class.
+ *
+ * @since 4.5
+ */
+public final class Hl7v2ConvertersLoader implements TypeConverterLoader {
+
+    public Hl7v2ConvertersLoader() {
+    }
+
+    @Override
+    public void load(TypeConverterRegistry registry) throws TypeConverterLoaderException {
+        registerConverters(registry);
+    }
+
+    private void registerConverters(TypeConverterRegistry registry) {
+        addTypeConverter(registry, ca.uhn.hl7v2.model.Message.class, org.openehealth.ipf.commons.ihe.hl7v2.LazyHl7v2Message.class, false,
+            (type, exchange, value) -> org.openehealth.ipf.platform.camel.ihe.hl7v2.Hl7v2Converters.toMessage((org.openehealth.ipf.commons.ihe.hl7v2.LazyHl7v2Message) value));
+        addTypeConverter(registry, java.lang.String.class, org.openehealth.ipf.commons.ihe.hl7v2.LazyHl7v2Message.class, false,
+            (type, exchange, value) -> org.openehealth.ipf.platform.camel.ihe.hl7v2.Hl7v2Converters.toString((org.openehealth.ipf.commons.ihe.hl7v2.LazyHl7v2Message) value));
+    }
+
+    private static void addTypeConverter(TypeConverterRegistry registry, Class<?> toType, Class<?> fromType, boolean allowNull, SimpleTypeConverter.ConversionMethod method) {
+        registry.addTypeConverter(toType, fromType, new SimpleTypeConverter(allowNull, method));
+    }
+
+}
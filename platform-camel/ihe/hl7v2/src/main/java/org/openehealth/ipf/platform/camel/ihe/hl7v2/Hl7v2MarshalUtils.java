@@ -15,6 +15,7 @@
  */
 package org.openehealth.ipf.platform.camel.ihe.hl7v2;
 
+import ca.uhn.hl7v2.HL7Exception;
 import ca.uhn.hl7v2.parser.Parser;
 import ca.uhn.hl7v2.preparser.PreParser;
 import org.apache.camel.Message;
@@ -22,6 +23,8 @@ import org.apache.camel.WrappedFile;
 import org.apache.camel.component.hl7.HL7Charset;
 import org.apache.camel.converter.IOConverter;
 import org.apache.commons.lang3.ClassUtils;
+import org.openehealth.ipf.commons.ihe.hl7v2.Constants;
+import org.openehealth.ipf.commons.ihe.hl7v2.LazyHl7v2Message;
 
 import java.io.File;
 import java.io.InputStream;
@@ -63,6 +66,7 @@ public class Hl7v2MarshalUtils {
         final var knownTypes = new Class<?>[]{
                 String.class,
                 ca.uhn.hl7v2.model.Message.class,
+                LazyHl7v2Message.class,
                 File.class,
                 InputStream.class,
                 java.nio.ByteBuffer.class,
@@ -106,6 +110,8 @@ public class Hl7v2MarshalUtils {
             s = (String) body;
         } else if (body instanceof ca.uhn.hl7v2.model.Message) {
             s = ((ca.uhn.hl7v2.model.Message) body).encode();
+        } else if (body instanceof LazyHl7v2Message) {
+            s = Hl7v2Converters.toString((LazyHl7v2Message) body);
         } else if (body instanceof byte[]) {
             s = toString((byte[]) body, charsetName);
         } else if (body instanceof InputStream) {
@@ -197,6 +203,8 @@ public class Hl7v2MarshalUtils {
         ca.uhn.hl7v2.model.Message msg = null;
         if (body instanceof ca.uhn.hl7v2.model.Message) {
             msg = (ca.uhn.hl7v2.model.Message) body;
+        } else if (body instanceof LazyHl7v2Message) {
+            msg = ((LazyHl7v2Message) body).getMessage();
         } else {
             // process all other types (String, File, InputStream, ByteBuffer, byte[])
             // by means of the standard routine.  An exception here will be o.k.
@@ -209,6 +217,26 @@ public class Hl7v2MarshalUtils {
         return msg;
     }
 
+    /**
+     * Returns the original request message as stored by the consumer-side marshal interceptor.
+     * The snapshot is not parsed, so that single fields can be read cheaply.
+     *
+     * @param message Camel message
+     * @param parser  HL7 parser to be used when the HAPI message is needed.
+     * @return snapshot of the original request.
+     * @throws HL7Exception when the original request is missing or does not start with a MSH segment.
+     * @since 4.5
+     */
+    public static LazyHl7v2Message originalMessageSnapshot(
+            Message message,
+            Parser parser) throws HL7Exception {
+        var snapshot = message.getHeader(Constants.ORIGINAL_MESSAGE_ADAPTER_HEADER_NAME);
+        if (snapshot instanceof LazyHl7v2Message) {
+            return (LazyHl7v2Message) snapshot;
+        }
+        return new LazyHl7v2Message(message.getHeader(Constants.ORIGINAL_MESSAGE_STRING_HEADER_NAME, String.class), parser);
+    }
+
     // Guess charset from configuration. If the message contains something different in MSH-18, it will be
     // again converted using this charset.
     private static String toString(byte[] bytes, String defaultCharsetName) throws Exception {
@@ -17,6 +17,7 @@ package org.openehealth.ipf.platform.camel.ihe.hl7v2.intercept;
 
 import ca.uhn.hl7v2.model.Message;
 import org.apache.camel.Exchange;
+import org.openehealth.ipf.commons.ihe.hl7v2.LazyHl7v2Message;
 import org.openehealth.ipf.platform.camel.ihe.core.InterceptorSupport;
 import org.openehealth.ipf.platform.camel.ihe.hl7v2.HL7v2Endpoint;
 
@@ -41,7 +42,12 @@ public class AcceptanceInterceptorUtils {
     {
         // check input message
         var config = interceptor.getEndpoint(HL7v2Endpoint.class).getHl7v2TransactionConfiguration();
-        config.checkRequestAcceptance(exchange.getIn().getBody(Message.class));
+        var body = exchange.getIn().getBody();
+        if (body instanceof LazyHl7v2Message) {
+            config.checkRequestAcceptance((LazyHl7v2Message) body);
+        } else {
+            config.checkRequestAcceptance(exchange.getIn().getBody(Message.class));
+        }
         
         // run the route
         interceptor.getWrappedProcessor().process(exchange);
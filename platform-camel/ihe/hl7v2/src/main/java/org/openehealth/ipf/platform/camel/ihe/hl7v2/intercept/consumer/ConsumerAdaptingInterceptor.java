@@ -75,7 +75,8 @@ public class ConsumerAdaptingInterceptor extends InterceptorSupport {
      */
     @Override
     public void process(Exchange exchange) throws Exception {
-        var originalMessage = exchange.getIn().getHeader(Constants.ORIGINAL_MESSAGE_ADAPTER_HEADER_NAME, Message.class);
+        // converted only when needed, because it may be a not yet parsed LazyHl7v2Message
+        var originalMessage = exchange.getIn().getHeader(Constants.ORIGINAL_MESSAGE_ADAPTER_HEADER_NAME);
 
         // run the route
         try {
@@ -87,7 +88,7 @@ public class ConsumerAdaptingInterceptor extends InterceptorSupport {
         } catch (Exception e) {
             LOG.warn("Message processing failed ({}: {}). Creating NAK message.", e.getClass().getSimpleName(), e.getMessage());
             LOG.debug("Exception details: ", e);
-            exchange.getMessage().setBody(getEndpoint(HL7v2Endpoint.class).getNakFactory().createNak(originalMessage, e));
+            exchange.getMessage().setBody(getEndpoint(HL7v2Endpoint.class).getNakFactory().createNak(toMessage(exchange, originalMessage), e));
         }
 
         // try to convert route response from a known type
@@ -104,9 +105,9 @@ public class ConsumerAdaptingInterceptor extends InterceptorSupport {
                     getEndpoint(HL7v2Endpoint.class).getHl7v2TransactionConfiguration().getParser()));
         } catch (Hl7v2AdaptingException e) {
             if (body instanceof Throwable) {
-                message.setBody(getEndpoint(HL7v2Endpoint.class).getNakFactory().createNak(originalMessage, (Throwable) body));
+                message.setBody(getEndpoint(HL7v2Endpoint.class).getNakFactory().createNak(toMessage(exchange, originalMessage), (Throwable) body));
             } else {
-                analyseMagicHeader(message, originalMessage).ifPresentOrElse(message::setBody, () -> {
+                analyseMagicHeader(message, toMessage(exchange, originalMessage)).ifPresentOrElse(message::setBody, () -> {
                     throw e;
                 });
             }
@@ -140,4 +141,8 @@ public class ConsumerAdaptingInterceptor extends InterceptorSupport {
         return Optional.ofNullable(ack);
     }
 
+
+    private static Message toMessage(Exchange exchange, Object originalMessage) {
+        return exchange.getContext().getTypeConverter().convertTo(Message.class, exchange, originalMessage);
+    }
 }
@@ -19,7 +19,7 @@ import ca.uhn.hl7v2.HL7Exception;
 import ca.uhn.hl7v2.model.Message;
 import org.apache.camel.Exchange;
 import org.openehealth.ipf.commons.ihe.hl7v2.Constants;
-import org.openehealth.ipf.modules.hl7.message.MessageUtils;
+import org.openehealth.ipf.commons.ihe.hl7v2.LazyHl7v2Message;
 import org.openehealth.ipf.platform.camel.ihe.core.InterceptorSupport;
 import org.openehealth.ipf.platform.camel.ihe.hl7v2.HL7v2Endpoint;
 import org.openehealth.ipf.platform.camel.ihe.hl7v2.Hl7v2MarshalUtils;
@@ -40,9 +40,23 @@ public class ConsumerMarshalInterceptor extends InterceptorSupport {
     private static final transient Logger LOG = LoggerFactory.getLogger(ConsumerMarshalInterceptor.class);
 
     private final boolean copyOriginalMessage;
+    private final boolean lazyParsing;
 
     public ConsumerMarshalInterceptor(boolean copyOriginalMessage) {
+        this(copyOriginalMessage, false);
+    }
+
+    /**
+     * @param copyOriginalMessage whether the original message header shall contain a copy of the request.
+     *                            The copy is an unmodifiable {@link LazyHl7v2Message} snapshot, which is
+     *                            parsed separately only when needed.
+     * @param lazyParsing         whether the request shall be passed as {@link LazyHl7v2Message},
+     *                            which is parsed only when the route or an interceptor needs a HAPI message.
+     * @since 4.5
+     */
+    public ConsumerMarshalInterceptor(boolean copyOriginalMessage, boolean lazyParsing) {
         this.copyOriginalMessage = copyOriginalMessage;
+        this.lazyParsing = lazyParsing;
     }
 
     /**
@@ -50,7 +64,7 @@ public class ConsumerMarshalInterceptor extends InterceptorSupport {
      */
     @Override
     public void process(Exchange exchange) throws Exception {
-        Message originalMessage;
+        Object originalMessage;
         var parser = getEndpoint(HL7v2Endpoint.class).getHl7v2TransactionConfiguration().getParser();
 
         // This should already be a string
@@ -58,7 +72,9 @@ public class ConsumerMarshalInterceptor extends InterceptorSupport {
         var originalString = inMessage.getBody(String.class);
 
         try {
-            originalMessage = parser.parse(originalString);
+            originalMessage = lazyParsing ?
+                    new LazyHl7v2Message(originalString, parser) :
+                    parser.parse(originalString);
         } catch (HL7Exception e) {
             LOG.error("Unmarshalling failed, message processing not possible ({}). Creating a default NAK response", e.getMessage());
             LOG.debug("Exception details: ", e);
@@ -70,14 +86,11 @@ public class ConsumerMarshalInterceptor extends InterceptorSupport {
         inMessage.setBody(originalMessage);
         inMessage.setHeader(Constants.ORIGINAL_MESSAGE_STRING_HEADER_NAME, originalString);
 
-        // Put the original message into the headers. Make a copy if requested
-        try {
-            inMessage.setHeader(Constants.ORIGINAL_MESSAGE_ADAPTER_HEADER_NAME, copyOriginalMessage ? MessageUtils.copy(originalMessage) : originalMessage);
-        } catch (Exception e) {
-            // this exception will occur when the message structure (MSH-9-3) of
-            // the original adapter is wrong or when unknown segments are present
-            inMessage.setHeader(Constants.ORIGINAL_MESSAGE_ADAPTER_HEADER_NAME, originalMessage);
-        }
+        // Put the original message into the headers. Instead of a deep copy, take an immutable
+        // snapshot of the request string, which will be parsed separately when needed
+        inMessage.setHeader(Constants.ORIGINAL_MESSAGE_ADAPTER_HEADER_NAME, copyOriginalMessage ?
+                new LazyHl7v2Message(originalString, parser) :
+                originalMessage);
 
         // run the route
         try {
@@ -91,10 +104,25 @@ public class ConsumerMarshalInterceptor extends InterceptorSupport {
             // With Netty, we treat unhandlable response types like other errors and return a NAK
             LOG.warn("Message processing failed ({}). Creating NAK message.", e.getMessage());
             LOG.debug("Exception details: ", e);
-            var nak = getEndpoint(HL7v2Endpoint.class).getNakFactory().createNak(originalMessage, e);
-            exchange.getMessage().setBody(parser.encode(nak));
+            exchange.getMessage().setBody(parser.encode(createNak(originalMessage, e)));
         }
 
     }
 
+    private Message createNak(Object originalMessage, Exception e) throws Exception {
+        var nakFactory = getEndpoint(HL7v2Endpoint.class).getNakFactory();
+        Message request;
+        if (originalMessage instanceof LazyHl7v2Message) {
+            try {
+                request = ((LazyHl7v2Message) originalMessage).getMessage();
+            } catch (HL7Exception parseException) {
+                LOG.debug("Request is not parseable, creating a default NAK: ", parseException);
+                return nakFactory.createDefaultNak(parseException);
+            }
+        } else {
+            request = (Message) originalMessage;
+        }
+        return nakFactory.createNak(request, e);
+    }
+
 }
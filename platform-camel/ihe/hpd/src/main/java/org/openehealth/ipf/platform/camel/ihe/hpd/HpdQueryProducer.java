@@ -16,6 +16,7 @@
 package org.openehealth.ipf.platform.camel.ihe.hpd;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.cxf.endpoint.ClientCallback;
 import org.openehealth.ipf.commons.ihe.hpd.controls.handlers.ProducerHandler;
 import org.openehealth.ipf.commons.ihe.hpd.controls.pagination.ProducerPaginationHandler;
 import org.openehealth.ipf.commons.ihe.hpd.stub.dsmlv2.BatchRequest;
@@ -60,4 +61,12 @@ public class HpdQueryProducer<AuditDatasetType extends WsAuditDataset> extends S
         return handler.handle(clientObject, batchRequest);
     }
 
+    /**
+     * Paginated requests consist of several Web Service calls and cannot be non-blocking.
+     */
+    @Override
+    protected boolean callServiceAsync(Object clientObject, BatchRequest batchRequest, ClientCallback callback) throws Exception {
+        return (handler == this) && super.callServiceAsync(clientObject, batchRequest, callback);
+    }
+
 }
@@ -44,6 +44,7 @@ class CustomServerInitializerFactory extends ServerInitializerFactory {
 
     private NettyConsumer consumer;
     private SSLContext sslContext;
+    private MllpProcessingExecutorGroup processingExecutorGroup;
     private final MllpEndpointConfiguration config;
 
     CustomServerInitializerFactory(MllpEndpointConfiguration config) {
@@ -61,6 +62,10 @@ class CustomServerInitializerFactory extends ServerInitializerFactory {
         } catch (Exception e) {
             throw RuntimeCamelException.wrapRuntimeCamelException(e);
         }
+        if (config.getProcessingExecutor() != null) {
+            this.processingExecutorGroup = new MllpProcessingExecutorGroup(
+                    config.getProcessingExecutor(), config.getMaxMessagesInFlight());
+        }
     }
 
     @Override
@@ -94,7 +99,10 @@ class CustomServerInitializerFactory extends ServerInitializerFactory {
             addToPipeline("decoder-" + i, channelPipeline, decoder);
         }
 
-        if (consumer.getConfiguration().isUsingExecutorService()) {
+        if (processingExecutorGroup != null) {
+            // process exchanges on the configured executor, preserving the order per connection
+            addToPipeline("handler", channelPipeline, processingExecutorGroup, new ServerChannelHandler(consumer));
+        } else if (consumer.getConfiguration().isUsingExecutorService()) {
             // Just use EventExecutorGroup from the Netty Component
             var applicationExecutor = consumer.getEndpoint().getComponent().getExecutorService();
             addToPipeline("handler", channelPipeline, applicationExecutor, new ServerChannelHandler(consumer));
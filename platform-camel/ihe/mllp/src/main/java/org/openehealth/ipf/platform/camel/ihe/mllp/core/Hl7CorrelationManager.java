@@ -21,10 +21,13 @@ import ca.uhn.hl7v2.model.Message;
 import ca.uhn.hl7v2.parser.PipeParser;
 import ca.uhn.hl7v2.util.Terser;
 import org.apache.camel.component.netty.TimeoutCorrelationManagerSupport;
+import org.openehealth.ipf.commons.ihe.hl7v2.LazyHl7v2Message;
 import org.openehealth.ipf.modules.hl7.HL7v2Exception;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.Charset;
+
 /**
  * Correlation Manager used when duplexing message over a single Netty connection.
  * Requests and responses are correlated based on MSH-10 and MSA-2 message identifiers
@@ -33,44 +36,53 @@ public class Hl7CorrelationManager extends TimeoutCorrelationManagerSupport {
 
     private static final Logger LOG = LoggerFactory.getLogger(Hl7CorrelationManager.class);
 
-    private PipeParser parser;
+    private final PipeParser parser;
+    private final Charset charset;
 
+    /**
+     * Creates a correlation manager which decodes raw messages using the platform default character set.
+     */
     public Hl7CorrelationManager(HapiContext hapiContext) {
+        this(hapiContext, Charset.defaultCharset());
+    }
+
+    /**
+     * @param charset character set used to decode raw messages, should be the one of the endpoint.
+     */
+    public Hl7CorrelationManager(HapiContext hapiContext, Charset charset) {
         this.parser = hapiContext.getPipeParser();
+        this.charset = charset;
     }
 
     @Override
     public String getRequestCorrelationId(Object request) {
-        try {
-            Message message = getMessage(request);
-            var msgId = new Terser(message).get("/MSH-10");
-            LOG.debug("Recorded request with msg id {}", msgId);
-            return msgId;
-        } catch (HL7Exception e) {
-            throw new HL7v2Exception(e);
-        }
+        var msgId = getCorrelationId(request, "MSH-10");
+        LOG.debug("Recorded request with msg id {}", msgId);
+        return msgId;
     }
 
     @Override
     public String getResponseCorrelationId(Object response) {
+        var msgId = getCorrelationId(response, "MSA-2");
+        LOG.debug("Recorded response with msg id {}", msgId);
+        return msgId;
+    }
+
+    /**
+     * Reads the identifier from a HAPI message, or directly from the ER7 text without parsing it.
+     */
+    private String getCorrelationId(Object message, String spec) {
         try {
-            Message message = getMessage(response);
-            var msgId = new Terser(message).get("/MSA-2");
-            LOG.debug("Recorded response with msg id {}", msgId);
-            return msgId;
+            if (message instanceof Message) {
+                return new Terser((Message) message).get("/" + spec);
+            }
+            if (message instanceof LazyHl7v2Message) {
+                return ((LazyHl7v2Message) message).get(spec);
+            }
+            var text = (message instanceof byte[]) ? new String((byte[]) message, charset) : message.toString();
+            return new LazyHl7v2Message(text, parser).get(spec);
         } catch (HL7Exception e) {
             throw new HL7v2Exception(e);
         }
     }
-
-    private Message getMessage(Object request) throws HL7Exception {
-        Message message;
-        if (request instanceof Message) {
-            message = (Message) request;
-        } else if (request instanceof byte[]) {
-            message = parser.parse(new String((byte[]) request));
-        } else {
-            message = parser.parse(request.toString());
-        } return message;
-    }
 }
@@ -18,6 +18,7 @@ package org.openehealth.ipf.platform.camel.ihe.mllp.core;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
 import org.apache.camel.component.hl7.HL7MLLPNettyDecoderFactory;
+import org.apache.camel.component.hl7.HL7MLLPNettyEncoderFactory;
 import org.apache.camel.component.netty.NettyComponent;
 import org.apache.camel.component.netty.NettyConfiguration;
 import org.apache.camel.component.netty.NettyEndpoint;
@@ -37,6 +38,7 @@ import javax.net.ssl.SSLContext;
 import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 
 /**
@@ -55,6 +57,7 @@ public abstract class MllpComponent<ConfigType extends MllpEndpointConfiguration
     public static final String DEFAULT_HL7_ENCODER_FACTORY_BEAN_NAME = "hl7encoder";
     public static final String DEFAULT_HL7_CORRELATION_BEAN_NAME = "hl7Correlation";
     private static final String MLLP_ENDPOINT_CONFIG = "mllpEndpointConfig";
+    private static final int DEFAULT_DECODER_MAX_LINE_LENGTH = new NettyConfiguration().getDecoderMaxLineLength();
 
     protected MllpComponent() {
         super();
@@ -97,11 +100,11 @@ public abstract class MllpComponent<ConfigType extends MllpEndpointConfiguration
     protected NettyConfiguration parseConfiguration(NettyConfiguration configuration, String remaining, Map<String, Object> parameters) throws Exception {
         // Explicitly overwrite or set some standard camel-netty parameters
         var nettyParameters = new HashMap<>(parameters);
+        var mllpEndpointConfiguration = getAndRemoveParameter(parameters, MLLP_ENDPOINT_CONFIG, MllpEndpointConfiguration.class);
         nettyParameters.put("sync", true);
         nettyParameters.put("lazyChannelCreation", true);
         nettyParameters.put("transferExchange", false);
-        nettyParameters.put("serverInitializerFactory",
-                new CustomServerInitializerFactory(getAndRemoveParameter(parameters, MLLP_ENDPOINT_CONFIG, MllpEndpointConfiguration.class)));
+        nettyParameters.put("serverInitializerFactory", new CustomServerInitializerFactory(mllpEndpointConfiguration));
 
         if (!nettyParameters.containsKey("decoders")) {
             nettyParameters.put("decoders", "#" + DEFAULT_HL7_DECODER_FACTORY_BEAN_NAME);
@@ -132,6 +135,14 @@ public abstract class MllpComponent<ConfigType extends MllpEndpointConfiguration
         var charset = getCharset(nettyConfiguration);
         nettyConfiguration.setEncoding(charset.name());
 
+        if (mllpEndpointConfiguration != null && mllpEndpointConfiguration.isDirectCodec()) {
+            useDirectCodec(nettyConfiguration, mllpEndpointConfiguration);
+        }
+
+        if (mllpEndpointConfiguration != null && mllpEndpointConfiguration.getPipelineWindow() > 0) {
+            usePipelining(nettyConfiguration);
+        }
+
         if (nettyConfiguration.isSsl() && nettyConfiguration.getSslContextParameters() == null ) {
             nettyConfiguration.setSslContextParameters(CamelTlsParameters.SYSTEM.getSSLContextParameters());
             // nettyConfiguration.setSslContextParameters(new StaticSSLContextParameters());
@@ -140,6 +151,50 @@ public abstract class MllpComponent<ConfigType extends MllpEndpointConfiguration
         return nettyConfiguration;
     }
 
+    /**
+     * Replaces the standard HL7 decoder and encoder factories with their direct counterparts
+     */
+    private void useDirectCodec(NettyConfiguration nettyConfiguration, MllpEndpointConfiguration mllpEndpointConfiguration) {
+        var decoders = nettyConfiguration.getDecodersAsList().stream()
+                .map(decoder -> {
+                    if (decoder instanceof HL7MLLPNettyDecoderFactory && !(decoder instanceof MllpDirectDecoderFactory)) {
+                        var directDecoder = MllpDirectDecoderFactory.from((HL7MLLPNettyDecoderFactory) decoder);
+                        directDecoder.setDefragmentSegments(mllpEndpointConfiguration.isSupportSegmentFragmentation());
+                        // Netty's default line length is far too small for HL7 messages, so only apply explicit settings
+                        if (nettyConfiguration.getDecoderMaxLineLength() != DEFAULT_DECODER_MAX_LINE_LENGTH) {
+                            directDecoder.setMaxFrameLength(nettyConfiguration.getDecoderMaxLineLength());
+                        }
+                        return directDecoder;
+                    }
+                    return decoder;
+                })
+                .collect(Collectors.toList());
+        var encoders = nettyConfiguration.getEncodersAsList().stream()
+                .map(encoder -> encoder instanceof HL7MLLPNettyEncoderFactory && !(encoder instanceof MllpDirectEncoderFactory) ?
+                        MllpDirectEncoderFactory.from((HL7MLLPNettyEncoderFactory) encoder) :
+                        encoder)
+                .collect(Collectors.toList());
+        nettyConfiguration.setDecodersAsList(decoders);
+        nettyConfiguration.setEncodersAsList(encoders);
+    }
+
+    /**
+     * Lets each producer keep a single shared channel and correlate responses by MSH-10,
+     * see {@link MllpPipeliningProducer}
+     */
+    private void usePipelining(NettyConfiguration nettyConfiguration) {
+        nettyConfiguration.setProducerPoolEnabled(false);
+        if (nettyConfiguration.getCorrelationManager() == null) {
+            var correlationManager = new Hl7CorrelationManager(
+                    getHl7v2TransactionConfiguration().getHapiContext(),
+                    Charset.forName(nettyConfiguration.getEncoding()));
+            if (nettyConfiguration.getRequestTimeout() > 0) {
+                correlationManager.setTimeout(nettyConfiguration.getRequestTimeout());
+            }
+            nettyConfiguration.setCorrelationManager(correlationManager);
+        }
+    }
+
     private Charset getCharset(NettyConfiguration nettyConfiguration) {
         Charset charset = null;
         var decoder = new HL7MLLPNettyDecoderFactory();
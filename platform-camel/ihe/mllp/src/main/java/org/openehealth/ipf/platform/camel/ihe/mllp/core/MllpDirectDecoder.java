@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openehealth.ipf.platform.camel.ihe.mllp.core;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.TooLongFrameException;
+import org.apache.camel.component.hl7.HL7Charset;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * MLLP frame decoder that decodes HL7v2 messages directly from the inbound {@link ByteBuf}.
+ * The character set is taken from MSH-18, if present, before the frame is decoded, so the
+ * frame is converted only once. Line feeds are replaced by carriage returns and, if requested,
+ * continuation segments (ADD) are merged into their preceding segment.
+ * <p>
+ * Frames longer than the configured maximal length are discarded, and a {@link TooLongFrameException}
+ * is raised once per frame.
+ * </p>
+ *
+ * @see MllpDirectDecoderFactory
+ * @since 4.5
+ */
+class MllpDirectDecoder extends ByteToMessageDecoder {
+
+    private static final int MSH_18 = 18;
+
+    private final Charset defaultCharset;
+    private final byte startByte;
+    private final byte endByte1;
+    private final byte endByte2;
+    private final boolean defragmentSegments;
+    private final int maxFrameLength;
+
+    // whether the rest of a too long frame is being skipped
+    private boolean discarding;
+    // offset from the reader index up to which no end of frame has been found yet
+    private int searchOffset;
+
+    MllpDirectDecoder(Charset defaultCharset, byte startByte, byte endByte1, byte endByte2, boolean defragmentSegments,
+                      int maxFrameLength) {
+        this.defaultCharset = defaultCharset;
+        this.startByte = startByte;
+        this.endByte1 = endByte1;
+        this.endByte2 = endByte2;
+        this.defragmentSegments = defragmentSegments;
+        this.maxFrameLength = maxFrameLength;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+        var end = endOfFrame(in);
+        if (end < 0) {
+            // all bytes but the last one, which may be the first end byte, belong to the frame
+            var length = in.readableBytes() - 1;
+            if (discarding) {
+                discard(in);
+            } else if (length > maxFrameLength) {
+                discarding = true;
+                discard(in);
+                throw tooLongFrame(length);
+            }
+            return;
+        }
+        searchOffset = 0;
+        try {
+            if (discarding) {
+                discarding = false;
+                return;
+            }
+            if (end - in.readerIndex() > maxFrameLength) {
+                throw tooLongFrame(end - in.readerIndex());
+            }
+            var start = in.indexOf(in.readerIndex(), end, startByte);
+            if (start < 0) {
+                throw new DecoderException("Did not find start byte " + (int) startByte);
+            }
+            out.add(decode(in, start + 1, end));
+        } finally {
+            in.readerIndex(end + 2);
+        }
+    }
+
+    private void discard(ByteBuf in) {
+        in.skipBytes(Math.max(0, in.readableBytes() - 1));
+        searchOffset = 0;
+    }
+
+    private TooLongFrameException tooLongFrame(int length) {
+        return new TooLongFrameException("Frame length exceeds " + maxFrameLength + " bytes: " + length);
+    }
+
+    private int endOfFrame(ByteBuf in) {
+        var limit = in.writerIndex() - 1;
+        var i = in.readerIndex() + searchOffset;
+        while (i < limit) {
+            i = in.indexOf(i, limit, endByte1);
+            if (i < 0) {
+                break;
+            }
+            if (in.getByte(i + 1) == endByte2) {
+                return i;
+            }
+            i++;
+        }
+        searchOffset = Math.max(0, limit - in.readerIndex());
+        return -1;
+    }
+
+    private String decode(ByteBuf in, int from, int to) {
+        return normalize(in.toString(from, to - from, charset(in, from, to)));
+    }
+
+    /**
+     * Replaces line feeds by carriage returns and, if requested, removes the start of
+     * continuation segments in one pass. The string is only copied if it has to be changed.
+     */
+    String normalize(String s) {
+        var length = s.length();
+        var fieldSeparator = length > 3 ? s.charAt(3) : 0;
+        var defragment = defragmentSegments && length > 3;
+        StringBuilder sb = null;
+        for (var i = 0; i < length; i++) {
+            var c = s.charAt(i);
+            if (c == '\n' || c == '\r') {
+                if (defragment && isContinuation(s, i + 1, fieldSeparator)) {
+                    if (sb == null) {
+                        sb = new StringBuilder(length).append(s, 0, i);
+                    }
+                    i += 4;
+                    continue;
+                }
+                if (c == '\n' && sb == null) {
+                    sb = new StringBuilder(length).append(s, 0, i);
+                }
+                c = '\r';
+            }
+            if (sb != null) {
+                sb.append(c);
+            }
+        }
+        return sb != null ? sb.toString() : s;
+    }
+
+    private static boolean isContinuation(String s, int i, int fieldSeparator) {
+        return i + 3 < s.length() && s.charAt(i) == 'A' && s.charAt(i + 1) == 'D' && s.charAt(i + 2) == 'D'
+                && s.charAt(i + 3) == fieldSeparator;
+    }
+
+    /**
+     * Determines the character set from MSH-18 of the raw message, falling back to the
+     * configured default character set.
+     */
+    Charset charset(ByteBuf in, int from, int to) {
+        if (to - from < 8 || in.getByte(from) != 'M' || in.getByte(from + 1) != 'S' || in.getByte(from + 2) != 'H') {
+            return defaultCharset;
+        }
+        var fieldSeparator = in.getByte(from + 3);
+        var componentSeparator = in.getByte(from + 4);
+        var repetitionSeparator = in.getByte(from + 5);
+        // MSH-1 is the field separator itself, so the n-th separator starts field n + 1
+        var field = 1;
+        var i = from + 3;
+        for (; i < to && field < MSH_18; i++) {
+            var b = in.getByte(i);
+            if (b == '\r' || b == '\n') {
+                return defaultCharset;
+            }
+            if (b == fieldSeparator) {
+                field++;
+            }
+        }
+        var start = i;
+        while (i < to) {
+            var b = in.getByte(i);
+            if (b == fieldSeparator || b == componentSeparator || b == repetitionSeparator || b == '\r' || b == '\n') {
+                break;
+            }
+            i++;
+        }
+        if (field < MSH_18 || i == start) {
+            return defaultCharset;
+        }
+        var hl7Charset = HL7Charset.getHL7Charset(in.toString(start, i - start, StandardCharsets.US_ASCII).trim());
+        return hl7Charset != null ? Charset.forName(hl7Charset.getJavaCharsetName()) : defaultCharset;
+    }
+
+}
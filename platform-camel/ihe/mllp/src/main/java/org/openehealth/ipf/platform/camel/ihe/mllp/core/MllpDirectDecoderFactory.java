@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openehealth.ipf.platform.camel.ihe.mllp.core;
+
+import io.netty.channel.ChannelHandler;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.camel.component.hl7.HL7MLLPNettyDecoderFactory;
+
+import java.nio.charset.Charset;
+
+/**
+ * Decoder factory for the direct MLLP codec. Other than {@link HL7MLLPNettyDecoderFactory}, the
+ * created decoders always produce a {@link String} which is decoded using the character set given in
+ * MSH-18 and already has its segments normalized, so that the consumer side does not need to copy
+ * the message again.
+ * <p>
+ * The factory is used automatically for MLLP endpoints with the <tt>directCodec=true</tt> parameter,
+ * but can also be configured explicitly as decoder.
+ * </p>
+ *
+ * @since 4.5
+ */
+public class MllpDirectDecoderFactory extends HL7MLLPNettyDecoderFactory {
+
+    /**
+     * Whether continuation segments (ADD) shall be merged into their preceding segment
+     */
+    @Getter @Setter
+    private boolean defragmentSegments;
+
+    /**
+     * Maximal length of a frame in bytes, longer frames are discarded
+     */
+    @Getter @Setter
+    private int maxFrameLength = Integer.MAX_VALUE;
+
+    /**
+     * Creates a direct decoder factory with the settings of the given standard HL7 decoder factory
+     *
+     * @param factory HL7 decoder factory
+     * @return direct decoder factory
+     */
+    public static MllpDirectDecoderFactory from(HL7MLLPNettyDecoderFactory factory) {
+        var directFactory = new MllpDirectDecoderFactory();
+        directFactory.setCharset(factory.getCharset());
+        directFactory.setStartByte(factory.getStartByte());
+        directFactory.setEndByte1(factory.getEndByte1());
+        directFactory.setEndByte2(factory.getEndByte2());
+        return directFactory;
+    }
+
+    @Override
+    public ChannelHandler newChannelHandler() {
+        return new MllpDirectDecoder(
+                getCharset() != null ? getCharset() : Charset.defaultCharset(),
+                (byte) getStartByte(),
+                (byte) getEndByte1(),
+                (byte) getEndByte2(),
+                defragmentSegments,
+                maxFrameLength);
+    }
+}
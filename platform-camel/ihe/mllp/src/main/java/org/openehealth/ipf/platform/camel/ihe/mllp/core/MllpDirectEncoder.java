@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openehealth.ipf.platform.camel.ihe.mllp.core;
+
+import ca.uhn.hl7v2.model.Message;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+import org.apache.camel.StreamCache;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * MLLP frame encoder that writes HL7v2 messages directly into the outbound (pooled) {@link ByteBuf}
+ * without creating an intermediate byte array.
+ *
+ * @see MllpDirectEncoderFactory
+ * @since 4.5
+ */
+class MllpDirectEncoder extends MessageToByteEncoder<Object> {
+
+    private final Charset charset;
+    private final boolean utf8;
+    private final float averageBytesPerChar;
+    private final byte startByte;
+    private final byte endByte1;
+    private final byte endByte2;
+
+    // HAPI message encoded while allocating the buffer, so that it is encoded only once
+    private String encodedMessage;
+
+    MllpDirectEncoder(Charset charset, byte startByte, byte endByte1, byte endByte2) {
+        this.charset = charset;
+        this.utf8 = StandardCharsets.UTF_8.equals(charset);
+        this.averageBytesPerChar = charset.newEncoder().averageBytesPerChar();
+        this.startByte = startByte;
+        this.endByte1 = endByte1;
+        this.endByte2 = endByte2;
+    }
+
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Object msg, boolean preferDirect) throws Exception {
+        var capacity = 3;
+        if (msg instanceof CharSequence) {
+            capacity += encodedLength((CharSequence) msg);
+        } else if (msg instanceof Message) {
+            encodedMessage = ((Message) msg).encode();
+            capacity += encodedLength(encodedMessage);
+        } else if (msg instanceof byte[]) {
+            capacity += ((byte[]) msg).length;
+        } else if (msg instanceof StreamCache) {
+            var length = ((StreamCache) msg).length();
+            capacity += (length >= 0 && length < Integer.MAX_VALUE - capacity) ? (int) length : 0;
+        }
+        return preferDirect ?
+                ctx.alloc().ioBuffer(capacity) :
+                ctx.alloc().heapBuffer(capacity);
+    }
+
+    /**
+     * Returns the exact encoded length for UTF-8, otherwise an estimation which is exact
+     * for single-byte character sets. The buffer grows if the estimation is too small.
+     */
+    private int encodedLength(CharSequence s) {
+        if (utf8) {
+            return ByteBufUtil.utf8Bytes(s);
+        }
+        return (int) Math.min(Integer.MAX_VALUE - 3, (long) Math.ceil(s.length() * averageBytesPerChar));
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) throws Exception {
+        if (msg == null) {
+            throw new IllegalArgumentException("The message to encode is null");
+        }
+        out.writeByte(startByte);
+        if (msg instanceof CharSequence) {
+            writeCharSequence(out, (CharSequence) msg);
+        } else if (msg instanceof Message) {
+            var encoded = encodedMessage;
+            encodedMessage = null;
+            writeCharSequence(out, encoded != null ? encoded : ((Message) msg).encode());
+        } else if (msg instanceof byte[]) {
+            out.writeBytes((byte[]) msg);
+        } else if (msg instanceof StreamCache) {
+            ((StreamCache) msg).writeTo(new ByteBufOutputStream(out));
+        } else {
+            throw new IllegalArgumentException("The message to encode is not a supported type: "
+                    + msg.getClass().getCanonicalName());
+        }
+        out.writeByte(endByte1);
+        out.writeByte(endByte2);
+    }
+
+    private void writeCharSequence(ByteBuf out, CharSequence s) {
+        if (utf8) {
+            // ByteBuf#writeCharSequence would reserve three bytes per character
+            ByteBufUtil.reserveAndWriteUtf8(out, s, ByteBufUtil.utf8Bytes(s));
+        } else {
+            out.writeCharSequence(s, charset);
+        }
+    }
+
+}
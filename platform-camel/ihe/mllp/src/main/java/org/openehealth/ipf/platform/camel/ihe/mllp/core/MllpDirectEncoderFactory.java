@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openehealth.ipf.platform.camel.ihe.mllp.core;
+
+import io.netty.channel.ChannelHandler;
+import org.apache.camel.component.hl7.HL7MLLPNettyEncoderFactory;
+
+import java.nio.charset.Charset;
+
+/**
+ * Encoder factory for the direct MLLP codec. The created encoders write HL7v2 messages straight into
+ * the outbound buffer.
+ * <p>
+ * The factory is used automatically for MLLP endpoints with the <tt>directCodec=true</tt> parameter,
+ * but can also be configured explicitly as encoder.
+ * </p>
+ *
+ * @since 4.5
+ */
+public class MllpDirectEncoderFactory extends HL7MLLPNettyEncoderFactory {
+
+    /**
+     * Creates a direct encoder factory with the settings of the given standard HL7 encoder factory
+     *
+     * @param factory HL7 encoder factory
+     * @return direct encoder factory
+     */
+    public static MllpDirectEncoderFactory from(HL7MLLPNettyEncoderFactory factory) {
+        var directFactory = new MllpDirectEncoderFactory();
+        directFactory.setCharset(factory.getCharset());
+        directFactory.setStartByte(factory.getStartByte());
+        directFactory.setEndByte1(factory.getEndByte1());
+        directFactory.setEndByte2(factory.getEndByte2());
+        return directFactory;
+    }
+
+    @Override
+    public ChannelHandler newChannelHandler() {
+        return new MllpDirectEncoder(
+                getCharset() != null ? getCharset() : Charset.defaultCharset(),
+                (byte) getStartByte(),
+                (byte) getEndByte1(),
+                (byte) getEndByte2());
+    }
+}
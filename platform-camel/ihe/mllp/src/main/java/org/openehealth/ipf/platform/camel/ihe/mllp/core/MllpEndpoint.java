@@ -39,6 +39,7 @@ import org.openehealth.ipf.platform.camel.ihe.core.InterceptorFactory;
 import org.openehealth.ipf.platform.camel.ihe.hl7v2.HL7v2Endpoint;
 import org.openehealth.ipf.platform.camel.ihe.mllp.core.intercept.consumer.ConsumerDispatchingInterceptor;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -95,9 +96,18 @@ public abstract class MllpEndpoint<
     /**
      * Returns the original camel-netty producer which will be wrapped
      * into a set of PIX/PDQ-specific interceptors in {@link #createProducer()}.
+     * When pipelining is configured, several camel-netty producers are combined
+     * into a {@link MllpPipeliningProducer}.
      */
     @Override
     public Producer doCreateProducer() throws Exception {
+        if (config.getPipelineWindow() > 0) {
+            var producers = new ArrayList<Producer>();
+            for (var i = 0; i < Math.max(1, config.getPipelineConnections()); ++i) {
+                producers.add(wrappedEndpoint.createProducer());
+            }
+            return new MllpPipeliningProducer(this, producers, config.getPipelineWindow());
+        }
         return wrappedEndpoint.createProducer();
     }
 
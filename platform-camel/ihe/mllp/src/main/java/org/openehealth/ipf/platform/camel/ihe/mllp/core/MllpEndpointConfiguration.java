@@ -21,6 +21,7 @@ import org.openehealth.ipf.platform.camel.ihe.atna.AuditableEndpointConfiguratio
 import org.openehealth.ipf.platform.camel.ihe.mllp.core.intercept.consumer.ConsumerDispatchingInterceptor;
 
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Configuration of an MLLP endpoint. Only IPF-specific parameters are maintained here, the rest is
@@ -38,6 +39,39 @@ public class MllpEndpointConfiguration extends AuditableEndpointConfiguration {
     @Getter
     private final ConsumerDispatchingInterceptor dispatcher;
 
+    /**
+     * Whether to use the direct MLLP codec, see {@link MllpDirectDecoderFactory}
+     */
+    @Getter
+    private final boolean directCodec;
+
+    /**
+     * Executor which processes consumer exchanges instead of the Netty worker threads,
+     * see {@link MllpProcessingExecutorGroup}
+     */
+    @Getter
+    private final Executor processingExecutor;
+
+    /**
+     * Maximal number of consumer exchanges processed at the same time by the {@link #processingExecutor},
+     * unlimited when not positive.  Can be configured only together with the processing executor
+     */
+    @Getter
+    private final int maxMessagesInFlight;
+
+    /**
+     * Maximal number of outstanding requests per producer connection, pipelining is disabled
+     * when not positive, see {@link MllpPipeliningProducer}
+     */
+    @Getter
+    private final int pipelineWindow;
+
+    /**
+     * Number of producer connections used when pipelining is enabled
+     */
+    @Getter
+    private final int pipelineConnections;
+
     protected MllpEndpointConfiguration(MllpComponent<?, ?> component, String uri, Map<String, Object> parameters) throws Exception {
         super(component, parameters);
 
@@ -47,6 +81,14 @@ public class MllpEndpointConfiguration extends AuditableEndpointConfiguration {
                 parameters, "segmentFragmentationThreshold", int.class, -1);                // >= 5 characters
 
         dispatcher = component.resolveAndRemoveReferenceParameter(parameters, "dispatcher", ConsumerDispatchingInterceptor.class);
+        directCodec = component.getAndRemoveParameter(parameters, "directCodec", boolean.class, false);
+        processingExecutor = component.resolveAndRemoveReferenceParameter(parameters, "processingExecutor", Executor.class);
+        maxMessagesInFlight = component.getAndRemoveParameter(parameters, "maxMessagesInFlight", int.class, 0);
+        if ((maxMessagesInFlight > 0) && (processingExecutor == null)) {
+            throw new IllegalArgumentException("Parameter maxMessagesInFlight requires a processingExecutor");
+        }
+        pipelineWindow = component.getAndRemoveParameter(parameters, "pipelineWindow", int.class, 0);
+        pipelineConnections = component.getAndRemoveParameter(parameters, "pipelineConnections", int.class, 1);
 
     }
 
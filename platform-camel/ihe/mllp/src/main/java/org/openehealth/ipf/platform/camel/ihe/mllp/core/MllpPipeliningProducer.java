@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.platform.camel.ihe.mllp.core;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Producer;
+import org.apache.camel.support.AsyncProcessorConverterHelper;
+import org.apache.camel.support.DefaultAsyncProducer;
+import org.apache.camel.support.service.ServiceHelper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * MLLP producer which sends requests over a fixed set of connections without waiting for
+ * the responses to preceding requests, i.e. each connection can carry up to <code>window</code>
+ * outstanding requests. Responses are matched to their requests by the correlation manager
+ * of the wrapped Netty producers (see {@link Hl7CorrelationManager}), i.e. by MSH-10 and MSA-2.
+ * <p>
+ * Each request goes to the connection with the least outstanding requests. When all
+ * connections are saturated, the request is queued without blocking the calling thread,
+ * and is sent as soon as a response frees a slot.
+ *
+ * @since 4.5
+ */
+class MllpPipeliningProducer extends DefaultAsyncProducer {
+
+    private final List<AsyncProcessor> connections;
+    private final List<Producer> producers;
+    private final int[] outstanding;
+    private final int window;
+    private final Queue<PendingRequest> pending = new ArrayDeque<>();
+    // whether a thread is currently sending queued requests
+    private boolean draining;
+
+    /**
+     * @param endpoint  MLLP endpoint.
+     * @param producers Netty producers which share a single channel each.
+     * @param window    maximal number of outstanding requests per connection.
+     */
+    MllpPipeliningProducer(Endpoint endpoint, List<Producer> producers, int window) {
+        super(endpoint);
+        if (producers.isEmpty() || window < 1) {
+            throw new IllegalArgumentException("At least one connection and a positive window are required");
+        }
+        this.producers = producers;
+        this.connections = new ArrayList<>(producers.size());
+        for (var producer : producers) {
+            connections.add(AsyncProcessorConverterHelper.convert(producer));
+        }
+        this.outstanding = new int[producers.size()];
+        this.window = window;
+    }
+
+    /**
+     * @return total number of requests which have been sent, but not yet answered.
+     */
+    synchronized int getOutstandingRequests() {
+        var result = 0;
+        for (var count : outstanding) {
+            result += count;
+        }
+        return result;
+    }
+
+    /**
+     * @return number of requests which wait for a free slot.
+     */
+    synchronized int getPendingRequests() {
+        return pending.size();
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        int connection;
+        synchronized (this) {
+            connection = pending.isEmpty() ? acquire() : -1;
+            if (connection < 0) {
+                pending.add(new PendingRequest(exchange, callback));
+                return false;
+            }
+        }
+        return send(connection, exchange, callback);
+    }
+
+    private boolean send(int connection, Exchange exchange, AsyncCallback callback) {
+        try {
+            return connections.get(connection).process(exchange, doneSync -> {
+                release(connection);
+                callback.done(doneSync);
+            });
+        } catch (Throwable t) {
+            release(connection);
+            exchange.setException(t);
+            callback.done(true);
+            return true;
+        }
+    }
+
+    /**
+     * @return connection with the least outstanding requests and a free slot, or -1 if all are saturated.
+     */
+    private int acquire() {
+        var best = -1;
+        for (var i = 0; i < outstanding.length; ++i) {
+            if (outstanding[i] < window && (best < 0 || outstanding[i] < outstanding[best])) {
+                best = i;
+            }
+        }
+        if (best >= 0) {
+            ++outstanding[best];
+        }
+        return best;
+    }
+
+    private void release(int connection) {
+        synchronized (this) {
+            --outstanding[connection];
+            if (draining || pending.isEmpty()) {
+                return;
+            }
+            draining = true;
+        }
+        drain();
+    }
+
+    /**
+     * Sends queued requests while there are free slots. Responses which arrive synchronously
+     * during sending only free their slot, so that the stack does not grow with the queue.
+     */
+    private void drain() {
+        while (true) {
+            PendingRequest request;
+            int connection;
+            synchronized (this) {
+                connection = pending.isEmpty() ? -1 : acquire();
+                if (connection < 0) {
+                    draining = false;
+                    return;
+                }
+                request = pending.poll();
+            }
+            // the caller has already been told that the exchange completes asynchronously
+            send(connection, request.exchange, doneSync -> request.callback.done(false));
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ServiceHelper.startService(producers);
+        super.doStart();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        List<PendingRequest> requests;
+        synchronized (this) {
+            requests = new ArrayList<>(pending);
+            pending.clear();
+        }
+        for (var request : requests) {
+            request.exchange.setException(new IllegalStateException("Producer has been stopped before the request could be sent"));
+            request.callback.done(false);
+        }
+        ServiceHelper.stopService(producers);
+    }
+
+    private static class PendingRequest {
+        private final Exchange exchange;
+        private final AsyncCallback callback;
+
+        PendingRequest(Exchange exchange, AsyncCallback callback) {
+            this.exchange = exchange;
+            this.callback = callback;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.platform.camel.ihe.mllp.core;
+
+import io.netty.util.concurrent.AbstractEventExecutor;
+import io.netty.util.concurrent.AbstractEventExecutorGroup;
+import io.netty.util.concurrent.DefaultPromise;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Netty {@link io.netty.util.concurrent.EventExecutorGroup} which lets MLLP consumers process
+ * exchanges on an arbitrary {@link Executor} instead of the Netty worker threads, e.g. on a
+ * virtual-thread-per-task executor when running on Java 21 or later.
+ * <p>
+ * Netty pins the handler of each channel to one {@link EventExecutor} obtained from {@link #next()}.
+ * Each invocation creates a new serial lane, therefore the messages of a connection are processed
+ * one after another in the order of their arrival, while different connections are processed concurrently.
+ * <p>
+ * The number of tasks running at the same time can be limited. Lanes waiting for a permit are served
+ * in FIFO order, and a lane gives its permit back after each task, so that a chatty sender cannot
+ * starve the others.
+ *
+ * @since 4.5
+ */
+class MllpProcessingExecutorGroup extends AbstractEventExecutorGroup {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MllpProcessingExecutorGroup.class);
+
+    private final Executor executor;
+    private final int maxMessagesInFlight;
+    private final Queue<Lane> waitingLanes = new ArrayDeque<>();
+    private final Promise<Void> terminationFuture = new DefaultPromise<>(GlobalEventExecutor.INSTANCE);
+    private int messagesInFlight;
+
+    /**
+     * @param executor            executor which runs the tasks, is not managed by this group.
+     * @param maxMessagesInFlight maximal number of tasks running at the same time, unlimited when not positive.
+     */
+    MllpProcessingExecutorGroup(Executor executor, int maxMessagesInFlight) {
+        this.executor = requireNonNull(executor);
+        this.maxMessagesInFlight = maxMessagesInFlight;
+    }
+
+    /**
+     * @return number of tasks which are currently running or have been passed to the executor.
+     */
+    synchronized int getMessagesInFlight() {
+        return messagesInFlight;
+    }
+
+    /**
+     * @return number of connections which have pending tasks, but are waiting for a free permit.
+     */
+    synchronized int getWaitingConnections() {
+        return waitingLanes.size();
+    }
+
+    @Override
+    public EventExecutor next() {
+        return new Lane();
+    }
+
+    @Override
+    public Iterator<EventExecutor> iterator() {
+        return Collections.emptyIterator();
+    }
+
+    @Override
+    public boolean isShuttingDown() {
+        return terminationFuture.isDone();
+    }
+
+    @Override
+    public Future<?> shutdownGracefully(long quietPeriod, long timeout, TimeUnit unit) {
+        terminationFuture.trySuccess(null);
+        return terminationFuture;
+    }
+
+    @Override
+    public Future<?> terminationFuture() {
+        return terminationFuture;
+    }
+
+    @Override
+    @Deprecated
+    public void shutdown() {
+        terminationFuture.trySuccess(null);
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return terminationFuture.isDone();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminationFuture.isDone();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminationFuture.await(timeout, unit);
+    }
+
+    private void enqueue(Lane lane) {
+        synchronized (this) {
+            if (maxMessagesInFlight > 0 && messagesInFlight >= maxMessagesInFlight) {
+                waitingLanes.add(lane);
+                return;
+            }
+            ++messagesInFlight;
+        }
+        dispatch(lane);
+    }
+
+    private void releasePermit() {
+        Lane next;
+        synchronized (this) {
+            next = waitingLanes.poll();
+            if (next == null) {
+                --messagesInFlight;
+                return;
+            }
+        }
+        // the permit is handed over to the next waiting lane
+        dispatch(next);
+    }
+
+    private void dispatch(Lane lane) {
+        try {
+            executor.execute(lane::runNext);
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Processing executor rejected the task, running it in the calling thread", e);
+            lane.runNext();
+        }
+    }
+
+    /**
+     * Serial executor for the events of a single channel.
+     */
+    private final class Lane extends AbstractEventExecutor {
+
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile Thread runner;
+
+        private Lane() {
+            super(MllpProcessingExecutorGroup.this);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(requireNonNull(task));
+            if (scheduled.compareAndSet(false, true)) {
+                enqueue(this);
+            }
+        }
+
+        private void runNext() {
+            runner = Thread.currentThread();
+            try {
+                var task = tasks.poll();
+                if (task != null) {
+                    safeExecute(task);
+                }
+            } finally {
+                runner = null;
+                scheduled.set(false);
+                releasePermit();
+                // tasks added in the meantime did not schedule this lane, go to the end of the queue
+                if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+                    enqueue(this);
+                }
+            }
+        }
+
+        @Override
+        public boolean inEventLoop(Thread thread) {
+            return thread == runner;
+        }
+
+        @Override
+        public boolean isShuttingDown() {
+            return MllpProcessingExecutorGroup.this.isShuttingDown();
+        }
+
+        @Override
+        public Future<?> shutdownGracefully(long quietPeriod, long timeout, TimeUnit unit) {
+            // lanes live as long as their channels, the group is shut down as a whole
+            return terminationFuture();
+        }
+
+        @Override
+        public Future<?> terminationFuture() {
+            return MllpProcessingExecutorGroup.this.terminationFuture();
+        }
+
+        @Override
+        @Deprecated
+        public void shutdown() {
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return MllpProcessingExecutorGroup.this.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return MllpProcessingExecutorGroup.this.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return MllpProcessingExecutorGroup.this.awaitTermination(timeout, unit);
+        }
+    }
+}
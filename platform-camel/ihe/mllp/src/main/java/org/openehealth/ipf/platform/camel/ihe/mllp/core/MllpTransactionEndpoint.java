@@ -78,7 +78,7 @@ public class MllpTransactionEndpoint<AuditDatasetType extends MllpAuditDataset>
         if (isSupportUnsolicitedFragmentation()) {
             initialChain.add(new ConsumerRequestDefragmenterInterceptor());
         }
-        initialChain.add(new ConsumerMarshalInterceptor(getConfig().isCopyOriginalMessage()));
+        initialChain.add(new ConsumerMarshalInterceptor(getConfig().isCopyOriginalMessage(), getConfig().isLazyParsing()));
         initialChain.add(new ConsumerRequestAcceptanceInterceptor());
         if (isSupportInteractiveContinuation()) {
             initialChain.add(new ConsumerInteractiveResponseSenderInterceptor());
@@ -155,6 +155,15 @@ public class MllpTransactionEndpoint<AuditDatasetType extends MllpAuditDataset>
         return getConfig().getUnsolicitedFragmentationThreshold();
     }
 
+    /**
+     * Returns the number of characters after which accumulated unsolicited fragments
+     * are moved into a temporary file (relevant on consumer side only).
+     */
+    @ManagedAttribute(description = "Unsolicited Fragmentation Spill Threshold")
+    public int getUnsolicitedFragmentationSpillThreshold() {
+        return getConfig().getUnsolicitedFragmentationSpillThreshold();
+    }
+
     /**
      * Returns the unsolicited fragmentation storage bean.
      */
@@ -31,6 +31,7 @@ public class MllpTransactionEndpointConfiguration extends MllpEndpointConfigurat
 
     @Getter private final boolean supportUnsolicitedFragmentation;
     @Getter private final int unsolicitedFragmentationThreshold;
+    @Getter private final int unsolicitedFragmentationSpillThreshold;
     @Getter private final UnsolicitedFragmentationStorage unsolicitedFragmentationStorage;
 
     @Getter private final boolean supportInteractiveContinuation;
@@ -38,16 +39,21 @@ public class MllpTransactionEndpointConfiguration extends MllpEndpointConfigurat
     @Getter private final InteractiveContinuationStorage interactiveContinuationStorage;
     @Getter private final boolean autoCancel;
     @Getter private final boolean copyOriginalMessage;
+    @Getter private final boolean lazyParsing;
 
     protected MllpTransactionEndpointConfiguration(MllpComponent<MllpTransactionEndpointConfiguration, ? extends MllpAuditDataset> component, String uri, Map<String, Object> parameters) throws Exception {
         super(component, uri, parameters);
 
         copyOriginalMessage = component.getAndRemoveParameter(
                 parameters, "copyOriginalMessage", boolean.class, true);
+        lazyParsing = component.getAndRemoveParameter(
+                parameters, "lazyParsing", boolean.class, false);
         supportUnsolicitedFragmentation = component.getAndRemoveParameter(
                 parameters, "supportUnsolicitedFragmentation", boolean.class, false);
         unsolicitedFragmentationThreshold = component.getAndRemoveParameter(
                 parameters, "unsolicitedFragmentationThreshold", int.class, -1);            // >= 3 segments
+        unsolicitedFragmentationSpillThreshold = component.getAndRemoveParameter(
+                parameters, "unsolicitedFragmentationSpillThreshold", int.class, -1);       // characters
 
         unsolicitedFragmentationStorage = component.resolveAndRemoveReferenceParameter(
                 parameters,
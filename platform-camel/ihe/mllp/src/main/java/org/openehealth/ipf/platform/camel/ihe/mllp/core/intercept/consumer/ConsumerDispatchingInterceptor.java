@@ -17,13 +17,13 @@ package org.openehealth.ipf.platform.camel.ihe.mllp.core.intercept.consumer;
 
 import ca.uhn.hl7v2.ErrorCode;
 import ca.uhn.hl7v2.HL7Exception;
-import ca.uhn.hl7v2.preparser.PreParser;
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelException;
 import org.apache.camel.Exchange;
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.StartupListener;
 import org.openehealth.ipf.commons.ihe.hl7v2.Hl7v2AcceptanceException;
+import org.openehealth.ipf.commons.ihe.hl7v2.LazyHl7v2Message;
 import org.openehealth.ipf.platform.camel.ihe.core.Interceptor;
 import org.openehealth.ipf.platform.camel.ihe.core.InterceptorSupport;
 import org.openehealth.ipf.platform.camel.ihe.hl7v2.HL7v2Endpoint;
@@ -37,10 +37,15 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Interceptor which dispatches an incoming request message to another MLLP route.
  * <p>
+ * The message is not parsed before dispatching: MSH-9 and MSH-12 are read directly from
+ * the raw text, and the target route is looked up in a table which remembers, for each combination
+ * of these values, the first route whose transaction configuration accepts it.
  *
  * @author Dmytro Rud
  */
@@ -50,6 +55,13 @@ public final class ConsumerDispatchingInterceptor extends InterceptorSupport
 
     private final List<String> routeIds = new ArrayList<>();
     private final Map<String, Interceptor> map = new HashMap<>();
+    private final Map<List<String>, Optional<String>> dispatchTable = new ConcurrentHashMap<>();
+
+    /**
+     * Upper bound for the number of entries in the dispatch table, protects against
+     * being flooded with messages carrying arbitrary MSH-9 and MSH-12 values.
+     */
+    private static final int MAX_DISPATCH_TABLE_SIZE = 1000;
 
 
     /**
@@ -127,6 +139,7 @@ public final class ConsumerDispatchingInterceptor extends InterceptorSupport
                 throw new CamelException("Route with ID='" + routeId + "' is not an IPF MLLP route", e);
             }
         }
+        dispatchTable.clear();
         return !map.isEmpty();
     }
 
@@ -134,39 +147,60 @@ public final class ConsumerDispatchingInterceptor extends InterceptorSupport
     public void process(Exchange exchange) throws Exception {
 
         // determine attributes of the message
-        var message = exchange.getIn().getBody(String.class);
-        var fields = PreParser.getFields(message, "MSH-9-1", "MSH-9-2", "MSH-9-3", "MSH-12");
-        var messageType = fields[0];
-        var triggerEvent = fields[1];
-        var messageStructure = fields[2];
-        var version = fields[3];
+        LazyHl7v2Message message;
+        try {
+            message = new LazyHl7v2Message(exchange.getIn().getBody(String.class), null);
+        } catch (HL7Exception e) {
+            LOG.error("Cannot read message header, dispatching not possible ({}). Creating a default NAK response", e.getMessage());
+            LOG.debug("Exception details: ", e);
+            setDefaultNak(exchange, e);
+            return;
+        }
+        var messageType = message.getMessageType();
+        var triggerEvent = message.getTriggerEvent();
+        var messageStructure = message.getMessageStructure();
+        var version = message.getVersion();
 
         // check who can accept the message
-        var found = false;
-        for (var routeId : routeIds) {
-            var interceptor = map.get(routeId);
-            var config = interceptor.getEndpoint(MllpEndpoint.class).getHl7v2TransactionConfiguration();
-            try {
-                config.checkMessageAcceptance(messageType, triggerEvent, messageStructure, version, true);
-
-                LOG.debug("Dispatch message with MSH-9-1='{}', MSH-9-2='{}', MSH-9-3='{}', MSH-12='{}' to route '{}'",
-                        messageType, triggerEvent, messageStructure, version, routeId);
-                found = true;
-                interceptor.process(exchange);
-                break;
-            } catch (Hl7v2AcceptanceException e) {
-                // no problem
+        var key = Arrays.asList(messageType, triggerEvent, messageStructure, version);
+        var routeId = dispatchTable.get(key);
+        if (routeId == null) {
+            routeId = findTargetRoute(messageType, triggerEvent, messageStructure, version);
+            if (dispatchTable.size() < MAX_DISPATCH_TABLE_SIZE) {
+                dispatchTable.put(key, routeId);
             }
         }
 
-        if (!found) {
+        if (routeId.isPresent()) {
+            LOG.debug("Dispatch message with MSH-9-1='{}', MSH-9-2='{}', MSH-9-3='{}', MSH-12='{}' to route '{}'",
+                    messageType, triggerEvent, messageStructure, version, routeId.get());
+            map.get(routeId.get()).process(exchange);
+        } else {
             LOG.debug("Nobody can process message with MSH-9-1='{}', MSH-9-2='{}', MSH-9-3='{}', MSH-12='{}'",
                     messageType, triggerEvent, messageStructure, version);
-            var exception = new HL7Exception(
-                    "Unsupported message type and/or version", ErrorCode.APPLICATION_INTERNAL_ERROR);
-            exchange.getMessage().setBody(getEndpoint(HL7v2Endpoint.class).getNakFactory().createDefaultNak(exception).encode());
+            setDefaultNak(exchange, new HL7Exception(
+                    "Unsupported message type and/or version", ErrorCode.APPLICATION_INTERNAL_ERROR));
         }
     }
 
+    private void setDefaultNak(Exchange exchange, HL7Exception exception) throws HL7Exception {
+        exchange.getMessage().setBody(getEndpoint(HL7v2Endpoint.class).getNakFactory().createDefaultNak(exception).encode());
+    }
+
+    /**
+     * @return ID of the first route which accepts messages with the given attributes.
+     */
+    private Optional<String> findTargetRoute(String messageType, String triggerEvent, String messageStructure, String version) {
+        for (var routeId : routeIds) {
+            var config = map.get(routeId).getEndpoint(MllpEndpoint.class).getHl7v2TransactionConfiguration();
+            try {
+                config.checkMessageAcceptance(messageType, triggerEvent, messageStructure, version, true);
+                return Optional.of(routeId);
+            } catch (Hl7v2AcceptanceException e) {
+                // no problem
+            }
+        }
+        return Optional.empty();
+    }
 
 }
@@ -20,13 +20,14 @@ import ca.uhn.hl7v2.model.Segment;
 import ca.uhn.hl7v2.util.Terser;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
-import org.openehealth.ipf.commons.ihe.hl7v2.Constants;
 import org.openehealth.ipf.commons.ihe.hl7v2.Hl7v2TransactionConfiguration;
+import org.openehealth.ipf.commons.ihe.hl7v2.storage.InteractiveContinuationResponse;
 import org.openehealth.ipf.commons.ihe.hl7v2.storage.InteractiveContinuationStorage;
 import org.openehealth.ipf.modules.hl7.message.MessageUtils;
 import org.openehealth.ipf.platform.camel.core.util.Exchanges;
 import org.openehealth.ipf.platform.camel.ihe.core.InterceptorSupport;
 import org.openehealth.ipf.platform.camel.ihe.hl7v2.HL7v2Endpoint;
+import org.openehealth.ipf.platform.camel.ihe.hl7v2.Hl7v2MarshalUtils;
 import org.openehealth.ipf.platform.camel.ihe.mllp.core.MllpTransactionEndpoint;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,7 +38,6 @@ import java.util.List;
 import static java.util.Objects.requireNonNull;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
-import static org.openehealth.ipf.platform.camel.ihe.mllp.core.FragmentationUtils.appendSegments;
 import static org.openehealth.ipf.platform.camel.ihe.mllp.core.FragmentationUtils.joinSegments;
 import static org.openehealth.ipf.platform.camel.ihe.mllp.core.FragmentationUtils.keyString;
 import static org.openehealth.ipf.platform.camel.ihe.mllp.core.FragmentationUtils.splitString;
@@ -47,6 +47,9 @@ import static org.openehealth.ipf.platform.camel.ihe.mllp.core.FragmentationUtil
 /**
  * Consumer-side interceptor for interactive continuation support 
  * as described in paragraph 5.6.3 of the HL7 v2.5 specification.
+ * <p>
+ * When the storage supports it, the response is stored as a whole and
+ * single fragments are created from it on demand.
  * @author Dmytro Rud
  */
 public class ConsumerInteractiveResponseSenderInterceptor extends InterceptorSupport {
@@ -62,23 +65,23 @@ public class ConsumerInteractiveResponseSenderInterceptor extends InterceptorSup
     @Override
     public void process(Exchange exchange) throws Exception {
         var parser = getHl7v2TransactionConfiguration().getParser();
-        var requestMessage = exchange.getIn().getHeader(Constants.ORIGINAL_MESSAGE_ADAPTER_HEADER_NAME, Message.class);
-        var requestTerser = new Terser(requestMessage);
-        var requestMessageType = requestTerser.get("MSH-9-1");
+        // read the fields from the unparsed snapshot of the request
+        var request = Hl7v2MarshalUtils.originalMessageSnapshot(exchange.getIn(), parser);
+        var requestMessageType = request.getMessageType();
 
         // get pieces of fragments' keys
-        final var msh31 = requestTerser.get("MSH-3-1");
-        final var msh32 = requestTerser.get("MSH-3-2");
-        final var msh33 = requestTerser.get("MSH-3-3");
+        final var msh31 = request.get("MSH-3-1");
+        final var msh32 = request.get("MSH-3-2");
+        final var msh33 = request.get("MSH-3-3");
 
         // handle cancel messages; if there is nothing to cancel -- pass to the route
-        if ("QCN".equals(requestMessageType) || "CNQ".equals(requestTerser.get("MSH-9-2"))) {
+        if ("QCN".equals(requestMessageType) || "CNQ".equals(request.get("MSH-9-2"))) {
             var queryTag = "QCN".equals(requestMessageType) ?
-                    requestTerser.get("QID-1") :
-                    requestTerser.get("QPD-2");
+                    request.get("QID-1") :
+                    request.get("QPD-2");
             if (storage.delete(keyString(queryTag, msh31, msh32, msh33))) {
                 LOG.debug("Dropped response chain for query tag {}", queryTag);
-                var ack = requestMessage.generateACK();
+                var ack = request.getMessage().generateACK();
 
                 // Workaround: HAPI misses to populate the message structure for ACKs, but client may want to see it
                 Terser.set((Segment)ack.get("MSH"), 9, 0, 3, 1, "ACK");
@@ -96,7 +99,7 @@ public class ConsumerInteractiveResponseSenderInterceptor extends InterceptorSup
         }
 
         // check whether requested unit type is supported
-        var rcp22 = requestTerser.get("RCP-2-2");
+        var rcp22 = request.get("RCP-2-2");
         if (! "RD".equals(rcp22)) {
             if (rcp22 != null) {
                 LOG.warn("Unit '{}' in RCP-2-2 is not supported", rcp22);
@@ -108,7 +111,7 @@ public class ConsumerInteractiveResponseSenderInterceptor extends InterceptorSup
         // determine the threshold (maximal records count per message)
         var threshold = -1;
         try {
-            threshold = Integer.parseInt(requestTerser.get("RCP-2-1"));
+            threshold = Integer.parseInt(request.get("RCP-2-1"));
         } catch (NumberFormatException nfe) {
             LOG.warn("Cannot parse RCP-2-1, try to use default threshold", nfe);
         }
@@ -122,18 +125,18 @@ public class ConsumerInteractiveResponseSenderInterceptor extends InterceptorSup
         }
         
         // check whether the request is acceptable; if not -- pass it to the route, let the user decide 
-        var continuationPointer = requestTerser.get("DSC-1");
+        var continuationPointer = request.get("DSC-1");
         if (isEmpty(continuationPointer)) {
             continuationPointer = null;
         }
 
-        if ((continuationPointer != null) && ! "I".equals(requestTerser.get("DSC-2"))) {
+        if ((continuationPointer != null) && ! "I".equals(request.get("DSC-2"))) {
             LOG.warn("Cannot perform interactive continuation: DSC-1 is not empty and DSC-2 is not 'I'");
             getWrappedProcessor().process(exchange);
             return;
         }
         
-        final var queryTag = requestTerser.get("QPD-2");
+        final var queryTag = request.get("QPD-2");
         if (isEmpty(queryTag)) {
             LOG.warn("Cannot perform interactive continuation: empty query tag in QPD-2");
             getWrappedProcessor().process(exchange);
@@ -142,7 +145,16 @@ public class ConsumerInteractiveResponseSenderInterceptor extends InterceptorSup
 
         // handle query
         final var chainId = keyString(queryTag, msh31, msh32, msh33);
-        var responseMessage = storage.get(continuationPointer, chainId);
+        Message responseMessage = null;
+        var storedResponse = storage.getResponse(chainId);
+        if (storedResponse != null) {
+            var index = storedResponse.indexOf(continuationPointer);
+            if (index >= 0) {
+                responseMessage = createFragment(storedResponse, index);
+            }
+        } else {
+            responseMessage = storage.get(continuationPointer, chainId);
+        }
         if (responseMessage != null) {
             // a prepared response fragment found -- perform some post-processing and send it to the user
             LOG.debug("Use prepared fragment for {}", continuationPointer);
@@ -150,7 +162,7 @@ public class ConsumerInteractiveResponseSenderInterceptor extends InterceptorSup
                 var responseTerser = new Terser(responseMessage);
                 responseTerser.set("MSH-7", MessageUtils.hl7Now());
                 responseTerser.set("MSH-10", uniqueId());
-                responseTerser.set("MSA-2", requestTerser.get("MSH-10"));
+                responseTerser.set("MSA-2", request.get("MSH-10"));
             }
         } else {
             // no fragment found --> run the route and create fragments if necessary
@@ -197,43 +209,49 @@ public class ConsumerInteractiveResponseSenderInterceptor extends InterceptorSup
 
         // determine count of resulting fragments
         final var fragmentsCount = (recordBoundaries.size() + threshold - 2) / threshold;
-        
-        // create a new chain of fragments
-        var parser = getHl7v2TransactionConfiguration().getParser();
-        String continuationPointer = null;
+
+        // split the data records into fragments
+        var response = new InteractiveContinuationResponse(headerSegments.toString(), footerSegments.toString());
         for (var currentFragmentIndex = 0; currentFragmentIndex < fragmentsCount; ++currentFragmentIndex) {
-            // create the current fragment as String 
             var startRecordIndex = currentFragmentIndex * threshold;
             var endRecordIndex = Math.min(startRecordIndex + threshold, recordBoundaries.size() - 1);
             int startSegmentIndex = recordBoundaries.get(startRecordIndex);
             int endSegmentIndex = recordBoundaries.get(endRecordIndex);
+            response.addFragment(
+                    (currentFragmentIndex == 0) ? null : uniqueId(),
+                    joinSegments(segments, startSegmentIndex, endSegmentIndex).toString(),
+                    endRecordIndex - startRecordIndex);
+        }
 
-            var sb = new StringBuilder(headerSegments);
-            appendSegments(sb, segments, startSegmentIndex, endSegmentIndex);
-            sb.append(footerSegments);
-
-            // parse, post-process and register the current fragment
-            var fragment = parser.parse(sb.toString());
-            var fragmentTerser = new Terser(fragment);
-            var nextContinuationPointer = uniqueId();
-            if (currentFragmentIndex != fragmentsCount - 1) {
-                fragmentTerser.set("DSC-1", nextContinuationPointer);
-                fragmentTerser.set("DSC-2", "I");
+        // store the response as a whole, or each fragment separately
+        if (!storage.putResponse(chainId, response)) {
+            for (var currentFragmentIndex = 0; currentFragmentIndex < fragmentsCount; ++currentFragmentIndex) {
+                storage.put(response.getContinuationPointer(currentFragmentIndex), chainId,
+                        createFragment(response, currentFragmentIndex));
             }
-            fragmentTerser.set("QAK-4", Integer.toString(recordBoundaries.size() - 1));
-            fragmentTerser.set("QAK-5", Integer.toString(endRecordIndex - startRecordIndex));
-            fragmentTerser.set("QAK-6", Integer.toString(recordBoundaries.size() - 1 - endRecordIndex));
+        }
+        LOG.debug("Prepared {} interactive fragments for query tag {}", fragmentsCount, queryTag);
+        return createFragment(response, 0);
+    }
 
-            storage.put(continuationPointer, chainId, fragment);
-            continuationPointer = nextContinuationPointer;
 
-            // remember the first fragment in order to return it
-            if (currentFragmentIndex == 0) {
-                responseMessage = fragment;
-            }
+    /**
+     * Creates the fragment with the given index and fills its DSC and QAK segments.
+     */
+    private Message createFragment(InteractiveContinuationResponse response, int index) throws Exception {
+        var fragment = getHl7v2TransactionConfiguration().getParser().parse(response.getFragment(index));
+        var fragmentTerser = new Terser(fragment);
+        if (index != response.getFragmentCount() - 1) {
+            fragmentTerser.set("DSC-1", response.getContinuationPointer(index + 1));
+            fragmentTerser.set("DSC-2", "I");
         }
-        LOG.debug("Prepared {} interactive fragments for query tag {}", fragmentsCount, queryTag);
-        return responseMessage;
+        var totalRecordCount = response.getTotalRecordCount();
+        var recordCount = response.getRecordCount(index);
+        var precedingRecordCount = response.getPrecedingRecordCount(index);
+        fragmentTerser.set("QAK-4", Integer.toString(totalRecordCount));
+        fragmentTerser.set("QAK-5", Integer.toString(recordCount));
+        fragmentTerser.set("QAK-6", Integer.toString(totalRecordCount - precedingRecordCount - recordCount));
+        return fragment;
     }
 
     
@@ -16,9 +16,13 @@
 package org.openehealth.ipf.platform.camel.ihe.mllp.core.intercept.consumer;
 
 import ca.uhn.hl7v2.HL7Exception;
+import ca.uhn.hl7v2.model.Message;
+import ca.uhn.hl7v2.parser.Parser;
 import ca.uhn.hl7v2.util.Terser;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
+import org.openehealth.ipf.commons.ihe.hl7v2.LazyHl7v2Message;
+import org.openehealth.ipf.commons.ihe.hl7v2.storage.UnsolicitedFragmentAccumulator;
 import org.openehealth.ipf.commons.ihe.hl7v2.storage.UnsolicitedFragmentationStorage;
 import org.openehealth.ipf.modules.hl7.message.MessageUtils;
 import org.openehealth.ipf.platform.camel.ihe.core.InterceptorSupport;
@@ -53,21 +57,18 @@ public class ConsumerRequestDefragmenterInterceptor extends InterceptorSupport {
 
     /**
      * Accumulates fragments and passes the "big" message to the processing route. 
+     * The fields needed for accumulation are read from the raw fragments,
+     * only the assembled message is parsed afterwards.
      */
     @Override
     public void process(Exchange exchange) throws Exception {
         var requestString = exchange.getIn().getBody(String.class);
         var parser = getEndpoint(MllpTransactionEndpoint.class).getHl7v2TransactionConfiguration().getParser();
-        var requestMessage = parser.parse(requestString);
-        var requestTerser = new Terser(requestMessage);
-        var msh14 = requestTerser.get("MSH-14");
+        var request = new LazyHl7v2Message(requestString, parser);
+        var msh14 = request.get("MSH-14");
         String dsc1 = null;
-        try {
-            if (! "I".equals(requestTerser.get("DSC-2"))) {
-                dsc1 = requestTerser.get("DSC-1");
-            }
-        } catch (HL7Exception e) {
-            // segment DSC does not exist in cancel requests
+        if (! "I".equals(request.get("DSC-2"))) {
+            dsc1 = request.get("DSC-1");
         }
 
         // pass when the message is not fragmented
@@ -77,17 +78,18 @@ public class ConsumerRequestDefragmenterInterceptor extends InterceptorSupport {
         }
 
         // get pieces of the accumulator's key
-        var msh31 = requestTerser.get("MSH-3-1");
-        var msh32 = requestTerser.get("MSH-3-2");
-        var msh33 = requestTerser.get("MSH-3-3");
+        var msh31 = request.get("MSH-3-1");
+        var msh32 = request.get("MSH-3-2");
+        var msh33 = request.get("MSH-3-3");
 
         // create an accumulator (on the arrival of the first fragment) 
         // or get an existing one (on the arrival of fragments 2..n)
-        StringBuilder accumulator; 
+        var spillThreshold = getEndpoint(MllpTransactionEndpoint.class).getUnsolicitedFragmentationSpillThreshold();
+        UnsolicitedFragmentAccumulator accumulator;
         if (isEmpty(msh14)) {
-            accumulator = new StringBuilder();
+            accumulator = new UnsolicitedFragmentAccumulator(spillThreshold);
         } else {
-            accumulator = storage.getAndRemove(keyString(msh14, msh31, msh32, msh33));
+            accumulator = storage.getAndRemoveAccumulator(keyString(msh14, msh31, msh32, msh33), spillThreshold);
             if (accumulator == null) {
                 LOG.warn("Pass unknown fragment with MSH-14=={} to the route", msh14);
                 getWrappedProcessor().process(exchange);
@@ -101,9 +103,12 @@ public class ConsumerRequestDefragmenterInterceptor extends InterceptorSupport {
         accumulator.append(requestString, beginIndex, endIndex);
         
         // DSC-1 is empty -- finish accumulation, pass message to the marshaller
+        // the message is materialized as a string, because the following interceptors and the
+        // HL7 parser need it as a whole; the spill file only relieves the storage in between
         if (isEmpty(dsc1)) {
             LOG.debug("Finished fragment chain {}", msh14);
             exchange.getIn().setBody(accumulator.toString());
+            accumulator.discard();
             getWrappedProcessor().process(exchange);
             return;
         } 
@@ -111,14 +116,25 @@ public class ConsumerRequestDefragmenterInterceptor extends InterceptorSupport {
         // DSC-1 is not empty -- update accumulators map, request the next fragment
         LOG.debug("Processed fragment {} requesting {}", msh14, dsc1);
             
-        storage.put(keyString(dsc1, msh31, msh32, msh33), accumulator);
+        storage.putAccumulator(keyString(dsc1, msh31, msh32, msh33), accumulator);
         var ack = MessageUtils.response(
-                requestMessage, "ACK", 
-                requestTerser.get("MSH-9-2"));
+                parseHeader(requestString, parser), "ACK",
+                request.get("MSH-9-2"));
         var ackTerser = new Terser(ack);
         ackTerser.set("MSA-1", "CA");
-        ackTerser.set("MSA-2", requestTerser.get("MSH-10"));
+        ackTerser.set("MSA-2", request.get("MSH-10"));
         exchange.getMessage().setBody(parser.encode(ack));
     }
+
+    /**
+     * Parses only the MSH segment of the given fragment, this is sufficient for creating an ACK.
+     */
+    private static Message parseHeader(String requestString, Parser parser) throws HL7Exception {
+        var end = 0;
+        while (end < requestString.length() && requestString.charAt(end) != '\r' && requestString.charAt(end) != '\n') {
+            ++end;
+        }
+        return parser.parse(requestString.substring(0, end));
+    }
     
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.platform.camel.ihe.mllp.core
+
+import ca.uhn.hl7v2.DefaultHapiContext
+import org.junit.jupiter.api.Test
+
+import java.nio.charset.StandardCharsets
+
+import static org.junit.jupiter.api.Assertions.assertEquals
+
+/**
+ *
+ */
+class TestHl7CorrelationManager {
+
+    @Test
+    void testRawMessagesUseConfiguredCharset() {
+        def manager = new Hl7CorrelationManager(new DefaultHapiContext(), StandardCharsets.ISO_8859_1)
+        def request = 'MSH|^~\\&|A|B|C|D|20220101||ADT^A01|Zürich-1|P|2.5|||||DEU|8859/1\r'
+        def response = 'MSH|^~\\&|C|D|A|B|20220101||ACK^A01|2|P|2.5|||||DEU|8859/1\rMSA|AA|Zürich-1\r'
+        assertEquals('Zürich-1', manager.getRequestCorrelationId(request.getBytes(StandardCharsets.ISO_8859_1)))
+        assertEquals('Zürich-1', manager.getResponseCorrelationId(response.getBytes(StandardCharsets.ISO_8859_1)))
+    }
+}
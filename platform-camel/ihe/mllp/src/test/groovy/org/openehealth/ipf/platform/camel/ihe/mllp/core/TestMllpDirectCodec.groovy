@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openehealth.ipf.platform.camel.ihe.mllp.core
+
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.Unpooled
+import io.netty.buffer.UnpooledByteBufAllocator
+import io.netty.channel.embedded.EmbeddedChannel
+import io.netty.handler.codec.TooLongFrameException
+import org.junit.jupiter.api.Test
+
+import java.nio.charset.StandardCharsets
+
+import static org.junit.jupiter.api.Assertions.*
+
+/**
+ *
+ */
+class TestMllpDirectCodec {
+
+    private static final String MSG =
+            'MSH|^~\\&|SND|SND_FAC|RCV|RCV_FAC|20260101||ADT^A01|123|P|2.3.1||||||8859/1\r' +
+            'PID|||4711||Müller^Jürgen\r'
+
+    @Test
+    void testDecodeFramesInChunks() {
+        def channel = new EmbeddedChannel(decoderFactory(false).newChannelHandler())
+        def bos = new ByteArrayOutputStream()
+        bos.write(frame(MSG.replace('\r', '\n'), 'iso-8859-1'))
+        bos.write(frame(MSG, 'iso-8859-1'))
+        def bytes = bos.toByteArray()
+        // split the frames at arbitrary positions
+        channel.writeInbound(Unpooled.wrappedBuffer(bytes, 0, 10))
+        assertNull(channel.readInbound())
+        channel.writeInbound(Unpooled.wrappedBuffer(bytes, 10, MSG.length()))
+        channel.writeInbound(Unpooled.wrappedBuffer(bytes, 10 + MSG.length(), bytes.length - 10 - MSG.length()))
+        assertEquals(MSG, channel.readInbound())
+        assertEquals(MSG, channel.readInbound())
+        assertNull(channel.readInbound())
+        assertFalse(channel.finish())
+    }
+
+    @Test
+    void testDecodeWithCharsetFromMsh18() {
+        // default charset is UTF-8, but MSH-18 says ISO-8859-1
+        def channel = new EmbeddedChannel(decoderFactory(false).newChannelHandler())
+        channel.writeInbound(Unpooled.wrappedBuffer(frame(MSG, 'iso-8859-1')))
+        assertEquals(MSG, channel.readInbound())
+
+        def utf8Message = MSG.replace('8859/1', 'UNICODE UTF-8')
+        channel.writeInbound(Unpooled.wrappedBuffer(frame(utf8Message, 'utf-8')))
+        assertEquals(utf8Message, channel.readInbound())
+    }
+
+    @Test
+    void testDecodeWithDefragmentation() {
+        def channel = new EmbeddedChannel(decoderFactory(true).newChannelHandler())
+        def fragmented = MSG.replace('Müller^', 'Mü\rADD|ller^')
+        channel.writeInbound(Unpooled.wrappedBuffer(frame(fragmented, 'iso-8859-1')))
+        assertEquals(MSG, channel.readInbound())
+    }
+
+    @Test
+    void testNormalizeInOnePass() {
+        def decoder = (MllpDirectDecoder) decoderFactory(true).newChannelHandler()
+        assertSame(MSG, decoder.normalize(MSG))
+        def fragmented = MSG.replace('Müller^', 'M\nADD|ü\rADD|ller^').replace('\r', '\n')
+        assertEquals(MSG, decoder.normalize(fragmented))
+        // continuation segments are kept if defragmentation is not requested
+        def keeping = (MllpDirectDecoder) decoderFactory(false).newChannelHandler()
+        assertEquals(MSG.replace('Müller^', 'Mü\rADD|ller^'), keeping.normalize(MSG.replace('Müller^', 'Mü\nADD|ller^')))
+    }
+
+    @Test
+    void testDiscardTooLongFrames() {
+        def factory = decoderFactory(false)
+        factory.maxFrameLength = MSG.length() - 1
+        def channel = new EmbeddedChannel(factory.newChannelHandler())
+        def shortMessage = 'MSH|^~\\&|SND\r'
+
+        // complete frame
+        assertThrows(TooLongFrameException, { channel.writeInbound(Unpooled.wrappedBuffer(frame(MSG, 'iso-8859-1'))) })
+        channel.writeInbound(Unpooled.wrappedBuffer(frame(shortMessage, 'iso-8859-1')))
+        assertEquals(shortMessage, channel.readInbound())
+
+        // frame arriving in chunks, followed by a valid frame
+        def bytes = frame(MSG, 'iso-8859-1')
+        assertThrows(TooLongFrameException, { channel.writeInbound(Unpooled.wrappedBuffer(bytes, 0, bytes.length - 1)) })
+        assertNull(channel.readInbound())
+        def bos = new ByteArrayOutputStream()
+        bos.write(bytes[-1])
+        bos.write(frame(shortMessage, 'iso-8859-1'))
+        channel.writeInbound(Unpooled.wrappedBuffer(bos.toByteArray()))
+        assertEquals(shortMessage, channel.readInbound())
+        assertNull(channel.readInbound())
+        assertFalse(channel.finish())
+    }
+
+    @Test
+    void testEncode() {
+        def factory = new MllpDirectEncoderFactory()
+        factory.charset = 'iso-8859-1'
+        def channel = new EmbeddedChannel(factory.newChannelHandler())
+        channel.writeOutbound(MSG)
+        ByteBuf buf = channel.readOutbound()
+        def bytes = new byte[buf.readableBytes()]
+        buf.readBytes(bytes)
+        buf.release()
+        assertArrayEquals(frame(MSG, 'iso-8859-1'), bytes)
+    }
+
+    @Test
+    void testEncodeAllocatesPayloadSize() {
+        def factory = new MllpDirectEncoderFactory()
+        factory.charset = 'utf-8'
+        def channel = new EmbeddedChannel(factory.newChannelHandler())
+        // pooled allocators round up the requested capacity
+        channel.config().allocator = UnpooledByteBufAllocator.DEFAULT
+        channel.writeOutbound(MSG)
+        ByteBuf buf = channel.readOutbound()
+        def expected = frame(MSG, 'utf-8')
+        assertEquals(expected.length, buf.readableBytes())
+        assertEquals(expected.length, buf.capacity())
+        buf.release()
+    }
+
+    private static MllpDirectDecoderFactory decoderFactory(boolean defragment) {
+        def factory = new MllpDirectDecoderFactory()
+        factory.charset = StandardCharsets.UTF_8
+        factory.defragmentSegments = defragment
+        factory
+    }
+
+    private static byte[] frame(String message, String charset) {
+        def bos = new ByteArrayOutputStream()
+        bos.write(0x0b)
+        bos.write(message.getBytes(charset))
+        bos.write(0x1c)
+        bos.write(0x0d)
+        bos.toByteArray()
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.platform.camel.ihe.mllp.core
+
+import org.apache.camel.AsyncCallback
+import org.apache.camel.Endpoint
+import org.apache.camel.Exchange
+import org.apache.camel.impl.DefaultCamelContext
+import org.apache.camel.support.DefaultAsyncProducer
+import org.apache.camel.support.DefaultExchange
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+
+import static org.junit.jupiter.api.Assertions.*
+
+/**
+ *
+ */
+class TestMllpPipeliningProducer {
+
+    private DefaultCamelContext camelContext
+    private Endpoint endpoint
+
+    @BeforeEach
+    void setUp() {
+        camelContext = new DefaultCamelContext()
+        camelContext.start()
+        endpoint = camelContext.getEndpoint('mock:pipelining')
+    }
+
+    @AfterEach
+    void tearDown() {
+        camelContext.stop()
+    }
+
+    @Test
+    void testSaturatedWindowDoesNotBlock() {
+        def connection = new PendingProducer(endpoint)
+        def producer = new MllpPipeliningProducer(endpoint, [connection], 2)
+        producer.start()
+
+        def completed = []
+        def sync = (0..<3).collect { i ->
+            producer.process(new DefaultExchange(camelContext), { boolean doneSync -> completed << i } as AsyncCallback)
+        }
+        // the third request must be queued instead of blocking the calling thread
+        assertEquals([false, false, false], sync)
+        assertEquals(2, producer.outstandingRequests)
+        assertEquals(1, producer.pendingRequests)
+        assertEquals(2, connection.callbacks.size())
+
+        // a response frees a slot and starts the queued request
+        connection.respond()
+        assertEquals([0], completed)
+        assertEquals(2, producer.outstandingRequests)
+        assertEquals(0, producer.pendingRequests)
+
+        connection.respond()
+        connection.respond()
+        assertEquals([0, 1, 2], completed)
+        assertEquals(0, producer.outstandingRequests)
+        producer.stop()
+    }
+
+    @Test
+    void testPendingRequestsFailOnStop() {
+        def producer = new MllpPipeliningProducer(endpoint, [new PendingProducer(endpoint)], 1)
+        producer.start()
+        def exchanges = (0..<2).collect { new DefaultExchange(camelContext) }
+        exchanges.each { producer.process(it, { boolean doneSync -> } as AsyncCallback) }
+        producer.stop()
+        assertNull(exchanges[0].exception)
+        assertTrue(exchanges[1].exception instanceof IllegalStateException)
+    }
+
+    /**
+     * Producer which completes its exchanges only when asked to.
+     */
+    private static class PendingProducer extends DefaultAsyncProducer {
+        final List<AsyncCallback> callbacks = []
+
+        PendingProducer(Endpoint endpoint) {
+            super(endpoint)
+        }
+
+        @Override
+        boolean process(Exchange exchange, AsyncCallback callback) {
+            callbacks << callback
+            false
+        }
+
+        void respond() {
+            callbacks.remove(0).done(false)
+        }
+    }
+}
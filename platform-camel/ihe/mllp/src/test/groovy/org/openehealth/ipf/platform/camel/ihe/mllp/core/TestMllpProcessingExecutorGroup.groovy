@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openehealth.ipf.platform.camel.ihe.mllp.core
+
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import static org.junit.jupiter.api.Assertions.*
+
+/**
+ *
+ */
+class TestMllpProcessingExecutorGroup {
+
+    private final def executor = Executors.newFixedThreadPool(8)
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow()
+    }
+
+    @Test
+    void testOrderPerConnection() {
+        def group = new MllpProcessingExecutorGroup(executor, 0)
+        def lanes = (0..<4).collect { group.next() }
+        def results = lanes.collect { new ConcurrentLinkedQueue<Integer>() }
+        def running = lanes.collect { new AtomicInteger() }
+        def overlaps = new AtomicInteger()
+        def latch = new CountDownLatch(4 * 500)
+        (0..<500).each { i ->
+            lanes.eachWithIndex { lane, n ->
+                lane.execute {
+                    if (running[n].incrementAndGet() > 1) {
+                        overlaps.incrementAndGet()
+                    }
+                    assertTrue(lane.inEventLoop())
+                    results[n].add(i)
+                    running[n].decrementAndGet()
+                    latch.countDown()
+                }
+            }
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS))
+        results.each { assertEquals((0..<500).toList(), it.toList()) }
+        assertEquals(0, overlaps.get())
+        assertFalse(lanes[0].inEventLoop())
+    }
+
+    @Test
+    void testMaxMessagesInFlight() {
+        def group = new MllpProcessingExecutorGroup(executor, 2)
+        def running = new AtomicInteger()
+        def maxRunning = new AtomicInteger()
+        def blocker = new CountDownLatch(1)
+        def done = new CountDownLatch(5)
+        5.times {
+            group.next().execute {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math.&max)
+                blocker.await(5, TimeUnit.SECONDS)
+                running.decrementAndGet()
+                done.countDown()
+            }
+        }
+        // wait until both permits are in use
+        def deadline = System.currentTimeMillis() + 5000L
+        while (running.get() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+        assertEquals(2, group.messagesInFlight)
+        assertEquals(3, group.waitingConnections)
+
+        blocker.countDown()
+        assertTrue(done.await(5, TimeUnit.SECONDS))
+        assertEquals(2, maxRunning.get())
+        deadline = System.currentTimeMillis() + 5000L
+        while (group.messagesInFlight > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+        assertEquals(0, group.messagesInFlight)
+        assertEquals(0, group.waitingConnections)
+    }
+}
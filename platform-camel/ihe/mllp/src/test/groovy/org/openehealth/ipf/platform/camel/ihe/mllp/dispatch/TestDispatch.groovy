@@ -20,7 +20,10 @@ import org.junit.jupiter.api.Test
 import org.openehealth.ipf.commons.audit.codes.EventOutcomeIndicator
 import org.openehealth.ipf.platform.camel.ihe.mllp.core.AbstractMllpTest
 
+import java.nio.charset.StandardCharsets
+
 import static org.junit.jupiter.api.Assertions.assertEquals
+import static org.junit.jupiter.api.Assertions.assertTrue
 import static org.openehealth.ipf.platform.camel.hl7.HL7v2.validatingProcessor
 
 /**
@@ -98,6 +101,35 @@ abstract class TestDispatch extends AbstractMllpTest {
 
     }
 
+    // the dispatch table must yield the same targets for repeated messages
+    @Test
+    void testRepeatedDispatching() {
+        3.times {
+            assertACK(send('pix-iti8://localhost:' + getDispatcherPort() + '?audit=false', ITI_8_REQUEST))
+            assertNAK(send('pix-iti9://localhost:' + getDispatcherPort() + '?audit=false', ITI_9_REQUEST))
+            assertACK(send('xpid-iti64://localhost:' + getDispatcherPort() + '?audit=false', ITI_64_REQUEST))
+        }
+    }
+
+    // messages with an unreadable MSH segment must be answered with a NAK
+    @Test
+    void testUnreadableMessageHeader() {
+        def socket = new Socket('localhost', getDispatcherPort() as int)
+        try {
+            socket.soTimeout = 10000
+            socket.outputStream.write(("\u000bMSH|^~|A|B|C|D|2008||ADT^A01|1|T|2.3.1\r\u001c\r").getBytes(StandardCharsets.US_ASCII))
+            socket.outputStream.flush()
+            def response = new StringBuilder()
+            int b
+            while (((b = socket.inputStream.read()) >= 0) && (b != 0x1c)) {
+                response.append((char) b)
+            }
+            assertTrue(response.toString().contains('MSA|AR|'), response.toString())
+        } finally {
+            socket.close()
+        }
+    }
+
     protected abstract String getDispatcherPort()
 
 }
@@ -227,6 +227,11 @@ class TestIti21 extends AbstractMllpTest {
         stressTest(50, 10, "pdq-iti21://localhost:18220?producerPoolEnabled=false&timeout=10000&correlationManager=#hl7CorrelationManager")
     }
 
+    @Test
+    void stressTestWithPipelining() {
+        stressTest(50, 10, "pdq-iti21://localhost:18220?pipelineWindow=4&pipelineConnections=2&timeout=10000")
+    }
+
     private void stressTest(int numberOfMessages, int threads, String endpoint) {
         def executorService = Executors.newFixedThreadPool(threads)
         def latch = new CountDownLatch(numberOfMessages)
@@ -60,6 +60,7 @@ class TestIti21Continuations extends AbstractMllpTest {
             "&interactiveContinuationStorage=#interactiveContinuationStorage" +
             "&supportUnsolicitedFragmentation=${supportUnsolicitedFragmentation}" +
             "&unsolicitedFragmentationThreshold=3" +
+            "&unsolicitedFragmentationSpillThreshold=200" +
             "&unsolicitedFragmentationStorage=#unsolicitedFragmentationStorage" +
             "&supportSegmentFragmentation=${supportSegmentFragmentation}" +
             "&autoCancel=${autoCancel}" +
@@ -35,6 +35,18 @@ class Iti8TestRouteBuilder extends RouteBuilder {
         from('pix-iti8://0.0.0.0:18082?interceptorFactories=#serverInLogger,#serverOutLogger')
                 .transform(ack())
 
+        // normal processing with direct MLLP codec
+        from('pix-iti8://0.0.0.0:18095?directCodec=true&interceptorFactories=#serverInLogger,#serverOutLogger')
+                .transform(ack())
+
+        // normal processing with lazy parsing
+        from('pix-iti8://0.0.0.0:18096?lazyParsing=true&interceptorFactories=#serverInLogger,#serverOutLogger')
+                .transform(ack())
+
+        // normal processing on a separate executor
+        from('pix-iti8://0.0.0.0:18097?processingExecutor=#mllpProcessingExecutor&maxMessagesInFlight=4&interceptorFactories=#serverInLogger,#serverOutLogger')
+                .transform(ack())
+
         // normal processing with tracing
         from('pix-iti8://0.0.0.0:18083?interceptorFactories=#consumerTracingInterceptor,#serverInLogger,#serverOutLogger')
                 .transform(ack())
@@ -16,16 +16,24 @@
 package org.openehealth.ipf.platform.camel.ihe.mllp.iti8
 
 import ca.uhn.hl7v2.HL7Exception
+import ca.uhn.hl7v2.model.Message
 import ca.uhn.hl7v2.parser.PipeParser
+import ca.uhn.hl7v2.util.Terser
 import org.apache.camel.Exchange
 import org.apache.camel.Processor
+import org.apache.camel.ResolveEndpointFailedException
 import org.apache.camel.support.DefaultExchange
 import org.junit.jupiter.api.AfterAll
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.Disabled
 import org.junit.jupiter.api.Test
 import org.openehealth.ipf.commons.ihe.core.payload.PayloadLoggerBase
+import org.openehealth.ipf.commons.ihe.hl7v2.Constants
+import org.openehealth.ipf.commons.ihe.hl7v2.LazyHl7v2Message
 import org.openehealth.ipf.platform.camel.ihe.mllp.core.AbstractMllpTest
+import org.openehealth.ipf.platform.camel.ihe.mllp.core.MllpDirectDecoderFactory
+import org.openehealth.ipf.platform.camel.ihe.mllp.core.MllpDirectEncoderFactory
+import org.openehealth.ipf.platform.camel.ihe.mllp.core.MllpEndpoint
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.test.context.ContextConfiguration
 import zipkin2.Span
@@ -70,6 +78,92 @@ class TestIti8 extends AbstractMllpTest {
         doTestHappyCaseAndAudit("xds-iti8://localhost:18081?audit=false&timeout=${TIMEOUT}&interceptorFactories=#clientInLogger,#clientOutLogger", 0)
     }
     @Test
+    void testHappyCaseDirectCodec() {
+        def endpointUri = "pix-iti8://localhost:18095?directCodec=true&timeout=${TIMEOUT}&interceptorFactories=#clientInLogger,#clientOutLogger"
+        MllpEndpoint endpoint = camelContext.getEndpoint(endpointUri)
+        assertTrue(endpoint.configuration.decodersAsList[0] instanceof MllpDirectDecoderFactory)
+        assertTrue(endpoint.configuration.encodersAsList[0] instanceof MllpDirectEncoderFactory)
+        doTestHappyCaseAndAudit(endpointUri, 2)
+    }
+    @Test
+    void testHappyCaseLazyParsing() {
+        doTestHappyCaseAndAudit("pix-iti8://localhost:18096?lazyParsing=true&timeout=${TIMEOUT}&interceptorFactories=#clientInLogger,#clientOutLogger", 2)
+    }
+    @Test
+    void testHappyCaseProcessingExecutor() {
+        def endpointUri = "pix-iti8://localhost:18097?timeout=${TIMEOUT}&interceptorFactories=#clientInLogger,#clientOutLogger"
+        (0..<3).each { doTestHappyCaseAndAudit(endpointUri, 2 * (it + 1)) }
+    }
+    @Test
+    void testMaxMessagesInFlightWithoutProcessingExecutor() {
+        assertThrows(ResolveEndpointFailedException.class, {
+            camelContext.getEndpoint('pix-iti8://0.0.0.0:18098?maxMessagesInFlight=4')
+        })
+    }
+    @Test
+    void testLazyParsingWithoutAudit() {
+        def endpoint = camelContext.getEndpoint('pix-iti8://localhost:18084?lazyParsing=true&audit=false')
+        def parsedBeforeRoute = null
+        def consumer = endpoint.createConsumer(
+                [process : { Exchange e ->
+                    LazyHl7v2Message request = e.in.body
+                    parsedBeforeRoute = request.parsed
+                    assertEquals('ADT', request.messageType)
+                    e.message.body = request.message.generateACK()
+                }] as Processor
+                )
+
+        def exchange = new DefaultExchange(camelContext)
+        exchange.in.body = getMessageString('ADT^A01', '2.3.1')
+        consumer.processor.process(exchange)
+        assertACK(new PipeParser().parse(exchange.message.body))
+        assertFalse(parsedBeforeRoute)
+    }
+    @Test
+    void testOriginalMessageSnapshot() {
+        def endpoint = camelContext.getEndpoint('pix-iti8://localhost:18084?lazyParsing=true&audit=false')
+        def snapshot = null
+        def consumer = endpoint.createConsumer(
+                [process : { Exchange e ->
+                    Message request = e.in.getBody(Message)
+                    new Terser(request).set('MSH-10', 'changed')
+                    snapshot = e.in.getHeader(Constants.ORIGINAL_MESSAGE_ADAPTER_HEADER_NAME)
+                    e.message.body = request.generateACK()
+                }] as Processor
+                )
+
+        def exchange = new DefaultExchange(camelContext)
+        exchange.in.body = getMessageString('ADT^A01', '2.3.1')
+        consumer.processor.process(exchange)
+        assertACK(new PipeParser().parse(exchange.message.body))
+        assertTrue(snapshot instanceof LazyHl7v2Message)
+        assertFalse(snapshot.parsed)
+        def original = camelContext.typeConverter.convertTo(Message, snapshot)
+        assertNotEquals('changed', new Terser(original).get('MSH-10'))
+        assertEquals(snapshot.messageControlId, new Terser(original).get('MSH-10'))
+    }
+    @Test
+    void testOriginalMessageSnapshotWithoutLazyParsing() {
+        def endpoint = camelContext.getEndpoint('pix-iti8://localhost:18084?audit=false')
+        def snapshot = null
+        def consumer = endpoint.createConsumer(
+                [process : { Exchange e ->
+                    Message request = e.in.body
+                    new Terser(request).set('MSH-10', 'changed')
+                    snapshot = e.in.getHeader(Constants.ORIGINAL_MESSAGE_ADAPTER_HEADER_NAME)
+                    e.message.body = request.generateACK()
+                }] as Processor
+                )
+
+        def exchange = new DefaultExchange(camelContext)
+        exchange.in.body = getMessageString('ADT^A01', '2.3.1')
+        consumer.processor.process(exchange)
+        assertTrue(snapshot instanceof LazyHl7v2Message)
+        assertFalse(snapshot.parsed)
+        def original = camelContext.typeConverter.convertTo(Message, snapshot)
+        assertNotEquals('changed', new Terser(original).get('MSH-10'))
+    }
+    @Test
     void testHappyCaseAndTrace() {
         doTestHappyCaseAndAudit("pix-iti8://localhost:18083?interceptorFactories=#producerTracingInterceptor,#clientInLogger,#clientOutLogger&timeout=${TIMEOUT}", 2)
         assertEquals(2, reporter.spans.size())
@@ -122,8 +216,13 @@ class TestIti8 extends AbstractMllpTest {
         doTestInacceptanceOnConsumer('ADT^A01^ADT_A02', '2.3.1')
     }
     
-    def doTestInacceptanceOnConsumer(String msh9, String msh12) {
-        def endpointUri = 'pix-iti8://localhost:18084'
+    @Test
+    void testInacceptanceOnConsumerLazyParsing() {
+        doTestInacceptanceOnConsumer('MDM^T01', '2.3.1', 'pix-iti8://localhost:18084?lazyParsing=true')
+        doTestInacceptanceOnConsumer('ADT^A01^ADT_A02', '2.3.1', 'pix-iti8://localhost:18084?lazyParsing=true')
+    }
+
+    def doTestInacceptanceOnConsumer(String msh9, String msh12, String endpointUri = 'pix-iti8://localhost:18084') {
         def endpoint = camelContext.getEndpoint(endpointUri)
         def consumer = endpoint.createConsumer(
                 [process : { Exchange e -> /* nop */ }] as Processor
@@ -126,6 +126,10 @@ public abstract class AbstractWsEndpoint<
     private String username;
     private String password;
     private HTTPClientPolicy httpClientPolicy;
+    private boolean nonBlocking;
+    private int clientPoolMaxSize = -1;
+    private int clientPoolInitialSize;
+    private long clientPoolIdleTimeout;
 
 
     protected AbstractWsEndpoint(
@@ -426,6 +430,74 @@ public abstract class AbstractWsEndpoint<
         return httpClientPolicy;
     }
 
+    /**
+     * @return <code>true</code> if the producer should not block the Camel thread
+     * while waiting for the response of the Web Service. Defaults to <code>false</code>.
+     */
+    @ManagedAttribute(description = "Non-Blocking Producer Enabled")
+    public boolean isNonBlocking() {
+        return nonBlocking;
+    }
+
+    /**
+     * @param nonBlocking <code>true</code> if the producer should use CXF asynchronous
+     *                    invocations over the NIO-based HTTP conduit and continue the route
+     *                    in a callback.  Producers which cannot send the request in a single
+     *                    asynchronous invocation, e.g. paginated HPD queries, ignore this setting.
+     */
+    public void setNonBlocking(boolean nonBlocking) {
+        this.nonBlocking = nonBlocking;
+    }
+
+    /**
+     * @return maximal number of pooled JAX-WS client stubs per producer,
+     * non-positive values mean the global default.
+     */
+    @ManagedAttribute(description = "Client Pool Maximal Size")
+    public int getClientPoolMaxSize() {
+        return clientPoolMaxSize;
+    }
+
+    /**
+     * @param clientPoolMaxSize maximal number of pooled JAX-WS client stubs per producer,
+     *                          non-positive values mean the global default.
+     */
+    public void setClientPoolMaxSize(int clientPoolMaxSize) {
+        this.clientPoolMaxSize = clientPoolMaxSize;
+    }
+
+    /**
+     * @return number of JAX-WS client stubs created when the producer starts. Defaults to 0.
+     */
+    @ManagedAttribute(description = "Client Pool Initial Size")
+    public int getClientPoolInitialSize() {
+        return clientPoolInitialSize;
+    }
+
+    /**
+     * @param clientPoolInitialSize number of JAX-WS client stubs created when the producer starts.
+     */
+    public void setClientPoolInitialSize(int clientPoolInitialSize) {
+        this.clientPoolInitialSize = clientPoolInitialSize;
+    }
+
+    /**
+     * @return time in milliseconds after which idle pooled JAX-WS client stubs are evicted,
+     * non-positive values (default) mean no eviction.
+     */
+    @ManagedAttribute(description = "Client Pool Idle Timeout")
+    public long getClientPoolIdleTimeout() {
+        return clientPoolIdleTimeout;
+    }
+
+    /**
+     * @param clientPoolIdleTimeout time in milliseconds after which idle pooled JAX-WS
+     *                              client stubs are evicted, non-positive values mean no eviction.
+     */
+    public void setClientPoolIdleTimeout(long clientPoolIdleTimeout) {
+        this.clientPoolIdleTimeout = clientPoolIdleTimeout;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public AbstractWsComponent<AuditDatasetType, ConfigType, ? extends WsInteractionId> getComponent() {
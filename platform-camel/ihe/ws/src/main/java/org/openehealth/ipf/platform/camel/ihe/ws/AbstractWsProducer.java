@@ -20,13 +20,17 @@ import static org.openehealth.ipf.platform.camel.ihe.ws.HeaderUtils.processIncom
 import static org.openehealth.ipf.platform.camel.ihe.ws.HeaderUtils.processUserDefinedOutgoingHeaders;
 
 import com.ctc.wstx.exc.WstxEOFException;
+import java.util.Map;
 import java.util.UUID;
 import javax.xml.ws.BindingProvider;
+import javax.xml.ws.handler.MessageContext;
 import javax.xml.ws.soap.SOAPFaultException;
+import org.apache.camel.AsyncCallback;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePattern;
 import org.apache.camel.Message;
-import org.apache.camel.support.DefaultProducer;
+import org.apache.camel.support.DefaultAsyncProducer;
+import org.apache.cxf.endpoint.ClientCallback;
 import org.apache.cxf.endpoint.ClientImpl;
 import org.apache.cxf.frontend.ClientProxy;
 import org.apache.cxf.headers.Header;
@@ -52,7 +56,7 @@ import org.slf4j.LoggerFactory;
  */
 public abstract class AbstractWsProducer<
         AuditDatasetType extends WsAuditDataset,
-        ConfigType extends WsTransactionConfiguration<AuditDatasetType>, InType, OutType> extends DefaultProducer {
+        ConfigType extends WsTransactionConfiguration<AuditDatasetType>, InType, OutType> extends DefaultAsyncProducer {
     private static final Logger LOG = LoggerFactory.getLogger(AbstractWsProducer.class);
 
     private final JaxWsClientFactory<AuditDatasetType> clientFactory;
@@ -80,58 +84,33 @@ public abstract class AbstractWsProducer<
     }
 
 
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        var endpoint = getEndpoint();
+        clientFactory.setPoolMaxSize(endpoint.getClientPoolMaxSize());
+        clientFactory.setPoolInitialSize(endpoint.getClientPoolInitialSize());
+        clientFactory.setPoolIdleTimeout(endpoint.getClientPoolIdleTimeout());
+        clientFactory.start();
+    }
+
+
+    @Override
+    protected void doStop() throws Exception {
+        clientFactory.stop();
+        super.doStop();
+    }
+
+
     @Override
     public void process(Exchange exchange) throws Exception {
         var body = exchange.getIn().getMandatoryBody(requestClass);
         final BindingProvider bindingProvider = (BindingProvider) clientFactory.getClient();
         final OutType result;
-        String replyToUri = null;
+        var replyToUri = getReplyToUri(exchange);
 
         try {
-            // prepare
-            configureClient(bindingProvider);
-            var requestContext = (WrappedMessageContext) bindingProvider.getRequestContext();
-            cleanRequestContext(requestContext);
-
-            enrichRequestContext(exchange, requestContext);
-            processUserDefinedOutgoingHeaders(requestContext, exchange.getIn(), true);
-
-            // set request encoding based on Camel exchange property
-            var requestEncoding = exchange.getProperty(Exchange.CHARSET_NAME, String.class);
-            if (requestEncoding != null) {
-                requestContext.put(org.apache.cxf.message.Message.ENCODING, requestEncoding);
-            }
-
-            // get and analyse WS-Addressing asynchrony configuration
-            var replyToHeader = exchange.getIn().getHeader(AbstractWsEndpoint.WSA_REPLYTO_HEADER_NAME, String.class);
-            replyToHeader = replyToHeader != null ? replyToHeader.trim() : null;
-            replyToUri = getWsTransactionConfiguration().isAllowAsynchrony()
-                    ? (replyToHeader == null || replyToHeader.isEmpty() ? null : replyToHeader)
-                    : null;
-
-            // for asynchronous interaction: configure WSA headers and store correlation data
-            if ((replyToUri != null) || Boolean.TRUE.equals(requestContext.get(AsynchronyCorrelator.FORCE_CORRELATION))) {
-                var messageId = "urn:uuid:" + UUID.randomUUID();
-                configureWSAHeaders(messageId, replyToUri, requestContext);
-
-                var correlator = getEndpoint().getCorrelator();
-                correlator.storeServiceEndpointUri(messageId, getEndpoint().getEndpointUri());
-
-                var correlationKey = exchange.getIn().getHeader(
-                        AbstractWsEndpoint.CORRELATION_KEY_HEADER_NAME,
-                        String.class);
-                if (correlationKey != null) {
-                    correlator.storeCorrelationKey(messageId, correlationKey);
-                }
-
-                var alternativeKeys = getAlternativeRequestKeys(exchange);
-                if (alternativeKeys != null) {
-                    correlator.storeAlternativeKeys(messageId, alternativeKeys);
-                }
-            }
-
-            // invoke
-            exchange.setPattern((replyToUri == null) ? ExchangePattern.InOut : ExchangePattern.InOnly);
+            prepareRequest(exchange, bindingProvider, replyToUri);
 
             // normalize response type when called via reflection or similar non-type-safe mechanisms
             result = responseClass.cast(callService(bindingProvider, body));
@@ -140,16 +119,7 @@ public abstract class AbstractWsProducer<
             // (async responses are handled in the service instance derived from
             // org.openehealth.ipf.platform.camel.ihe.ws.AbstractAsyncResponseWebService)
             if (replyToUri == null) {
-                var responseMessage = exchange.getMessage();
-                responseMessage.getHeaders().putAll(exchange.getIn().getHeaders());
-                var responseContext = (WrappedMessageContext) bindingProvider.getResponseContext();
-                processIncomingHeaders(responseContext, responseMessage);
-                enrichResponseMessage(responseMessage, responseContext);
-
-                // set Camel exchange property based on response encoding
-                exchange.setProperty(Exchange.CHARSET_NAME,
-                    responseContext.get(org.apache.cxf.message.Message.ENCODING));
-                responseMessage.setBody(result, responseClass);
+                handleResponse(exchange, result, (WrappedMessageContext) bindingProvider.getResponseContext());
             }
         } catch (SOAPFaultException fault) {
             // handle http://www.w3.org/TR/2006/NOTE-soap11-ror-httpbinding-20060321/
@@ -165,12 +135,166 @@ public abstract class AbstractWsProducer<
     }
 
 
+    /**
+     * Processes the exchange without blocking the calling thread when the endpoint is
+     * configured as {@link AbstractWsEndpoint#isNonBlocking() non-blocking}, this producer
+     * {@link #callServiceAsync(Object, Object, ClientCallback) supports} it, and no WS-Addressing
+     * asynchrony is requested.  In all other cases, the exchange is processed synchronously
+     * by {@link #process(Exchange)}.
+     */
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        final InType body;
+        try {
+            if (!getEndpoint().isNonBlocking() || (getReplyToUri(exchange) != null)) {
+                process(exchange);
+                callback.done(true);
+                return true;
+            }
+            body = exchange.getIn().getMandatoryBody(requestClass);
+        } catch (Exception e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+
+        final BindingProvider bindingProvider = (BindingProvider) clientFactory.getClient();
+        final boolean dispatched;
+        try {
+            prepareRequest(exchange, bindingProvider, null);
+            dispatched = callServiceAsync(bindingProvider, body, new ClientCallback() {
+                @Override
+                public void handleResponse(Map<String, Object> ctx, Object[] res) {
+                    try {
+                        var result = responseClass.cast(((res != null) && (res.length > 0)) ? res[0] : null);
+                        AbstractWsProducer.this.handleResponse(exchange, result,
+                                new WrappedMessageContext(ctx, null, MessageContext.Scope.APPLICATION));
+                    } catch (Exception e) {
+                        exchange.setException(e);
+                    } finally {
+                        callback.done(false);
+                    }
+                }
+
+                @Override
+                public void handleException(Map<String, Object> ctx, Throwable ex) {
+                    exchange.setException(ex);
+                    callback.done(false);
+                }
+            });
+        } catch (Exception e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        } finally {
+            // the request has been dispatched, CXF clients can handle concurrent calls
+            clientFactory.restoreClient(bindingProvider);
+        }
+        if (!dispatched) {
+            try {
+                process(exchange);
+            } catch (Exception e) {
+                exchange.setException(e);
+            }
+            callback.done(true);
+            return true;
+        }
+        return false;
+    }
+
+
+    /**
+     * Determines the WS-Addressing ReplyTo URI for asynchronous interaction, if any.
+     */
+    private String getReplyToUri(Exchange exchange) {
+        var replyToHeader = exchange.getIn().getHeader(AbstractWsEndpoint.WSA_REPLYTO_HEADER_NAME, String.class);
+        replyToHeader = replyToHeader != null ? replyToHeader.trim() : null;
+        return getWsTransactionConfiguration().isAllowAsynchrony()
+                ? (replyToHeader == null || replyToHeader.isEmpty() ? null : replyToHeader)
+                : null;
+    }
+
+
+    /**
+     * Configures the client and its request context on the basis of the given exchange.
+     */
+    private void prepareRequest(Exchange exchange, BindingProvider bindingProvider, String replyToUri) {
+        // prepare
+        configureClient(bindingProvider);
+        var requestContext = (WrappedMessageContext) bindingProvider.getRequestContext();
+        cleanRequestContext(requestContext);
+
+        enrichRequestContext(exchange, requestContext);
+        processUserDefinedOutgoingHeaders(requestContext, exchange.getIn(), true);
+
+        // set request encoding based on Camel exchange property
+        var requestEncoding = exchange.getProperty(Exchange.CHARSET_NAME, String.class);
+        if (requestEncoding != null) {
+            requestContext.put(org.apache.cxf.message.Message.ENCODING, requestEncoding);
+        }
+
+        // for asynchronous interaction: configure WSA headers and store correlation data
+        if ((replyToUri != null) || Boolean.TRUE.equals(requestContext.get(AsynchronyCorrelator.FORCE_CORRELATION))) {
+            var messageId = "urn:uuid:" + UUID.randomUUID();
+            configureWSAHeaders(messageId, replyToUri, requestContext);
+
+            var correlator = getEndpoint().getCorrelator();
+            correlator.storeServiceEndpointUri(messageId, getEndpoint().getEndpointUri());
+
+            var correlationKey = exchange.getIn().getHeader(
+                    AbstractWsEndpoint.CORRELATION_KEY_HEADER_NAME,
+                    String.class);
+            if (correlationKey != null) {
+                correlator.storeCorrelationKey(messageId, correlationKey);
+            }
+
+            var alternativeKeys = getAlternativeRequestKeys(exchange);
+            if (alternativeKeys != null) {
+                correlator.storeAlternativeKeys(messageId, alternativeKeys);
+            }
+        }
+
+        // invoke
+        exchange.setPattern((replyToUri == null) ? ExchangePattern.InOut : ExchangePattern.InOnly);
+    }
+
+
+    /**
+     * Stores the given synchronous response and its headers in the exchange.
+     */
+    private void handleResponse(Exchange exchange, OutType result, WrappedMessageContext responseContext) {
+        var responseMessage = exchange.getMessage();
+        responseMessage.getHeaders().putAll(exchange.getIn().getHeaders());
+        processIncomingHeaders(responseContext, responseMessage);
+        enrichResponseMessage(responseMessage, responseContext);
+
+        // set Camel exchange property based on response encoding
+        exchange.setProperty(Exchange.CHARSET_NAME,
+            responseContext.get(org.apache.cxf.message.Message.ENCODING));
+        responseMessage.setBody(result, responseClass);
+    }
+
+
     /**
      * Sends the given request body to a Web Service via the given client proxy.
      */
     protected abstract OutType callService(Object client, InType body) throws Exception;
 
 
+    /**
+     * Sends the given request body to a Web Service via the given client proxy without
+     * waiting for the response, which must be passed to the given callback.
+     * Per default, this method sends nothing and returns <code>false</code>,
+     * so that the exchange is processed synchronously.
+     *
+     * @return <code>true</code> if the request has been dispatched, <code>false</code>
+     * if this producer cannot process the request in a non-blocking way.
+     */
+    protected boolean callServiceAsync(Object client, InType body, ClientCallback callback) throws Exception {
+        return false;
+    }
+
+
     /**
      * Enriches the given Web Service request context
      * on the basis of the given Camel exchange, and vice versa.
@@ -273,4 +397,11 @@ public abstract class AbstractWsProducer<
         return responseClass;
     }
 
+    /**
+     * @return factory and pool of the JAX-WS client stubs used by this producer.
+     */
+    public JaxWsClientFactory<AuditDatasetType> getClientFactory() {
+        return clientFactory;
+    }
+
 }
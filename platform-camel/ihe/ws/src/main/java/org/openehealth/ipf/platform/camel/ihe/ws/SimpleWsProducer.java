@@ -15,8 +15,10 @@
  */
 package org.openehealth.ipf.platform.camel.ihe.ws;
 
+import org.apache.cxf.endpoint.ClientCallback;
 import org.apache.cxf.endpoint.ClientImpl;
 import org.apache.cxf.frontend.ClientProxy;
+import org.apache.cxf.transport.http.asyncclient.AsyncHTTPConduit;
 import org.openehealth.ipf.commons.ihe.ws.JaxWsClientFactory;
 import org.openehealth.ipf.commons.ihe.ws.WsTransactionConfiguration;
 import org.openehealth.ipf.commons.ihe.ws.cxf.audit.WsAuditDataset;
@@ -70,4 +72,16 @@ public class SimpleWsProducer<
         var result = client.invoke(operationName, request);
         return (result != null) ? (OutType) result[0] : null;
     }
+
+
+    /**
+     * Uses the NIO-based CXF HTTP conduit, so that no thread waits for the response.
+     */
+    @Override
+    protected boolean callServiceAsync(Object clientObject, InType request, ClientCallback callback) throws Exception {
+        var client = (ClientImpl) ClientProxy.getClient(clientObject);
+        client.getRequestContext().put(AsyncHTTPConduit.USE_ASYNC, Boolean.TRUE);
+        client.invoke(callback, operationName, request);
+        return true;
+    }
 }
@@ -17,23 +17,52 @@
 package org.openehealth.ipf.platform.camel.ihe.xds;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.cxf.helpers.CastUtils;
+import org.apache.cxf.interceptor.Interceptor;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.phase.PhaseInterceptorChain;
 import org.openehealth.ipf.commons.ihe.xds.core.responses.ErrorCode;
 import org.openehealth.ipf.commons.ihe.xds.core.responses.QueryResponse;
+import org.openehealth.ipf.commons.ihe.xds.core.responses.Status;
 import org.openehealth.ipf.commons.ihe.xds.core.stub.ebrs30.query.AdhocQueryRequest;
 import org.openehealth.ipf.commons.ihe.xds.core.stub.ebrs30.query.AdhocQueryResponse;
+import org.openehealth.ipf.commons.ihe.xds.core.transform.responses.StreamingQueryResponseTransformer;
 import org.openehealth.ipf.platform.camel.core.util.Exchanges;
 import org.openehealth.ipf.platform.camel.ihe.ws.AbstractWebService;
 import org.openehealth.ipf.platform.camel.ihe.xds.core.converters.EbXML30Converters;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 /**
  * Base class for XDS Adhoc Query services
+ * <p>
+ * Besides query responses, routes can return an {@link Iterator} or a {@link Stream} of
+ * metadata objects. They are transformed and written to the response one by one while it
+ * is being marshalled.  Status and errors of such responses are taken from the {@link QueryResponse}
+ * in the header {@link #STREAMING_RESPONSE_HEADER_NAME}, and default to {@link Status#SUCCESS}
+ * without errors.  The source of the metadata objects is closed when the response has been sent,
+ * or its sending has failed.
  *
  * @since 3.1
  */
 @Slf4j
 public abstract class XdsAdhocQueryService extends AbstractWebService {
 
+    /**
+     * Name of Camel message header where routes which return an {@link Iterator} or a {@link Stream}
+     * of metadata objects can store a {@link QueryResponse} with the status and errors of the response.
+     * Metadata objects contained in this query response are ignored.
+     */
+    public static final String STREAMING_RESPONSE_HEADER_NAME =
+            XdsAdhocQueryService.class.getName() + ".STREAMING_RESPONSE";
+
+    private static final StreamingQueryResponseTransformer STREAMING_TRANSFORMER = new StreamingQueryResponseTransformer();
+
     private final String homeCommunityId;
 
     /**
@@ -56,6 +85,62 @@ public abstract class XdsAdhocQueryService extends AbstractWebService {
             errorResponse.getErrors().get(0).setLocation(homeCommunityId);
             return EbXML30Converters.convert(errorResponse);
         }
+        var resultBody = result.getMessage().getBody();
+        if ((resultBody instanceof Iterator) || (resultBody instanceof Stream)) {
+            var source = result.getMessage().getHeader(STREAMING_RESPONSE_HEADER_NAME, QueryResponse.class);
+            if (source == null) {
+                source = new QueryResponse(Status.SUCCESS);
+            }
+            return closeAfterSending((resultBody instanceof Iterator)
+                    ? STREAMING_TRANSFORMER.toEbXML(source, (Iterator<?>) resultBody)
+                    : STREAMING_TRANSFORMER.toEbXML(source, (Stream<?>) resultBody));
+        }
         return result.getMessage().getBody(AdhocQueryResponse.class);
     }
+
+    /**
+     * Registers an interceptor in the outgoing chain of the current CXF exchange,
+     * which closes the metadata source of the given streaming response.
+     */
+    private static AdhocQueryResponse closeAfterSending(AdhocQueryResponse response) {
+        var message = PhaseInterceptorChain.getCurrentMessage();
+        if (message != null) {
+            Collection<Interceptor<? extends Message>> interceptors =
+                    CastUtils.cast((Collection<?>) message.get(Message.OUT_INTERCEPTORS));
+            if (interceptors == null) {
+                interceptors = new ArrayList<>();
+                message.put(Message.OUT_INTERCEPTORS, interceptors);
+            }
+            interceptors.add(new SourceClosingInterceptor(response));
+        }
+        return response;
+    }
+
+    /**
+     * Closes the metadata source of a streaming response at the very end of the outgoing chain,
+     * or when the chain is unwound because of a failure.
+     */
+    private static class SourceClosingInterceptor extends AbstractPhaseInterceptor<Message> {
+        private final AdhocQueryResponse response;
+
+        SourceClosingInterceptor(AdhocQueryResponse response) {
+            super(Phase.SETUP);
+            this.response = response;
+        }
+
+        @Override
+        public void handleMessage(Message message) {
+            message.getInterceptorChain().add(new AbstractPhaseInterceptor<>(Phase.SETUP_ENDING) {
+                @Override
+                public void handleMessage(Message outMessage) {
+                    StreamingQueryResponseTransformer.close(response);
+                }
+            });
+        }
+
+        @Override
+        public void handleFault(Message message) {
+            StreamingQueryResponseTransformer.close(response);
+        }
+    }
 }
@@ -32,6 +32,8 @@ import java.util.Map;
 public abstract class XdsEndpoint<AuditDatasetType extends XdsAuditDataset>
         extends AbstractWsEndpoint<AuditDatasetType, WsTransactionConfiguration<AuditDatasetType>> {
 
+    private boolean streamingQueryResponse;
+
     protected XdsEndpoint(
             String endpointUri,
             String address,
@@ -56,6 +58,26 @@ public abstract class XdsEndpoint<AuditDatasetType extends XdsAuditDataset>
     }
 
 
+    /**
+     * @return <code>true</code> if the producer of a query transaction (ITI-18, ITI-38)
+     * shall return the response as a {@link org.openehealth.ipf.commons.ihe.xds.core.transform.responses.StreamingQueryResponseReader}.
+     * @since 4.5
+     */
+    public boolean isStreamingQueryResponse() {
+        return streamingQueryResponse;
+    }
+
+    /**
+     * @param streamingQueryResponse <code>true</code> if the producer of a query transaction
+     *                               (ITI-18, ITI-38) shall return the response as a
+     *                               {@link org.openehealth.ipf.commons.ihe.xds.core.transform.responses.StreamingQueryResponseReader}.
+     * @since 4.5
+     */
+    public void setStreamingQueryResponse(boolean streamingQueryResponse) {
+        this.streamingQueryResponse = streamingQueryResponse;
+    }
+
+
     @Override
     public JaxWsServiceFactory<AuditDatasetType> getJaxWsServiceFactory() {
         return new JaxWsRequestServiceFactory<>(
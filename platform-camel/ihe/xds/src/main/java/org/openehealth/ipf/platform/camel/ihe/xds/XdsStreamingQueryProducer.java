@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openehealth.ipf.platform.camel.ihe.xds;
+
+import org.apache.cxf.frontend.ClientProxy;
+import org.apache.cxf.io.CachedOutputStream;
+import org.openehealth.ipf.commons.ihe.ws.JaxWsClientFactory;
+import org.openehealth.ipf.commons.ihe.ws.WsTransactionConfiguration;
+import org.openehealth.ipf.commons.ihe.xds.core.StreamingQueryResponseInterceptor;
+import org.openehealth.ipf.commons.ihe.xds.core.audit.XdsQueryAuditDataset;
+import org.openehealth.ipf.commons.ihe.xds.core.stub.ebrs30.query.AdhocQueryRequest;
+import org.openehealth.ipf.commons.ihe.xds.core.transform.responses.StreamingQueryResponseReader;
+import org.openehealth.ipf.platform.camel.ihe.ws.AbstractWsEndpoint;
+import org.openehealth.ipf.platform.camel.ihe.ws.AbstractWsProducer;
+
+import javax.jws.WebMethod;
+import javax.xml.ws.BindingProvider;
+
+/**
+ * Producer for the XDS query transactions ITI-18 and ITI-38, which returns the response as
+ * a {@link StreamingQueryResponseReader} instead of an {@link org.openehealth.ipf.commons.ihe.xds.core.stub.ebrs30.query.AdhocQueryResponse}.
+ * The response is spooled by a {@link StreamingQueryResponseInterceptor} and is not unmarshalled
+ * as a whole. The reader must be closed by the route, e.g. by a streaming splitter.
+ *
+ * @since 4.5
+ */
+public class XdsStreamingQueryProducer extends AbstractWsProducer<XdsQueryAuditDataset,
+        WsTransactionConfiguration<XdsQueryAuditDataset>, AdhocQueryRequest, StreamingQueryResponseReader> {
+
+    private static final StreamingQueryResponseInterceptor INTERCEPTOR = new StreamingQueryResponseInterceptor();
+
+    private final String operationName;
+
+    public XdsStreamingQueryProducer(
+            AbstractWsEndpoint<XdsQueryAuditDataset, WsTransactionConfiguration<XdsQueryAuditDataset>> endpoint,
+            JaxWsClientFactory<XdsQueryAuditDataset> clientFactory) {
+        super(endpoint, clientFactory, AdhocQueryRequest.class, StreamingQueryResponseReader.class);
+
+        for (var method : endpoint.getComponent().getWsTransactionConfiguration().getSei().getDeclaredMethods()) {
+            var annotation = method.getAnnotation(WebMethod.class);
+            if (annotation != null) {
+                this.operationName = annotation.operationName();
+                return;
+            }
+        }
+        throw new IllegalStateException("the SEI does not contain any methods annotated with @WebMethod");
+    }
+
+    @Override
+    protected void configureClient(Object o) {
+        super.configureClient(o);
+        var inInterceptors = ClientProxy.getClient(o).getInInterceptors();
+        if (!inInterceptors.contains(INTERCEPTOR)) {
+            inInterceptors.add(INTERCEPTOR);
+        }
+    }
+
+    @Override
+    protected StreamingQueryResponseReader callService(Object clientObject, AdhocQueryRequest request) throws Exception {
+        var result = ClientProxy.getClient(clientObject).invoke(operationName, request);
+        var responseContext = ((BindingProvider) clientObject).getResponseContext();
+        var cachedStream = (CachedOutputStream) responseContext.remove(StreamingQueryResponseInterceptor.SPOOLED_RESPONSE);
+        if (cachedStream != null) {
+            return StreamingQueryResponseInterceptor.createReader(cachedStream);
+        }
+        if ((result != null) && (result[0] != null)) {
+            throw new IllegalStateException("Query response has not been spooled");
+        }
+        return null;
+    }
+}
@@ -27,6 +27,7 @@ import org.openehealth.ipf.platform.camel.ihe.ws.AbstractWsProducer;
 import org.openehealth.ipf.platform.camel.ihe.ws.SimpleWsProducer;
 import org.openehealth.ipf.platform.camel.ihe.xds.XdsComponent;
 import org.openehealth.ipf.platform.camel.ihe.xds.XdsEndpoint;
+import org.openehealth.ipf.platform.camel.ihe.xds.XdsStreamingQueryProducer;
 
 import java.util.Map;
 
@@ -47,6 +48,9 @@ public class Iti18Component extends XdsComponent<XdsQueryAuditDataset> {
         return new XdsEndpoint<>(uri, remaining, this, parameters, Iti18Service.class) {
             @Override
             public AbstractWsProducer<XdsQueryAuditDataset, WsTransactionConfiguration<XdsQueryAuditDataset>, ?, ?> getProducer(AbstractWsEndpoint<XdsQueryAuditDataset, WsTransactionConfiguration<XdsQueryAuditDataset>> endpoint, JaxWsClientFactory<XdsQueryAuditDataset> clientFactory) {
+                if (isStreamingQueryResponse()) {
+                    return new XdsStreamingQueryProducer(endpoint, clientFactory);
+                }
                 return new SimpleWsProducer<>(
                         endpoint, clientFactory, AdhocQueryRequest.class, AdhocQueryResponse.class);
             }
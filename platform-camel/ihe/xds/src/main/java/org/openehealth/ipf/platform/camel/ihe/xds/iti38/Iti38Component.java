@@ -27,6 +27,7 @@ import org.openehealth.ipf.platform.camel.ihe.ws.AbstractWsProducer;
 import org.openehealth.ipf.platform.camel.ihe.ws.SimpleWsProducer;
 import org.openehealth.ipf.platform.camel.ihe.xds.XdsComponent;
 import org.openehealth.ipf.platform.camel.ihe.xds.XdsEndpoint;
+import org.openehealth.ipf.platform.camel.ihe.xds.XdsStreamingQueryProducer;
 
 import java.util.Map;
 
@@ -48,6 +49,9 @@ public class Iti38Component extends XdsComponent<XdsQueryAuditDataset> {
             @Override
             public AbstractWsProducer<XdsQueryAuditDataset, WsTransactionConfiguration<XdsQueryAuditDataset>, ?, ?> getProducer(AbstractWsEndpoint<XdsQueryAuditDataset, WsTransactionConfiguration<XdsQueryAuditDataset>> endpoint,
                                                                                                                                 JaxWsClientFactory<XdsQueryAuditDataset> clientFactory) {
+                if (isStreamingQueryResponse()) {
+                    return new XdsStreamingQueryProducer(endpoint, clientFactory);
+                }
                 return new SimpleWsProducer<>(
                         endpoint, clientFactory, AdhocQueryRequest.class, AdhocQueryResponse.class);
             }
@@ -17,23 +17,36 @@ package org.openehealth.ipf.platform.camel.ihe.xds.iti18
 
 import org.apache.camel.Exchange
 import org.apache.camel.builder.RouteBuilder
+import org.openehealth.ipf.commons.ihe.xds.core.SampleData
 import org.openehealth.ipf.commons.ihe.xds.core.metadata.ObjectReference
 import org.openehealth.ipf.commons.ihe.xds.core.requests.QueryRegistry
 import org.openehealth.ipf.commons.ihe.xds.core.requests.query.FindDocumentsQuery
+import org.openehealth.ipf.commons.ihe.xds.core.responses.ErrorInfo
 import org.openehealth.ipf.commons.ihe.xds.core.responses.QueryResponse
 import org.openehealth.ipf.commons.ihe.xds.core.stub.ebrs30.query.AdhocQueryRequest
+import org.openehealth.ipf.platform.camel.ihe.xds.XdsAdhocQueryService
 
+import static org.openehealth.ipf.commons.ihe.xds.core.responses.ErrorCode.REGISTRY_ERROR
+import static org.openehealth.ipf.commons.ihe.xds.core.responses.Severity.WARNING
 import static org.openehealth.ipf.commons.ihe.xds.core.responses.Status.FAILURE
+import static org.openehealth.ipf.commons.ihe.xds.core.responses.Status.PARTIAL_SUCCESS
 import static org.openehealth.ipf.commons.ihe.xds.core.responses.Status.SUCCESS
 import static org.openehealth.ipf.platform.camel.ihe.xds.XdsCamelValidators.iti18RequestValidator
 import static org.openehealth.ipf.platform.camel.ihe.xds.XdsCamelValidators.iti18ResponseValidator
 
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
 import java.util.function.Function
 
 /**
  * @author Jens Riemschneider
  */
 class Iti18TestRouteBuilder extends RouteBuilder {
+
+    static final CountDownLatch SERVICE6_RELEASE = new CountDownLatch(1)
+    static final AtomicBoolean SERVICE7_CLOSED = new AtomicBoolean()
+
     void configure() throws Exception {
         from('xds-iti18:xds-iti18-service1?outFaultInterceptors=#faultMessageOutInterceptor')
             .id('service1route')
@@ -49,6 +62,36 @@ class Iti18TestRouteBuilder extends RouteBuilder {
             }
             .process { checkValue(it, 'service 2') }
 
+        from('xds-iti18:xds-iti18-service4')
+            .process { it.message.body = SampleData.createQueryResponseWithLeafClass() }
+
+        from('xds-iti18:xds-iti18-service5')
+            .process {
+                def response = SampleData.createQueryResponseWithLeafClass()
+                it.message.body = (response.submissionSets + response.documentEntries +
+                        response.folders + response.associations).stream()
+                def status = new QueryResponse(PARTIAL_SUCCESS)
+                status.errors.add(new ErrorInfo(REGISTRY_ERROR, 'streamed', WARNING, 'service 5', null))
+                it.message.headers[XdsAdhocQueryService.STREAMING_RESPONSE_HEADER_NAME] = status
+            }
+
+        // responds only after the client has got its thread back
+        from('xds-iti18:xds-iti18-service6')
+            .process {
+                if (!SERVICE6_RELEASE.await(10, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException('client thread has not been released')
+                }
+                checkValue(it, 'service 1')
+            }
+
+        // stream which cannot be marshalled completely
+        from('xds-iti18:xds-iti18-service7')
+            .process {
+                def response = SampleData.createQueryResponseWithLeafClass()
+                it.message.body = (response.documentEntries + ['unsupported']).stream()
+                        .onClose { SERVICE7_CLOSED.set(true) }
+            }
+
         // three endpoints intended for SOAP version check
         from('xds-iti18:xds-iti18-service21')
             .process { checkValue(it, 'implicit SOAP 1.2') }
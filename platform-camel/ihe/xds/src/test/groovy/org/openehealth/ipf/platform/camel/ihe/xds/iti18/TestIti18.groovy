@@ -15,7 +15,9 @@
  */
 package org.openehealth.ipf.platform.camel.ihe.xds.iti18
 
+import org.apache.camel.AsyncCallback
 import org.apache.camel.RuntimeCamelException
+import org.apache.camel.support.DefaultExchange
 import org.apache.commons.io.IOUtils
 import org.apache.cxf.transport.servlet.CXFServlet
 import org.apache.http.client.methods.CloseableHttpResponse
@@ -29,17 +31,27 @@ import org.openehealth.ipf.commons.audit.codes.EventActionCode
 import org.openehealth.ipf.commons.audit.codes.EventOutcomeIndicator
 import org.openehealth.ipf.commons.audit.model.AuditMessage
 import org.openehealth.ipf.commons.ihe.xds.core.SampleData
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.Association
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.DocumentEntry
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.Folder
+import org.openehealth.ipf.commons.ihe.xds.core.metadata.SubmissionSet
 import org.openehealth.ipf.commons.ihe.xds.core.requests.QueryRegistry
 import org.openehealth.ipf.commons.ihe.xds.core.requests.query.FindDocumentsQuery
 import org.openehealth.ipf.commons.ihe.xds.core.requests.query.QueryList
 import org.openehealth.ipf.commons.ihe.xds.core.responses.QueryResponse
+import org.openehealth.ipf.commons.ihe.xds.core.transform.responses.StreamingQueryResponseReader
+import org.openehealth.ipf.platform.camel.ihe.ws.AbstractWsProducer
 import org.openehealth.ipf.platform.camel.ihe.xds.XdsStandardTestContainer
 
 import java.nio.charset.StandardCharsets
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.stream.Collectors
 
 import static org.junit.jupiter.api.Assertions.assertTrue
 import static org.junit.jupiter.api.Assertions.fail
 import static org.openehealth.ipf.commons.ihe.xds.core.responses.Status.FAILURE
+import static org.openehealth.ipf.commons.ihe.xds.core.responses.Status.PARTIAL_SUCCESS
 import static org.openehealth.ipf.commons.ihe.xds.core.responses.Status.SUCCESS
 
 /**
@@ -52,8 +64,15 @@ class TestIti18 extends XdsStandardTestContainer {
     
     def SERVICE1 = "xds-iti18://localhost:${port}/xds-iti18-service1"
     def SERVICE2 = "xds-iti18://localhost:${port}/xds-iti18-service2"
+    def SERVICE1_NON_BLOCKING = "xds-iti18://localhost:${port}/xds-iti18-service1?nonBlocking=true"
+    def SERVICE2_NON_BLOCKING = "xds-iti18://localhost:${port}/xds-iti18-service2?nonBlocking=true"
     def SAMPLE_SERVICE = "xds-iti18://localhost:${port}/myIti18Service?features=#loggingFeature"
 
+    def SERVICE4_STREAMING = "xds-iti18://localhost:${port}/xds-iti18-service4?streamingQueryResponse=true"
+    def SERVICE5 = "xds-iti18://localhost:${port}/xds-iti18-service5"
+    def SERVICE6_NON_BLOCKING = "xds-iti18://localhost:${port}/xds-iti18-service6?nonBlocking=true"
+    def SERVICE7 = "xds-iti18://localhost:${port}/xds-iti18-service7"
+
     def SERVICE2_ADDR = "http://localhost:${port}/xds-iti18-service2"
     
     QueryRegistry request
@@ -108,6 +127,108 @@ class TestIti18 extends XdsStandardTestContainer {
         checkAudit(EventOutcomeIndicator.Success)
     }
 
+    @Test
+    void testIti18NonBlocking() {
+        assert SUCCESS == sendIt(SERVICE1_NON_BLOCKING, 'service 1').status
+        assert SUCCESS == sendIt(SERVICE2_NON_BLOCKING, 'service 2').status
+        assert auditSender.messages.size() == 4
+        checkAudit(EventOutcomeIndicator.Success)
+    }
+
+    @Test
+    void testIti18NonBlockingReleasesCallerThread() {
+        AbstractWsProducer producer = camelContext.getEndpoint(SERVICE6_NON_BLOCKING).createProducer()
+        producer.start()
+        try {
+            query.authorPersons = ['service 1']
+            def exchange = new DefaultExchange(camelContext)
+            exchange.in.body = request
+
+            def callerThread = Thread.currentThread()
+            def callbackThread = null
+            def done = new CountDownLatch(1)
+            def doneSync = producer.process(exchange, { boolean sync ->
+                callbackThread = Thread.currentThread()
+                done.countDown()
+            } as AsyncCallback)
+
+            // the service does not respond until here
+            assert !doneSync
+            Iti18TestRouteBuilder.SERVICE6_RELEASE.countDown()
+
+            assert done.await(10, TimeUnit.SECONDS)
+            assert callbackThread != callerThread
+            assert exchange.exception == null
+            assert SUCCESS == exchange.message.getBody(QueryResponse.class).status
+        } finally {
+            producer.stop()
+        }
+    }
+
+    @Test
+    void testClientPool() {
+        def endpoint = camelContext.getEndpoint("${SERVICE1}?clientPoolInitialSize=2&clientPoolMaxSize=3")
+        AbstractWsProducer producer = endpoint.createProducer()
+        producer.start()
+        try {
+            def clientFactory = producer.clientFactory
+            assert clientFactory.poolCreatedCount == 2
+
+            query.authorPersons = ['service 1']
+            def exchange = new DefaultExchange(camelContext)
+            exchange.in.body = request
+            producer.process(exchange)
+            assert SUCCESS == exchange.message.getBody(QueryResponse.class).status
+
+            assert clientFactory.borrowCount == 1
+            assert clientFactory.exhaustionCount == 0
+            assert clientFactory.poolTakenCount == 0
+            assert clientFactory.poolCreatedCount == 2
+        } finally {
+            producer.stop()
+        }
+        assert producer.clientFactory.poolCreatedCount == 0
+    }
+
+    @Test
+    void testStreamingQueryResponse() {
+        def expected = SampleData.createQueryResponseWithLeafClass()
+        StreamingQueryResponseReader reader = send(SERVICE4_STREAMING, request, StreamingQueryResponseReader.class)
+        def objects = []
+        reader.withCloseable {
+            assert PARTIAL_SUCCESS == reader.status
+            objects = reader.stream().collect(Collectors.toList())
+        }
+        assert objects.findAll { it instanceof DocumentEntry } == expected.documentEntries
+        assert objects.findAll { it instanceof Folder } == expected.folders
+        assert objects.findAll { it instanceof SubmissionSet } == expected.submissionSets
+        assert objects.findAll { it instanceof Association } == expected.associations
+        assert auditSender.messages.size() == 2
+    }
+
+    @Test
+    void testStreamedMetadataObjects() {
+        def expected = SampleData.createQueryResponseWithLeafClass()
+        QueryResponse response = send(SERVICE5, request, QueryResponse.class)
+        assert PARTIAL_SUCCESS == response.status
+        assert ['streamed'] == response.errors*.codeContext
+        assert expected.documentEntries == response.documentEntries
+        assert expected.folders == response.folders
+        assert expected.submissionSets == response.submissionSets
+        assert expected.associations == response.associations
+        assert auditSender.messages.size() == 2
+    }
+
+    @Test
+    void testStreamedMetadataObjectsClosedOnFailure() {
+        try {
+            send(SERVICE7, request, QueryResponse.class)
+            fail()
+        } catch (Exception ignored) {
+        }
+        assert Iti18TestRouteBuilder.SERVICE7_CLOSED.get()
+    }
+
     @Test
     void testCustomizedSoapFault() {
         HttpClients.createDefault().withCloseable { client -> 